@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URISyntaxException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONCodecFactory;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONCodecFactorySupplier;
+import org.opendaylight.yangtools.yang.data.codec.gson.JSONNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.gson.JsonParserStream;
+import org.opendaylight.yangtools.yang.data.codec.xml.XMLStreamNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlCodecFactory;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlParserStream;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.xml.sax.SAXException;
+
+/**
+ * Benchmarking of serialization and deserialization of a data tree through the binary format, compared to the JSON
+ * and XML codecs.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class SerializationBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final int OUTER_LIST_SIZE = 1000;
+    private static final int INNER_LIST_SIZE = 10;
+
+    private static final QName TEST_QNAME = QName.create(
+        "urn:opendaylight:params:xml:ns:yang:controller:md:sal:dom:store:test", "2014-03-13", "test").intern();
+    private static final QName OUTER_LIST_QNAME = QName.create(TEST_QNAME, "outer-list").intern();
+    private static final QName INNER_LIST_QNAME = QName.create(TEST_QNAME, "inner-list").intern();
+    private static final QName ID_QNAME = QName.create(TEST_QNAME, "id").intern();
+    private static final QName ONE_QNAME = QName.create(TEST_QNAME, "one").intern();
+    private static final QName NAME_QNAME = QName.create(TEST_QNAME, "name").intern();
+    private static final QName VALUE_QNAME = QName.create(TEST_QNAME, "value").intern();
+
+    private static final XMLOutputFactory XML_OUTPUT_FACTORY = XMLOutputFactory.newFactory();
+
+    private SchemaContext schemaContext;
+    private ContainerSchemaNode testSchema;
+    private JSONCodecFactory jsonCodecs;
+    private XmlCodecFactory xmlCodecs;
+    private ContainerNode data;
+
+    private byte[] binaryBytes;
+    private byte[] jsonBytes;
+    private byte[] xmlBytes;
+
+    public static void main(final String... args) throws IOException, RunnerException, XMLStreamException {
+        final SerializationBenchmark sizes = new SerializationBenchmark();
+        sizes.setup();
+        System.out.printf("Encoded sizes: binary %d, JSON %d, XML %d bytes%n", sizes.binaryBytes.length,
+            sizes.jsonBytes.length, sizes.xmlBytes.length);
+
+        Options opt = new OptionsBuilder()
+            .include(".*" + SerializationBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException, XMLStreamException {
+        schemaContext = YangParserTestUtils.parseYangResource("/odl-datastore-test.yang");
+        testSchema = (ContainerSchemaNode) schemaContext.findDataChildByName(TEST_QNAME).get();
+        jsonCodecs = JSONCodecFactorySupplier.RFC7951.getShared(schemaContext);
+        xmlCodecs = XmlCodecFactory.create(schemaContext);
+        data = createData();
+
+        binaryBytes = binarySerialize();
+        jsonBytes = jsonSerialize();
+        xmlBytes = xmlSerialize();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public byte[] binarySerialize() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(new DataOutputStream(bos))) {
+            out.writeNormalizedNode(data);
+        }
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public NormalizedNode<?, ?> binaryDeserialize() throws IOException {
+        return NormalizedNodeDataInput.newDataInput(ByteBuffer.wrap(binaryBytes)).readNormalizedNode();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public byte[] jsonSerialize() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final Writer writer = new OutputStreamWriter(bos, StandardCharsets.UTF_8);
+        try (NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(
+                JSONNormalizedNodeStreamWriter.createExclusiveWriter(jsonCodecs, SchemaPath.ROOT, null,
+                    new JsonWriter(writer)))) {
+            nodeWriter.write(data);
+        }
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public NormalizedNode<?, ?> jsonDeserialize() {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        JsonParserStream.create(streamWriter, jsonCodecs).parse(new JsonReader(new InputStreamReader(
+            new ByteArrayInputStream(jsonBytes), StandardCharsets.UTF_8)));
+        return result.getResult();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public byte[] xmlSerialize() throws IOException, XMLStreamException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        final XMLStreamWriter xmlWriter = XML_OUTPUT_FACTORY.createXMLStreamWriter(bos, "UTF-8");
+        try (NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(
+                XMLStreamNormalizedNodeStreamWriter.create(xmlWriter, schemaContext))) {
+            nodeWriter.write(data);
+        }
+        xmlWriter.close();
+        return bos.toByteArray();
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public NormalizedNode<?, ?> xmlDeserialize() throws IOException, SAXException, URISyntaxException,
+            XMLStreamException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        XmlParserStream.create(streamWriter, xmlCodecs, testSchema).parse(
+            UntrustedXML.createXMLStreamReader(new ByteArrayInputStream(xmlBytes)));
+        return result.getResult();
+    }
+
+    private static ContainerNode createData() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerBuilder = ImmutableNodes.mapNodeBuilder(
+            OUTER_LIST_QNAME);
+        for (int i = 0; i < OUTER_LIST_SIZE; ++i) {
+            final CollectionNodeBuilder<MapEntryNode, MapNode> innerBuilder = ImmutableNodes.mapNodeBuilder(
+                INNER_LIST_QNAME);
+            for (int j = 0; j < INNER_LIST_SIZE; ++j) {
+                innerBuilder.withChild(ImmutableNodes.mapEntryBuilder()
+                    .withNodeIdentifier(new NodeIdentifierWithPredicates(INNER_LIST_QNAME, NAME_QNAME, j))
+                    .withChild(ImmutableNodes.leafNode(NAME_QNAME, j))
+                    .withChild(ImmutableNodes.leafNode(VALUE_QNAME, "value " + i + "/" + j))
+                    .build());
+            }
+
+            outerBuilder.withChild(ImmutableNodes.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(OUTER_LIST_QNAME, ID_QNAME, i))
+                .withChild(ImmutableNodes.leafNode(ID_QNAME, i))
+                .withChild(Builders.choiceBuilder()
+                    .withNodeIdentifier(NodeIdentifier.create(QName.create(TEST_QNAME, "outer-choice")))
+                    .withChild(ImmutableNodes.leafNode(ONE_QNAME, "one " + i))
+                    .build())
+                .withChild(innerBuilder.build())
+                .build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(NodeIdentifier.create(TEST_QNAME))
+                .withChild(outerBuilder.build())
+                .build();
+    }
+}
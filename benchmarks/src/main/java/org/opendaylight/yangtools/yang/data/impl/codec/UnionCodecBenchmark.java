@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of union value parsing for common union shapes. Each benchmark parses a mix of values, some of which
+ * are accepted by the first member type and some of which need to be tried against subsequent member types.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+public class UnionCodecBenchmark {
+    private static final int WARMUP_ITERATIONS = 5;
+    private static final int MEASUREMENT_ITERATIONS = 5;
+
+    private static final QName ROOT_QNAME = QName.create("urn:opendaylight:yangtools:union-codec-benchmark", "root");
+
+    private static final String[] IP_ADDRESSES = {
+        "192.0.2.1", "2001:db8::1", "10.0.0.254", "fe80::1%eth0", "198.51.100.17", "::1"
+    };
+    private static final String[] LIMITS = { "100", "unbounded", "4294967295", "default", "no-limit", "0" };
+    private static final String[] PORTS = { "80", "any", "0x1F90", "65535", "any", "22" };
+
+    private DataStringCodec<Object> ipAddressCodec;
+    private DataStringCodec<Object> limitCodec;
+    private DataStringCodec<Object> portCodec;
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + UnionCodecBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() {
+        final SchemaContext schemaContext = YangParserTestUtils.parseYangResource("/union-codec-benchmark.yang");
+        final ContainerSchemaNode root = (ContainerSchemaNode) schemaContext.findDataChildByName(ROOT_QNAME).get();
+        ipAddressCodec = codecFor(root, "ip-address");
+        limitCodec = codecFor(root, "limit");
+        portCodec = codecFor(root, "port");
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public void ipv4OrIpv6(final Blackhole blackhole) {
+        deserialize(blackhole, ipAddressCodec, IP_ADDRESSES);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public void uint32OrEnumerationOrString(final Blackhole blackhole) {
+        deserialize(blackhole, limitCodec, LIMITS);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS)
+    public void uint16OrEnumeration(final Blackhole blackhole) {
+        deserialize(blackhole, portCodec, PORTS);
+    }
+
+    private static void deserialize(final Blackhole blackhole, final DataStringCodec<Object> codec,
+            final String[] values) {
+        for (String value : values) {
+            blackhole.consume(codec.deserialize(value));
+        }
+    }
+
+    private static DataStringCodec<Object> codecFor(final ContainerSchemaNode root, final String leaf) {
+        final LeafSchemaNode schema = (LeafSchemaNode) root.findDataChildByName(QName.create(ROOT_QNAME, leaf)).get();
+        return TypeDefinitionAwareCodec.from(schema.getType());
+    }
+}
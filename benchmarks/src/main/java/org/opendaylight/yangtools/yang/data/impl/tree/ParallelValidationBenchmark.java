@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.tree;
+
+import java.util.concurrent.TimeUnit;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Benchmarking of sequential and parallel validation of large commits touching many sibling list entries, as
+ * controlled by {@link DataTreeConfiguration#getParallelValidationThreshold()}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+public class ParallelValidationBenchmark {
+    private static final int WARMUP_ITERATIONS = 10;
+    private static final int MEASUREMENT_ITERATIONS = 10;
+
+    private static final int OUTER_LIST_10K = 10000;
+    private static final int INNER_LIST_SIZE = 10;
+    private static final NodeIdentifierWithPredicates INNER_LIST_ENTRY_ID = new NodeIdentifierWithPredicates(
+        BenchmarkModel.INNER_LIST_QNAME, BenchmarkModel.NAME_QNAME, INNER_LIST_SIZE);
+
+    private static final MapNode EMPTY_OUTER_LIST = ImmutableNodes.mapNodeBuilder(BenchmarkModel.OUTER_LIST).build();
+    private static final MapNode OUTER_LIST = initOuterList();
+    private static final YangInstanceIdentifier[] INNER_LIST_PATHS = initInnerListPaths();
+    private static final MapEntryNode[] INNER_LIST_ENTRIES = initInnerListEntries();
+
+    @Param({ "0", "64" })
+    public int threshold;
+
+    private DataTree datastore;
+
+    private static MapNode initOuterList() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> innerBuilder = ImmutableNodes.mapNodeBuilder(
+            BenchmarkModel.INNER_LIST);
+        for (int i = 0; i < INNER_LIST_SIZE; ++i) {
+            innerBuilder.withChild(ImmutableNodes.mapEntry(BenchmarkModel.INNER_LIST_QNAME, BenchmarkModel.NAME_QNAME,
+                i));
+        }
+        final MapNode innerList = innerBuilder.build();
+
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outerBuilder = ImmutableNodes.mapNodeBuilder(
+            BenchmarkModel.OUTER_LIST);
+        for (int i = 0; i < OUTER_LIST_10K; ++i) {
+            outerBuilder.withChild(ImmutableNodes.mapEntryBuilder().withNodeIdentifier(outerId(i))
+                .withChild(innerList).build());
+        }
+        return outerBuilder.build();
+    }
+
+    private static YangInstanceIdentifier[] initInnerListPaths() {
+        final YangInstanceIdentifier[] ret = new YangInstanceIdentifier[OUTER_LIST_10K];
+        for (int i = 0; i < OUTER_LIST_10K; ++i) {
+            ret[i] = BenchmarkModel.OUTER_LIST_PATH.node(outerId(i)).node(BenchmarkModel.INNER_LIST_QNAME)
+                    .node(INNER_LIST_ENTRY_ID).toOptimized();
+        }
+        return ret;
+    }
+
+    private static MapEntryNode[] initInnerListEntries() {
+        final MapEntryNode[] ret = new MapEntryNode[OUTER_LIST_10K];
+        for (int i = 0; i < OUTER_LIST_10K; ++i) {
+            ret[i] = ImmutableNodes.mapEntry(BenchmarkModel.INNER_LIST_QNAME, BenchmarkModel.NAME_QNAME,
+                INNER_LIST_SIZE);
+        }
+        return ret;
+    }
+
+    private static NodeIdentifierWithPredicates outerId(final int id) {
+        return new NodeIdentifierWithPredicates(BenchmarkModel.OUTER_LIST_QNAME, BenchmarkModel.ID_QNAME, id);
+    }
+
+    public static void main(final String... args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+            .include(".*" + ParallelValidationBenchmark.class.getSimpleName() + ".*")
+            .forks(1)
+            .build();
+
+        new Runner(opt).run();
+    }
+
+    @Setup(Level.Trial)
+    public void setup() throws DataValidationFailedException {
+        datastore = new InMemoryDataTreeFactory().create(new DataTreeConfiguration.Builder(TreeType.CONFIGURATION)
+            .setMandatoryNodesValidation(true).setParallelValidationThreshold(threshold).build(),
+            BenchmarkModel.createTestContext());
+
+        final DataTreeModification modification = datastore.takeSnapshot().newModification();
+        modification.write(BenchmarkModel.TEST_PATH, ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(BenchmarkModel.TEST).withChild(EMPTY_OUTER_LIST).build());
+        commit(modification);
+    }
+
+    @TearDown
+    public void tearDown() {
+        datastore = null;
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void write10KWithTenInnerItemsBenchmark() throws DataValidationFailedException {
+        final DataTreeModification modification = datastore.takeSnapshot().newModification();
+        modification.write(BenchmarkModel.OUTER_LIST_PATH, OUTER_LIST);
+        commit(modification);
+    }
+
+    @Benchmark
+    @Warmup(iterations = WARMUP_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    @Measurement(iterations = MEASUREMENT_ITERATIONS, timeUnit = TimeUnit.MILLISECONDS)
+    public void merge10KInnerItemsBenchmark() throws DataValidationFailedException {
+        final DataTreeModification modification = datastore.takeSnapshot().newModification();
+        modification.write(BenchmarkModel.OUTER_LIST_PATH, OUTER_LIST);
+        commit(modification);
+
+        final DataTreeModification merge = datastore.takeSnapshot().newModification();
+        for (int i = 0; i < OUTER_LIST_10K; ++i) {
+            merge.merge(INNER_LIST_PATHS[i], INNER_LIST_ENTRIES[i]);
+        }
+        commit(merge);
+    }
+
+    private void commit(final DataTreeModification modification) throws DataValidationFailedException {
+        modification.ready();
+        datastore.validate(modification);
+        datastore.commit(datastore.prepare(modification));
+    }
+}
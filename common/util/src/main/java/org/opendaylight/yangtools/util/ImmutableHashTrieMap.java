@@ -0,0 +1,441 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.AbstractMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * A persistent (immutable) {@link Map} implemented as a Hash Array Mapped Trie. Updates are performed via
+ * {@link #with(Object, Object)} and {@link #without(Object)}, which return a new map sharing all untouched structure
+ * with the original, hence a single-entry update allocates O(log32(n)) objects. This implementation does not support
+ * null keys or values.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+@Beta
+public final class ImmutableHashTrieMap<K, V> extends AbstractMap<K, V> implements Immutable {
+    private static final int BITS = 5;
+    private static final int MASK = (1 << BITS) - 1;
+    private static final int MAX_DEPTH = 8;
+
+    private abstract static class Node {
+        // Key/value pairs. A null key indicates that the value is a nested Node.
+        final Object[] array;
+
+        Node(final Object[] array) {
+            this.array = array;
+        }
+
+        abstract Object find(int shift, int hash, Object key);
+
+        abstract Node with(int shift, int hash, Object key, Object value, SizeDelta delta);
+
+        abstract Node without(int shift, int hash, Object key, SizeDelta delta);
+
+        final void forEach(final BiConsumer<Object, Object> action) {
+            for (int i = 0; i < array.length; i += 2) {
+                final Object key = array[i];
+                if (key == null) {
+                    ((Node) array[i + 1]).forEach(action);
+                } else {
+                    action.accept(key, array[i + 1]);
+                }
+            }
+        }
+    }
+
+    private static final class BitmapNode extends Node {
+        static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+
+        private final int bitmap;
+
+        BitmapNode(final int bitmap, final Object[] array) {
+            super(array);
+            this.bitmap = bitmap;
+        }
+
+        @Override
+        Object find(final int shift, final int hash, final Object key) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return null;
+            }
+
+            final int idx = index(bit);
+            final Object existing = array[idx];
+            if (existing == null) {
+                return ((Node) array[idx + 1]).find(shift + BITS, hash, key);
+            }
+            return key.equals(existing) ? array[idx + 1] : null;
+        }
+
+        @Override
+        Node with(final int shift, final int hash, final Object key, final Object value, final SizeDelta delta) {
+            final int bit = bitpos(hash, shift);
+            final int idx = index(bit);
+            if ((bitmap & bit) == 0) {
+                final Object[] newArray = new Object[array.length + 2];
+                System.arraycopy(array, 0, newArray, 0, idx);
+                newArray[idx] = key;
+                newArray[idx + 1] = value;
+                System.arraycopy(array, idx, newArray, idx + 2, array.length - idx);
+                delta.value = 1;
+                return new BitmapNode(bitmap | bit, newArray);
+            }
+
+            final Object existingKey = array[idx];
+            final Object existingValue = array[idx + 1];
+            if (existingKey == null) {
+                final Node child = (Node) existingValue;
+                final Node newChild = child.with(shift + BITS, hash, key, value, delta);
+                return newChild == child ? this : new BitmapNode(bitmap, cloneAndSet(array, idx + 1, newChild));
+            }
+            if (key.equals(existingKey)) {
+                return value == existingValue ? this : new BitmapNode(bitmap, cloneAndSet(array, idx + 1, value));
+            }
+
+            delta.value = 1;
+            final Object[] newArray = cloneAndSet(array, idx + 1,
+                createNode(shift + BITS, existingKey, existingValue, hash, key, value));
+            newArray[idx] = null;
+            return new BitmapNode(bitmap, newArray);
+        }
+
+        @Override
+        Node without(final int shift, final int hash, final Object key, final SizeDelta delta) {
+            final int bit = bitpos(hash, shift);
+            if ((bitmap & bit) == 0) {
+                return this;
+            }
+
+            final int idx = index(bit);
+            final Object existingKey = array[idx];
+            if (existingKey == null) {
+                final Node child = (Node) array[idx + 1];
+                final Node newChild = child.without(shift + BITS, hash, key, delta);
+                if (newChild == child) {
+                    return this;
+                }
+                if (newChild != null) {
+                    return new BitmapNode(bitmap, cloneAndSet(array, idx + 1, newChild));
+                }
+            } else if (!key.equals(existingKey)) {
+                return this;
+            } else {
+                delta.value = -1;
+            }
+
+            if (bitmap == bit) {
+                return null;
+            }
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 2, newArray, idx, array.length - idx - 2);
+            return new BitmapNode(bitmap & ~bit, newArray);
+        }
+
+        private int index(final int bit) {
+            return Integer.bitCount(bitmap & (bit - 1)) * 2;
+        }
+
+        private static int bitpos(final int hash, final int shift) {
+            return 1 << (hash >>> shift & MASK);
+        }
+    }
+
+    private static final class CollisionNode extends Node {
+        private final int hash;
+
+        CollisionNode(final int hash, final Object[] array) {
+            super(array);
+            this.hash = hash;
+        }
+
+        @Override
+        Object find(final int shift, final int keyHash, final Object key) {
+            final int idx = indexOf(key);
+            return idx == -1 ? null : array[idx + 1];
+        }
+
+        @Override
+        Node with(final int shift, final int keyHash, final Object key, final Object value, final SizeDelta delta) {
+            if (keyHash != hash) {
+                // Nest this node into a bitmap node and retry there
+                return new BitmapNode(1 << (hash >>> shift & MASK), new Object[] { null, this })
+                        .with(shift, keyHash, key, value, delta);
+            }
+
+            final int idx = indexOf(key);
+            if (idx != -1) {
+                return array[idx + 1] == value ? this : new CollisionNode(hash, cloneAndSet(array, idx + 1, value));
+            }
+
+            final Object[] newArray = new Object[array.length + 2];
+            System.arraycopy(array, 0, newArray, 0, array.length);
+            newArray[array.length] = key;
+            newArray[array.length + 1] = value;
+            delta.value = 1;
+            return new CollisionNode(hash, newArray);
+        }
+
+        @Override
+        Node without(final int shift, final int keyHash, final Object key, final SizeDelta delta) {
+            final int idx = indexOf(key);
+            if (idx == -1) {
+                return this;
+            }
+
+            delta.value = -1;
+            if (array.length == 2) {
+                return null;
+            }
+            final Object[] newArray = new Object[array.length - 2];
+            System.arraycopy(array, 0, newArray, 0, idx);
+            System.arraycopy(array, idx + 2, newArray, idx, array.length - idx - 2);
+            return new CollisionNode(hash, newArray);
+        }
+
+        private int indexOf(final Object key) {
+            for (int i = 0; i < array.length; i += 2) {
+                if (key.equals(array[i])) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+    }
+
+    private static final class SizeDelta {
+        int value;
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator<>(root);
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            final Object key = entry.getKey();
+            return key != null && entry.getValue() != null && entry.getValue().equals(get(key));
+        }
+    }
+
+    private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+        private final Object[][] arrays = new Object[MAX_DEPTH][];
+        private final int[] offsets = new int[MAX_DEPTH];
+        private int depth;
+        private Entry<K, V> next;
+
+        EntryIterator(final Node root) {
+            arrays[0] = root.array;
+            next = advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            final Entry<K, V> ret = next;
+            if (ret == null) {
+                throw new NoSuchElementException();
+            }
+            next = advance();
+            return ret;
+        }
+
+        @SuppressWarnings("unchecked")
+        private Entry<K, V> advance() {
+            while (depth >= 0) {
+                final Object[] array = arrays[depth];
+                final int offset = offsets[depth];
+                if (offset >= array.length) {
+                    arrays[depth--] = null;
+                    continue;
+                }
+
+                offsets[depth] = offset + 2;
+                final Object key = array[offset];
+                if (key != null) {
+                    return new SimpleImmutableEntry<>((K) key, (V) array[offset + 1]);
+                }
+
+                depth++;
+                arrays[depth] = ((Node) array[offset + 1]).array;
+                offsets[depth] = 0;
+            }
+            return null;
+        }
+    }
+
+    private static final @NonNull ImmutableHashTrieMap<?, ?> EMPTY = new ImmutableHashTrieMap<>(BitmapNode.EMPTY, 0);
+
+    private final @NonNull Node root;
+    private final int size;
+
+    private Set<Entry<K, V>> entrySet;
+
+    private ImmutableHashTrieMap(final Node root, final int size) {
+        this.root = requireNonNull(root);
+        this.size = size;
+    }
+
+    /**
+     * Return an empty map.
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @return An empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull ImmutableHashTrieMap<K, V> of() {
+        return (ImmutableHashTrieMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Return a map containing the same mappings as specified map. If the specified map is already an
+     * {@link ImmutableHashTrieMap}, it is returned as is.
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @param map Input map
+     * @return A map containing all mappings of the input map
+     * @throws NullPointerException if the map contains a null key or value
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull ImmutableHashTrieMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        if (map instanceof ImmutableHashTrieMap) {
+            return (ImmutableHashTrieMap<K, V>) map;
+        }
+
+        ImmutableHashTrieMap<K, V> ret = of();
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            ret = ret.with(entry.getKey(), entry.getValue());
+        }
+        return ret;
+    }
+
+    /**
+     * Return a map which contains all mappings of this map and also maps specified key to specified value, replacing
+     * any previous mapping. If this map already contains the same mapping, this method returns this map.
+     *
+     * @param key Key
+     * @param value Value
+     * @return A map containing the mapping
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public @NonNull ImmutableHashTrieMap<K, V> with(final K key, final V value) {
+        final SizeDelta delta = new SizeDelta();
+        final Node newRoot = root.with(0, hash(key), key, requireNonNull(value), delta);
+        return newRoot == root ? this : new ImmutableHashTrieMap<>(newRoot, size + delta.value);
+    }
+
+    /**
+     * Return a map which contains all mappings of this map except the mapping for specified key. If this map does not
+     * contain a mapping for the key, this method returns this map.
+     *
+     * @param key Key
+     * @return A map not containing the key
+     * @throws NullPointerException if {@code key} is null
+     */
+    public @NonNull ImmutableHashTrieMap<K, V> without(final Object key) {
+        final SizeDelta delta = new SizeDelta();
+        final Node newRoot = root.without(0, hash(key), key, delta);
+        if (newRoot == root) {
+            return this;
+        }
+        return newRoot == null ? of() : new ImmutableHashTrieMap<>(newRoot, size + delta.value);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        return key == null ? null : (V) root.find(0, hash(key), key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        requireNonNull(action);
+        root.forEach((key, value) -> action.accept((K) key, (V) value));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> ret = entrySet;
+        if (ret == null) {
+            ret = new EntrySet();
+            entrySet = ret;
+        }
+        return ret;
+    }
+
+    private static int hash(final Object key) {
+        // Spread the bits a bit, so that poor hashCode() implementations do not end up forming deep tries
+        final int hash = key.hashCode();
+        return hash ^ hash >>> 16;
+    }
+
+    private static Node createNode(final int shift, final Object key1, final Object value1, final int key2hash,
+            final Object key2, final Object value2) {
+        final int key1hash = hash(key1);
+        if (key1hash == key2hash) {
+            return new CollisionNode(key1hash, new Object[] { key1, value1, key2, value2 });
+        }
+
+        final SizeDelta delta = new SizeDelta();
+        return BitmapNode.EMPTY.with(shift, key1hash, key1, value1, delta).with(shift, key2hash, key2, value2, delta);
+    }
+
+    private static Object[] cloneAndSet(final Object[] array, final int index, final Object value) {
+        final Object[] ret = array.clone();
+        ret[index] = value;
+        return ret;
+    }
+}
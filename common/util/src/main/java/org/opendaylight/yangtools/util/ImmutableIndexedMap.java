@@ -0,0 +1,474 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static com.google.common.base.Preconditions.checkElementIndex;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.AbstractMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * A persistent (immutable) {@link Map} which maintains a user-controlled iteration order and provides efficient
+ * positional access. Entries are kept in a size-annotated AVL tree ordered by a per-entry label, while an
+ * {@link ImmutableHashTrieMap} maps keys to their labels. All lookups and positional accesses are therefore O(log(n))
+ * and a new version of the map shares all untouched structure with the original.
+ *
+ * <p>
+ * {@link #with(Object, Object)} follows the semantics of {@link java.util.LinkedHashMap}: new keys are appended at the
+ * end, while replacing the value of an existing key retains its position. Each appended entry receives a label 2^32
+ * above the last label, hence updates are O(log(n)). The label space is exhausted only after 2^31 appends, at which
+ * point all entries are relabeled in O(n), which amounts to O(1) amortized per append. This implementation does not
+ * support null keys or values.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+@Beta
+public final class ImmutableIndexedMap<K, V> extends AbstractMap<K, V> implements Immutable {
+    private static final class Node {
+        final long label;
+        final Object key;
+        final Object value;
+        final Node left;
+        final Node right;
+        final int size;
+        final int height;
+
+        Node(final long label, final Object key, final Object value, final Node left, final Node right) {
+            this.label = label;
+            this.key = key;
+            this.value = value;
+            this.left = left;
+            this.right = right;
+            this.size = sizeOf(left) + sizeOf(right) + 1;
+            this.height = Math.max(height(left), height(right)) + 1;
+        }
+
+        Node withChildren(final Node newLeft, final Node newRight) {
+            return new Node(label, key, value, newLeft, newRight);
+        }
+
+        Node withValue(final Object newValue) {
+            return new Node(label, key, newValue, left, right);
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return new EntryIterator(root);
+        }
+
+        @Override
+        public int size() {
+            return ImmutableIndexedMap.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            final Object key = entry.getKey();
+            return key != null && entry.getValue() != null && entry.getValue().equals(get(key));
+        }
+    }
+
+    private final class EntryIterator implements Iterator<Entry<K, V>> {
+        // Path to the next node, with the next node at the top
+        private final Node[] stack;
+        private int depth;
+
+        EntryIterator(final Node root) {
+            stack = new Node[height(root)];
+            pushLeft(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return depth != 0;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Entry<K, V> next() {
+            if (depth == 0) {
+                throw new NoSuchElementException();
+            }
+
+            final Node node = stack[--depth];
+            stack[depth] = null;
+            pushLeft(node.right);
+            return new SimpleImmutableEntry<>((K) node.key, (V) node.value);
+        }
+
+        private void pushLeft(final Node start) {
+            for (Node node = start; node != null; node = node.left) {
+                stack[depth++] = node;
+            }
+        }
+    }
+
+    // Distance between labels of adjacent entries
+    private static final long GAP = 1L << 32;
+    private static final @NonNull ImmutableIndexedMap<?, ?> EMPTY = new ImmutableIndexedMap<>(null,
+        ImmutableHashTrieMap.of());
+
+    private final Node root;
+    private final @NonNull ImmutableHashTrieMap<Object, Long> labels;
+
+    private Set<Entry<K, V>> entrySet;
+
+    private ImmutableIndexedMap(final Node root, final ImmutableHashTrieMap<Object, Long> labels) {
+        this.root = root;
+        this.labels = requireNonNull(labels);
+    }
+
+    /**
+     * Return an empty map.
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @return An empty map
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull ImmutableIndexedMap<K, V> of() {
+        return (ImmutableIndexedMap<K, V>) EMPTY;
+    }
+
+    /**
+     * Return a map containing the same mappings as specified map, in its iteration order. If the specified map is
+     * already an {@link ImmutableIndexedMap}, it is returned as is. This method runs in O(n) time.
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @param map Input map
+     * @return A map containing all mappings of the input map
+     * @throws NullPointerException if the map contains a null key or value
+     */
+    @SuppressWarnings("unchecked")
+    public static <K, V> @NonNull ImmutableIndexedMap<K, V> copyOf(final Map<? extends K, ? extends V> map) {
+        if (map instanceof ImmutableIndexedMap) {
+            return (ImmutableIndexedMap<K, V>) map;
+        }
+        if (map.isEmpty()) {
+            return of();
+        }
+
+        final Object[] keys = new Object[map.size()];
+        final Object[] values = new Object[keys.length];
+        int offset = 0;
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            keys[offset] = requireNonNull(entry.getKey());
+            values[offset] = requireNonNull(entry.getValue());
+            offset++;
+        }
+        return build(keys, values);
+    }
+
+    /**
+     * Return a map which contains all mappings of this map and also maps specified key to specified value. If the key
+     * is already present, its value is replaced and its position is retained, otherwise the mapping is appended at
+     * the end of this map. If this map already contains the same mapping, this method returns this map.
+     *
+     * @param key Key
+     * @param value Value
+     * @return A map containing the mapping
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public @NonNull ImmutableIndexedMap<K, V> with(final K key, final V value) {
+        requireNonNull(value);
+        final Long label = labels.get(requireNonNull(key));
+        if (label == null) {
+            return append(key, value);
+        }
+
+        final Node newRoot = replaceNode(root, label, value);
+        return newRoot == root ? this : new ImmutableIndexedMap<>(newRoot, labels);
+    }
+
+    /**
+     * Return a map which contains all mappings of this map except the mapping for specified key. If this map does not
+     * contain a mapping for the key, this method returns this map.
+     *
+     * @param key Key
+     * @return A map not containing the key
+     * @throws NullPointerException if {@code key} is null
+     */
+    public @NonNull ImmutableIndexedMap<K, V> without(final Object key) {
+        final Long label = labels.get(requireNonNull(key));
+        if (label == null) {
+            return this;
+        }
+
+        final Node newRoot = removeNode(root, label);
+        return newRoot == null ? of() : new ImmutableIndexedMap<>(newRoot, labels.without(key));
+    }
+
+    /**
+     * Return the position of specified key in this map's iteration order.
+     *
+     * @param key Key
+     * @return Zero-based position of the key, or -1 if this map does not contain the key
+     */
+    public int indexOf(final Object key) {
+        final Long label = key == null ? null : labels.get(key);
+        return label == null ? -1 : rank(root, label);
+    }
+
+    /**
+     * Return the key at specified position in this map's iteration order.
+     *
+     * @param index Zero-based position
+     * @return Key at specified position
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull K keyAt(final int index) {
+        return (K) nodeAt(index).key;
+    }
+
+    /**
+     * Return the value at specified position in this map's iteration order.
+     *
+     * @param index Zero-based position
+     * @return Value at specified position
+     * @throws IndexOutOfBoundsException if {@code index} is out of range
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull V valueAt(final int index) {
+        return (V) nodeAt(index).value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        final Long label = key == null ? null : labels.get(key);
+        return label == null ? null : (V) find(root, label).value;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return key != null && labels.containsKey(key);
+    }
+
+    @Override
+    public int size() {
+        return sizeOf(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        forEachNode(root, requireNonNull(action));
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> ret = entrySet;
+        if (ret == null) {
+            ret = new EntrySet();
+            entrySet = ret;
+        }
+        return ret;
+    }
+
+    private Node nodeAt(final int index) {
+        checkElementIndex(index, size());
+        Node node = root;
+        int offset = index;
+        while (true) {
+            final int leftSize = sizeOf(node.left);
+            if (offset < leftSize) {
+                node = node.left;
+            } else if (offset > leftSize) {
+                offset -= leftSize + 1;
+                node = node.right;
+            } else {
+                return node;
+            }
+        }
+    }
+
+    /**
+     * Append a new mapping, picking a label above the last label. If there is no room for a label, all labels are
+     * reassigned first.
+     */
+    private @NonNull ImmutableIndexedMap<K, V> append(final K key, final V value) {
+        final long label;
+        if (root == null) {
+            label = 0;
+        } else {
+            Node last = root;
+            while (last.right != null) {
+                last = last.right;
+            }
+            if (last.label > Long.MAX_VALUE - GAP) {
+                return relabel().append(key, value);
+            }
+            label = last.label + GAP;
+        }
+
+        return new ImmutableIndexedMap<>(insertNode(root, label, key, value), labels.with(key, label));
+    }
+
+    private @NonNull ImmutableIndexedMap<K, V> relabel() {
+        final Object[] keys = new Object[size()];
+        final Object[] values = new Object[keys.length];
+        final int[] offset = new int[1];
+        forEachNode(root, (key, value) -> {
+            keys[offset[0]] = key;
+            values[offset[0]] = value;
+            offset[0]++;
+        });
+        return build(keys, values);
+    }
+
+    private static <K, V> @NonNull ImmutableIndexedMap<K, V> build(final Object[] keys, final Object[] values) {
+        ImmutableHashTrieMap<Object, Long> labels = ImmutableHashTrieMap.of();
+        for (int i = 0; i < keys.length; ++i) {
+            labels = labels.with(keys[i], i * GAP);
+        }
+        return new ImmutableIndexedMap<>(build(keys, values, 0, keys.length), labels);
+    }
+
+    private static Node build(final Object[] keys, final Object[] values, final int from, final int to) {
+        if (from == to) {
+            return null;
+        }
+        final int mid = from + to >>> 1;
+        return new Node(mid * GAP, keys[mid], values[mid], build(keys, values, from, mid),
+            build(keys, values, mid + 1, to));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> void forEachNode(final Node node, final BiConsumer<? super K, ? super V> action) {
+        if (node != null) {
+            forEachNode(node.left, action);
+            action.accept((K) node.key, (V) node.value);
+            forEachNode(node.right, action);
+        }
+    }
+
+    private static int sizeOf(final Node node) {
+        return node == null ? 0 : node.size;
+    }
+
+    private static int height(final Node node) {
+        return node == null ? 0 : node.height;
+    }
+
+    private static Node find(final Node start, final long label) {
+        Node node = start;
+        while (node.label != label) {
+            node = label < node.label ? node.left : node.right;
+        }
+        return node;
+    }
+
+    private static int rank(final Node start, final long label) {
+        Node node = start;
+        int ret = 0;
+        while (node.label != label) {
+            if (label < node.label) {
+                node = node.left;
+            } else {
+                ret += sizeOf(node.left) + 1;
+                node = node.right;
+            }
+        }
+        return ret + sizeOf(node.left);
+    }
+
+    private static Node replaceNode(final Node node, final long label, final Object value) {
+        if (label < node.label) {
+            final Node newLeft = replaceNode(node.left, label, value);
+            return newLeft == node.left ? node : node.withChildren(newLeft, node.right);
+        }
+        if (label > node.label) {
+            final Node newRight = replaceNode(node.right, label, value);
+            return newRight == node.right ? node : node.withChildren(node.left, newRight);
+        }
+        return value == node.value ? node : node.withValue(value);
+    }
+
+    private static Node insertNode(final Node node, final long label, final Object key, final Object value) {
+        if (node == null) {
+            return new Node(label, key, value, null, null);
+        }
+        return label < node.label ? balance(node, insertNode(node.left, label, key, value), node.right)
+                : balance(node, node.left, insertNode(node.right, label, key, value));
+    }
+
+    private static Node removeNode(final Node node, final long label) {
+        if (label < node.label) {
+            return balance(node, removeNode(node.left, label), node.right);
+        }
+        if (label > node.label) {
+            return balance(node, node.left, removeNode(node.right, label));
+        }
+        if (node.left == null) {
+            return node.right;
+        }
+        if (node.right == null) {
+            return node.left;
+        }
+
+        Node successor = node.right;
+        while (successor.left != null) {
+            successor = successor.left;
+        }
+        return balance(successor, node.left, removeFirst(node.right));
+    }
+
+    private static Node removeFirst(final Node node) {
+        return node.left == null ? node.right : balance(node, removeFirst(node.left), node.right);
+    }
+
+    /**
+     * Create a copy of {@code node} with specified children, performing AVL rotations as needed. The children are
+     * expected to differ in height by at most 2.
+     */
+    private static Node balance(final Node node, final Node left, final Node right) {
+        final int diff = height(left) - height(right);
+        if (diff > 1) {
+            if (height(left.left) < height(left.right)) {
+                // Left-right case
+                final Node pivot = left.right;
+                return pivot.withChildren(left.withChildren(left.left, pivot.left),
+                    node.withChildren(pivot.right, right));
+            }
+            return left.withChildren(left.left, node.withChildren(left.right, right));
+        }
+        if (diff < -1) {
+            if (height(right.right) < height(right.left)) {
+                // Right-left case
+                final Node pivot = right.left;
+                return pivot.withChildren(node.withChildren(left, pivot.left),
+                    right.withChildren(pivot.right, right.right));
+            }
+            return right.withChildren(node.withChildren(left, right.left), right.right);
+        }
+        return node.withChildren(left, right);
+    }
+}
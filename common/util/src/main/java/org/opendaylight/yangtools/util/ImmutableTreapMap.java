@@ -0,0 +1,324 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * A persistent (immutable) {@link Map} which keeps its keys sorted according to a {@link Comparator}, implemented as
+ * a treap. Updates are performed via {@link #with(Object, Object)} and {@link #without(Object)}, which return a new map
+ * sharing all untouched structure with the original, hence a single-entry update allocates O(log(n)) objects. Node
+ * priorities are derived from key hash codes, so the shape of the tree depends only on its contents. Iteration is
+ * performed in key order, and {@link #range(Object, Object)} allows iterating over a range of keys without visiting
+ * the keys outside of it. This implementation does not support null keys or values.
+ *
+ * @param <K> the type of keys maintained by this map
+ * @param <V> the type of mapped values
+ */
+@Beta
+public final class ImmutableTreapMap<K, V> extends AbstractMap<K, V> implements Immutable {
+    private static final class Node<K, V> extends SimpleImmutableEntry<K, V> {
+        private static final long serialVersionUID = 1L;
+
+        final Node<K, V> left;
+        final Node<K, V> right;
+        final int priority;
+        final int size;
+
+        Node(final K key, final V value, final int priority, final Node<K, V> left, final Node<K, V> right) {
+            super(key, value);
+            this.priority = priority;
+            this.left = left;
+            this.right = right;
+            size = 1 + size(left) + size(right);
+        }
+
+        Node<K, V> withChildren(final Node<K, V> newLeft, final Node<K, V> newRight) {
+            return newLeft == left && newRight == right ? this
+                    : new Node<>(getKey(), getValue(), priority, newLeft, newRight);
+        }
+
+        static int size(final Node<?, ?> node) {
+            return node == null ? 0 : node.size;
+        }
+    }
+
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            return range(null, null);
+        }
+
+        @Override
+        public int size() {
+            return ImmutableTreapMap.this.size();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            if (!(obj instanceof Entry)) {
+                return false;
+            }
+            final Entry<?, ?> entry = (Entry<?, ?>) obj;
+            final V value = get(entry.getKey());
+            return value != null && value.equals(entry.getValue());
+        }
+    }
+
+    private static final class RangeIterator<K, V> implements Iterator<Entry<K, V>> {
+        // Nodes whose left subtree has been visited, but which have not been returned themselves
+        private final Deque<Node<K, V>> stack = new ArrayDeque<>();
+        private final Comparator<? super K> comparator;
+        private final @Nullable K toKey;
+
+        RangeIterator(final Comparator<? super K> comparator, final Node<K, V> root, final @Nullable K fromKey,
+                final @Nullable K toKey) {
+            this.comparator = comparator;
+            this.toKey = toKey;
+
+            Node<K, V> node = root;
+            while (node != null) {
+                if (fromKey == null || comparator.compare(node.getKey(), fromKey) >= 0) {
+                    stack.push(node);
+                    node = node.left;
+                } else {
+                    node = node.right;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            final Node<K, V> next = stack.peek();
+            return next != null && (toKey == null || comparator.compare(next.getKey(), toKey) < 0);
+        }
+
+        @Override
+        public Entry<K, V> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            final Node<K, V> ret = stack.pop();
+            for (Node<K, V> node = ret.right; node != null; node = node.left) {
+                stack.push(node);
+            }
+            return ret;
+        }
+    }
+
+    private final @NonNull Comparator<? super K> comparator;
+    private final @Nullable Node<K, V> root;
+
+    private Set<Entry<K, V>> entrySet;
+
+    private ImmutableTreapMap(final Comparator<? super K> comparator, final @Nullable Node<K, V> root) {
+        this.comparator = requireNonNull(comparator);
+        this.root = root;
+    }
+
+    /**
+     * Return an empty map.
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @param comparator Comparator defining the order of keys
+     * @return An empty map
+     * @throws NullPointerException if {@code comparator} is null
+     */
+    public static <K, V> @NonNull ImmutableTreapMap<K, V> of(final Comparator<? super K> comparator) {
+        return new ImmutableTreapMap<>(comparator, null);
+    }
+
+    /**
+     * Return a map containing the same mappings as specified map, ordered by specified comparator.
+     *
+     * @param <K> the type of keys maintained by this map
+     * @param <V> the type of mapped values
+     * @param map Input map
+     * @param comparator Comparator defining the order of keys
+     * @return A map containing all mappings of the input map
+     * @throws NullPointerException if the map contains a null key or value
+     */
+    public static <K, V> @NonNull ImmutableTreapMap<K, V> copyOf(final Map<? extends K, ? extends V> map,
+            final Comparator<? super K> comparator) {
+        ImmutableTreapMap<K, V> ret = of(comparator);
+        for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+            ret = ret.with(entry.getKey(), entry.getValue());
+        }
+        return ret;
+    }
+
+    /**
+     * Return the comparator defining the order of keys in this map.
+     *
+     * @return Key comparator
+     */
+    public @NonNull Comparator<? super K> comparator() {
+        return comparator;
+    }
+
+    /**
+     * Return a map which contains all mappings of this map and also maps specified key to specified value, replacing
+     * any previous mapping. If this map already contains the same mapping, this method returns this map.
+     *
+     * @param key Key
+     * @param value Value
+     * @return A map containing the mapping
+     * @throws NullPointerException if any of the arguments is null
+     */
+    public @NonNull ImmutableTreapMap<K, V> with(final K key, final V value) {
+        final Node<K, V> newRoot = insert(root, requireNonNull(key), requireNonNull(value), priority(key));
+        return newRoot == root ? this : new ImmutableTreapMap<>(comparator, newRoot);
+    }
+
+    /**
+     * Return a map which contains all mappings of this map except the mapping for specified key. If this map does not
+     * contain a mapping for the key, this method returns this map.
+     *
+     * @param key Key
+     * @return A map not containing the key
+     * @throws NullPointerException if {@code key} is null
+     * @throws ClassCastException if {@code key} cannot be compared with the keys of this map
+     */
+    @SuppressWarnings("unchecked")
+    public @NonNull ImmutableTreapMap<K, V> without(final Object key) {
+        final Node<K, V> newRoot = remove(root, (K) requireNonNull(key));
+        return newRoot == root ? this : new ImmutableTreapMap<>(comparator, newRoot);
+    }
+
+    /**
+     * Return an iterator over the mappings whose keys fall into specified range, in key order.
+     *
+     * @param fromKey Lowest key, inclusive, or null to start with the first key
+     * @param toKey Highest key, exclusive, or null to continue to the last key
+     * @return An iterator
+     */
+    public @NonNull Iterator<Entry<K, V>> range(final @Nullable K fromKey, final @Nullable K toKey) {
+        return new RangeIterator<>(comparator, root, fromKey, toKey);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(final Object key) {
+        if (key == null) {
+            return null;
+        }
+
+        Node<K, V> node = root;
+        while (node != null) {
+            final int cmp = comparator.compare((K) key, node.getKey());
+            if (cmp == 0) {
+                return node.getValue();
+            }
+            node = cmp < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return Node.size(root);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return root == null;
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> ret = entrySet;
+        if (ret == null) {
+            ret = new EntrySet();
+            entrySet = ret;
+        }
+        return ret;
+    }
+
+    private Node<K, V> insert(final Node<K, V> node, final K key, final V value, final int priority) {
+        if (node == null) {
+            return new Node<>(key, value, priority, null, null);
+        }
+
+        final int cmp = comparator.compare(key, node.getKey());
+        if (cmp == 0) {
+            return value == node.getValue() ? node : new Node<>(node.getKey(), value, node.priority, node.left,
+                node.right);
+        }
+
+        if (cmp < 0) {
+            final Node<K, V> left = insert(node.left, key, value, priority);
+            if (left.priority > node.priority) {
+                // Rotate right
+                return left.withChildren(left.left, node.withChildren(left.right, node.right));
+            }
+            return node.withChildren(left, node.right);
+        }
+
+        final Node<K, V> right = insert(node.right, key, value, priority);
+        if (right.priority > node.priority) {
+            // Rotate left
+            return right.withChildren(node.withChildren(node.left, right.left), right.right);
+        }
+        return node.withChildren(node.left, right);
+    }
+
+    private Node<K, V> remove(final Node<K, V> node, final K key) {
+        if (node == null) {
+            return null;
+        }
+
+        final int cmp = comparator.compare(key, node.getKey());
+        if (cmp < 0) {
+            return node.withChildren(remove(node.left, key), node.right);
+        }
+        if (cmp > 0) {
+            return node.withChildren(node.left, remove(node.right, key));
+        }
+        return merge(node.left, node.right);
+    }
+
+    private static <K, V> Node<K, V> merge(final Node<K, V> left, final Node<K, V> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            return left.withChildren(left.left, merge(left.right, right));
+        }
+        return right.withChildren(merge(left, right.left), right.right);
+    }
+
+    private static int priority(final Object key) {
+        // Scramble the hash code, so that keys with sequential hash codes do not form a degenerate tree
+        final int hash = key.hashCode() * 0x9E3779B9;
+        return hash ^ hash >>> 16;
+    }
+}
@@ -17,8 +17,6 @@ import java.util.Map;
 import java.util.Map.Entry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import tech.pantheon.triemap.MutableTrieMap;
-import tech.pantheon.triemap.TrieMap;
 
 /**
  * A simple layer on top of maps, which performs snapshot mediation and optimization of
@@ -42,7 +40,7 @@ public final class MapAdaptor {
         DEFAULT_INSTANCE = new MapAdaptor(true,
                 getProperty(COPY_MAX_ITEMS_MAX_PROP, DEFAULT_COPY_MAX_ITEMS),
                 getProperty(PERSIST_MIN_ITEMS_PROP, DEFAULT_PERSIST_MIN_ITEMS));
-        LOG.debug("Configured HashMap/TrieMap cutoff at {}/{} entries",
+        LOG.debug("Configured HashMap/HashTrieMap cutoff at {}/{} entries",
                 DEFAULT_INSTANCE.persistMinItems, DEFAULT_INSTANCE.copyMaxItems);
     }
 
@@ -89,7 +87,7 @@ public final class MapAdaptor {
     public <K, V> Map<K, V> initialSnapshot(final int expectedSize) {
         checkArgument(expectedSize >= 0);
         if (expectedSize > persistMinItems) {
-            return new ReadWriteTrieMap<>();
+            return new MutableHashTrieMap<>();
         }
 
         if (expectedSize < 2) {
@@ -106,8 +104,11 @@ public final class MapAdaptor {
      */
     @SuppressWarnings("static-method")
     public <K, V> Map<K, V> takeSnapshot(final Map<K, V> input) {
-        if (input instanceof ReadOnlyTrieMap) {
-            return ((ReadOnlyTrieMap<K, V>)input).toReadWrite();
+        if (input instanceof ImmutableHashTrieMap) {
+            return new MutableHashTrieMap<>((ImmutableHashTrieMap<K, V>) input);
+        }
+        if (input instanceof ImmutableTreapMap) {
+            return new MutableTreapMap<>((ImmutableTreapMap<K, V>) input);
         }
 
         LOG.trace("Converting input {} to a HashMap", input);
@@ -161,10 +162,17 @@ public final class MapAdaptor {
      * @return  optimized read-only map
      */
     public <K, V> Map<K, V> optimize(final Map<K, V> input) {
-        if (input instanceof ReadOnlyTrieMap) {
+        if (input instanceof ImmutableHashTrieMap) {
             LOG.warn("Optimizing read-only map {}", input);
         }
 
+        /*
+         * Sorted maps have been requested explicitly, hence we retain them regardless of their size
+         */
+        if (input instanceof MutableTreapMap) {
+            return ((MutableTreapMap<K, V>)input).toImmutable();
+        }
+
         final int size = input.size();
 
         /*
@@ -179,8 +187,8 @@ public final class MapAdaptor {
          * We retain the persistent map as long as it holds at least
          * persistMinItems
          */
-        if (input instanceof ReadWriteTrieMap && size >= persistMinItems) {
-            return ((ReadWriteTrieMap<K, V>)input).toReadOnly();
+        if (input instanceof MutableHashTrieMap && size >= persistMinItems) {
+            return ((MutableHashTrieMap<K, V>)input).toImmutable();
         }
 
         /*
@@ -210,18 +218,12 @@ public final class MapAdaptor {
         }
 
         /*
-         * Favor isolation speed: use a TrieMap and perform snapshots
-         *
-         * This one is a bit tricky, as the TrieMap is concurrent and does not
-         * keep an uptodate size. Updating it requires a full walk -- which is
-         * O(N) and we want to avoid that. So we wrap it in an interceptor,
-         * which will maintain the size for us.
+         * Favor isolation speed: use a persistent hash trie, which can be snapshotted in constant time and updated
+         * by copying only the path to the modified entry.
          */
-        LOG.trace("Copying input {} to a TrieMap ({} entries)", input, size);
-        final MutableTrieMap<K, V> map = TrieMap.create();
-        map.putAll(input);
-        final Map<K, V> ret = new ReadOnlyTrieMap<>(map, size);
-        LOG.trace("Read-only TrieMap is {}", ret);
+        LOG.trace("Copying input {} to a HashTrieMap ({} entries)", input, size);
+        final Map<K, V> ret = ImmutableHashTrieMap.copyOf(input);
+        LOG.trace("Read-only HashTrieMap is {}", ret);
         return ret;
     }
 }
@@ -0,0 +1,151 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+/**
+ * A mutable facade in front of an {@link ImmutableHashTrieMap}. This is what we give out from
+ * {@link MapAdaptor#takeSnapshot(Map)} for persistent maps. Each modification replaces the backing map with an updated
+ * version, sharing all untouched structure, hence both taking a snapshot and converting back to a read-only map
+ * via {@link #toImmutable()} are O(1) operations.
+ *
+ * @param <K> Key type
+ * @param <V> Value type
+ */
+final class MutableHashTrieMap<K, V> extends AbstractMap<K, V> {
+    private final class EntrySet extends AbstractSet<Entry<K, V>> {
+        @Override
+        public Iterator<Entry<K, V>> iterator() {
+            final Iterator<Entry<K, V>> it = map.entrySet().iterator();
+            return new Iterator<Entry<K, V>>() {
+                private Entry<K, V> current;
+
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Entry<K, V> next() {
+                    current = it.next();
+                    return current;
+                }
+
+                @Override
+                public void remove() {
+                    if (current == null) {
+                        throw new IllegalStateException();
+                    }
+                    // The iterator works on the map as it was when it was created, hence this is safe
+                    MutableHashTrieMap.this.remove(current.getKey());
+                    current = null;
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return map.size();
+        }
+
+        @Override
+        public boolean contains(final Object obj) {
+            return map.entrySet().contains(obj);
+        }
+    }
+
+    private ImmutableHashTrieMap<K, V> map;
+    private Set<Entry<K, V>> entrySet;
+
+    MutableHashTrieMap() {
+        this(ImmutableHashTrieMap.of());
+    }
+
+    MutableHashTrieMap(final ImmutableHashTrieMap<K, V> map) {
+        this.map = requireNonNull(map);
+    }
+
+    ImmutableHashTrieMap<K, V> toImmutable() {
+        return map;
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return map.isEmpty();
+    }
+
+    @Override
+    public V get(final Object key) {
+        return map.get(key);
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return map.containsKey(key);
+    }
+
+    @Override
+    public V put(final K key, final V value) {
+        final V ret = map.get(requireNonNull(key));
+        map = map.with(key, value);
+        return ret;
+    }
+
+    @Override
+    public V remove(final Object key) {
+        if (key == null) {
+            return null;
+        }
+        final V ret = map.get(key);
+        if (ret != null) {
+            map = map.without(key);
+        }
+        return ret;
+    }
+
+    @Override
+    @SuppressWarnings("checkstyle:parameterName")
+    public void putAll(final Map<? extends K, ? extends V> m) {
+        for (Entry<? extends K, ? extends V> e : m.entrySet()) {
+            map = map.with(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public void clear() {
+        map = ImmutableHashTrieMap.of();
+    }
+
+    @Override
+    public void forEach(final BiConsumer<? super K, ? super V> action) {
+        map.forEach(action);
+    }
+
+    @Override
+    public Set<Entry<K, V>> entrySet() {
+        Set<Entry<K, V>> ret = entrySet;
+        if (ret == null) {
+            ret = new EntrySet();
+            entrySet = ret;
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class ImmutableHashTrieMapTest {
+    /**
+     * Key with a controllable hash code, used to force hash collisions.
+     */
+    private static final class Key {
+        private final int hash;
+        private final int id;
+
+        Key(final int hash, final int id) {
+            this.hash = hash;
+            this.id = id;
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(final Object obj) {
+            return obj instanceof Key && hash == ((Key) obj).hash && id == ((Key) obj).id;
+        }
+
+        @Override
+        public String toString() {
+            return hash + ":" + id;
+        }
+    }
+
+    @Test
+    public void testEmpty() {
+        final ImmutableHashTrieMap<String, String> map = ImmutableHashTrieMap.of();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+        assertNull(map.get("foo"));
+        assertNull(map.get(null));
+        assertSame(map, map.without("foo"));
+        assertEquals(ImmutableMap.of(), map);
+    }
+
+    @Test
+    public void testSimpleOperations() {
+        final ImmutableHashTrieMap<String, String> empty = ImmutableHashTrieMap.of();
+        final ImmutableHashTrieMap<String, String> one = empty.with("k1", "v1");
+        assertEquals(1, one.size());
+        assertEquals("v1", one.get("k1"));
+        assertTrue(one.containsKey("k1"));
+        assertFalse(one.containsKey("k2"));
+        assertSame(one, one.with("k1", "v1"));
+
+        final ImmutableHashTrieMap<String, String> two = one.with("k2", "v2");
+        assertEquals(2, two.size());
+        assertEquals(ImmutableMap.of("k1", "v1", "k2", "v2"), two);
+        assertEquals(ImmutableMap.of("k1", "v1"), one);
+
+        final ImmutableHashTrieMap<String, String> replaced = two.with("k1", "v3");
+        assertEquals(2, replaced.size());
+        assertEquals("v3", replaced.get("k1"));
+        assertEquals("v1", two.get("k1"));
+
+        assertEquals(ImmutableMap.of("k2", "v2"), two.without("k1"));
+        assertSame(two, two.without("k3"));
+        assertTrue(one.without("k1").isEmpty());
+    }
+
+    @Test
+    public void testCopyOf() {
+        final Map<String, Integer> source = new HashMap<>();
+        for (int i = 0; i < 1000; ++i) {
+            source.put(String.valueOf(i), i);
+        }
+
+        final ImmutableHashTrieMap<String, Integer> map = ImmutableHashTrieMap.copyOf(source);
+        assertEquals(source, map);
+        assertEquals(source.hashCode(), map.hashCode());
+        assertSame(map, ImmutableHashTrieMap.copyOf(map));
+
+        final Map<String, Integer> iterated = new HashMap<>();
+        map.forEach(iterated::put);
+        assertEquals(source, iterated);
+    }
+
+    @Test
+    public void testCollisions() {
+        ImmutableHashTrieMap<Key, Integer> map = ImmutableHashTrieMap.of();
+        for (int i = 0; i < 10; ++i) {
+            map = map.with(new Key(42, i), i);
+        }
+        assertEquals(10, map.size());
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(Integer.valueOf(i), map.get(new Key(42, i)));
+        }
+        assertNull(map.get(new Key(42, 10)));
+
+        for (int i = 0; i < 10; ++i) {
+            map = map.without(new Key(42, i));
+        }
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(0);
+        final Map<Key, Integer> expected = new HashMap<>();
+        ImmutableHashTrieMap<Key, Integer> map = ImmutableHashTrieMap.of();
+
+        for (int i = 0; i < 20000; ++i) {
+            final Key key = new Key(random.nextInt(512), random.nextInt(4));
+            if (random.nextBoolean()) {
+                final Integer value = random.nextInt();
+                expected.put(key, value);
+                map = map.with(key, value);
+            } else {
+                expected.remove(key);
+                map = map.without(key);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        assertEquals(expected, map);
+        assertEquals(expected.entrySet(), map.entrySet());
+    }
+}
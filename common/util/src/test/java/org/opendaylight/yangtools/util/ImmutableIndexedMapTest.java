@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.Test;
+
+public class ImmutableIndexedMapTest {
+    @Test
+    public void testEmpty() {
+        final ImmutableIndexedMap<String, String> map = ImmutableIndexedMap.of();
+        assertTrue(map.isEmpty());
+        assertEquals(0, map.size());
+        assertNull(map.get("foo"));
+        assertEquals(-1, map.indexOf("foo"));
+        assertSame(map, map.without("foo"));
+        assertSame(map, ImmutableIndexedMap.copyOf(ImmutableMap.of()));
+    }
+
+    @Test
+    public void testInsertionOrder() {
+        final ImmutableIndexedMap<String, Integer> first = ImmutableIndexedMap.<String, Integer>of()
+                .with("a", 1).with("b", 2).with("c", 3);
+        assertEquals(ImmutableList.of("a", "b", "c"), ImmutableList.copyOf(first.keySet()));
+
+        // Replacement retains position and does not affect the original
+        final ImmutableIndexedMap<String, Integer> second = first.with("a", 4);
+        assertEquals(ImmutableList.of("a", "b", "c"), ImmutableList.copyOf(second.keySet()));
+        assertEquals(Integer.valueOf(4), second.valueAt(0));
+        assertEquals(Integer.valueOf(1), first.valueAt(0));
+        assertSame(second, second.with("a", second.get("a")));
+
+        final ImmutableIndexedMap<String, Integer> third = second.without("b");
+        assertEquals(ImmutableList.of("a", "c"), ImmutableList.copyOf(third.keySet()));
+        assertEquals(1, third.indexOf("c"));
+        assertEquals("c", third.keyAt(1));
+        assertEquals(ImmutableMap.of("a", 4, "b", 2, "c", 3), second);
+    }
+
+    @Test
+    public void testReinsertion() {
+        // Removing and re-adding a key moves it to the end
+        ImmutableIndexedMap<Integer, Integer> map = ImmutableIndexedMap.of();
+        final List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 200; ++i) {
+            map = map.with(i, i);
+            expected.add(i);
+        }
+        for (int i = 0; i < 200; i += 3) {
+            map = map.without(i).with(i, -i);
+            expected.remove(Integer.valueOf(i));
+            expected.add(i);
+        }
+        assertEquals(expected, ImmutableList.copyOf(map.keySet()));
+        for (int i = 0; i < expected.size(); ++i) {
+            assertEquals(expected.get(i), map.keyAt(i));
+            assertEquals(i, map.indexOf(expected.get(i)));
+        }
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(0);
+        final List<Integer> expectedKeys = new ArrayList<>();
+        final Map<Integer, Integer> expected = new LinkedHashMap<>();
+        ImmutableIndexedMap<Integer, Integer> map = ImmutableIndexedMap.of();
+
+        for (int i = 0; i < 20000; ++i) {
+            final Integer key = random.nextInt(1000);
+            final Integer value = random.nextInt();
+            if (random.nextInt(3) == 0) {
+                expectedKeys.remove(key);
+                expected.remove(key);
+                map = map.without(key);
+            } else {
+                if (!expected.containsKey(key)) {
+                    expectedKeys.add(key);
+                }
+                expected.put(key, value);
+                map = map.with(key, value);
+            }
+            assertEquals(expectedKeys.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(expectedKeys, ImmutableList.copyOf(map.keySet()));
+        for (int i = 0; i < expectedKeys.size(); ++i) {
+            assertEquals(expectedKeys.get(i), map.keyAt(i));
+            assertEquals(expected.get(expectedKeys.get(i)), map.valueAt(i));
+        }
+    }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Iterators;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.TreeMap;
+import org.junit.Test;
+
+public class ImmutableTreapMapTest {
+    @Test
+    public void testSimpleOperations() {
+        final ImmutableTreapMap<String, String> empty = ImmutableTreapMap.of(Comparator.naturalOrder());
+        assertTrue(empty.isEmpty());
+        assertNull(empty.get("k1"));
+        assertSame(empty, empty.without("k1"));
+
+        final ImmutableTreapMap<String, String> one = empty.with("k1", "v1");
+        assertEquals(1, one.size());
+        assertEquals("v1", one.get("k1"));
+        assertTrue(one.containsKey("k1"));
+        assertFalse(one.containsKey("k2"));
+        assertSame(one, one.with("k1", "v1"));
+
+        final ImmutableTreapMap<String, String> two = one.with("k2", "v2");
+        assertEquals(ImmutableMap.of("k1", "v1", "k2", "v2"), two);
+        assertEquals(ImmutableMap.of("k1", "v1", "k2", "v2").hashCode(), two.hashCode());
+        assertEquals(ImmutableMap.of("k1", "v1"), one);
+
+        final ImmutableTreapMap<String, String> replaced = two.with("k1", "v3");
+        assertEquals(2, replaced.size());
+        assertEquals("v3", replaced.get("k1"));
+        assertEquals("v1", two.get("k1"));
+
+        assertEquals(ImmutableMap.of("k2", "v2"), two.without("k1"));
+        assertSame(two, two.without("k3"));
+        assertTrue(one.without("k1").isEmpty());
+    }
+
+    @Test
+    public void testRange() {
+        ImmutableTreapMap<Integer, Integer> map = ImmutableTreapMap.of(Comparator.reverseOrder());
+        for (int i = 0; i < 100; ++i) {
+            map = map.with(i, i);
+        }
+
+        assertEquals(ImmutableList.of(99, 98, 97), keys(Iterators.limit(map.range(null, null), 3)));
+        assertEquals(ImmutableList.of(50, 49, 48), keys(map.range(50, 47)));
+        assertEquals(ImmutableList.of(2, 1, 0), keys(map.range(2, null)));
+        assertEquals(ImmutableList.of(), keys(map.range(47, 47)));
+        assertEquals(ImmutableList.of(), keys(map.range(-1, null)));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        final Random random = new Random(0);
+        final TreeMap<Integer, Integer> expected = new TreeMap<>();
+        ImmutableTreapMap<Integer, Integer> map = ImmutableTreapMap.of(Comparator.naturalOrder());
+        for (int i = 0; i < 10000; ++i) {
+            final Integer key = random.nextInt(2000);
+            if (random.nextBoolean()) {
+                expected.put(key, i);
+                map = map.with(key, i);
+            } else {
+                expected.remove(key);
+                map = map.without(key);
+            }
+            assertEquals(expected.size(), map.size());
+        }
+
+        assertEquals(expected, map);
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(new ArrayList<>(expected.subMap(500, 1500).keySet()), keys(map.range(500, 1500)));
+    }
+
+    @Test
+    public void testMutableFacade() {
+        final ImmutableTreapMap<String, String> immutable = ImmutableTreapMap.copyOf(
+            ImmutableMap.of("b", "2", "a", "1"), Comparator.naturalOrder());
+        final Map<String, String> mutable = MapAdaptor.getDefaultInstance().takeSnapshot(immutable);
+        mutable.put("c", "3");
+        mutable.remove("a");
+        assertEquals(ImmutableMap.of("b", "2", "a", "1"), immutable);
+
+        final Map<String, String> optimized = MapAdaptor.getDefaultInstance().optimize(mutable);
+        assertTrue(optimized instanceof ImmutableTreapMap);
+        assertEquals(ImmutableList.of("b", "c"), new ArrayList<>(optimized.keySet()));
+
+        // Sorted maps are retained even when empty
+        final Map<String, String> emptied = MapAdaptor.getDefaultInstance().takeSnapshot(optimized);
+        emptied.clear();
+        assertTrue(MapAdaptor.getDefaultInstance().optimize(emptied) instanceof ImmutableTreapMap);
+    }
+
+    private static <K> List<K> keys(final Iterator<? extends Entry<K, ?>> it) {
+        final List<K> ret = new ArrayList<>();
+        it.forEachRemaining(entry -> ret.add(entry.getKey()));
+        return ret;
+    }
+}
@@ -87,10 +87,10 @@ public class MapAdaptorTest {
 
         final Map<String, String> opt1 = adaptor.optimize(input);
         assertEquals(input, opt1);
-        assertEquals(ReadOnlyTrieMap.class, opt1.getClass());
+        assertEquals(ImmutableHashTrieMap.class, opt1.getClass());
 
         final Map<String, String> snap2 = adaptor.takeSnapshot(opt1);
-        assertTrue(snap2 instanceof ReadWriteTrieMap);
+        assertTrue(snap2 instanceof MutableHashTrieMap);
         assertEquals(opt1, snap2);
         assertEquals(26, snap2.size());
 
@@ -124,12 +124,12 @@ public class MapAdaptorTest {
         // Translated to read-only
         final Map<String, String> opt1 = adaptor.optimize(input);
         assertEquals(input, opt1);
-        assertEquals(ReadOnlyTrieMap.class, opt1.getClass());
+        assertEquals(ImmutableHashTrieMap.class, opt1.getClass());
         assertEquals(11, opt1.size());
 
-        // 11 elements -- should retain TrieMap
+        // 11 elements -- should retain HashTrieMap
         final Map<String, String> snap1 = adaptor.takeSnapshot(opt1);
-        assertEquals(ReadWriteTrieMap.class, snap1.getClass());
+        assertEquals(MutableHashTrieMap.class, snap1.getClass());
         assertEquals(11, snap1.size());
 
         for (char c = 'e'; c <= 'k'; ++c) {
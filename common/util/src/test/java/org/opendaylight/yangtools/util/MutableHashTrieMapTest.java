@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Map.Entry;
+import org.junit.Test;
+
+public class MutableHashTrieMapTest {
+    private static final int COUNT = 100;
+
+    @Test
+    public void testPutRemove() {
+        final MutableHashTrieMap<String, String> map = new MutableHashTrieMap<>();
+        assertTrue(map.isEmpty());
+        assertNull(map.put("0", "zero"));
+        assertNull(map.put("1", "one"));
+        assertEquals("one", map.put("1", "uno"));
+        assertEquals(2, map.size());
+        assertFalse(map.isEmpty());
+        assertTrue(map.containsKey("0"));
+        assertTrue(map.containsValue("uno"));
+        assertEquals("uno", map.get("1"));
+
+        assertEquals("zero", map.remove("0"));
+        assertNull(map.remove("0"));
+        assertNull(map.remove(null));
+        assertEquals(1, map.size());
+        assertEquals(ImmutableHashTrieMap.of().with("1", "uno"), map.toImmutable());
+    }
+
+    @Test
+    public void testPutAllClear() {
+        final MutableHashTrieMap<Integer, String> map = new MutableHashTrieMap<>();
+        final Map<Integer, String> expected = populate(map);
+        assertEquals(COUNT, map.size());
+        assertEquals(expected, map);
+        assertEquals(expected.hashCode(), map.hashCode());
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertTrue(map.isEmpty());
+        assertTrue(map.toImmutable().isEmpty());
+        assertNull(map.get(1));
+    }
+
+    @Test
+    public void testEntrySetIteratorRemove() {
+        final MutableHashTrieMap<Integer, String> map = new MutableHashTrieMap<>();
+        final Map<Integer, String> expected = populate(map);
+
+        final Iterator<Entry<Integer, String>> it = map.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<Integer, String> entry = it.next();
+            if (entry.getKey() % 2 == 0) {
+                it.remove();
+                expected.remove(entry.getKey());
+            }
+        }
+
+        assertEquals(COUNT / 2, map.size());
+        assertEquals(COUNT / 2, map.entrySet().size());
+        assertEquals(expected, map);
+        assertEquals(expected, map.toImmutable());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEntrySetIteratorRemoveBeforeNext() {
+        final MutableHashTrieMap<Integer, String> map = new MutableHashTrieMap<>();
+        populate(map);
+        map.entrySet().iterator().remove();
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testEntrySetIteratorRemoveTwice() {
+        final MutableHashTrieMap<Integer, String> map = new MutableHashTrieMap<>();
+        populate(map);
+        final Iterator<Entry<Integer, String>> it = map.entrySet().iterator();
+        it.next();
+        it.remove();
+        it.remove();
+    }
+
+    @Test
+    public void testSnapshotIsolation() {
+        final MutableHashTrieMap<Integer, String> map = new MutableHashTrieMap<>();
+        final Map<Integer, String> expected = populate(map);
+        final ImmutableHashTrieMap<Integer, String> snapshot = map.toImmutable();
+        assertSame(snapshot, map.toImmutable());
+
+        // A facade created from the snapshot does not affect it, nor does the original map
+        final MutableHashTrieMap<Integer, String> copy = new MutableHashTrieMap<>(snapshot);
+        copy.put(COUNT, "new");
+        copy.remove(0);
+        map.clear();
+
+        assertEquals(COUNT, snapshot.size());
+        assertEquals(expected, snapshot);
+        assertEquals(COUNT, copy.size());
+        assertEquals("new", copy.get(COUNT));
+        assertFalse(copy.containsKey(0));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    public void testMapAdaptorSnapshot() {
+        final MapAdaptor adaptor = MapAdaptor.getInstance(true, 2, 2);
+        final Map<Integer, String> source = new HashMap<>();
+        for (int i = 0; i < COUNT; ++i) {
+            source.put(i, String.valueOf(i));
+        }
+
+        final Map<Integer, String> optimized = adaptor.optimize(source);
+        final Map<Integer, String> snapshot = adaptor.takeSnapshot(optimized);
+        snapshot.remove(0);
+        snapshot.put(COUNT, "new");
+
+        assertEquals(source, optimized);
+        assertEquals(COUNT, snapshot.size());
+        assertEquals(snapshot, adaptor.optimize(snapshot));
+    }
+
+    private static Map<Integer, String> populate(final MutableHashTrieMap<Integer, String> map) {
+        final Map<Integer, String> expected = new HashMap<>();
+        for (int i = 0; i < COUNT; ++i) {
+            expected.put(i, String.valueOf(i));
+        }
+        map.putAll(expected);
+        return expected;
+    }
+}
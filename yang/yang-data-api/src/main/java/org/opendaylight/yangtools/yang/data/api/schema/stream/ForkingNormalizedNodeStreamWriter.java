@@ -0,0 +1,56 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.stream;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+
+/**
+ * Extension to the NormalizedNodeStreamWriter allowing entries of a list to be written concurrently. Semantically
+ * this extends the event model of {@link NormalizedNodeStreamWriter} with two new events, which are valid only while
+ * a list is open, i.e. after {@link NormalizedNodeStreamWriter#startMapNode(NodeIdentifier, int)},
+ * {@link NormalizedNodeStreamWriter#startOrderedMapNode(NodeIdentifier, int)} or
+ * {@link NormalizedNodeStreamWriter#startUnkeyedList(NodeIdentifier, int)}, and before any entry has been written
+ * to this writer:
+ * <ul>
+ * <li>{@link #forkListEntries()} creates a new writer, which accepts a non-empty sequence of complete entries of the
+ * open list. Each such writer buffers its output and is independent of this writer as well as of other forks, hence
+ * forks may be used concurrently from multiple threads.</li>
+ * <li>{@link #joinListEntries(NormalizedNodeStreamWriter)} appends the output of a fork to this writer. Forks have to
+ * be joined in the order in which they were created.</li>
+ * </ul>
+ * Once all forks have been joined, the list is closed by {@link NormalizedNodeStreamWriter#endNode()} as usual. The
+ * resulting output is the same as if all entries were written to this writer in the order of their forks.
+ *
+ * <p>
+ * This writer must not be used from multiple threads and must not receive any events other than these two between
+ * the first fork and the last join.
+ */
+@Beta
+public interface ForkingNormalizedNodeStreamWriter extends NormalizedNodeStreamWriterExtension {
+    /**
+     * Create a writer for a subsequence of entries of the currently-open list.
+     *
+     * @return A new writer
+     * @throws IllegalStateException if a list is not open or entries have been written to this writer
+     * @throws IOException if an underlying IO error occurs
+     */
+    @NonNull NormalizedNodeStreamWriter forkListEntries() throws IOException;
+
+    /**
+     * Append entries written to a fork to the currently-open list.
+     *
+     * @param fork A writer previously returned from {@link #forkListEntries()}
+     * @throws IllegalArgumentException if the writer was not created by this writer
+     * @throws IllegalStateException if the fork has not written any entries, or an entry is still open
+     * @throws IOException if an underlying IO error occurs
+     */
+    void joinListEntries(@NonNull NormalizedNodeStreamWriter fork) throws IOException;
+}
@@ -7,18 +7,30 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.stream;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 import static org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter.UNKNOWN_SIZE;
 
 import com.google.common.annotations.Beta;
+import com.google.common.base.Throwables;
 import com.google.common.collect.Iterables;
 import java.io.Closeable;
 import java.io.Flushable;
 import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 import javax.xml.stream.XMLStreamReader;
+import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
@@ -47,10 +59,35 @@ import org.slf4j.LoggerFactory;
  */
 @Beta
 public class NormalizedNodeWriter implements Closeable, Flushable {
+    private static final class PendingFork {
+        final NormalizedNodeStreamWriter writer;
+        final ForkJoinTask<?> task;
+
+        PendingFork(final NormalizedNodeStreamWriter writer, final ForkJoinTask<?> task) {
+            this.writer = requireNonNull(writer);
+            this.task = requireNonNull(task);
+        }
+    }
+
     private final NormalizedNodeStreamWriter writer;
+    private final int chunkSize;
 
     protected NormalizedNodeWriter(final NormalizedNodeStreamWriter writer) {
+        this(writer, 0);
+    }
+
+    /**
+     * Create a new writer, which writes large lists in parallel. See
+     * {@link #forStreamWriter(NormalizedNodeStreamWriter, boolean, int)} for details.
+     *
+     * @param writer Back-end writer
+     * @param chunkSize Number of list entries written by a single task, 0 to disable parallel writes
+     * @throws IllegalArgumentException if chunkSize is negative
+     */
+    protected NormalizedNodeWriter(final NormalizedNodeStreamWriter writer, final int chunkSize) {
+        checkArgument(chunkSize >= 0, "Invalid chunk size %s", chunkSize);
         this.writer = requireNonNull(writer);
+        this.chunkSize = chunkSize;
     }
 
     protected final NormalizedNodeStreamWriter getWriter() {
@@ -85,6 +122,28 @@ public class NormalizedNodeWriter implements Closeable, Flushable {
         return orderKeyLeaves ? new OrderedNormalizedNodeWriter(writer) : new NormalizedNodeWriter(writer);
     }
 
+    /**
+     * Create a new writer backed by a {@link NormalizedNodeStreamWriter}, which writes entries of large lists in
+     * parallel. This is possible only if the back-end writer supports {@link ForkingNormalizedNodeStreamWriter}, in
+     * which case entries of any map or unkeyed list with more than {@code chunkSize} entries are split into chunks of
+     * {@code chunkSize} entries. Each chunk is then written by a separate task running in
+     * {@link ForkJoinPool#commonPool()} into its own fork of the back-end writer and the forks are joined in the
+     * original order, so that the output is the same as if the list was written sequentially. Other writers, as well
+     * as lists with fewer entries, are written sequentially.
+     *
+     * @param writer Back-end writer
+     * @param orderKeyLeaves whether the returned instance should be RFC6020 XML compliant.
+     * @param chunkSize Number of list entries written by a single task
+     * @return A new instance.
+     * @throws IllegalArgumentException if chunkSize is not positive
+     */
+    public static NormalizedNodeWriter forStreamWriter(final NormalizedNodeStreamWriter writer,
+            final boolean orderKeyLeaves, final int chunkSize) {
+        checkArgument(chunkSize > 0, "Invalid chunk size %s", chunkSize);
+        return orderKeyLeaves ? new OrderedNormalizedNodeWriter(writer, chunkSize)
+                : new NormalizedNodeWriter(writer, chunkSize);
+    }
+
     /**
      * Iterate over the provided {@link NormalizedNode} and emit write
      * events to the encapsulated {@link NormalizedNodeStreamWriter}.
@@ -177,6 +236,97 @@ public class NormalizedNodeWriter implements Closeable, Flushable {
         return true;
     }
 
+    /**
+     * Emit events for all entries of a list and then emit an endNode() event. Entries of large lists are written
+     * in parallel if this writer was created with a chunk size and the back-end writer supports it, otherwise this
+     * method defers to {@link #writeChildren(Iterable)}.
+     *
+     * @param entries List entries
+     * @return True
+     * @throws IOException when the writer reports it
+     */
+    protected boolean writeListEntries(final Collection<? extends NormalizedNode<?, ?>> entries) throws IOException {
+        if (chunkSize == 0 || entries.size() <= chunkSize) {
+            return writeChildren(entries);
+        }
+        final ForkingNormalizedNodeStreamWriter forking = writer.getExtensions()
+                .getInstance(ForkingNormalizedNodeStreamWriter.class);
+        if (forking == null) {
+            return writeChildren(entries);
+        }
+
+        writeForked(forking, entries);
+        writer.endNode();
+        return true;
+    }
+
+    /**
+     * Create a sequential writer of entries of the currently-open list, which writes into a fork of the back-end
+     * writer. Subclasses which maintain per-node state need to override this method to return an instance of their
+     * own class, positioned at the list.
+     *
+     * @param fork Forked back-end writer
+     * @return A new instance
+     */
+    protected @NonNull NormalizedNodeWriter createForkWriter(final NormalizedNodeStreamWriter fork) {
+        return new NormalizedNodeWriter(fork);
+    }
+
+    private void writeForked(final ForkingNormalizedNodeStreamWriter forking,
+            final Collection<? extends NormalizedNode<?, ?>> entries) throws IOException {
+        final ForkJoinPool pool = ForkJoinPool.commonPool();
+        // Bound the number of buffered chunks, so that we do not hold the entire list in memory
+        final int maxPending = pool.getParallelism() * 2;
+        final Deque<PendingFork> pending = new ArrayDeque<>(maxPending);
+
+        try {
+            final Iterator<? extends NormalizedNode<?, ?>> it = entries.iterator();
+            while (it.hasNext()) {
+                final List<NormalizedNode<?, ?>> chunk = new ArrayList<>(chunkSize);
+                do {
+                    chunk.add(it.next());
+                } while (chunk.size() < chunkSize && it.hasNext());
+
+                if (pending.size() == maxPending) {
+                    joinFork(forking, pending.remove());
+                }
+
+                final NormalizedNodeStreamWriter fork = forking.forkListEntries();
+                final NormalizedNodeWriter forkWriter = createForkWriter(fork);
+                pending.add(new PendingFork(fork, pool.submit(() -> {
+                    for (NormalizedNode<?, ?> entry : chunk) {
+                        forkWriter.write(entry);
+                    }
+                    return null;
+                })));
+            }
+
+            while (!pending.isEmpty()) {
+                joinFork(forking, pending.remove());
+            }
+        } finally {
+            // Abandon any remaining forks if we have failed
+            pending.forEach(fork -> fork.task.cancel(false));
+        }
+    }
+
+    private static void joinFork(final ForkingNormalizedNodeStreamWriter forking, final PendingFork fork)
+            throws IOException {
+        try {
+            fork.task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw (InterruptedIOException) new InterruptedIOException("Interrupted while waiting for " + fork.writer)
+                .initCause(e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            Throwables.throwIfInstanceOf(cause, IOException.class);
+            Throwables.throwIfUnchecked(cause);
+            throw new IOException("Failed to write entries to " + fork.writer, e);
+        }
+        forking.joinListEntries(fork.writer);
+    }
+
     protected boolean writeMapEntryNode(final MapEntryNode node) throws IOException {
         writer.startMapEntryNode(node.getIdentifier(), childSizeHint(node.getValue()));
         if (writer instanceof NormalizedNodeStreamAttributeWriter) {
@@ -223,17 +373,17 @@ public class NormalizedNodeWriter implements Closeable, Flushable {
         if (node instanceof UnkeyedListNode) {
             final UnkeyedListNode n = (UnkeyedListNode) node;
             writer.startUnkeyedList(n.getIdentifier(), childSizeHint(n.getValue()));
-            return writeChildren(n.getValue());
+            return writeListEntries(n.getValue());
         }
         if (node instanceof OrderedMapNode) {
             final OrderedMapNode n = (OrderedMapNode) node;
             writer.startOrderedMapNode(n.getIdentifier(), childSizeHint(n.getValue()));
-            return writeChildren(n.getValue());
+            return writeListEntries(n.getValue());
         }
         if (node instanceof MapNode) {
             final MapNode n = (MapNode) node;
             writer.startMapNode(n.getIdentifier(), childSizeHint(n.getValue()));
-            return writeChildren(n.getValue());
+            return writeListEntries(n.getValue());
         }
         if (node instanceof OrderedLeafSetNode) {
             final LeafSetNode<?> n = (LeafSetNode<?>) node;
@@ -256,6 +406,15 @@ public class NormalizedNodeWriter implements Closeable, Flushable {
             super(writer);
         }
 
+        OrderedNormalizedNodeWriter(final NormalizedNodeStreamWriter writer, final int chunkSize) {
+            super(writer, chunkSize);
+        }
+
+        @Override
+        protected NormalizedNodeWriter createForkWriter(final NormalizedNodeStreamWriter fork) {
+            return new OrderedNormalizedNodeWriter(fork);
+        }
+
         @Override
         protected boolean writeMapEntryNode(final MapEntryNode node) throws IOException {
             final NormalizedNodeStreamWriter nnWriter = getWriter();
@@ -0,0 +1,36 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A {@link DataTree} which can prepare a number of modifications into a single candidate, for use with group commit.
+ * Users should check whether a particular DataTree implements this interface and fall back to preparing and committing
+ * modifications one by one if it does not.
+ */
+@Beta
+public interface BatchingDataTree extends DataTree {
+    /**
+     * Prepare a batch of modifications into a single candidate. This is equivalent to validating and preparing each
+     * modification in turn on top of the candidate produced by its predecessors, except the resulting candidate is
+     * produced in one step, so that the path from the root is rebuilt only once for the entire batch.
+     *
+     * <p>
+     * A modification which fails to validate is not included in the candidate, but does not affect the other
+     * modifications. Modifications should be based on snapshots of this tree, not chained on top of each other.
+     *
+     * @param modifications Sealed modifications, in the order in which they should be applied
+     * @return Batch containing the combined candidate and any per-modification failures
+     * @throws NullPointerException if modifications is null or contains a null element
+     * @throws IllegalArgumentException if any of the modifications is unrecognized or not sealed
+     */
+    @NonNull DataTreeBatch prepareBatch(List<DataTreeModification> modifications);
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Result of {@link BatchingDataTree#prepareBatch(List)}. It holds a single {@link DataTreeCandidateTip} capturing the
+ * combined effects of all modifications which were accepted, along with the reasons for rejecting the remaining ones.
+ */
+@Beta
+public interface DataTreeBatch {
+    /**
+     * Return the combined candidate of all accepted modifications. This candidate can be committed via
+     * {@link DataTree#commit(DataTreeCandidate)}, just as if it was returned from {@link DataTree#prepare(
+     * DataTreeModification)}.
+     *
+     * @return Combined candidate
+     */
+    @NonNull DataTreeCandidateTip getCandidate();
+
+    /**
+     * Return the modifications whose effects are captured in {@link #getCandidate()}, in the order in which they were
+     * specified.
+     *
+     * @return Accepted modifications
+     */
+    @NonNull List<DataTreeModification> getAcceptedModifications();
+
+    /**
+     * Return the modifications which were rejected, each mapped to the reason why it failed to validate.
+     *
+     * @return Rejected modifications
+     */
+    @NonNull Map<DataTreeModification, DataValidationFailedException> getFailures();
+}
@@ -234,7 +234,7 @@ public final class DataTreeCandidateNodes {
     }
 
     @SuppressWarnings("unchecked")
-    private static @NonNull DataTreeCandidateNode deleteNode(final NormalizedNode<?, ?> data) {
+    static @NonNull DataTreeCandidateNode deleteNode(final NormalizedNode<?, ?> data) {
         if (data instanceof NormalizedNodeContainer) {
             return new RecursiveDeleteCandidateNode(
                 (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data);
@@ -244,7 +244,7 @@ public final class DataTreeCandidateNodes {
 
 
     @SuppressWarnings("unchecked")
-    private static @NonNull DataTreeCandidateNode replaceNode(final NormalizedNode<?, ?> oldData,
+    static @NonNull DataTreeCandidateNode replaceNode(final NormalizedNode<?, ?> oldData,
             final NormalizedNode<?, ?> newData) {
         if (oldData instanceof NormalizedNodeContainer) {
             return new RecursiveReplaceCandidateNode(
@@ -255,7 +255,7 @@ public final class DataTreeCandidateNodes {
     }
 
     @SuppressWarnings("unchecked")
-    private static @NonNull DataTreeCandidateNode writeNode(final NormalizedNode<?, ?> data) {
+    static @NonNull DataTreeCandidateNode writeNode(final NormalizedNode<?, ?> data) {
         if (data instanceof NormalizedNodeContainer) {
             return new RecursiveWriteCandidateNode(
                 (NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) data);
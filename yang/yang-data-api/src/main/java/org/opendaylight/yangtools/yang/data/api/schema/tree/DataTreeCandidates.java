@@ -7,14 +7,24 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -39,6 +49,40 @@ public final class DataTreeCandidates {
         return new DefaultDataTreeCandidate(rootPath, new NormalizedNodeDataTreeCandidateNode(node));
     }
 
+    /**
+     * Compute a minimal {@link DataTreeCandidate} describing the changes between two arbitrary {@link NormalizedNode}
+     * trees. Only subtrees which differ are recursed into, subtrees which are the same object in both trees are
+     * skipped without being compared. Reordering of children of ordered containers is reported as a write of that
+     * container.
+     *
+     * @param rootPath Root path of the trees
+     * @param before Tree before the change, null if the tree did not exist
+     * @param after Tree after the change, null if the tree does not exist
+     * @return A {@link DataTreeCandidate} describing the changes
+     * @throws IllegalArgumentException if both {@code before} and {@code after} are null
+     */
+    public static @NonNull DataTreeCandidate diff(final YangInstanceIdentifier rootPath,
+            final @Nullable NormalizedNode<?, ?> before, final @Nullable NormalizedNode<?, ?> after) {
+        return new DefaultDataTreeCandidate(rootPath, DataTreeDiff.diff(before, after));
+    }
+
+    /**
+     * Compute a minimal {@link DataTreeCandidate} describing the changes between two {@link TreeNode}s. This method
+     * works on arbitrary trees, but is most efficient when both trees come from the same {@link DataTree}, as subtrees
+     * with matching {@link TreeNode#getVersion()} and {@link TreeNode#getSubtreeVersion()} are skipped without being
+     * compared.
+     *
+     * @param rootPath Root path of the trees
+     * @param before Tree before the change, null if the tree did not exist
+     * @param after Tree after the change, null if the tree does not exist
+     * @return A {@link DataTreeCandidate} describing the changes
+     * @throws IllegalArgumentException if both {@code before} and {@code after} are null
+     */
+    public static @NonNull DataTreeCandidate diff(final YangInstanceIdentifier rootPath,
+            final @Nullable TreeNode before, final @Nullable TreeNode after) {
+        return new DefaultDataTreeCandidate(rootPath, DataTreeDiff.diff(before, after));
+    }
+
     public static void applyToCursor(final DataTreeModificationCursor cursor, final DataTreeCandidate candidate) {
         DataTreeCandidateNodes.applyToCursor(cursor, candidate.getRootNode());
     }
@@ -78,6 +122,125 @@ public final class DataTreeCandidates {
         }
     }
 
+    /**
+     * Aggregate a sequence of {@link DataTreeCandidate}s into a single candidate, which has the same effect as applying
+     * the individual candidates in order. Candidates are expected to be consecutive, i.e. the data after each candidate
+     * should be the data before the next one, and they all need to have the same root path.
+     *
+     * <p>
+     * The resulting candidate is minimal in the sense that nodes whose modifications cancel out, such as a write
+     * followed by a delete of a previously-absent node, are reported as {@link ModificationType#UNMODIFIED}, or are
+     * not reported at all if they are children of a modified node.
+     *
+     * @param candidates Candidates to aggregate, in the order they were produced
+     * @return A single aggregated candidate
+     * @throws IllegalArgumentException if {@code candidates} is empty or the candidates have differing root paths
+     */
+    public static @NonNull DataTreeCandidate aggregate(final List<? extends DataTreeCandidate> candidates) {
+        checkArgument(!candidates.isEmpty(), "Cannot aggregate an empty list of candidates");
+        final DataTreeCandidate first = candidates.get(0);
+        if (candidates.size() == 1) {
+            return first;
+        }
+
+        final YangInstanceIdentifier rootPath = first.getRootPath();
+        final List<DataTreeCandidateNode> roots = new ArrayList<>(candidates.size());
+        for (DataTreeCandidate candidate : candidates) {
+            checkArgument(rootPath.equals(candidate.getRootPath()), "Candidate %s does not have root path %s",
+                candidate, rootPath);
+            roots.add(candidate.getRootNode());
+        }
+
+        final DataTreeCandidateNode aggregated = aggregateNodes(roots);
+        if (aggregated != null) {
+            return new DefaultDataTreeCandidate(rootPath, aggregated);
+        }
+
+        final DataTreeCandidateNode last = roots.get(roots.size() - 1);
+        final Optional<NormalizedNode<?, ?>> after = last.getDataAfter();
+        return new DefaultDataTreeCandidate(rootPath, after.isPresent() ? DataTreeCandidateNodes.unmodified(after.get())
+                : new EmptyDataTreeCandidateNode(last.getIdentifier()));
+    }
+
+    /**
+     * Aggregate modifications of a single node.
+     *
+     * @param nodes Candidate nodes of the same node, in the order they were produced
+     * @return Aggregated node, or null if the modifications have no net effect
+     */
+    private static @Nullable DataTreeCandidateNode aggregateNodes(final List<DataTreeCandidateNode> nodes) {
+        final Optional<NormalizedNode<?, ?>> before = nodes.get(0).getDataBefore();
+        final Optional<NormalizedNode<?, ?>> after = nodes.get(nodes.size() - 1).getDataAfter();
+
+        boolean modified = false;
+        boolean replaced = false;
+        for (DataTreeCandidateNode node : nodes) {
+            switch (node.getModificationType()) {
+                case DELETE:
+                case WRITE:
+                    replaced = true;
+                    modified = true;
+                    break;
+                case APPEARED:
+                case DISAPPEARED:
+                case SUBTREE_MODIFIED:
+                    modified = true;
+                    break;
+                case UNMODIFIED:
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unsupported modification " + node.getModificationType());
+            }
+        }
+
+        if (!modified || !before.isPresent() && !after.isPresent()) {
+            return null;
+        }
+        if (replaced) {
+            // The node has been replaced wholesale at some point, hence we just need to compare the two images
+            if (!after.isPresent()) {
+                return DataTreeCandidateNodes.deleteNode(before.get());
+            }
+            if (!before.isPresent()) {
+                return new NormalizedNodeDataTreeCandidateNode(after.get());
+            }
+            return before.get() == after.get() ? null
+                    : DataTreeCandidateNodes.replaceNode(before.get(), after.get());
+        }
+
+        // Only structural modifications: fold the children
+        final Map<PathArgument, List<DataTreeCandidateNode>> childNodes = new LinkedHashMap<>();
+        for (DataTreeCandidateNode node : nodes) {
+            for (DataTreeCandidateNode child : node.getChildNodes()) {
+                if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                    childNodes.computeIfAbsent(child.getIdentifier(), key -> new ArrayList<>(nodes.size()))
+                        .add(child);
+                }
+            }
+        }
+
+        final ImmutableMap.Builder<PathArgument, DataTreeCandidateNode> builder = ImmutableMap.builder();
+        for (Entry<PathArgument, List<DataTreeCandidateNode>> entry : childNodes.entrySet()) {
+            final DataTreeCandidateNode child = aggregateNodes(entry.getValue());
+            if (child != null) {
+                builder.put(entry.getKey(), child);
+            }
+        }
+        final ImmutableMap<PathArgument, DataTreeCandidateNode> children = builder.build();
+
+        final ModificationType type;
+        if (!before.isPresent()) {
+            type = ModificationType.APPEARED;
+        } else if (!after.isPresent()) {
+            type = ModificationType.DISAPPEARED;
+        } else if (!children.isEmpty()) {
+            type = ModificationType.SUBTREE_MODIFIED;
+        } else {
+            return null;
+        }
+        return new ModifiedDataTreeCandidateNode(type, before, after, children);
+    }
+
     private static void applyToCursorAwareModification(final CursorAwareDataTreeModification modification,
             final DataTreeCandidate candidate) {
         final YangInstanceIdentifier candidatePath = candidate.getRootPath();
@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import java.util.Collection;
+import java.util.EventListener;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Interface implemented by classes interested in receiving notifications about changes committed to a
+ * {@link DataTree}. Each listener is registered for a particular path, which may contain wildcards, and is notified
+ * only about changes which affect that path.
+ */
+@Beta
+public interface DataTreeChangeListener extends EventListener {
+    /**
+     * Invoked when a commit has modified data at or underneath the path this listener was registered for. Each
+     * candidate is rooted at a concrete path: if the registration path contains wildcards, a separate candidate is
+     * reported for each matching instance. Unmodified instances are not reported.
+     *
+     * <p>
+     * This method is invoked synchronously on the thread which has committed the change, hence implementations should
+     * defer any lengthy processing to a different thread.
+     *
+     * @param changes Non-empty collection of changes
+     */
+    void onDataTreeChanged(@NonNull Collection<DataTreeCandidate> changes);
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.util.concurrent.ListenableFuture;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * A pipeline for committing {@link DataTreeModification}s into a {@link DataTree} from multiple threads without
+ * external synchronization. Unlike {@link DataTree#commit(DataTreeCandidate)}, a modification submitted to the pipeline
+ * does not need to be based on the current state of the tree: as long as it does not conflict with modifications
+ * committed since its snapshot was taken, it is rebased onto the current state of the tree.
+ *
+ * <p>
+ * Modifications are committed in the order in which they were submitted. Implementations are free to group multiple
+ * modifications into a single update of the tree.
+ */
+@Beta
+public interface DataTreeCommitPipeline {
+    /**
+     * Submit a modification for commit. The modification has to be sealed via {@link DataTreeModification#ready()}.
+     *
+     * <p>
+     * The returned future completes with the {@link DataTreeCandidate} corresponding to the modification once it has
+     * been committed, or fails with a {@link DataValidationFailedException} if the modification conflicts with the
+     * current state of the tree or is otherwise not applicable.
+     *
+     * @param modification Modification to commit
+     * @return Future completing with the committed candidate
+     * @throws NullPointerException if modification is null
+     * @throws IllegalArgumentException if modification is unrecognized or not sealed
+     */
+    @NonNull ListenableFuture<DataTreeCandidate> submit(DataTreeModification modification);
+}
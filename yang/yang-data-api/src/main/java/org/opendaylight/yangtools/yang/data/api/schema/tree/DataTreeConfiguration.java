@@ -7,13 +7,20 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableSet;
+import java.util.Optional;
+import java.util.Set;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapCodec;
 
 /**
  * DataTree configuration class.
@@ -24,6 +31,11 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
  * <li>treeType</li>
  * <li>enable/disable unique indexes and unique constraint validation</li>
  * <li>enable/disable mandatory nodes validation</li>
+ * <li>parallel validation of large sets of sibling modifications</li>
+ * <li>enable/disable validation of leaf values against their type restrictions</li>
+ * <li>off-heap storage of cold subtrees</li>
+ * <li>caching of resolved parent nodes in snapshots</li>
+ * <li>sorted storage of keyed lists</li>
  * </ul>
  *
  * <p>
@@ -50,13 +62,32 @@ public class DataTreeConfiguration implements Immutable {
     private final @NonNull YangInstanceIdentifier rootPath;
     private final boolean uniqueIndexes;
     private final boolean mandatoryNodesValidation;
+    private final boolean incrementalMandatoryNodesValidation;
+    private final int parallelValidationThreshold;
+    private final boolean typeConstraintValidation;
+    private final @NonNull ImmutableSet<YangInstanceIdentifier> offHeapPaths;
+    private final @Nullable OffHeapCodec offHeapCodec;
+    private final int maxOnHeapSubtrees;
+    private final int readCacheSize;
+    private final @NonNull ImmutableSet<QName> sortedLists;
 
     DataTreeConfiguration(final TreeType treeType, final YangInstanceIdentifier rootPath, final boolean uniqueIndexes,
-            final boolean mandatoryNodesValidation) {
+            final boolean mandatoryNodesValidation, final boolean incrementalMandatoryNodesValidation,
+            final int parallelValidationThreshold, final boolean typeConstraintValidation,
+            final Set<YangInstanceIdentifier> offHeapPaths, final @Nullable OffHeapCodec offHeapCodec,
+            final int maxOnHeapSubtrees, final int readCacheSize, final Set<QName> sortedLists) {
         this.treeType = requireNonNull(treeType);
         this.rootPath = requireNonNull(rootPath);
         this.uniqueIndexes = uniqueIndexes;
         this.mandatoryNodesValidation = mandatoryNodesValidation;
+        this.incrementalMandatoryNodesValidation = incrementalMandatoryNodesValidation;
+        this.parallelValidationThreshold = parallelValidationThreshold;
+        this.typeConstraintValidation = typeConstraintValidation;
+        this.offHeapPaths = ImmutableSet.copyOf(offHeapPaths);
+        this.offHeapCodec = offHeapCodec;
+        this.maxOnHeapSubtrees = maxOnHeapSubtrees;
+        this.readCacheSize = readCacheSize;
+        this.sortedLists = ImmutableSet.copyOf(sortedLists);
     }
 
     public @NonNull YangInstanceIdentifier getRootPath() {
@@ -75,11 +106,116 @@ public class DataTreeConfiguration implements Immutable {
         return mandatoryNodesValidation;
     }
 
+    /**
+     * Return true if merging into or touching an existing node re-checks only those mandatory descendants which are
+     * reachable through its modified children. This relies on the existing node having been validated against the
+     * current schema, hence when the schema of a tree changes while it holds data, that data is validated once. If it
+     * does not conform to the new schema, all mandatory descendants are checked until the schema changes again. This
+     * setting has no effect unless {@link #isMandatoryNodesValidationEnabled()} is true.
+     *
+     * @return True if mandatory nodes are validated incrementally
+     */
+    public boolean isIncrementalMandatoryNodesValidationEnabled() {
+        return incrementalMandatoryNodesValidation;
+    }
+
+    /**
+     * Return the minimum number of sibling modifications which are validated and applied in parallel, using
+     * {@link java.util.concurrent.ForkJoinPool#commonPool()}. A value of 0 indicates that parallel processing is
+     * disabled. The outcome of validation does not depend on this setting.
+     *
+     * @return Minimum number of siblings processed in parallel, 0 if disabled
+     */
+    public int getParallelValidationThreshold() {
+        return parallelValidationThreshold;
+    }
+
+    public boolean isParallelValidationEnabled() {
+        return parallelValidationThreshold != 0;
+    }
+
+    /**
+     * Return true if values of modified leaf and leaf-list entries are validated against the restrictions of their
+     * type, such as range, length, pattern, enumeration and bits, when a modification is validated.
+     *
+     * @return True if type constraint validation is enabled
+     */
+    public boolean isTypeConstraintValidationEnabled() {
+        return typeConstraintValidation;
+    }
+
+    /**
+     * Return the paths of subtrees eligible for off-heap storage. A {@link YangInstanceIdentifier.NodeIdentifier}
+     * component of a path also matches all entries of the corresponding list, hence the set of eligible subtrees can be
+     * specified in terms of schema. Eligible subtrees have to be containers or list entries.
+     *
+     * @return Paths of subtrees eligible for off-heap storage
+     */
+    public @NonNull Set<YangInstanceIdentifier> getOffHeapPaths() {
+        return offHeapPaths;
+    }
+
+    /**
+     * Return the codec used to serialize subtrees moved off heap.
+     *
+     * @return Off-heap codec, empty if none has been configured
+     */
+    public @NonNull Optional<OffHeapCodec> getOffHeapCodec() {
+        return Optional.ofNullable(offHeapCodec);
+    }
+
+    /**
+     * Return the maximum number of subtrees eligible for off-heap storage which are kept on heap. When this number is
+     * exceeded, the least recently used subtrees are moved off heap.
+     *
+     * <p>
+     * Both reads and writes make a subtree recently used. Reads take effect on the next commit, which is when subtrees
+     * are moved off heap. A subtree which has been moved off heap is only brought back on heap when it is written
+     * again, reads of off-heap subtrees deserialize them on demand.
+     *
+     * @return Maximum number of eligible subtrees kept on heap
+     */
+    public int getMaxOnHeapSubtrees() {
+        return maxOnHeapSubtrees;
+    }
+
+    public boolean isOffHeapStorageEnabled() {
+        return offHeapCodec != null && !offHeapPaths.isEmpty();
+    }
+
+    /**
+     * Return the maximum number of resolved parent nodes each snapshot remembers, so that reads of multiple children
+     * of the same parent do not need to look up the parent from the root. A value of 0 indicates that the cache is
+     * disabled.
+     *
+     * @return Maximum number of cached parent nodes per snapshot, 0 if disabled
+     */
+    public int getReadCacheSize() {
+        return readCacheSize;
+    }
+
+    /**
+     * Return the names of keyed lists which are stored sorted by their keys. Entries of such lists can be iterated in
+     * key order, starting at an arbitrary key, via {@link DataTreeSnapshotCursor#readRange(
+     * YangInstanceIdentifier.NodeIdentifier, YangInstanceIdentifier.NodeIdentifierWithPredicates,
+     * YangInstanceIdentifier.NodeIdentifierWithPredicates)} without the list being materialized. User-ordered lists
+     * are not affected by this setting.
+     *
+     * @return Names of lists stored sorted by their keys
+     */
+    public @NonNull Set<QName> getSortedLists() {
+        return sortedLists;
+    }
+
     @Override
     public String toString() {
         return MoreObjects.toStringHelper(this).add("type", treeType).add("root", rootPath)
                 .add("mandatory", mandatoryNodesValidation)
-                .add("unique", uniqueIndexes).toString();
+                .add("incrementalMandatory", incrementalMandatoryNodesValidation)
+                .add("unique", uniqueIndexes).add("parallelThreshold", parallelValidationThreshold)
+                .add("typeConstraints", typeConstraintValidation).add("offHeapPaths", offHeapPaths)
+                .add("offHeapCodec", offHeapCodec).add("maxOnHeapSubtrees", maxOnHeapSubtrees)
+                .add("readCacheSize", readCacheSize).add("sortedLists", sortedLists).toString();
     }
 
     public static DataTreeConfiguration getDefault(final TreeType treeType) {
@@ -89,7 +225,8 @@ public class DataTreeConfiguration implements Immutable {
             case OPERATIONAL:
                 return DEFAULT_OPERATIONAL;
             default:
-                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.EMPTY, false, true);
+                return new DataTreeConfiguration(treeType, YangInstanceIdentifier.EMPTY, false, true, true, 0, false,
+                    ImmutableSet.of(), null, 0, 0, ImmutableSet.of());
         }
     }
 
@@ -100,7 +237,15 @@ public class DataTreeConfiguration implements Immutable {
     public Builder copyBuilder() {
         return new Builder(treeType)
                 .setMandatoryNodesValidation(isMandatoryNodesValidationEnabled())
+                .setIncrementalMandatoryNodesValidation(isIncrementalMandatoryNodesValidationEnabled())
                 .setUniqueIndexes(isUniqueIndexEnabled())
+                .setParallelValidationThreshold(getParallelValidationThreshold())
+                .setTypeConstraintValidation(isTypeConstraintValidationEnabled())
+                .setOffHeapPaths(getOffHeapPaths())
+                .setOffHeapCodec(offHeapCodec)
+                .setMaxOnHeapSubtrees(getMaxOnHeapSubtrees())
+                .setReadCacheSize(getReadCacheSize())
+                .setSortedLists(getSortedLists())
                 .setRootPath(getRootPath());
     }
 
@@ -109,6 +254,14 @@ public class DataTreeConfiguration implements Immutable {
         private YangInstanceIdentifier rootPath;
         private boolean uniqueIndexes;
         private boolean mandatoryNodesValidation;
+        private boolean incrementalMandatoryNodesValidation = true;
+        private int parallelValidationThreshold;
+        private boolean typeConstraintValidation;
+        private Set<YangInstanceIdentifier> offHeapPaths = ImmutableSet.of();
+        private OffHeapCodec offHeapCodec;
+        private int maxOnHeapSubtrees;
+        private int readCacheSize;
+        private Set<QName> sortedLists = ImmutableSet.of();
 
         public Builder(final TreeType treeType) {
             this.treeType = requireNonNull(treeType);
@@ -125,6 +278,109 @@ public class DataTreeConfiguration implements Immutable {
             return this;
         }
 
+        /**
+         * Enable or disable incremental validation of mandatory nodes on merge and touch. This validation is enabled by
+         * default, see {@link DataTreeConfiguration#isIncrementalMandatoryNodesValidationEnabled()}.
+         *
+         * @param incrementalMandatoryNodesValidation True if mandatory nodes should be validated incrementally
+         * @return This builder
+         */
+        public Builder setIncrementalMandatoryNodesValidation(final boolean incrementalMandatoryNodesValidation) {
+            this.incrementalMandatoryNodesValidation = incrementalMandatoryNodesValidation;
+            return this;
+        }
+
+        /**
+         * Set the minimum number of sibling modifications which are validated and applied in parallel. Specifying 0
+         * disables parallel processing, which is the default.
+         *
+         * @param parallelValidationThreshold Minimum number of siblings, or 0
+         * @return This builder
+         * @throws IllegalArgumentException if {@code parallelValidationThreshold} is negative
+         */
+        public Builder setParallelValidationThreshold(final int parallelValidationThreshold) {
+            checkArgument(parallelValidationThreshold >= 0, "Invalid threshold %s", parallelValidationThreshold);
+            this.parallelValidationThreshold = parallelValidationThreshold;
+            return this;
+        }
+
+        /**
+         * Enable or disable validation of modified leaf values against the restrictions of their type. This
+         * validation is disabled by default.
+         *
+         * @param typeConstraintValidation True if type constraints should be validated
+         * @return This builder
+         */
+        public Builder setTypeConstraintValidation(final boolean typeConstraintValidation) {
+            this.typeConstraintValidation = typeConstraintValidation;
+            return this;
+        }
+
+        /**
+         * Set the paths of subtrees eligible for off-heap storage. Off-heap storage is enabled only if an off-heap
+         * codec is set, too.
+         *
+         * @param offHeapPaths Paths of eligible subtrees, see {@link DataTreeConfiguration#getOffHeapPaths()}
+         * @return This builder
+         */
+        public Builder setOffHeapPaths(final Set<YangInstanceIdentifier> offHeapPaths) {
+            this.offHeapPaths = ImmutableSet.copyOf(offHeapPaths);
+            return this;
+        }
+
+        /**
+         * Set the codec used to serialize subtrees moved off heap.
+         *
+         * @param offHeapCodec Off-heap codec, null to disable off-heap storage
+         * @return This builder
+         */
+        public Builder setOffHeapCodec(final @Nullable OffHeapCodec offHeapCodec) {
+            this.offHeapCodec = offHeapCodec;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of subtrees eligible for off-heap storage which are kept on heap. The default is 0,
+         * i.e. eligible subtrees are moved off heap as soon as they are committed. Subtrees are evicted in
+         * least-recently-used order, see {@link DataTreeConfiguration#getMaxOnHeapSubtrees()}.
+         *
+         * @param maxOnHeapSubtrees Maximum number of eligible subtrees kept on heap
+         * @return This builder
+         * @throws IllegalArgumentException if {@code maxOnHeapSubtrees} is negative
+         */
+        public Builder setMaxOnHeapSubtrees(final int maxOnHeapSubtrees) {
+            checkArgument(maxOnHeapSubtrees >= 0, "Invalid subtree count %s", maxOnHeapSubtrees);
+            this.maxOnHeapSubtrees = maxOnHeapSubtrees;
+            return this;
+        }
+
+        /**
+         * Set the maximum number of resolved parent nodes each snapshot remembers. Specifying 0 disables the cache,
+         * which is the default.
+         *
+         * @param readCacheSize Maximum number of cached parent nodes per snapshot, or 0
+         * @return This builder
+         * @throws IllegalArgumentException if {@code readCacheSize} is negative
+         */
+        public Builder setReadCacheSize(final int readCacheSize) {
+            checkArgument(readCacheSize >= 0, "Invalid cache size %s", readCacheSize);
+            this.readCacheSize = readCacheSize;
+            return this;
+        }
+
+        /**
+         * Set the names of keyed lists which are stored sorted by their keys. All instances of a list with a matching
+         * name are affected, regardless of their position in the tree. Keeping a list sorted makes lookups and
+         * updates of its entries O(log n) instead of O(1).
+         *
+         * @param sortedLists Names of lists, see {@link DataTreeConfiguration#getSortedLists()}
+         * @return This builder
+         */
+        public Builder setSortedLists(final Set<QName> sortedLists) {
+            this.sortedLists = ImmutableSet.copyOf(sortedLists);
+            return this;
+        }
+
         public Builder setRootPath(final YangInstanceIdentifier rootPath) {
             this.rootPath = rootPath.toOptimized();
             return this;
@@ -132,7 +388,9 @@ public class DataTreeConfiguration implements Immutable {
 
         @Override
         public DataTreeConfiguration build() {
-            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation);
+            return new DataTreeConfiguration(treeType, rootPath, uniqueIndexes, mandatoryNodesValidation,
+                incrementalMandatoryNodesValidation, parallelValidationThreshold, typeConstraintValidation,
+                offHeapPaths, offHeapCodec, maxOnHeapSubtrees, readCacheSize, sortedLists);
         }
     }
 }
@@ -0,0 +1,173 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Iterator;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+
+/**
+ * Structural difference engine between two trees. It produces a minimal {@link DataTreeCandidateNode}, recursing only
+ * into subtrees which may have changed. Subtrees which are known to be unchanged, either because their data is the same
+ * object or because their {@link TreeNode} versions match, are skipped without being looked at.
+ *
+ * @param <T> type of tree node
+ */
+abstract class DataTreeDiff<T> {
+    private static final class NormalizedNodeDiff extends DataTreeDiff<NormalizedNode<?, ?>> {
+        static final NormalizedNodeDiff INSTANCE = new NormalizedNodeDiff();
+
+        @Override
+        NormalizedNode<?, ?> data(final NormalizedNode<?, ?> node) {
+            return node;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        Optional<NormalizedNode<?, ?>> child(final NormalizedNode<?, ?> parent, final PathArgument childId) {
+            return ((NormalizedNodeContainer<?, PathArgument, NormalizedNode<?, ?>>) parent).getChild(childId);
+        }
+
+        @Override
+        boolean isUnchanged(final NormalizedNode<?, ?> before, final NormalizedNode<?, ?> after) {
+            return before == after;
+        }
+    }
+
+    private static final class TreeNodeDiff extends DataTreeDiff<TreeNode> {
+        static final TreeNodeDiff INSTANCE = new TreeNodeDiff();
+
+        @Override
+        NormalizedNode<?, ?> data(final TreeNode node) {
+            return node.getData();
+        }
+
+        @Override
+        Optional<TreeNode> child(final TreeNode parent, final PathArgument childId) {
+            return parent.getChild(childId);
+        }
+
+        @Override
+        boolean isUnchanged(final TreeNode before, final TreeNode after) {
+            // Versions are unique to a DataTree, hence matching versions indicate the same subtree
+            return before == after || before.getData() == after.getData()
+                    || before.getVersion() == after.getVersion()
+                        && before.getSubtreeVersion() == after.getSubtreeVersion();
+        }
+    }
+
+    static @NonNull DataTreeCandidateNode diff(final @Nullable NormalizedNode<?, ?> before,
+            final @Nullable NormalizedNode<?, ?> after) {
+        return NormalizedNodeDiff.INSTANCE.diffRoot(before, after);
+    }
+
+    static @NonNull DataTreeCandidateNode diff(final @Nullable TreeNode before, final @Nullable TreeNode after) {
+        return TreeNodeDiff.INSTANCE.diffRoot(before, after);
+    }
+
+    abstract NormalizedNode<?, ?> data(T node);
+
+    abstract Optional<T> child(T parent, PathArgument childId);
+
+    abstract boolean isUnchanged(T before, T after);
+
+    final @NonNull DataTreeCandidateNode diffRoot(final @Nullable T before, final @Nullable T after) {
+        if (after == null) {
+            if (before == null) {
+                throw new IllegalArgumentException("At least one of before and after needs to be present");
+            }
+            return DataTreeCandidateNodes.deleteNode(data(before));
+        }
+        if (before == null) {
+            return new NormalizedNodeDataTreeCandidateNode(data(after));
+        }
+
+        final DataTreeCandidateNode node = diffNodes(before, after);
+        return node != null ? node : DataTreeCandidateNodes.unmodified(data(after));
+    }
+
+    /**
+     * Compute the difference between two versions of a node.
+     *
+     * @param before Node before
+     * @param after Node after
+     * @return Candidate node, or null if the two nodes are equal
+     */
+    final @Nullable DataTreeCandidateNode diffNodes(final T before, final T after) {
+        if (isUnchanged(before, after)) {
+            return null;
+        }
+
+        final NormalizedNode<?, ?> beforeData = data(before);
+        final NormalizedNode<?, ?> afterData = data(after);
+        if (!(beforeData instanceof NormalizedNodeContainer) || !(afterData instanceof NormalizedNodeContainer)
+                || beforeData instanceof OrderedNodeContainer != afterData instanceof OrderedNodeContainer) {
+            return beforeData.equals(afterData) ? null : DataTreeCandidateNodes.replaceNode(beforeData, afterData);
+        }
+        if (beforeData instanceof OrderedNodeContainer && !isSameOrder(before, after)) {
+            // Reordering cannot be expressed in terms of child modifications
+            return DataTreeCandidateNodes.replaceNode(beforeData, afterData);
+        }
+
+        final ImmutableMap.Builder<PathArgument, DataTreeCandidateNode> builder = ImmutableMap.builder();
+        for (NormalizedNode<?, ?> afterChild : ((NormalizedNodeContainer<?, ?, ?>) afterData).getValue()) {
+            final PathArgument childId = afterChild.getIdentifier();
+            final Optional<T> beforeChild = child(before, childId);
+            if (beforeChild.isPresent()) {
+                final DataTreeCandidateNode childNode = diffNodes(beforeChild.get(), child(after, childId).get());
+                if (childNode != null) {
+                    builder.put(childId, childNode);
+                }
+            } else {
+                builder.put(childId, DataTreeCandidateNodes.writeNode(afterChild));
+            }
+        }
+        for (NormalizedNode<?, ?> beforeChild : ((NormalizedNodeContainer<?, ?, ?>) beforeData).getValue()) {
+            final PathArgument childId = beforeChild.getIdentifier();
+            if (!child(after, childId).isPresent()) {
+                builder.put(childId, DataTreeCandidateNodes.deleteNode(beforeChild));
+            }
+        }
+
+        final ImmutableMap<PathArgument, DataTreeCandidateNode> children = builder.build();
+        return children.isEmpty() ? null : new ModifiedDataTreeCandidateNode(ModificationType.SUBTREE_MODIFIED,
+            Optional.of(beforeData), Optional.of(afterData), children);
+    }
+
+    final boolean isSameOrder(final T before, final T after) {
+        // Compare the relative order of children present in both containers
+        final Iterator<? extends NormalizedNode<?, ?>> afterIt =
+                ((NormalizedNodeContainer<?, ?, ?>) data(after)).getValue().iterator();
+        for (NormalizedNode<?, ?> beforeChild : ((NormalizedNodeContainer<?, ?, ?>) data(before)).getValue()) {
+            final PathArgument childId = beforeChild.getIdentifier();
+            if (!child(after, childId).isPresent()) {
+                continue;
+            }
+
+            PathArgument afterId;
+            do {
+                if (!afterIt.hasNext()) {
+                    return false;
+                }
+                afterId = afterIt.next().getIdentifier();
+            } while (!childId.equals(afterId) && !child(before, afterId).isPresent());
+
+            if (!childId.equals(afterId)) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -7,10 +7,22 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
 import com.google.common.annotations.Beta;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 
@@ -94,6 +106,47 @@ public interface DataTreeSnapshotCursor extends AutoCloseable {
      */
     Optional<NormalizedNode<?, ?>> readNode(@NonNull PathArgument child);
 
+    /**
+     * Iterate over a range of entries of a keyed list, which is a child of the current position, in the order defined
+     * by {@link MapEntryKeyComparator}. The returned iterator reflects the state of the snapshot and is not affected by
+     * subsequent modifications.
+     *
+     * <p>
+     * The default implementation reads the entire list and sorts it. Implementations are encouraged to provide more
+     * efficient iteration, for example if they maintain the list sorted.
+     *
+     * @param child List identifier
+     * @param fromKey Key of the first entry to return, inclusive, or null to start with the first entry
+     * @param toKey Key at which to stop, exclusive, or null to iterate up to the last entry
+     * @return Iterator over matching entries, empty if the list is not present
+     * @throws BackendFailedException when implementation-specific error occurs while servicing the request.
+     * @throws IllegalArgumentException when specified identifier does not identify a keyed list.
+     */
+    default @NonNull Iterator<MapEntryNode> readRange(final @NonNull NodeIdentifier child,
+            final @Nullable NodeIdentifierWithPredicates fromKey, final @Nullable NodeIdentifierWithPredicates toKey) {
+        final Optional<NormalizedNode<?, ?>> maybeNode = readNode(child);
+        if (!maybeNode.isPresent()) {
+            return Collections.emptyIterator();
+        }
+        final NormalizedNode<?, ?> node = maybeNode.get();
+        checkArgument(node instanceof MapNode, "Child %s is not a keyed list", child);
+
+        final List<MapEntryNode> entries = new ArrayList<>();
+        for (MapEntryNode entry : ((MapNode) node).getValue()) {
+            entries.add(entry);
+        }
+        if (entries.isEmpty()) {
+            return Collections.emptyIterator();
+        }
+
+        final Comparator<NodeIdentifierWithPredicates> comparator =
+                MapEntryKeyComparator.of(entries.get(0).getIdentifier());
+        entries.removeIf(entry -> fromKey != null && comparator.compare(entry.getIdentifier(), fromKey) < 0
+            || toKey != null && comparator.compare(entry.getIdentifier(), toKey) >= 0);
+        entries.sort((first, second) -> comparator.compare(first.getIdentifier(), second.getIdentifier()));
+        return Collections.unmodifiableList(entries).iterator();
+    }
+
     /**
      * Close this cursor. Attempting any further operations on the cursor will lead
      * to undefined behavior.
@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Verify.verify;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.primitives.UnsignedBytes;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.Immutable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BooleanTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.DecimalTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EmptyTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.IdentityrefTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int16TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int32TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int64TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Int8TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint16TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint32TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint64TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.Uint8TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
+
+/**
+ * A {@link Comparator} defining the order of entries of a keyed list, as used by sorted list storage and by range
+ * reads. Key values are compared one by one, with keys taken in the order of their {@link QName}s, so that the order
+ * does not depend on schema. Values of the same type are compared by their natural order, byte arrays are compared
+ * lexicographically and {@link BigDecimal}s of equal value are ordered by their scale. Values of different types, which
+ * can occur with union keys, are ordered by the name of their class.
+ *
+ * <p>
+ * The ordering is consistent with equals. Values which are neither {@link Comparable} nor byte arrays cannot be
+ * ordered, hence {@link #of(ListSchemaNode)} rejects lists whose keys can take such values, such as
+ * {@code instance-identifier} and {@code bits}. Comparators which are not derived from schema throw an
+ * {@link IllegalArgumentException} when they encounter such a value.
+ */
+@Beta
+public final class MapEntryKeyComparator implements Comparator<NodeIdentifierWithPredicates>, Immutable,
+        Serializable {
+    private static final long serialVersionUID = 1L;
+
+    private final @NonNull ImmutableList<QName> keys;
+
+    private MapEntryKeyComparator(final ImmutableList<QName> keys) {
+        this.keys = keys;
+    }
+
+    /**
+     * Return a comparator for a list with specified keys.
+     *
+     * @param keys Key leaf names
+     * @return A comparator
+     * @throws IllegalArgumentException if keys are empty
+     */
+    public static @NonNull MapEntryKeyComparator of(final Collection<QName> keys) {
+        checkArgument(!keys.isEmpty(), "A keyed list needs at least one key");
+        return new MapEntryKeyComparator(ImmutableList.sortedCopyOf(Comparator.naturalOrder(), keys));
+    }
+
+    /**
+     * Return a comparator for a list, making sure all of its keys can be ordered consistently with equals.
+     *
+     * @param schema List schema
+     * @return A comparator
+     * @throws IllegalArgumentException if the list has no keys, or if a key's type cannot be ordered
+     */
+    public static @NonNull MapEntryKeyComparator of(final ListSchemaNode schema) {
+        for (QName key : schema.getKeyDefinition()) {
+            final Optional<DataSchemaNode> child = schema.findDataChildByName(key);
+            checkArgument(child.isPresent() && child.get() instanceof LeafSchemaNode, "List %s does not have key %s",
+                schema.getQName(), key);
+            final TypeDefinition<?> type = ((LeafSchemaNode) child.get()).getType();
+            checkArgument(isOrdered(type), "List %s key %s type %s cannot be ordered", schema.getQName(), key,
+                type.getQName());
+        }
+        return of(schema.getKeyDefinition());
+    }
+
+    /**
+     * Return a comparator for the list identified by an entry identifier.
+     *
+     * @param identifier Identifier of any entry of the list
+     * @return A comparator
+     * @throws IllegalArgumentException if the identifier does not have any keys
+     */
+    public static @NonNull MapEntryKeyComparator of(final NodeIdentifierWithPredicates identifier) {
+        return of(identifier.getKeyValues().keySet());
+    }
+
+    @Override
+    public int compare(final NodeIdentifierWithPredicates first, final NodeIdentifierWithPredicates second) {
+        for (QName key : keys) {
+            final int cmp = compareValues(first.getKeyValues().get(key), second.getKeyValues().get(key));
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return 0;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("keys", keys).toString();
+    }
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static int compareValues(final Object first, final Object second) {
+        if (first == second) {
+            return 0;
+        }
+        if (first == null) {
+            return -1;
+        }
+        if (second == null) {
+            return 1;
+        }
+
+        final Class<?> firstClass = first.getClass();
+        final Class<?> secondClass = second.getClass();
+        if (firstClass != secondClass) {
+            return firstClass.getName().compareTo(secondClass.getName());
+        }
+        if (first instanceof byte[]) {
+            return UnsignedBytes.lexicographicalComparator().compare((byte[]) first, (byte[]) second);
+        }
+        if (first.equals(second)) {
+            return 0;
+        }
+        checkArgument(first instanceof Comparable, "Key value %s of %s cannot be ordered", first, firstClass);
+        final int cmp = ((Comparable) first).compareTo(second);
+        if (cmp != 0) {
+            return cmp;
+        }
+        // Natural order considers unequal values with different scale the same
+        verify(first instanceof BigDecimal, "Unequal values %s and %s compare as equal", first, second);
+        return Integer.compare(((BigDecimal) first).scale(), ((BigDecimal) second).scale());
+    }
+
+    private static boolean isOrdered(final TypeDefinition<?> type) {
+        if (type instanceof UnionTypeDefinition) {
+            return ((UnionTypeDefinition) type).getTypes().stream().allMatch(MapEntryKeyComparator::isOrdered);
+        }
+        return type instanceof StringTypeDefinition || type instanceof Int8TypeDefinition
+            || type instanceof Int16TypeDefinition || type instanceof Int32TypeDefinition
+            || type instanceof Int64TypeDefinition || type instanceof Uint8TypeDefinition
+            || type instanceof Uint16TypeDefinition || type instanceof Uint32TypeDefinition
+            || type instanceof Uint64TypeDefinition || type instanceof DecimalTypeDefinition
+            || type instanceof BooleanTypeDefinition || type instanceof EnumTypeDefinition
+            || type instanceof IdentityrefTypeDefinition || type instanceof BinaryTypeDefinition
+            || type instanceof EmptyTypeDefinition;
+    }
+}
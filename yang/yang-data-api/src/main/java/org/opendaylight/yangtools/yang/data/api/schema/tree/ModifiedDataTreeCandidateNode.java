@@ -0,0 +1,74 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A {@link DataTreeCandidateNode} computed by {@link DataTreeCandidates#aggregate(java.util.List)} or by
+ * {@link DataTreeDiff}, which has been modified in place, i.e. it is {@link ModificationType#SUBTREE_MODIFIED},
+ * {@link ModificationType#APPEARED} or {@link ModificationType#DISAPPEARED}. Its children have been computed upfront.
+ */
+final class ModifiedDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final ImmutableMap<PathArgument, DataTreeCandidateNode> children;
+    private final Optional<NormalizedNode<?, ?>> dataBefore;
+    private final Optional<NormalizedNode<?, ?>> dataAfter;
+    private final ModificationType type;
+
+    ModifiedDataTreeCandidateNode(final ModificationType type, final Optional<NormalizedNode<?, ?>> dataBefore,
+            final Optional<NormalizedNode<?, ?>> dataAfter,
+            final ImmutableMap<PathArgument, DataTreeCandidateNode> children) {
+        this.type = requireNonNull(type);
+        this.dataBefore = requireNonNull(dataBefore);
+        this.dataAfter = requireNonNull(dataAfter);
+        this.children = requireNonNull(children);
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        // At least one of the images is always present
+        return dataAfter.orElseGet(dataBefore::get).getIdentifier();
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        return children.values();
+    }
+
+    @Override
+    public Optional<DataTreeCandidateNode> getModifiedChild(final PathArgument childIdentifier) {
+        return Optional.ofNullable(children.get(requireNonNull(childIdentifier)));
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return type;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        return dataAfter;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        return dataBefore;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("type", type).add("children", children.keySet()).toString();
+    }
+}
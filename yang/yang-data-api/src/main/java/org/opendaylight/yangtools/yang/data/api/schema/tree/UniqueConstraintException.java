@@ -0,0 +1,46 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+
+/**
+ * Exception thrown when a {@code unique} statement restriction is violated, i.e. two entries of a list have the same
+ * combination of values for the leaves identified by the statement.
+ */
+@Beta
+@NonNullByDefault
+public final class UniqueConstraintException extends DataValidationFailedException {
+    private static final long serialVersionUID = 1L;
+
+    private final ImmutableMap<YangInstanceIdentifier, Object> values;
+
+    public UniqueConstraintException(final YangInstanceIdentifier path,
+            final Map<YangInstanceIdentifier, Object> values, final String message) {
+        super(path, message);
+        this.values = ImmutableMap.copyOf(values);
+    }
+
+    public UniqueConstraintException(final YangInstanceIdentifier path,
+            final Map<YangInstanceIdentifier, Object> values, final String format, final Object... args) {
+        this(path, values, String.format(format, args));
+    }
+
+    /**
+     * Return the offending values, keyed by the path to the leaf holding them, relative to the list entry.
+     *
+     * @return Offending values
+     */
+    public ImmutableMap<YangInstanceIdentifier, Object> getValues() {
+        return values;
+    }
+}
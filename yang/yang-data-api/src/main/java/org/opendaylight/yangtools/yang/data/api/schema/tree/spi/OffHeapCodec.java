@@ -0,0 +1,41 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A codec used to move {@link NormalizedNode} subtrees out of the Java heap, see
+ * {@link TreeNodeFactory#createOffHeapTreeNode(TreeNode, OffHeapCodec)}. Implementations are required to be
+ * thread-safe.
+ */
+@Beta
+public interface OffHeapCodec {
+    /**
+     * Serialize a node into its binary representation.
+     *
+     * @param node Node to serialize
+     * @return A buffer holding the serialized node between its position and limit
+     * @throws IOException if the node cannot be serialized
+     */
+    @NonNull ByteBuffer serialize(@NonNull NormalizedNode<?, ?> node) throws IOException;
+
+    /**
+     * Deserialize a node from its binary representation, as produced by {@link #serialize(NormalizedNode)}. The
+     * buffer's position is advanced as data is read.
+     *
+     * @param buffer Buffer holding the serialized node, starting at its position
+     * @return Deserialized node
+     * @throws IOException if the node cannot be deserialized
+     */
+    @NonNull NormalizedNode<?, ?> deserialize(@NonNull ByteBuffer buffer) throws IOException;
+}
@@ -0,0 +1,198 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.AttributesContainer;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * A data container node whose contents are held serialized in a direct {@link ByteBuffer}. The node is deserialized
+ * whenever its contents are accessed. The deserialized form is cached through a {@link WeakReference}, so it is
+ * reused by back-to-back accesses, but does not keep the subtree on heap.
+ *
+ * <p>
+ * Inflation is confined to this class: {@link #equals(Object)} and {@link #hashCode()} operate on the deserialized
+ * form, hence an off-heap node is equal to its on-heap equivalent. On-heap implementations compare nodes of other
+ * classes through the {@link NormalizedNode} interface, which makes the equality symmetric.
+ *
+ * @param <I> Identifier type
+ * @param <T> Node type
+ */
+abstract class OffHeapDataNode<I extends PathArgument, T extends DataContainerNode<I> & AttributesContainer>
+        implements DataContainerNode<I>, AttributesContainer {
+    static final class Container extends OffHeapDataNode<NodeIdentifier, ContainerNode> implements ContainerNode {
+        Container(final NodeIdentifier identifier, final ByteBuffer storage, final OffHeapCodec codec) {
+            super(identifier, storage, codec);
+        }
+
+        @Override
+        Class<ContainerNode> nodeClass() {
+            return ContainerNode.class;
+        }
+    }
+
+    static final class MapEntry extends OffHeapDataNode<NodeIdentifierWithPredicates, MapEntryNode>
+            implements MapEntryNode {
+        MapEntry(final NodeIdentifierWithPredicates identifier, final ByteBuffer storage, final OffHeapCodec codec) {
+            super(identifier, storage, codec);
+        }
+
+        @Override
+        Class<MapEntryNode> nodeClass() {
+            return MapEntryNode.class;
+        }
+    }
+
+    private final @NonNull I identifier;
+    private final @NonNull ByteBuffer storage;
+    private final @NonNull OffHeapCodec codec;
+
+    private volatile WeakReference<T> cache;
+
+    OffHeapDataNode(final I identifier, final ByteBuffer storage, final OffHeapCodec codec) {
+        this.identifier = requireNonNull(identifier);
+        this.storage = requireNonNull(storage);
+        this.codec = requireNonNull(codec);
+    }
+
+    /**
+     * Move a node off heap.
+     *
+     * @param node Node to serialize
+     * @param codec Codec to use
+     * @return An off-heap node
+     * @throws IOException if the node cannot be serialized
+     * @throws IllegalArgumentException if the node is neither a {@link ContainerNode} nor a {@link MapEntryNode}
+     */
+    static OffHeapDataNode<?, ?> create(final NormalizedNode<?, ?> node, final OffHeapCodec codec)
+            throws IOException {
+        checkArgument(node instanceof ContainerNode || node instanceof MapEntryNode,
+            "Unsupported node %s", node.getIdentifier());
+
+        final ByteBuffer serialized = codec.serialize(node);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(serialized.remaining());
+        buffer.put(serialized).flip();
+
+        final ByteBuffer storage = buffer.asReadOnlyBuffer();
+        if (node instanceof ContainerNode) {
+            return new Container((NodeIdentifier) node.getIdentifier(), storage, codec);
+        }
+        return new MapEntry((NodeIdentifierWithPredicates) node.getIdentifier(), storage, codec);
+    }
+
+    @Override
+    public final I getIdentifier() {
+        return identifier;
+    }
+
+    @Override
+    public final QName getNodeType() {
+        return identifier.getNodeType();
+    }
+
+    @Override
+    public final Collection<DataContainerChild<? extends PathArgument, ?>> getValue() {
+        return inflate().getValue();
+    }
+
+    @Override
+    public final Optional<DataContainerChild<? extends PathArgument, ?>> getChild(final PathArgument child) {
+        return inflate().getChild(child);
+    }
+
+    @Override
+    public final Map<QName, String> getAttributes() {
+        return inflate().getAttributes();
+    }
+
+    @Override
+    public final Object getAttributeValue(final QName name) {
+        return inflate().getAttributeValue(name);
+    }
+
+    /**
+     * Return the deserialized form of this node.
+     *
+     * @return Deserialized node
+     * @throws IllegalStateException if the node cannot be deserialized
+     */
+    final @NonNull T inflate() {
+        final WeakReference<T> ref = cache;
+        if (ref != null) {
+            final T cached = ref.get();
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        final NormalizedNode<?, ?> node;
+        try {
+            node = codec.deserialize(storage.duplicate());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to deserialize " + identifier, e);
+        }
+
+        final Class<T> nodeClass = nodeClass();
+        if (!nodeClass.isInstance(node) || !identifier.equals(node.getIdentifier())) {
+            throw new IllegalStateException("Deserialized unexpected node " + node + " instead of " + identifier);
+        }
+
+        final T ret = nodeClass.cast(node);
+        cache = new WeakReference<>(ret);
+        return ret;
+    }
+
+    /**
+     * Return the number of bytes occupied by the serialized form of this node.
+     *
+     * @return Serialized size
+     */
+    final int serializedSize() {
+        return storage.capacity();
+    }
+
+    abstract Class<T> nodeClass();
+
+    @Override
+    public final int hashCode() {
+        return inflate().hashCode();
+    }
+
+    @Override
+    public final boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        return inflate().equals(obj instanceof OffHeapDataNode ? ((OffHeapDataNode<?, ?>) obj).inflate() : obj);
+    }
+
+    @Override
+    public final String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", identifier).add("size", serializedSize())
+                .toString();
+    }
+}
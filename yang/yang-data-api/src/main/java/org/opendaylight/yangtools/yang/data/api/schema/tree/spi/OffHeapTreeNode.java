@@ -0,0 +1,42 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
+
+import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.Optional;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+
+/**
+ * A container node whose data is held off heap in an {@link OffHeapDataNode}. Children are instantiated from the
+ * deserialized data. Like {@link SimpleContainerNode}, all nodes underneath it share the same version.
+ */
+final class OffHeapTreeNode extends AbstractContainerNode {
+    OffHeapTreeNode(final OffHeapDataNode<?, ?> data, final Version version) {
+        super(data, version);
+    }
+
+    @Override
+    public Version getSubtreeVersion() {
+        return getVersion();
+    }
+
+    @Override
+    public Optional<TreeNode> getChild(final PathArgument child) {
+        return getChildFromData(child);
+    }
+
+    @Override
+    public MutableTreeNode mutable() {
+        return new LazyMutableContainerNode(this);
+    }
+
+    @Override
+    protected ToStringHelper addToStringAttributes(final ToStringHelper helper) {
+        return helper.add("data", getData());
+    }
+}
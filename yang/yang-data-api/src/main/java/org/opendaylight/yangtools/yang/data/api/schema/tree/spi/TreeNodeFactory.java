@@ -7,6 +7,10 @@
  */
 package org.opendaylight.yangtools.yang.data.api.schema.tree.spi;
 
+import static com.google.common.base.Preconditions.checkArgument;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.opendaylight.yangtools.yang.data.api.schema.OrderedNodeContainer;
@@ -28,6 +32,9 @@ public final class TreeNodeFactory {
      * @return new AbstractTreeNode instance, covering the data tree provided
      */
     public static TreeNode createTreeNode(final NormalizedNode<?, ?> data, final Version version) {
+        if (data instanceof OffHeapDataNode) {
+            return new OffHeapTreeNode((OffHeapDataNode<?, ?>) data, version);
+        }
         if (data instanceof NormalizedNodeContainer<?, ?, ?>) {
             @SuppressWarnings("unchecked")
             final NormalizedNodeContainer<?, ?, NormalizedNode<?, ?>> container =
@@ -42,4 +49,49 @@ public final class TreeNodeFactory {
         }
         return new ValueNode(data, version);
     }
+
+    /**
+     * Create a TreeNode equivalent to specified node, whose data is held serialized in off-heap memory. Data is
+     * deserialized on demand, i.e. when a child is looked up or the contents of {@link TreeNode#getData()} are
+     * accessed. Since individual versions of the nodes in the subtree are not retained, the returned node and all of
+     * its descendants report the subtree version of the original node. This is conservative: modifications based on
+     * an older state of the subtree may see spurious conflicts, but will never miss a real one.
+     *
+     * @param node Node to move off heap, its data must be a ContainerNode or a MapEntryNode
+     * @param codec Codec to use for serialization
+     * @return An off-heap TreeNode, or the node itself if it is already held off heap
+     * @throws IOException if the node's data cannot be serialized
+     * @throws IllegalArgumentException if the node's data is neither a ContainerNode nor a MapEntryNode
+     */
+    @Beta
+    public static TreeNode createOffHeapTreeNode(final TreeNode node, final OffHeapCodec codec) throws IOException {
+        if (node instanceof OffHeapTreeNode) {
+            return node;
+        }
+        checkArgument(node instanceof AbstractContainerNode, "Unsupported node %s", node);
+        return new OffHeapTreeNode(OffHeapDataNode.create(node.getData(), codec), node.getSubtreeVersion());
+    }
+
+    /**
+     * Check whether a TreeNode's data are held off heap.
+     *
+     * @param node Node to check
+     * @return True if the node was created by {@link #createOffHeapTreeNode(TreeNode, OffHeapCodec)}
+     */
+    @Beta
+    public static boolean isOffHeap(final TreeNode node) {
+        return node instanceof OffHeapTreeNode;
+    }
+
+    /**
+     * Return the on-heap form of a data node. If the node is held off heap, it is deserialized, otherwise it is
+     * returned unchanged.
+     *
+     * @param data Data node
+     * @return On-heap data node
+     */
+    @Beta
+    public static NormalizedNode<?, ?> inflateData(final NormalizedNode<?, ?> data) {
+        return data instanceof OffHeapDataNode ? ((OffHeapDataNode<?, ?>) data).inflate() : data;
+    }
 }
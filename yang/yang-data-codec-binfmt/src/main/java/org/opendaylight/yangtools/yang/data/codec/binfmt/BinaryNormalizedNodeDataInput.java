@@ -0,0 +1,426 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+import static org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter.UNKNOWN_SIZE;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.io.DataInput;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.Decimal64;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * {@link NormalizedNodeStreamVersion#V1} implementation of {@link NormalizedNodeDataInput}. See
+ * {@link BinaryNormalizedNodeDataOutput} for details on how the stream is structured.
+ */
+final class BinaryNormalizedNodeDataInput implements NormalizedNodeDataInput {
+    private final List<QNameModule> codedModules = new ArrayList<>();
+    private final List<QName> codedQNames = new ArrayList<>();
+    private final List<AugmentationIdentifier> codedAugments = new ArrayList<>();
+    private final DataInput input;
+
+    private BinaryNormalizedNodeDataInput(final DataInput input) {
+        this.input = requireNonNull(input);
+    }
+
+    static BinaryNormalizedNodeDataInput create(final DataInput input) throws IOException {
+        final byte marker = input.readByte();
+        if (marker != TokenTypes.SIGNATURE_MARKER) {
+            throw new InvalidNormalizedNodeStreamException(String.format("Invalid signature marker: %d", marker));
+        }
+
+        final short value = input.readShort();
+        final NormalizedNodeStreamVersion version = NormalizedNodeStreamVersion.forValue(value).orElseThrow(
+            () -> new InvalidNormalizedNodeStreamException("Unhandled stream version " + value));
+        switch (version) {
+            case V1:
+                return new BinaryNormalizedNodeDataInput(input);
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unhandled stream version " + version);
+        }
+    }
+
+    @Override
+    public NormalizedNodeStreamVersion getVersion() {
+        return NormalizedNodeStreamVersion.V1;
+    }
+
+    @Override
+    public void readFully(final byte[] bytes) throws IOException {
+        input.readFully(bytes);
+    }
+
+    @Override
+    public void readFully(final byte[] bytes, final int off, final int len) throws IOException {
+        input.readFully(bytes, off, len);
+    }
+
+    @Override
+    public int skipBytes(final int num) throws IOException {
+        return input.skipBytes(num);
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return input.readBoolean();
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        return input.readByte();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return input.readUnsignedByte();
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        return input.readShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return input.readUnsignedShort();
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        return input.readChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        return input.readInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        return input.readLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        return input.readFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        return input.readDouble();
+    }
+
+    @Override
+    @Deprecated
+    public String readLine() throws IOException {
+        return input.readLine();
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return input.readUTF();
+    }
+
+    @Override
+    public void streamNormalizedNode(final NormalizedNodeStreamWriter writer) throws IOException {
+        streamNode(requireNonNull(writer), input.readByte());
+    }
+
+    @Override
+    public NormalizedNode<?, ?> readNormalizedNode() throws IOException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        try (NormalizedNodeStreamWriter writer = ImmutableNormalizedNodeStreamWriter.from(result)) {
+            streamNormalizedNode(writer);
+        }
+        return result.getResult();
+    }
+
+    @Override
+    public QName readQName() throws IOException {
+        final int code = readVarInt();
+        if (code != 0) {
+            return lookup(codedQNames, code, "QName");
+        }
+
+        final QName qname = QName.create(readModule(), readString()).intern();
+        codedQNames.add(qname);
+        return qname;
+    }
+
+    @Override
+    public PathArgument readPathArgument() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case PathArgumentTypes.NODE_IDENTIFIER:
+                return readNodeIdentifier();
+            case PathArgumentTypes.NODE_IDENTIFIER_WITH_PREDICATES:
+                return readNodeIdentifierWithPredicates();
+            case PathArgumentTypes.NODE_WITH_VALUE:
+                return new NodeWithValue<>(readQName(), readValue());
+            case PathArgumentTypes.AUGMENTATION_IDENTIFIER:
+                return readAugmentationIdentifier();
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unhandled path argument type " + type);
+        }
+    }
+
+    @Override
+    public YangInstanceIdentifier readYangInstanceIdentifier() throws IOException {
+        final int size = readVarInt();
+        final ImmutableList.Builder<PathArgument> builder = ImmutableList.builderWithExpectedSize(size);
+        for (int i = 0; i < size; ++i) {
+            builder.add(readPathArgument());
+        }
+        return YangInstanceIdentifier.create(builder.build());
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticComplexity")
+    private void streamNode(final NormalizedNodeStreamWriter writer, final byte nodeType) throws IOException {
+        switch (nodeType) {
+            case NodeTypes.LEAF_NODE:
+                writer.startLeafNode(readNodeIdentifier());
+                writer.nodeValue(readValue());
+                writer.endNode();
+                return;
+            case NodeTypes.LEAF_SET_ENTRY_NODE:
+                final QName qname = readQName();
+                final Object value = readValue();
+                writer.startLeafSetEntryNode(new NodeWithValue<>(qname, value));
+                writer.nodeValue(value);
+                writer.endNode();
+                return;
+            case NodeTypes.ANY_XML_NODE:
+                writer.startAnyxmlNode(readNodeIdentifier());
+                writer.nodeValue(readDOMSource());
+                writer.endNode();
+                return;
+            case NodeTypes.LEAF_SET:
+                writer.startLeafSet(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.ORDERED_LEAF_SET:
+                writer.startOrderedLeafSet(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.CONTAINER_NODE:
+                writer.startContainerNode(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.UNKEYED_LIST:
+                writer.startUnkeyedList(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.UNKEYED_LIST_ITEM:
+                writer.startUnkeyedListItem(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.MAP_NODE:
+                writer.startMapNode(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.MAP_ENTRY_NODE:
+                writer.startMapEntryNode(readNodeIdentifierWithPredicates(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.ORDERED_MAP_NODE:
+                writer.startOrderedMapNode(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.CHOICE_NODE:
+                writer.startChoiceNode(readNodeIdentifier(), UNKNOWN_SIZE);
+                break;
+            case NodeTypes.AUGMENTATION_NODE:
+                writer.startAugmentationNode(readAugmentationIdentifier());
+                break;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unexpected node type " + nodeType);
+        }
+
+        // Container-like node: stream children until we encounter END_NODE
+        while (true) {
+            final byte childType = input.readByte();
+            if (childType == NodeTypes.END_NODE) {
+                writer.endNode();
+                return;
+            }
+            streamNode(writer, childType);
+        }
+    }
+
+    private NodeIdentifier readNodeIdentifier() throws IOException {
+        return NodeIdentifier.create(readQName());
+    }
+
+    private NodeIdentifierWithPredicates readNodeIdentifierWithPredicates() throws IOException {
+        final QName qname = readQName();
+        final int size = readVarInt();
+        switch (size) {
+            case 0:
+                return new NodeIdentifierWithPredicates(qname);
+            case 1:
+                return new NodeIdentifierWithPredicates(qname, readQName(), readValue());
+            default:
+                final Map<QName, Object> keyValues = new LinkedHashMap<>();
+                for (int i = 0; i < size; ++i) {
+                    keyValues.put(readQName(), readValue());
+                }
+                return new NodeIdentifierWithPredicates(qname, keyValues);
+        }
+    }
+
+    private AugmentationIdentifier readAugmentationIdentifier() throws IOException {
+        final int code = readVarInt();
+        if (code != 0) {
+            return lookup(codedAugments, code, "AugmentationIdentifier");
+        }
+
+        final int size = readVarInt();
+        final ImmutableSet.Builder<QName> builder = ImmutableSet.builderWithExpectedSize(size);
+        for (int i = 0; i < size; ++i) {
+            builder.add(readQName());
+        }
+        final AugmentationIdentifier aid = new AugmentationIdentifier(builder.build());
+        codedAugments.add(aid);
+        return aid;
+    }
+
+    private QNameModule readModule() throws IOException {
+        final int code = readVarInt();
+        if (code != 0) {
+            return lookup(codedModules, code, "QNameModule");
+        }
+
+        final URI namespace = URI.create(readString());
+        final String revision = readString();
+        final QNameModule module = QNameModule.create(namespace,
+            revision.isEmpty() ? null : Revision.of(revision)).intern();
+        codedModules.add(module);
+        return module;
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticComplexity")
+    private Object readValue() throws IOException {
+        final byte type = input.readByte();
+        switch (type) {
+            case ValueTypes.STRING:
+                return readString();
+            case ValueTypes.BOOLEAN_FALSE:
+                return Boolean.FALSE;
+            case ValueTypes.BOOLEAN_TRUE:
+                return Boolean.TRUE;
+            case ValueTypes.BYTE:
+                return input.readByte();
+            case ValueTypes.SHORT:
+                return input.readShort();
+            case ValueTypes.INT:
+                return input.readInt();
+            case ValueTypes.LONG:
+                return input.readLong();
+            case ValueTypes.UINT8:
+                return Uint8.fromByteBits(input.readByte());
+            case ValueTypes.UINT16:
+                return Uint16.fromShortBits(input.readShort());
+            case ValueTypes.UINT32:
+                return Uint32.fromIntBits(input.readInt());
+            case ValueTypes.UINT64:
+                return Uint64.fromLongBits(input.readLong());
+            case ValueTypes.BIG_INTEGER:
+                return new BigInteger(readString());
+            case ValueTypes.BIG_DECIMAL:
+                return new BigDecimal(readString());
+            case ValueTypes.DECIMAL64:
+                return Decimal64.valueOf(readString());
+            case ValueTypes.BINARY:
+                final byte[] bytes = new byte[readVarInt()];
+                input.readFully(bytes);
+                return bytes;
+            case ValueTypes.EMPTY:
+                return Empty.getInstance();
+            case ValueTypes.QNAME:
+                return readQName();
+            case ValueTypes.BITS:
+                final int size = readVarInt();
+                final ImmutableSet.Builder<String> builder = ImmutableSet.builderWithExpectedSize(size);
+                for (int i = 0; i < size; ++i) {
+                    builder.add(readString());
+                }
+                return builder.build();
+            case ValueTypes.YANG_IDENTIFIER:
+                return readYangInstanceIdentifier();
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unhandled value type " + type);
+        }
+    }
+
+    private DOMSource readDOMSource() throws IOException {
+        final String xml = readString();
+        try {
+            return new DOMSource(UntrustedXML.newDocumentBuilder().parse(new InputSource(new StringReader(xml)))
+                .getDocumentElement());
+        } catch (SAXException e) {
+            throw new InvalidNormalizedNodeStreamException("Failed to parse anyxml " + xml, e);
+        }
+    }
+
+    private String readString() throws IOException {
+        final int length = readVarInt();
+        if (input instanceof ByteBufferDataInput) {
+            return ((ByteBufferDataInput) input).readString(length);
+        }
+
+        final byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private int readVarInt() throws IOException {
+        int result = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            final byte b = input.readByte();
+            result |= (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new InvalidNormalizedNodeStreamException("Malformed variable-length integer");
+    }
+
+    private static <T> T lookup(final List<T> dictionary, final int code, final String what)
+            throws InvalidNormalizedNodeStreamException {
+        final int index = code - 1;
+        if (index < 0 || index >= dictionary.size()) {
+            throw new InvalidNormalizedNodeStreamException("Invalid " + what + " reference " + index);
+        }
+        return dictionary.get(index);
+    }
+}
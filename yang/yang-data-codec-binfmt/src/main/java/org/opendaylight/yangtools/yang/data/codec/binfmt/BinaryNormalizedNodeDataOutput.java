@@ -0,0 +1,468 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutput;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import javax.xml.transform.Transformer;
+import javax.xml.transform.TransformerException;
+import javax.xml.transform.TransformerFactory;
+import javax.xml.transform.dom.DOMSource;
+import javax.xml.transform.stream.StreamResult;
+import org.opendaylight.yangtools.yang.common.Decimal64;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+
+/**
+ * {@link NormalizedNodeStreamVersion#V1} implementation of {@link NormalizedNodeDataOutput}. Normalized nodes are
+ * emitted by acting as a {@link NormalizedNodeStreamWriter}, so that {@link NormalizedNodeWriter} does the actual tree
+ * walk.
+ *
+ * <p>
+ * Sizes and dictionary references are emitted as variable-length integers, 7 bits per byte, least significant group
+ * first. Dictionary references are encoded as {@code index + 1}, with {@code 0} indicating the definition of a new
+ * entry follows.
+ */
+final class BinaryNormalizedNodeDataOutput implements NormalizedNodeDataOutput, NormalizedNodeStreamWriter {
+    private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
+
+    private final Map<QNameModule, Integer> moduleCodeMap = new HashMap<>();
+    private final Map<QName, Integer> qnameCodeMap = new HashMap<>();
+    private final Map<AugmentationIdentifier, Integer> aidCodeMap = new HashMap<>();
+    private final DataOutput output;
+
+    private NormalizedNodeWriter normalizedNodeWriter;
+    // Type of the simple node we are currently in, or END_NODE if we are not in a simple node
+    private byte simpleNodeType = NodeTypes.END_NODE;
+
+    private BinaryNormalizedNodeDataOutput(final DataOutput output) {
+        this.output = requireNonNull(output);
+    }
+
+    static BinaryNormalizedNodeDataOutput create(final DataOutput output) throws IOException {
+        final BinaryNormalizedNodeDataOutput ret = new BinaryNormalizedNodeDataOutput(output);
+        output.writeByte(TokenTypes.SIGNATURE_MARKER);
+        output.writeShort(ret.getVersion().value());
+        return ret;
+    }
+
+    @Override
+    public NormalizedNodeStreamVersion getVersion() {
+        return NormalizedNodeStreamVersion.V1;
+    }
+
+    @Override
+    public void write(final int value) throws IOException {
+        output.write(value);
+    }
+
+    @Override
+    public void write(final byte[] bytes) throws IOException {
+        output.write(bytes);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) throws IOException {
+        output.write(bytes, off, len);
+    }
+
+    @Override
+    public void writeBoolean(final boolean value) throws IOException {
+        output.writeBoolean(value);
+    }
+
+    @Override
+    public void writeByte(final int value) throws IOException {
+        output.writeByte(value);
+    }
+
+    @Override
+    public void writeShort(final int value) throws IOException {
+        output.writeShort(value);
+    }
+
+    @Override
+    public void writeChar(final int value) throws IOException {
+        output.writeChar(value);
+    }
+
+    @Override
+    public void writeInt(final int value) throws IOException {
+        output.writeInt(value);
+    }
+
+    @Override
+    public void writeLong(final long value) throws IOException {
+        output.writeLong(value);
+    }
+
+    @Override
+    public void writeFloat(final float value) throws IOException {
+        output.writeFloat(value);
+    }
+
+    @Override
+    public void writeDouble(final double value) throws IOException {
+        output.writeDouble(value);
+    }
+
+    @Override
+    public void writeBytes(final String str) throws IOException {
+        output.writeBytes(str);
+    }
+
+    @Override
+    public void writeChars(final String str) throws IOException {
+        output.writeChars(str);
+    }
+
+    @Override
+    public void writeUTF(final String str) throws IOException {
+        output.writeUTF(str);
+    }
+
+    @Override
+    public void writeQName(final QName qname) throws IOException {
+        final Integer code = qnameCodeMap.get(qname);
+        if (code != null) {
+            writeVarInt(code + 1);
+            return;
+        }
+
+        writeVarInt(0);
+        writeModule(qname.getModule());
+        writeString(qname.getLocalName());
+        qnameCodeMap.put(qname, qnameCodeMap.size());
+    }
+
+    @Override
+    public void writeNormalizedNode(final NormalizedNode<?, ?> normalizedNode) throws IOException {
+        if (normalizedNodeWriter == null) {
+            normalizedNodeWriter = NormalizedNodeWriter.forStreamWriter(this);
+        }
+        normalizedNodeWriter.write(normalizedNode);
+    }
+
+    @Override
+    public void writePathArgument(final PathArgument pathArgument) throws IOException {
+        if (pathArgument instanceof NodeIdentifier) {
+            output.writeByte(PathArgumentTypes.NODE_IDENTIFIER);
+            writeQName(pathArgument.getNodeType());
+        } else if (pathArgument instanceof NodeIdentifierWithPredicates) {
+            output.writeByte(PathArgumentTypes.NODE_IDENTIFIER_WITH_PREDICATES);
+            writeNodeIdentifierWithPredicates((NodeIdentifierWithPredicates) pathArgument);
+        } else if (pathArgument instanceof NodeWithValue) {
+            output.writeByte(PathArgumentTypes.NODE_WITH_VALUE);
+            writeQName(pathArgument.getNodeType());
+            writeValue(((NodeWithValue<?>) pathArgument).getValue());
+        } else if (pathArgument instanceof AugmentationIdentifier) {
+            output.writeByte(PathArgumentTypes.AUGMENTATION_IDENTIFIER);
+            writeAugmentationIdentifier((AugmentationIdentifier) pathArgument);
+        } else {
+            throw new IllegalArgumentException("Unhandled path argument " + pathArgument);
+        }
+    }
+
+    @Override
+    public void writeYangInstanceIdentifier(final YangInstanceIdentifier identifier) throws IOException {
+        final List<PathArgument> pathArguments = identifier.getPathArguments();
+        writeVarInt(pathArguments.size());
+        for (PathArgument pathArgument : pathArguments) {
+            writePathArgument(pathArgument);
+        }
+    }
+
+    @Override
+    public void startLeafNode(final NodeIdentifier name) throws IOException {
+        startSimpleNode(NodeTypes.LEAF_NODE, name.getNodeType());
+    }
+
+    @Override
+    public void startLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.LEAF_SET, name.getNodeType());
+    }
+
+    @Override
+    public void startOrderedLeafSet(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.ORDERED_LEAF_SET, name.getNodeType());
+    }
+
+    @Override
+    public void startLeafSetEntryNode(final NodeWithValue<?> name) throws IOException {
+        // Value is emitted via nodeValue()
+        startSimpleNode(NodeTypes.LEAF_SET_ENTRY_NODE, name.getNodeType());
+    }
+
+    @Override
+    public void startContainerNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.CONTAINER_NODE, name.getNodeType());
+    }
+
+    @Override
+    public void startUnkeyedList(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.UNKEYED_LIST, name.getNodeType());
+    }
+
+    @Override
+    public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.UNKEYED_LIST_ITEM, name.getNodeType());
+    }
+
+    @Override
+    public void startMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.MAP_NODE, name.getNodeType());
+    }
+
+    @Override
+    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier, final int childSizeHint)
+            throws IOException {
+        checkNotInSimpleNode();
+        output.writeByte(NodeTypes.MAP_ENTRY_NODE);
+        writeNodeIdentifierWithPredicates(identifier);
+    }
+
+    @Override
+    public void startOrderedMapNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.ORDERED_MAP_NODE, name.getNodeType());
+    }
+
+    @Override
+    public void startChoiceNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        startNode(NodeTypes.CHOICE_NODE, name.getNodeType());
+    }
+
+    @Override
+    public void startAugmentationNode(final AugmentationIdentifier identifier) throws IOException {
+        checkNotInSimpleNode();
+        output.writeByte(NodeTypes.AUGMENTATION_NODE);
+        writeAugmentationIdentifier(identifier);
+    }
+
+    @Override
+    public void startAnyxmlNode(final NodeIdentifier name) throws IOException {
+        startSimpleNode(NodeTypes.ANY_XML_NODE, name.getNodeType());
+    }
+
+    @Override
+    public void startYangModeledAnyXmlNode(final NodeIdentifier name, final int childSizeHint) throws IOException {
+        // The stream is schema-less, hence we would not be able to instantiate this node when reading it back
+        throw new IOException("Yang-modeled anyxml node " + name
+            + " cannot be serialized without a schema");
+    }
+
+    @Override
+    public void nodeValue(final Object value) throws IOException {
+        switch (simpleNodeType) {
+            case NodeTypes.LEAF_NODE:
+            case NodeTypes.LEAF_SET_ENTRY_NODE:
+                writeValue(value);
+                break;
+            case NodeTypes.ANY_XML_NODE:
+                writeDOMSource((DOMSource) value);
+                break;
+            default:
+                throw new IllegalStateException("Unexpected value " + value + " outside of a simple node");
+        }
+    }
+
+    @Override
+    public void endNode() throws IOException {
+        if (simpleNodeType != NodeTypes.END_NODE) {
+            // Simple nodes are self-delimiting
+            simpleNodeType = NodeTypes.END_NODE;
+        } else {
+            output.writeByte(NodeTypes.END_NODE);
+        }
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (output instanceof Flushable) {
+            ((Flushable) output).flush();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        flush();
+    }
+
+    private void startNode(final byte nodeType, final QName qname) throws IOException {
+        checkNotInSimpleNode();
+        output.writeByte(nodeType);
+        writeQName(qname);
+    }
+
+    private void startSimpleNode(final byte nodeType, final QName qname) throws IOException {
+        startNode(nodeType, qname);
+        simpleNodeType = nodeType;
+    }
+
+    private void checkNotInSimpleNode() {
+        checkState(simpleNodeType == NodeTypes.END_NODE, "Cannot start a node inside a simple node");
+    }
+
+    private void writeModule(final QNameModule module) throws IOException {
+        final Integer code = moduleCodeMap.get(module);
+        if (code != null) {
+            writeVarInt(code + 1);
+            return;
+        }
+
+        writeVarInt(0);
+        writeString(module.getNamespace().toString());
+        writeString(module.getRevision().map(Object::toString).orElse(""));
+        moduleCodeMap.put(module, moduleCodeMap.size());
+    }
+
+    private void writeAugmentationIdentifier(final AugmentationIdentifier aid) throws IOException {
+        final Integer code = aidCodeMap.get(aid);
+        if (code != null) {
+            writeVarInt(code + 1);
+            return;
+        }
+
+        writeVarInt(0);
+        final Set<QName> childNames = aid.getPossibleChildNames();
+        writeVarInt(childNames.size());
+        for (QName qname : childNames) {
+            writeQName(qname);
+        }
+        aidCodeMap.put(aid, aidCodeMap.size());
+    }
+
+    private void writeNodeIdentifierWithPredicates(final NodeIdentifierWithPredicates identifier) throws IOException {
+        writeQName(identifier.getNodeType());
+        final Map<QName, Object> keyValues = identifier.getKeyValues();
+        writeVarInt(keyValues.size());
+        for (Entry<QName, Object> entry : keyValues.entrySet()) {
+            writeQName(entry.getKey());
+            writeValue(entry.getValue());
+        }
+    }
+
+    @SuppressWarnings("checkstyle:cyclomaticComplexity")
+    private void writeValue(final Object value) throws IOException {
+        if (value instanceof String) {
+            output.writeByte(ValueTypes.STRING);
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? ValueTypes.BOOLEAN_TRUE : ValueTypes.BOOLEAN_FALSE);
+        } else if (value instanceof Integer) {
+            output.writeByte(ValueTypes.INT);
+            output.writeInt((Integer) value);
+        } else if (value instanceof Long) {
+            output.writeByte(ValueTypes.LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Short) {
+            output.writeByte(ValueTypes.SHORT);
+            output.writeShort((Short) value);
+        } else if (value instanceof Byte) {
+            output.writeByte(ValueTypes.BYTE);
+            output.writeByte((Byte) value);
+        } else if (value instanceof Uint8) {
+            output.writeByte(ValueTypes.UINT8);
+            output.writeByte(((Uint8) value).byteValue());
+        } else if (value instanceof Uint16) {
+            output.writeByte(ValueTypes.UINT16);
+            output.writeShort(((Uint16) value).shortValue());
+        } else if (value instanceof Uint32) {
+            output.writeByte(ValueTypes.UINT32);
+            output.writeInt(((Uint32) value).intValue());
+        } else if (value instanceof Uint64) {
+            output.writeByte(ValueTypes.UINT64);
+            output.writeLong(((Uint64) value).longValue());
+        } else if (value instanceof BigInteger) {
+            output.writeByte(ValueTypes.BIG_INTEGER);
+            writeString(value.toString());
+        } else if (value instanceof BigDecimal) {
+            output.writeByte(ValueTypes.BIG_DECIMAL);
+            writeString(value.toString());
+        } else if (value instanceof Decimal64) {
+            output.writeByte(ValueTypes.DECIMAL64);
+            writeString(((Decimal64) value).toCanonicalString());
+        } else if (value instanceof byte[]) {
+            final byte[] bytes = (byte[]) value;
+            output.writeByte(ValueTypes.BINARY);
+            writeVarInt(bytes.length);
+            output.write(bytes);
+        } else if (value instanceof Empty) {
+            output.writeByte(ValueTypes.EMPTY);
+        } else if (value instanceof QName) {
+            output.writeByte(ValueTypes.QNAME);
+            writeQName((QName) value);
+        } else if (value instanceof Set) {
+            final Collection<?> bits = (Set<?>) value;
+            output.writeByte(ValueTypes.BITS);
+            writeVarInt(bits.size());
+            for (Object bit : bits) {
+                writeString((String) bit);
+            }
+        } else if (value instanceof YangInstanceIdentifier) {
+            output.writeByte(ValueTypes.YANG_IDENTIFIER);
+            writeYangInstanceIdentifier((YangInstanceIdentifier) value);
+        } else {
+            throw new IllegalArgumentException("Unhandled value " + value + " of " + value.getClass());
+        }
+    }
+
+    private void writeDOMSource(final DOMSource source) throws IOException {
+        final StringWriter writer = new StringWriter();
+        try {
+            final Transformer transformer = TRANSFORMER_FACTORY.newTransformer();
+            transformer.setOutputProperty("omit-xml-declaration", "yes");
+            transformer.transform(source, new StreamResult(writer));
+        } catch (TransformerException e) {
+            throw new IOException("Failed to serialize anyxml " + source, e);
+        }
+        writeString(writer.toString());
+    }
+
+    private void writeString(final String str) throws IOException {
+        final byte[] bytes = str.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(bytes.length);
+        output.write(bytes);
+    }
+
+    private void writeVarInt(final int value) throws IOException {
+        int remaining = value;
+        while ((remaining & ~0x7F) != 0) {
+            output.writeByte(remaining & 0x7F | 0x80);
+            remaining >>>= 7;
+        }
+        output.writeByte(remaining);
+    }
+}
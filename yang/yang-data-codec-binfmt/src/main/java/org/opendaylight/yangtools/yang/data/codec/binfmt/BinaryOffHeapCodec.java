@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapCodec;
+
+/**
+ * An {@link OffHeapCodec} using the binary stream format of {@link NormalizedNodeDataOutput}. Each node is written
+ * into its own stream, hence back-reference dictionaries are not shared among nodes.
+ */
+@Beta
+public final class BinaryOffHeapCodec implements OffHeapCodec {
+    private static final @NonNull BinaryOffHeapCodec INSTANCE = new BinaryOffHeapCodec();
+
+    private BinaryOffHeapCodec() {
+        // Hidden on purpose
+    }
+
+    public static @NonNull BinaryOffHeapCodec getInstance() {
+        return INSTANCE;
+    }
+
+    @Override
+    public ByteBuffer serialize(final NormalizedNode<?, ?> node) throws IOException {
+        final ByteArrayDataOutput bytes = ByteStreams.newDataOutput();
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(bytes)) {
+            out.writeNormalizedNode(node);
+        }
+        return ByteBuffer.wrap(bytes.toByteArray());
+    }
+
+    @Override
+    public NormalizedNode<?, ?> deserialize(final ByteBuffer buffer) throws IOException {
+        return NormalizedNodeDataInput.newDataInput(buffer).readNormalizedNode();
+    }
+}
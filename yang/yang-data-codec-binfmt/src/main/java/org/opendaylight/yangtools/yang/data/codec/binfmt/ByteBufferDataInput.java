@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A {@link DataInput} reading directly from a {@link ByteBuffer}, starting at its position. The buffer's position is
+ * advanced as data is read. This avoids wrapping the buffer in an {@link java.io.InputStream}, but values are still
+ * copied out of the buffer as they are decoded, hence the resulting objects do not retain any reference to it.
+ */
+final class ByteBufferDataInput implements DataInput {
+    private final ByteBuffer buffer;
+
+    ByteBufferDataInput(final ByteBuffer buffer) {
+        this.buffer = requireNonNull(buffer);
+    }
+
+    @Override
+    public void readFully(final byte[] bytes) throws IOException {
+        readFully(bytes, 0, bytes.length);
+    }
+
+    @Override
+    public void readFully(final byte[] bytes, final int off, final int len) throws IOException {
+        ensureRemaining(len);
+        buffer.get(bytes, off, len);
+    }
+
+    @Override
+    public int skipBytes(final int num) {
+        final int skipped = Math.max(0, Math.min(num, buffer.remaining()));
+        buffer.position(buffer.position() + skipped);
+        return skipped;
+    }
+
+    @Override
+    public boolean readBoolean() throws IOException {
+        return readByte() != 0;
+    }
+
+    @Override
+    public byte readByte() throws IOException {
+        ensureRemaining(Byte.BYTES);
+        return buffer.get();
+    }
+
+    @Override
+    public int readUnsignedByte() throws IOException {
+        return Byte.toUnsignedInt(readByte());
+    }
+
+    @Override
+    public short readShort() throws IOException {
+        ensureRemaining(Short.BYTES);
+        return buffer.getShort();
+    }
+
+    @Override
+    public int readUnsignedShort() throws IOException {
+        return Short.toUnsignedInt(readShort());
+    }
+
+    @Override
+    public char readChar() throws IOException {
+        ensureRemaining(Character.BYTES);
+        return buffer.getChar();
+    }
+
+    @Override
+    public int readInt() throws IOException {
+        ensureRemaining(Integer.BYTES);
+        return buffer.getInt();
+    }
+
+    @Override
+    public long readLong() throws IOException {
+        ensureRemaining(Long.BYTES);
+        return buffer.getLong();
+    }
+
+    @Override
+    public float readFloat() throws IOException {
+        ensureRemaining(Float.BYTES);
+        return buffer.getFloat();
+    }
+
+    @Override
+    public double readDouble() throws IOException {
+        ensureRemaining(Double.BYTES);
+        return buffer.getDouble();
+    }
+
+    @Override
+    public String readLine() {
+        throw new UnsupportedOperationException("readLine() is not supported");
+    }
+
+    @Override
+    public String readUTF() throws IOException {
+        return DataInputStream.readUTF(this);
+    }
+
+    /**
+     * Read a string of specified length encoded in UTF-8.
+     *
+     * @param length Encoded length in bytes
+     * @return Decoded string
+     * @throws IOException if the buffer does not have enough data
+     */
+    String readString(final int length) throws IOException {
+        ensureRemaining(length);
+        final int position = buffer.position();
+        final String ret;
+        if (buffer.hasArray()) {
+            ret = new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+        } else {
+            final ByteBuffer slice = buffer.slice();
+            slice.limit(length);
+            ret = StandardCharsets.UTF_8.decode(slice).toString();
+        }
+        buffer.position(position + length);
+        return ret;
+    }
+
+    private void ensureRemaining(final int length) throws EOFException {
+        if (buffer.remaining() < length) {
+            throw new EOFException("Requested " + length + " bytes, only " + buffer.remaining() + " available");
+        }
+    }
+}
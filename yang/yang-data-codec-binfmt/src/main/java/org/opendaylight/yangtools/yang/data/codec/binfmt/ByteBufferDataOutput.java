@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.DataOutput;
+import java.io.UTFDataFormatException;
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link DataOutput} writing directly into a {@link ByteBuffer}, starting at its position. Writes which do not fit
+ * into the buffer's remaining space throw {@link java.nio.BufferOverflowException}.
+ */
+final class ByteBufferDataOutput implements DataOutput {
+    private final ByteBuffer buffer;
+
+    ByteBufferDataOutput(final ByteBuffer buffer) {
+        this.buffer = requireNonNull(buffer);
+    }
+
+    @Override
+    public void write(final int value) {
+        buffer.put((byte) value);
+    }
+
+    @Override
+    public void write(final byte[] bytes) {
+        buffer.put(bytes);
+    }
+
+    @Override
+    public void write(final byte[] bytes, final int off, final int len) {
+        buffer.put(bytes, off, len);
+    }
+
+    @Override
+    public void writeBoolean(final boolean value) {
+        buffer.put(value ? (byte) 1 : (byte) 0);
+    }
+
+    @Override
+    public void writeByte(final int value) {
+        buffer.put((byte) value);
+    }
+
+    @Override
+    public void writeShort(final int value) {
+        buffer.putShort((short) value);
+    }
+
+    @Override
+    public void writeChar(final int value) {
+        buffer.putChar((char) value);
+    }
+
+    @Override
+    public void writeInt(final int value) {
+        buffer.putInt(value);
+    }
+
+    @Override
+    public void writeLong(final long value) {
+        buffer.putLong(value);
+    }
+
+    @Override
+    public void writeFloat(final float value) {
+        buffer.putFloat(value);
+    }
+
+    @Override
+    public void writeDouble(final double value) {
+        buffer.putDouble(value);
+    }
+
+    @Override
+    public void writeBytes(final String str) {
+        for (int i = 0; i < str.length(); ++i) {
+            buffer.put((byte) str.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeChars(final String str) {
+        for (int i = 0; i < str.length(); ++i) {
+            buffer.putChar(str.charAt(i));
+        }
+    }
+
+    @Override
+    public void writeUTF(final String str) throws UTFDataFormatException {
+        // Modified UTF-8, as specified by DataOutput.writeUTF()
+        int utflen = 0;
+        for (int i = 0; i < str.length(); ++i) {
+            final char ch = str.charAt(i);
+            if (ch >= 0x0001 && ch <= 0x007F) {
+                utflen++;
+            } else if (ch > 0x07FF) {
+                utflen += 3;
+            } else {
+                utflen += 2;
+            }
+        }
+        if (utflen > 0xFFFF) {
+            throw new UTFDataFormatException("Encoded string too long: " + utflen + " bytes");
+        }
+
+        buffer.putShort((short) utflen);
+        for (int i = 0; i < str.length(); ++i) {
+            final char ch = str.charAt(i);
+            if (ch >= 0x0001 && ch <= 0x007F) {
+                buffer.put((byte) ch);
+            } else if (ch > 0x07FF) {
+                buffer.put((byte) (0xE0 | ch >> 12 & 0x0F));
+                buffer.put((byte) (0x80 | ch >> 6 & 0x3F));
+                buffer.put((byte) (0x80 | ch & 0x3F));
+            } else {
+                buffer.put((byte) (0xC0 | ch >> 6 & 0x1F));
+                buffer.put((byte) (0x80 | ch & 0x3F));
+            }
+        }
+    }
+}
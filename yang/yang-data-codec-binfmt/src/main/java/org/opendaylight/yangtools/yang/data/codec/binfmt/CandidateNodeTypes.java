@@ -0,0 +1,24 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+/**
+ * Tokens identifying the modification type of a serialized DataTreeCandidateNode.
+ */
+final class CandidateNodeTypes {
+    static final byte WRITE = 1;
+    static final byte DELETE = 2;
+    static final byte SUBTREE_MODIFIED = 3;
+    static final byte UNMODIFIED = 4;
+    static final byte APPEARED = 5;
+    static final byte DISAPPEARED = 6;
+
+    private CandidateNodeTypes() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,216 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ImmutableMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * Utility methods for serializing {@link DataTreeCandidate}s as deltas. Only the information needed to replay the
+ * modification, for example via {@link DataTreeCandidates#applyToModification}, is retained:
+ * {@link ModificationType#UNMODIFIED} children are omitted, {@link ModificationType#WRITE} nodes carry their
+ * after-image and before-images are not retained at all.
+ *
+ * <p>
+ * Multiple candidates can be written to the same {@link NormalizedNodeDataOutput}, in which case they share
+ * its back-reference dictionaries, making a stream of related candidates significantly more compact than the sum of
+ * individually-serialized candidates.
+ */
+@Beta
+public final class DataTreeCandidateInputOutput {
+    private DataTreeCandidateInputOutput() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Write a {@link DataTreeCandidate} into an output.
+     *
+     * @param out Output to write to
+     * @param candidate Candidate to write
+     * @throws IOException if an I/O error occurs
+     */
+    public static void writeDataTreeCandidate(final @NonNull NormalizedNodeDataOutput out,
+            final @NonNull DataTreeCandidate candidate) throws IOException {
+        out.writeYangInstanceIdentifier(candidate.getRootPath());
+
+        // Root node does not have an identifier, hence we only emit its type and children
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        switch (root.getModificationType()) {
+            case APPEARED:
+                out.writeByte(CandidateNodeTypes.APPEARED);
+                writeChildren(out, root);
+                break;
+            case DISAPPEARED:
+                out.writeByte(CandidateNodeTypes.DISAPPEARED);
+                writeChildren(out, root);
+                break;
+            case SUBTREE_MODIFIED:
+                out.writeByte(CandidateNodeTypes.SUBTREE_MODIFIED);
+                writeChildren(out, root);
+                break;
+            case DELETE:
+                out.writeByte(CandidateNodeTypes.DELETE);
+                break;
+            case UNMODIFIED:
+                out.writeByte(CandidateNodeTypes.UNMODIFIED);
+                break;
+            case WRITE:
+                out.writeByte(CandidateNodeTypes.WRITE);
+                out.writeNormalizedNode(root.getDataAfter().get());
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + root.getModificationType());
+        }
+    }
+
+    /**
+     * Read a {@link DataTreeCandidate} from an input.
+     *
+     * @param in Input to read from
+     * @return A DataTreeCandidate
+     * @throws IOException if an I/O error occurs or the stream is malformed
+     */
+    public static @NonNull DataTreeCandidate readDataTreeCandidate(final @NonNull NormalizedNodeDataInput in)
+            throws IOException {
+        final YangInstanceIdentifier rootPath = in.readYangInstanceIdentifier();
+
+        final DataTreeCandidateNode root;
+        final byte type = in.readByte();
+        switch (type) {
+            case CandidateNodeTypes.APPEARED:
+                root = new DeserializedDataTreeCandidateNode(null, ModificationType.APPEARED, readChildren(in));
+                break;
+            case CandidateNodeTypes.DISAPPEARED:
+                root = new DeserializedDataTreeCandidateNode(null, ModificationType.DISAPPEARED, readChildren(in));
+                break;
+            case CandidateNodeTypes.SUBTREE_MODIFIED:
+                root = new DeserializedDataTreeCandidateNode(null, ModificationType.SUBTREE_MODIFIED,
+                    readChildren(in));
+                break;
+            case CandidateNodeTypes.DELETE:
+                root = new DeserializedDataTreeCandidateNode(null, ModificationType.DELETE, ImmutableMap.of());
+                break;
+            case CandidateNodeTypes.UNMODIFIED:
+                root = new DeserializedDataTreeCandidateNode(null, ModificationType.UNMODIFIED, ImmutableMap.of());
+                break;
+            case CandidateNodeTypes.WRITE:
+                root = DataTreeCandidateNodes.written(in.readNormalizedNode());
+                break;
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unhandled candidate root node type " + type);
+        }
+        return DataTreeCandidates.newDataTreeCandidate(rootPath, root);
+    }
+
+    private static void writeNode(final NormalizedNodeDataOutput out, final DataTreeCandidateNode node)
+            throws IOException {
+        switch (node.getModificationType()) {
+            case APPEARED:
+                writeModifiedNode(out, CandidateNodeTypes.APPEARED, node);
+                break;
+            case DISAPPEARED:
+                writeModifiedNode(out, CandidateNodeTypes.DISAPPEARED, node);
+                break;
+            case SUBTREE_MODIFIED:
+                writeModifiedNode(out, CandidateNodeTypes.SUBTREE_MODIFIED, node);
+                break;
+            case DELETE:
+                out.writeByte(CandidateNodeTypes.DELETE);
+                out.writePathArgument(node.getIdentifier());
+                break;
+            case UNMODIFIED:
+                out.writeByte(CandidateNodeTypes.UNMODIFIED);
+                out.writePathArgument(node.getIdentifier());
+                break;
+            case WRITE:
+                // Identifier is implied by the after-image
+                out.writeByte(CandidateNodeTypes.WRITE);
+                out.writeNormalizedNode(node.getDataAfter().get());
+                break;
+            default:
+                throw new IllegalArgumentException("Unhandled node type " + node.getModificationType());
+        }
+    }
+
+    private static void writeModifiedNode(final NormalizedNodeDataOutput out, final byte type,
+            final DataTreeCandidateNode node) throws IOException {
+        out.writeByte(type);
+        out.writePathArgument(node.getIdentifier());
+        writeChildren(out, node);
+    }
+
+    private static void writeChildren(final NormalizedNodeDataOutput out, final DataTreeCandidateNode node)
+            throws IOException {
+        final Collection<DataTreeCandidateNode> children = node.getChildNodes();
+        final List<DataTreeCandidateNode> modified = new ArrayList<>(children.size());
+        for (DataTreeCandidateNode child : children) {
+            if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                modified.add(child);
+            }
+        }
+
+        out.writeInt(modified.size());
+        for (DataTreeCandidateNode child : modified) {
+            writeNode(out, child);
+        }
+    }
+
+    private static DataTreeCandidateNode readNode(final NormalizedNodeDataInput in) throws IOException {
+        final byte type = in.readByte();
+        switch (type) {
+            case CandidateNodeTypes.APPEARED:
+                return readModifiedNode(in, ModificationType.APPEARED);
+            case CandidateNodeTypes.DISAPPEARED:
+                return readModifiedNode(in, ModificationType.DISAPPEARED);
+            case CandidateNodeTypes.SUBTREE_MODIFIED:
+                return readModifiedNode(in, ModificationType.SUBTREE_MODIFIED);
+            case CandidateNodeTypes.DELETE:
+                return new DeserializedDataTreeCandidateNode(in.readPathArgument(), ModificationType.DELETE,
+                    ImmutableMap.of());
+            case CandidateNodeTypes.UNMODIFIED:
+                return DataTreeCandidateNodes.empty(in.readPathArgument());
+            case CandidateNodeTypes.WRITE:
+                return DataTreeCandidateNodes.written(in.readNormalizedNode());
+            default:
+                throw new InvalidNormalizedNodeStreamException("Unhandled candidate node type " + type);
+        }
+    }
+
+    private static DataTreeCandidateNode readModifiedNode(final NormalizedNodeDataInput in,
+            final ModificationType type) throws IOException {
+        return new DeserializedDataTreeCandidateNode(in.readPathArgument(), type, readChildren(in));
+    }
+
+    private static ImmutableMap<PathArgument, DataTreeCandidateNode> readChildren(final NormalizedNodeDataInput in)
+            throws IOException {
+        final int size = in.readInt();
+        if (size < 0) {
+            throw new InvalidNormalizedNodeStreamException("Invalid child count " + size);
+        }
+
+        final ImmutableMap.Builder<PathArgument, DataTreeCandidateNode> builder =
+                ImmutableMap.builderWithExpectedSize(size);
+        for (int i = 0; i < size; ++i) {
+            final DataTreeCandidateNode child = readNode(in);
+            builder.put(child.getIdentifier(), child);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableMap;
+import java.util.Collection;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+
+/**
+ * A {@link DataTreeCandidateNode} reconstructed from a stream, which is not a {@link ModificationType#WRITE}. Only
+ * the structure of the modification is available, hence attempts to access before-images and after-images of
+ * nodes which exist after the modification result in {@link UnsupportedOperationException}. Root nodes do not have
+ * an identifier, just as their originals.
+ */
+final class DeserializedDataTreeCandidateNode implements DataTreeCandidateNode {
+    private final ImmutableMap<PathArgument, DataTreeCandidateNode> children;
+    private final ModificationType type;
+    private final @Nullable PathArgument identifier;
+
+    DeserializedDataTreeCandidateNode(final @Nullable PathArgument identifier, final ModificationType type,
+            final ImmutableMap<PathArgument, DataTreeCandidateNode> children) {
+        this.identifier = identifier;
+        this.type = requireNonNull(type);
+        this.children = requireNonNull(children);
+    }
+
+    @Override
+    public PathArgument getIdentifier() {
+        checkState(identifier != null, "Attempted to get identifier of the root node");
+        return identifier;
+    }
+
+    @Override
+    public Collection<DataTreeCandidateNode> getChildNodes() {
+        return children.values();
+    }
+
+    @Override
+    public Optional<DataTreeCandidateNode> getModifiedChild(final PathArgument childIdentifier) {
+        return Optional.ofNullable(children.get(requireNonNull(childIdentifier)));
+    }
+
+    @Override
+    public ModificationType getModificationType() {
+        return type;
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataAfter() {
+        switch (type) {
+            case DELETE:
+            case DISAPPEARED:
+                return Optional.empty();
+            default:
+                throw new UnsupportedOperationException("After-image of " + describe()
+                    + " is not available after serialization");
+        }
+    }
+
+    @Override
+    public Optional<NormalizedNode<?, ?>> getDataBefore() {
+        throw new UnsupportedOperationException("Before-image of " + describe()
+            + " is not available after serialization");
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("identifier", describe()).add("type", type)
+                .add("children", children.keySet()).toString();
+    }
+
+    private Object describe() {
+        return identifier != null ? identifier : "root node";
+    }
+}
@@ -0,0 +1,33 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+/**
+ * Tokens identifying the type of a serialized node. Simple nodes (leaves, leaf-set entries and anyxmls) are
+ * self-delimiting, all other nodes are terminated by {@link #END_NODE}.
+ */
+final class NodeTypes {
+    static final byte END_NODE = 0;
+    static final byte LEAF_NODE = 1;
+    static final byte LEAF_SET = 2;
+    static final byte ORDERED_LEAF_SET = 3;
+    static final byte LEAF_SET_ENTRY_NODE = 4;
+    static final byte CONTAINER_NODE = 5;
+    static final byte UNKEYED_LIST = 6;
+    static final byte UNKEYED_LIST_ITEM = 7;
+    static final byte MAP_NODE = 8;
+    static final byte MAP_ENTRY_NODE = 9;
+    static final byte ORDERED_MAP_NODE = 10;
+    static final byte CHOICE_NODE = 11;
+    static final byte AUGMENTATION_NODE = 12;
+    static final byte ANY_XML_NODE = 13;
+
+    private NodeTypes() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import java.io.DataInput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+
+/**
+ * Interface for reading {@link NormalizedNode}s, {@link YangInstanceIdentifier}s, {@link PathArgument}s and
+ * {@link QName}s from a stream produced by {@link NormalizedNodeDataOutput}. Objects need to be read in the same
+ * order they were written. Instances are not thread-safe.
+ */
+@Beta
+public interface NormalizedNodeDataInput extends DataInput {
+    /**
+     * Create a new input reading from specified {@link DataInput}. This method consumes and validates the stream
+     * header.
+     *
+     * @param input Source input
+     * @return A new NormalizedNodeDataInput
+     * @throws InvalidNormalizedNodeStreamException if the stream header is not valid
+     * @throws IOException if the header cannot be read
+     * @throws NullPointerException if {@code input} is null
+     */
+    static @NonNull NormalizedNodeDataInput newDataInput(final @NonNull DataInput input) throws IOException {
+        return BinaryNormalizedNodeDataInput.create(input);
+    }
+
+    /**
+     * Create a new input reading from specified {@link ByteBuffer}, starting at its current position. Data is read from
+     * the buffer without wrapping it in a stream, but decoded values do not share storage with it, hence the buffer
+     * may be reused once reading is complete. This method consumes and validates the stream header.
+     *
+     * @param buffer Source buffer
+     * @return A new NormalizedNodeDataInput
+     * @throws InvalidNormalizedNodeStreamException if the stream header is not valid
+     * @throws IOException if the header cannot be read
+     * @throws NullPointerException if {@code buffer} is null
+     */
+    static @NonNull NormalizedNodeDataInput newDataInput(final @NonNull ByteBuffer buffer) throws IOException {
+        return BinaryNormalizedNodeDataInput.create(new ByteBufferDataInput(buffer));
+    }
+
+    /**
+     * Return the version of the stream being read.
+     *
+     * @return Stream version
+     */
+    @NonNull NormalizedNodeStreamVersion getVersion();
+
+    /**
+     * Read a normalized node from the stream and emit its events into a {@link NormalizedNodeStreamWriter}.
+     *
+     * @param writer Writer to emit events to
+     * @throws IOException if the node cannot be read
+     */
+    void streamNormalizedNode(@NonNull NormalizedNodeStreamWriter writer) throws IOException;
+
+    /**
+     * Read a normalized node from the stream and build its immutable representation.
+     *
+     * @return Normalized node
+     * @throws IOException if the node cannot be read
+     */
+    @NonNull NormalizedNode<?, ?> readNormalizedNode() throws IOException;
+
+    default @NonNull Optional<NormalizedNode<?, ?>> readOptionalNormalizedNode() throws IOException {
+        return readBoolean() ? Optional.of(readNormalizedNode()) : Optional.empty();
+    }
+
+    @NonNull QName readQName() throws IOException;
+
+    @NonNull PathArgument readPathArgument() throws IOException;
+
+    @NonNull YangInstanceIdentifier readYangInstanceIdentifier() throws IOException;
+}
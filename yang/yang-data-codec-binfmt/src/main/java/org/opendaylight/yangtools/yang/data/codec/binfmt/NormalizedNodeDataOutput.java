@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+
+/**
+ * Interface for emitting {@link NormalizedNode}s, {@link YangInstanceIdentifier}s, {@link PathArgument}s and
+ * {@link QName}s into a compact binary stream. Instances are not thread-safe and maintain back-reference dictionaries
+ * across all objects written to them, hence writing related objects into the same output results in a smaller
+ * stream. The stream can be read back using {@link NormalizedNodeDataInput}.
+ *
+ * <p>
+ * The stream format is schema-less, hence it cannot represent
+ * {@link org.opendaylight.yangtools.yang.data.api.schema.YangModeledAnyXmlNode}s, as these cannot be instantiated
+ * without their schema. Attempts to write such nodes result in an {@link IOException}, after which the contents of the
+ * stream are undefined.
+ */
+@Beta
+public interface NormalizedNodeDataOutput extends AutoCloseable, DataOutput {
+    /**
+     * Create a new output writing into specified {@link DataOutput}, using
+     * {@link NormalizedNodeStreamVersion#current()}. This method emits the stream header.
+     *
+     * @param output Target output
+     * @return A new NormalizedNodeDataOutput
+     * @throws IOException if the header cannot be written
+     * @throws NullPointerException if {@code output} is null
+     */
+    static @NonNull NormalizedNodeDataOutput newDataOutput(final @NonNull DataOutput output) throws IOException {
+        return BinaryNormalizedNodeDataOutput.create(output);
+    }
+
+    /**
+     * Create a new output writing into specified {@link ByteBuffer}, starting at its current position, using
+     * {@link NormalizedNodeStreamVersion#current()}. This method emits the stream header. Writes which do not fit into
+     * the buffer's remaining space throw {@link java.nio.BufferOverflowException}.
+     *
+     * @param buffer Target buffer
+     * @return A new NormalizedNodeDataOutput
+     * @throws IOException if the header cannot be written
+     * @throws NullPointerException if {@code buffer} is null
+     */
+    static @NonNull NormalizedNodeDataOutput newDataOutput(final @NonNull ByteBuffer buffer) throws IOException {
+        return BinaryNormalizedNodeDataOutput.create(new ByteBufferDataOutput(buffer));
+    }
+
+    /**
+     * Return the version this output is emitting.
+     *
+     * @return Stream version
+     */
+    @NonNull NormalizedNodeStreamVersion getVersion();
+
+    void writeQName(@NonNull QName qname) throws IOException;
+
+    /**
+     * Write a {@link NormalizedNode}.
+     *
+     * @param normalizedNode Node to write
+     * @throws IOException if an underlying IO error occurs, or if the node is or contains a
+     *         {@link org.opendaylight.yangtools.yang.data.api.schema.YangModeledAnyXmlNode}
+     */
+    void writeNormalizedNode(@NonNull NormalizedNode<?, ?> normalizedNode) throws IOException;
+
+    void writePathArgument(PathArgument pathArgument) throws IOException;
+
+    void writeYangInstanceIdentifier(YangInstanceIdentifier identifier) throws IOException;
+
+    default void writeOptionalNormalizedNode(final @NonNull Optional<NormalizedNode<?, ?>> normalizedNode)
+            throws IOException {
+        if (normalizedNode.isPresent()) {
+            writeBoolean(true);
+            writeNormalizedNode(normalizedNode.get());
+        } else {
+            writeBoolean(false);
+        }
+    }
+
+    /**
+     * Flush any buffered data to the underlying output. This method does not close the underlying output.
+     *
+     * @throws IOException if the underlying output fails
+     */
+    @Override
+    void close() throws IOException;
+}
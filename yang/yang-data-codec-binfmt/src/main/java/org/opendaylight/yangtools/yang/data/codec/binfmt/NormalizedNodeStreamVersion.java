@@ -0,0 +1,65 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import com.google.common.annotations.Beta;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+
+/**
+ * Enumeration of all stream versions this implementation supports on both input and output. Each stream starts with
+ * a signature byte followed by the version, which allows future versions to change the format while still being able
+ * to read streams produced by older versions.
+ */
+@Beta
+public enum NormalizedNodeStreamVersion {
+    /**
+     * Initial version. QNames, QNameModules and AugmentationIdentifiers are emitted only once and are subsequently
+     * referenced through back-reference dictionaries scoped to a single stream.
+     */
+    V1((short) 1);
+
+    private final short value;
+
+    NormalizedNodeStreamVersion(final short value) {
+        this.value = value;
+    }
+
+    /**
+     * Return the value which identifies this version on the wire.
+     *
+     * @return Version value
+     */
+    public short value() {
+        return value;
+    }
+
+    /**
+     * Return the version corresponding to a wire value.
+     *
+     * @param value Version value
+     * @return Corresponding version, or empty if the value is not recognized
+     */
+    public static @NonNull Optional<NormalizedNodeStreamVersion> forValue(final short value) {
+        for (NormalizedNodeStreamVersion version : values()) {
+            if (version.value == value) {
+                return Optional.of(version);
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Return the version used when creating new streams.
+     *
+     * @return Current version
+     */
+    public static @NonNull NormalizedNodeStreamVersion current() {
+        return V1;
+    }
+}
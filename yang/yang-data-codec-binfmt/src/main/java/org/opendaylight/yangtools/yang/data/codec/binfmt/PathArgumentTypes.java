@@ -0,0 +1,23 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+/**
+ * Tokens identifying the type of a serialized {@link org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier}
+ * path argument.
+ */
+final class PathArgumentTypes {
+    static final byte NODE_IDENTIFIER = 1;
+    static final byte NODE_IDENTIFIER_WITH_PREDICATES = 2;
+    static final byte NODE_WITH_VALUE = 3;
+    static final byte AUGMENTATION_IDENTIFIER = 4;
+
+    private PathArgumentTypes() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,22 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+/**
+ * Tokens used in the stream header.
+ */
+final class TokenTypes {
+    /**
+     * Signature byte at the start of each stream, followed by a short version.
+     */
+    static final byte SIGNATURE_MARKER = (byte) 0xab;
+
+    private TokenTypes() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+/**
+ * Tokens identifying the type of a serialized leaf value.
+ */
+final class ValueTypes {
+    static final byte STRING = 1;
+    static final byte BOOLEAN_FALSE = 2;
+    static final byte BOOLEAN_TRUE = 3;
+    static final byte BYTE = 4;
+    static final byte SHORT = 5;
+    static final byte INT = 6;
+    static final byte LONG = 7;
+    static final byte UINT8 = 8;
+    static final byte UINT16 = 9;
+    static final byte UINT32 = 10;
+    static final byte UINT64 = 11;
+    static final byte BIG_INTEGER = 12;
+    static final byte BIG_DECIMAL = 13;
+    static final byte DECIMAL64 = 14;
+    static final byte BINARY = 15;
+    static final byte EMPTY = 16;
+    static final byte QNAME = 17;
+    static final byte BITS = 18;
+    static final byte YANG_IDENTIFIER = 19;
+
+    private ValueTypes() {
+        throw new UnsupportedOperationException();
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import com.google.common.collect.ImmutableSet;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapCodec;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class BinaryOffHeapCodecTest {
+    private static final class CountingCodec implements OffHeapCodec {
+        final AtomicInteger serialized = new AtomicInteger();
+
+        @Override
+        public ByteBuffer serialize(final NormalizedNode<?, ?> node) throws IOException {
+            serialized.incrementAndGet();
+            return BinaryOffHeapCodec.getInstance().serialize(node);
+        }
+
+        @Override
+        public NormalizedNode<?, ?> deserialize(final ByteBuffer buffer) throws IOException {
+            return BinaryOffHeapCodec.getInstance().deserialize(buffer);
+        }
+    }
+
+    private static final QName TOP = QName.create("urn:opendaylight:binfmt-test", "2019-06-01", "top").intern();
+    private static final QName NAME = QName.create(TOP, "name").intern();
+    private static final QName ITEM = QName.create(TOP, "item").intern();
+    private static final QName ID = QName.create(TOP, "id").intern();
+    private static final QName VALUE = QName.create(TOP, "value").intern();
+    private static final YangInstanceIdentifier TOP_PATH = YangInstanceIdentifier.of(TOP);
+    private static final YangInstanceIdentifier ITEM_PATH = TOP_PATH.node(ITEM);
+
+    private static SchemaContext schemaContext;
+
+    private CountingCodec codec;
+    private DataTree tree;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/binfmt-test.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+    }
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        codec = new CountingCodec();
+        tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+            // All entries of the item list
+            .setOffHeapPaths(ImmutableSet.of(ITEM_PATH.node(new NodeIdentifier(ITEM))))
+            .setOffHeapCodec(codec)
+            .setMaxOnHeapSubtrees(1)
+            .build(), schemaContext);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TOP_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(ImmutableNodes.leafNode(NAME, "initial"))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM).withChild(item(1, "one")).build())
+            .build());
+        commit(mod);
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        final MapEntryNode item = item(1, "one");
+        final ByteBuffer buffer = BinaryOffHeapCodec.getInstance().serialize(item);
+        assertEquals(item, BinaryOffHeapCodec.getInstance().deserialize(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testLeastRecentlyWrittenMovedOffHeap() throws DataValidationFailedException {
+        assertEquals(0, codec.serialized.get());
+        final NormalizedNode<?, ?> hot = readItem(1);
+        assertSame(item(1, "one").getClass(), hot.getClass());
+
+        DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.merge(ITEM_PATH.node(itemId(2)), item(2, "two"));
+        commit(mod);
+        assertEquals(1, codec.serialized.get());
+
+        final NormalizedNode<?, ?> cold = readItem(1);
+        assertNotSame(hot.getClass(), cold.getClass());
+        assertEquals(item(1, "one"), cold);
+        assertEquals(cold, item(1, "one"));
+        assertEquals(item(1, "one").hashCode(), cold.hashCode());
+        assertSame(item(2, "two").getClass(), readItem(2).getClass());
+
+        // Modifying a cold entry brings it back on heap and pushes out the other one
+        mod = tree.takeSnapshot().newModification();
+        mod.write(ITEM_PATH.node(itemId(1)).node(VALUE), ImmutableNodes.leafNode(VALUE, "uno"));
+        commit(mod);
+        assertEquals(2, codec.serialized.get());
+        assertEquals(item(1, "uno"), readItem(1));
+        assertSame(hot.getClass(), readItem(1).getClass());
+        assertNotSame(hot.getClass(), readItem(2).getClass());
+        assertEquals(item(2, "two"), readItem(2));
+
+        // Modifying unrelated data does not touch cold entries
+        mod = tree.takeSnapshot().newModification();
+        mod.write(TOP_PATH.node(NAME), ImmutableNodes.leafNode(NAME, "updated"));
+        commit(mod);
+        assertEquals(2, codec.serialized.get());
+        assertNotSame(hot.getClass(), readItem(2).getClass());
+    }
+
+    @Test
+    public void testRecentlyReadKeptOnHeap() throws DataValidationFailedException {
+        tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+            .setOffHeapPaths(ImmutableSet.of(ITEM_PATH.node(new NodeIdentifier(ITEM))))
+            .setOffHeapCodec(codec)
+            .setMaxOnHeapSubtrees(2)
+            .build(), schemaContext);
+
+        DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TOP_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM).withChild(item(1, "one")).build())
+            .build());
+        commit(mod);
+        mod = tree.takeSnapshot().newModification();
+        mod.merge(ITEM_PATH.node(itemId(2)), item(2, "two"));
+        commit(mod);
+
+        // Item 1 was written first, but it was read after item 2 was written
+        final Class<?> hot = item(1, "one").getClass();
+        assertSame(hot, readItem(1).getClass());
+        mod = tree.takeSnapshot().newModification();
+        mod.merge(ITEM_PATH.node(itemId(3)), item(3, "three"));
+        commit(mod);
+        assertEquals(1, codec.serialized.get());
+        assertSame(hot, readItem(1).getClass());
+        assertNotSame(hot, readItem(2).getClass());
+        assertSame(hot, readItem(3).getClass());
+        assertEquals(item(2, "two"), readItem(2));
+    }
+
+    @Test
+    public void testChainedCandidates() throws DataValidationFailedException {
+        final DataTreeModification first = tree.takeSnapshot().newModification();
+        first.merge(ITEM_PATH.node(itemId(2)), item(2, "two"));
+        first.ready();
+        tree.validate(first);
+        final DataTreeCandidateTip firstCandidate = tree.prepare(first);
+
+        final DataTreeModification second = tree.takeSnapshot().newModification();
+        second.merge(ITEM_PATH.node(itemId(3)), item(3, "three"));
+        second.ready();
+        firstCandidate.validate(second);
+        final DataTreeCandidateTip secondCandidate = firstCandidate.prepare(second);
+
+        tree.commit(firstCandidate);
+        assertEquals(1, codec.serialized.get());
+
+        // The second candidate is based on the first one, which has the first item on heap
+        tree.commit(secondCandidate);
+        assertEquals(3, codec.serialized.get());
+
+        final Class<?> hot = item(1, "one").getClass();
+        assertNotSame(hot, readItem(1).getClass());
+        assertNotSame(hot, readItem(2).getClass());
+        assertSame(hot, readItem(3).getClass());
+        assertEquals(item(1, "one"), readItem(1));
+        assertEquals(item(2, "two"), readItem(2));
+        assertEquals(item(3, "three"), readItem(3));
+    }
+
+    private NormalizedNode<?, ?> readItem(final int id) {
+        return tree.takeSnapshot().readNode(ITEM_PATH.node(itemId(id))).get();
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static NodeIdentifierWithPredicates itemId(final int id) {
+        return new NodeIdentifierWithPredicates(ITEM, ID, id);
+    }
+
+    private static MapEntryNode item(final int id, final String value) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(itemId(id))
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(VALUE, value))
+                .build();
+    }
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class DataTreeCandidateInputOutputTest {
+    private static final QName TOP = QName.create("urn:opendaylight:binfmt-test", "2019-06-01", "top").intern();
+    private static final QName NAME = QName.create(TOP, "name").intern();
+    private static final QName ITEM = QName.create(TOP, "item").intern();
+    private static final QName ID = QName.create(TOP, "id").intern();
+    private static final QName VALUE = QName.create(TOP, "value").intern();
+    private static final YangInstanceIdentifier TOP_PATH = YangInstanceIdentifier.of(TOP);
+    private static final YangInstanceIdentifier ITEM_PATH = TOP_PATH.node(ITEM);
+
+    private static SchemaContext schemaContext;
+
+    private DataTree source;
+    private DataTree target;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/binfmt-test.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+    }
+
+    @Before
+    public void before() {
+        source = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, schemaContext);
+        target = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, schemaContext);
+    }
+
+    @Test
+    public void testCandidateStream() throws IOException, DataValidationFailedException {
+        final List<DataTreeCandidate> candidates = new ArrayList<>();
+        final List<Optional<NormalizedNode<?, ?>>> states = new ArrayList<>();
+
+        DataTreeModification mod = source.takeSnapshot().newModification();
+        mod.write(TOP_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(ImmutableNodes.leafNode(NAME, "initial"))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM).withChild(item(1, "one")).withChild(item(2, "two"))
+                .build())
+            .build());
+        candidates.add(commit(mod));
+        states.add(source.takeSnapshot().readNode(TOP_PATH));
+
+        mod = source.takeSnapshot().newModification();
+        mod.merge(ITEM_PATH.node(itemId(3)), item(3, "three"));
+        mod.delete(ITEM_PATH.node(itemId(1)));
+        mod.write(TOP_PATH.node(NAME), ImmutableNodes.leafNode(NAME, "updated"));
+        candidates.add(commit(mod));
+        states.add(source.takeSnapshot().readNode(TOP_PATH));
+
+        mod = source.takeSnapshot().newModification();
+        mod.delete(TOP_PATH.node(NAME));
+        candidates.add(commit(mod));
+        states.add(source.takeSnapshot().readNode(TOP_PATH));
+
+        // All candidates share a single stream
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(buffer)) {
+            for (DataTreeCandidate candidate : candidates) {
+                DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+            }
+        }
+        buffer.flip();
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(buffer);
+        for (int i = 0; i < candidates.size(); ++i) {
+            final DataTreeCandidate expected = candidates.get(i);
+            final DataTreeCandidate actual = DataTreeCandidateInputOutput.readDataTreeCandidate(in);
+            assertEquals(expected.getRootPath(), actual.getRootPath());
+            assertEquals(expected.getRootNode().getModificationType(), actual.getRootNode().getModificationType());
+
+            final DataTreeModification targetMod = target.takeSnapshot().newModification();
+            DataTreeCandidates.applyToModification(targetMod, actual);
+            targetMod.ready();
+            target.validate(targetMod);
+            target.commit(target.prepare(targetMod));
+
+            assertEquals(states.get(i), target.takeSnapshot().readNode(TOP_PATH));
+        }
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Test
+    public void testUnmodifiedChildrenOmitted() throws IOException, DataValidationFailedException {
+        DataTreeModification mod = source.takeSnapshot().newModification();
+        mod.write(TOP_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(ImmutableNodes.leafNode(NAME, "initial"))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM).withChild(item(1, "one")).build())
+            .build());
+        commit(mod);
+
+        // Merging the same data results in an unmodified entry
+        mod = source.takeSnapshot().newModification();
+        mod.merge(ITEM_PATH.node(itemId(1)), item(1, "one"));
+        mod.write(TOP_PATH.node(NAME), ImmutableNodes.leafNode(NAME, "updated"));
+        final DataTreeCandidate candidate = commit(mod);
+        final DataTreeCandidateNode origTop = candidate.getRootNode().getModifiedChild(new NodeIdentifier(TOP)).get();
+        final long modifiedCount = origTop.getChildNodes().stream()
+                .filter(child -> child.getModificationType() != ModificationType.UNMODIFIED).count();
+
+        final ByteBuffer buffer = ByteBuffer.allocate(4096);
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(buffer)) {
+            DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+        }
+        buffer.flip();
+
+        final DataTreeCandidateNode root = DataTreeCandidateInputOutput.readDataTreeCandidate(
+            NormalizedNodeDataInput.newDataInput(buffer)).getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        final DataTreeCandidateNode top = root.getModifiedChild(new NodeIdentifier(TOP)).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, top.getModificationType());
+        assertEquals(modifiedCount, top.getChildNodes().size());
+        for (DataTreeCandidateNode child : top.getChildNodes()) {
+            assertNotEquals(ModificationType.UNMODIFIED, child.getModificationType());
+        }
+        assertEquals(ModificationType.WRITE, top.getModifiedChild(new NodeIdentifier(NAME)).get()
+            .getModificationType());
+    }
+
+    private DataTreeCandidate commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        source.validate(mod);
+        final DataTreeCandidate candidate = source.prepare(mod);
+        source.commit(candidate);
+        return candidate;
+    }
+
+    private static NodeIdentifierWithPredicates itemId(final int id) {
+        return new NodeIdentifierWithPredicates(ITEM, ID, id);
+    }
+
+    private static MapEntryNode item(final int id, final String value) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(itemId(id))
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(VALUE, value))
+                .build();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.binfmt;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Optional;
+import javax.xml.transform.dom.DOMSource;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.Decimal64;
+import org.opendaylight.yangtools.yang.common.Empty;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.common.Uint8;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.YangModeledAnyXmlNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.w3c.dom.Element;
+import org.xml.sax.InputSource;
+
+public class NormalizedNodeDataInputOutputTest {
+    private static final QName TEST = QName.create("urn:opendaylight:binfmt", "2019-06-01", "test").intern();
+    private static final QName OTHER = QName.create("urn:opendaylight:binfmt:other", "other").intern();
+    private static final QName LIST = QName.create(TEST, "list");
+    private static final QName KEY1 = QName.create(TEST, "key1");
+    private static final QName KEY2 = QName.create(TEST, "key2");
+    private static final QName LEAF = QName.create(TEST, "leaf");
+    private static final QName AUGMENTED = QName.create(OTHER, "augmented");
+
+    @Test
+    public void testNormalizedNodeStreaming() throws IOException {
+        final ContainerNode node = createTestContainer();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(new DataOutputStream(bos))) {
+            out.writeNormalizedNode(node);
+            out.writeOptionalNormalizedNode(Optional.empty());
+            out.writeNormalizedNode(node);
+        }
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(new DataInputStream(
+            new ByteArrayInputStream(bos.toByteArray())));
+        assertEquals(NormalizedNodeStreamVersion.V1, in.getVersion());
+        assertEquals(node, in.readNormalizedNode());
+        assertEquals(Optional.empty(), in.readOptionalNormalizedNode());
+        assertEquals(node, in.readNormalizedNode());
+    }
+
+    @Test
+    public void testByteBufferStreaming() throws IOException {
+        final ContainerNode node = createTestContainer();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.create(new NodeIdentifier(TEST),
+            new NodeIdentifier(LIST), new NodeIdentifierWithPredicates(LIST, ImmutableMap.of(KEY1, "one", KEY2, 2)));
+
+        for (ByteBuffer buffer : new ByteBuffer[] { ByteBuffer.allocate(4096), ByteBuffer.allocateDirect(4096) }) {
+            try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(buffer)) {
+                out.writeYangInstanceIdentifier(path);
+                out.writeNormalizedNode(node);
+                out.writeUTF("trailer é€");
+            }
+            buffer.flip();
+
+            final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(buffer);
+            assertEquals(path, in.readYangInstanceIdentifier());
+            final NormalizedNode<?, ?> read = in.readNormalizedNode();
+            assertEquals(node, read);
+            assertEquals("trailer é€", in.readUTF());
+            assertFalse(buffer.hasRemaining());
+
+            // Decoded values must not share storage with the buffer
+            buffer.clear();
+            while (buffer.hasRemaining()) {
+                buffer.put((byte) 0);
+            }
+            assertEquals(node, read);
+        }
+    }
+
+    @Test
+    public void testYangModeledAnyXmlRejected() throws IOException {
+        final YangModeledAnyXmlNode node = mock(YangModeledAnyXmlNode.class);
+        doReturn(new NodeIdentifier(LEAF)).when(node).getIdentifier();
+        doReturn(ImmutableList.of()).when(node).getValue();
+
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(
+                new DataOutputStream(new ByteArrayOutputStream()))) {
+            out.writeNormalizedNode(node);
+            fail("Yang-modeled anyxml should have been rejected");
+        } catch (IOException e) {
+            assertTrue(e.getMessage().contains("Yang-modeled anyxml node"));
+        }
+    }
+
+    @Test
+    public void testPathArguments() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(new DataOutputStream(bos))) {
+            out.writePathArgument(new NodeIdentifier(LIST));
+            out.writePathArgument(new NodeIdentifierWithPredicates(LIST));
+            out.writePathArgument(new NodeIdentifierWithPredicates(LIST, KEY1, Uint64.valueOf(Long.MAX_VALUE)));
+            out.writePathArgument(new NodeWithValue<>(LEAF, ImmutableSet.of("bit1", "bit2")));
+            out.writePathArgument(new AugmentationIdentifier(ImmutableSet.of(AUGMENTED, LEAF)));
+            out.writeQName(OTHER);
+        }
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(new DataInputStream(
+            new ByteArrayInputStream(bos.toByteArray())));
+        assertEquals(new NodeIdentifier(LIST), in.readPathArgument());
+        assertEquals(new NodeIdentifierWithPredicates(LIST), in.readPathArgument());
+        assertEquals(new NodeIdentifierWithPredicates(LIST, KEY1, Uint64.valueOf(Long.MAX_VALUE)),
+            in.readPathArgument());
+        assertEquals(new NodeWithValue<>(LEAF, ImmutableSet.of("bit1", "bit2")), in.readPathArgument());
+        assertEquals(new AugmentationIdentifier(ImmutableSet.of(AUGMENTED, LEAF)), in.readPathArgument());
+        assertEquals(OTHER, in.readQName());
+    }
+
+    @Test
+    public void testBackReferences() throws IOException {
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(new DataOutputStream(bos))) {
+            out.writeQName(LEAF);
+            final int first = bos.size();
+            out.writeQName(LEAF);
+            // Subsequent references take a single byte
+            assertEquals(first + 1, bos.size());
+            out.writeQName(KEY1);
+            // The module is referenced, too
+            assertTrue(bos.size() - first - 1 < first);
+        }
+
+        final NormalizedNodeDataInput in = NormalizedNodeDataInput.newDataInput(new DataInputStream(
+            new ByteArrayInputStream(bos.toByteArray())));
+        assertEquals(LEAF, in.readQName());
+        assertEquals(LEAF, in.readQName());
+        assertEquals(KEY1, in.readQName());
+    }
+
+    @Test
+    public void testAnyXml() throws Exception {
+        final Element element = UntrustedXML.newDocumentBuilder().parse(new InputSource(new StringReader(
+            "<xml xmlns=\"foo\"><data attr=\"value\">text</data></xml>"))).getDocumentElement();
+        final AnyXmlNode anyxml = Builders.anyXmlBuilder().withNodeIdentifier(new NodeIdentifier(LEAF))
+                .withValue(new DOMSource(element)).build();
+
+        final ByteArrayOutputStream bos = new ByteArrayOutputStream();
+        try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(new DataOutputStream(bos))) {
+            out.writeNormalizedNode(anyxml);
+        }
+
+        final NormalizedNode<?, ?> read = NormalizedNodeDataInput.newDataInput(new DataInputStream(
+            new ByteArrayInputStream(bos.toByteArray()))).readNormalizedNode();
+        assertTrue(read instanceof AnyXmlNode);
+        assertEquals(anyxml.getIdentifier(), read.getIdentifier());
+        final Element readElement = (Element) ((AnyXmlNode) read).getValue().getNode();
+        assertEquals("xml", readElement.getLocalName());
+        assertEquals("foo", readElement.getNamespaceURI());
+        assertEquals("value", ((Element) readElement.getFirstChild()).getAttribute("attr"));
+        assertEquals("text", readElement.getTextContent());
+    }
+
+    @Test
+    public void testInvalidStream() throws IOException {
+        try {
+            NormalizedNodeDataInput.newDataInput(ByteBuffer.wrap(new byte[] { 0, 0, 1 }));
+            fail("Invalid signature should have been detected");
+        } catch (InvalidNormalizedNodeStreamException e) {
+            assertTrue(e.getMessage().startsWith("Invalid signature marker"));
+        }
+
+        try {
+            NormalizedNodeDataInput.newDataInput(ByteBuffer.wrap(new byte[] { TokenTypes.SIGNATURE_MARKER, 0, 42 }));
+            fail("Invalid version should have been detected");
+        } catch (InvalidNormalizedNodeStreamException e) {
+            assertEquals("Unhandled stream version 42", e.getMessage());
+        }
+    }
+
+    private static ContainerNode createTestContainer() {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TEST))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "string"), "string é€ value"))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "true"), Boolean.TRUE))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "false"), Boolean.FALSE))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "byte"), (byte) -1))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "short"), (short) -2))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "int"), -3))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "long"), -4L))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "uint8"), Uint8.valueOf(255)))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "uint16"), Uint16.valueOf(65535)))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "uint32"), Uint32.valueOf(4294967295L)))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "uint64"),
+                    Uint64.valueOf("18446744073709551615")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "big-integer"), BigInteger.TEN.pow(30)))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "big-decimal"), new BigDecimal("1.25")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "decimal64"), Decimal64.valueOf("-3.14")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "binary"), new byte[] { 1, 2, 3 }))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "empty"), Empty.getInstance()))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "identityref"), OTHER))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "bits"), ImmutableSet.of("one", "two")))
+                .withChild(ImmutableNodes.leafNode(QName.create(TEST, "instance-identifier"),
+                    YangInstanceIdentifier.create(new NodeIdentifier(TEST), new NodeIdentifier(LIST),
+                        new NodeIdentifierWithPredicates(LIST, KEY1, "one"), new NodeWithValue<>(LEAF, 5))))
+                .withChild(Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(LEAF))
+                    .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(LEAF, "a"))
+                        .withValue("a").build())
+                    .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(LEAF, "b"))
+                        .withValue("b").build())
+                    .build())
+                .withChild(Builders.orderedLeafSetBuilder()
+                    .withNodeIdentifier(new NodeIdentifier(QName.create(TEST, "ordered-leaf-set")))
+                    .withChildValue(3).withChildValue(1).build())
+                .withChild(ImmutableNodes.mapNodeBuilder(LIST)
+                    .withChild(ImmutableNodes.mapEntryBuilder()
+                        .withNodeIdentifier(new NodeIdentifierWithPredicates(LIST, ImmutableMap.of(KEY1, "one",
+                            KEY2, 1)))
+                        .withChild(ImmutableNodes.leafNode(KEY1, "one"))
+                        .withChild(ImmutableNodes.leafNode(KEY2, 1))
+                        .build())
+                    .withChild(ImmutableNodes.mapEntryBuilder()
+                        .withNodeIdentifier(new NodeIdentifierWithPredicates(LIST, ImmutableMap.of(KEY1, "two",
+                            KEY2, 2)))
+                        .withChild(ImmutableNodes.leafNode(KEY1, "two"))
+                        .withChild(ImmutableNodes.leafNode(KEY2, 2))
+                        .build())
+                    .build())
+                .withChild(Builders.orderedMapBuilder().withNodeIdentifier(
+                    new NodeIdentifier(QName.create(TEST, "ordered-list")))
+                    .withChild(ImmutableNodes.mapEntry(QName.create(TEST, "ordered-list"), KEY1, "b"))
+                    .withChild(ImmutableNodes.mapEntry(QName.create(TEST, "ordered-list"), KEY1, "a"))
+                    .build())
+                .withChild(Builders.unkeyedListBuilder().withNodeIdentifier(
+                    new NodeIdentifier(QName.create(TEST, "unkeyed-list")))
+                    .withChild(Builders.unkeyedListEntryBuilder().withNodeIdentifier(
+                        new NodeIdentifier(QName.create(TEST, "unkeyed-list")))
+                        .withChild(ImmutableNodes.leafNode(LEAF, "unkeyed")).build())
+                    .build())
+                .withChild(Builders.choiceBuilder().withNodeIdentifier(new NodeIdentifier(QName.create(TEST, "choice")))
+                    .withChild(ImmutableNodes.leafNode(QName.create(TEST, "case-leaf"), "case")).build())
+                .withChild(Builders.augmentationBuilder()
+                    .withNodeIdentifier(new AugmentationIdentifier(ImmutableSet.of(AUGMENTED)))
+                    .withChild(ImmutableNodes.leafNode(AUGMENTED, "augmented")).build())
+                .build();
+    }
+}
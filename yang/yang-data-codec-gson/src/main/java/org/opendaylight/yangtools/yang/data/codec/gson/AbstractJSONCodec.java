@@ -34,6 +34,11 @@ abstract class AbstractJSONCodec<T> implements JSONCodec<T> {
         return codec.deserialize(str);
     }
 
+    @Override
+    public final T tryParseValue(final Object ctx, final String str) {
+        return codec.tryDeserialize(str);
+    }
+
     final String serialize(final T input) {
         return codec.serialize(input);
     }
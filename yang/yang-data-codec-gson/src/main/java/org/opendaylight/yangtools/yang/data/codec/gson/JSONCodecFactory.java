@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.yang.data.codec.gson;
 
 import static com.google.common.base.Verify.verifyNotNull;
+import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
 import java.util.List;
@@ -17,6 +18,7 @@ import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCode
 import org.opendaylight.yangtools.yang.data.impl.codec.BinaryStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BitsStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataStringCodecCache;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
@@ -49,32 +51,40 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
  */
 @Beta
 public final class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>> {
+    private final DataStringCodecCache stringCodecs;
     private final JSONCodec<?> iidCodec;
 
     JSONCodecFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache,
             final BiFunction<SchemaContext, JSONCodecFactory, JSONInstanceIdentifierCodec> iidCodecSupplier) {
+        this(context, cache, DataStringCodecCache.uncached(), iidCodecSupplier);
+    }
+
+    JSONCodecFactory(final SchemaContext context, final CodecCache<JSONCodec<?>> cache,
+            final DataStringCodecCache stringCodecs,
+            final BiFunction<SchemaContext, JSONCodecFactory, JSONInstanceIdentifierCodec> iidCodecSupplier) {
         super(context, cache);
+        this.stringCodecs = requireNonNull(stringCodecs);
         iidCodec = verifyNotNull(iidCodecSupplier.apply(context, this));
     }
 
     @Override
     protected JSONCodec<?> binaryCodec(final BinaryTypeDefinition type) {
-        return new QuotedJSONCodec<>(BinaryStringCodec.from(type));
+        return new QuotedJSONCodec<>(stringCodecs.getCodec(type, BinaryStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> booleanCodec(final BooleanTypeDefinition type) {
-        return new BooleanJSONCodec(BooleanStringCodec.from(type));
+        return new BooleanJSONCodec(stringCodecs.getCodec(type, BooleanStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> bitsCodec(final BitsTypeDefinition type) {
-        return new QuotedJSONCodec<>(BitsStringCodec.from(type));
+        return new QuotedJSONCodec<>(stringCodecs.getCodec(type, BitsStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> decimalCodec(final DecimalTypeDefinition type) {
-        return new NumberJSONCodec<>(DecimalStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, DecimalStringCodec::from));
     }
 
     @Override
@@ -84,7 +94,7 @@ public final class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>> {
 
     @Override
     protected JSONCodec<?> enumCodec(final EnumTypeDefinition type) {
-        return new QuotedJSONCodec<>(EnumStringCodec.from(type));
+        return new QuotedJSONCodec<>(stringCodecs.getCodec(type, EnumStringCodec::from));
     }
 
     @Override
@@ -99,47 +109,47 @@ public final class JSONCodecFactory extends AbstractCodecFactory<JSONCodec<?>> {
 
     @Override
     protected JSONCodec<?> int8Codec(final Int8TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> int16Codec(final Int16TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> int32Codec(final Int32TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> int64Codec(final Int64TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> stringCodec(final StringTypeDefinition type) {
-        return new QuotedJSONCodec<>(StringStringCodec.from(type));
+        return new QuotedJSONCodec<>(stringCodecs.getCodec(type, StringStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> uint8Codec(final Uint8TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> uint16Codec(final Uint16TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> uint32Codec(final Uint32TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected JSONCodec<?> uint64Codec(final Uint64TypeDefinition type) {
-        return new NumberJSONCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberJSONCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
@@ -11,23 +11,18 @@ import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
-import com.google.common.base.Stopwatch;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
 import java.util.Optional;
 import java.util.function.BiFunction;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataStringCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.LazyCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.NoopCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.PrecomputedCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.SharedCodecCache;
-import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
-import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
-import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 /**
  * API entry point for acquiring {@link JSONCodecFactory} instances.
@@ -46,8 +41,6 @@ public enum JSONCodecFactorySupplier {
      */
     DRAFT_LHOTKA_NETMOD_YANG_JSON_02(JSONInstanceIdentifierCodec::new);
 
-    private static final Logger LOG = LoggerFactory.getLogger(JSONCodecFactorySupplier.class);
-
     private static final class EagerCacheLoader extends CacheLoader<SchemaContext, JSONCodecFactory> {
         private final BiFunction<SchemaContext, JSONCodecFactory, JSONInstanceIdentifierCodec>
             iidCodecSupplier;
@@ -59,30 +52,10 @@ public enum JSONCodecFactorySupplier {
 
         @Override
         public JSONCodecFactory load(final SchemaContext key) {
-            final Stopwatch sw = Stopwatch.createStarted();
-            final LazyCodecCache<JSONCodec<?>> lazyCache = new LazyCodecCache<>();
-            final JSONCodecFactory lazy = new JSONCodecFactory(key, lazyCache, iidCodecSupplier);
-            final int visitedLeaves = requestCodecsForChildren(lazy, key);
-            sw.stop();
-
-            final PrecomputedCodecCache<JSONCodec<?>> cache = lazyCache.toPrecomputed();
-            LOG.debug("{} leaf nodes resulted in {} simple and {} complex codecs in {}", visitedLeaves,
-                cache.simpleSize(), cache.complexSize(), sw);
-            return new JSONCodecFactory(key, cache, iidCodecSupplier);
-        }
-
-        private static int requestCodecsForChildren(final JSONCodecFactory lazy, final DataNodeContainer parent) {
-            int ret = 0;
-            for (DataSchemaNode child : parent.getChildNodes()) {
-                if (child instanceof TypedDataSchemaNode) {
-                    lazy.codecFor((TypedDataSchemaNode) child);
-                    ++ret;
-                } else if (child instanceof DataNodeContainer) {
-                    ret += requestCodecsForChildren(lazy, (DataNodeContainer) child);
-                }
-            }
-
-            return ret;
+            final DataStringCodecCache stringCodecs = DataStringCodecCache.forSchemaContext(key);
+            final PrecomputedCodecCache<JSONCodec<?>> cache = PrecomputedCodecCache.precompute(key,
+                lazyCache -> new JSONCodecFactory(key, lazyCache, stringCodecs, iidCodecSupplier));
+            return new JSONCodecFactory(key, cache, stringCodecs, iidCodecSupplier);
         }
     }
 
@@ -110,7 +83,9 @@ public enum JSONCodecFactorySupplier {
      * Get a thread-safe, eagerly-caching {@link JSONCodecFactory} for a SchemaContext. This method can, and will,
      * return the same instance as long as the associated SchemaContext is present. Returned object can be safely
      * used by multiple threads concurrently. If the SchemaContext instance does not have a cached instance
-     * of {@link JSONCodecFactory}, it will be completely precomputed before this method will return.
+     * of {@link JSONCodecFactory}, it will be completely precomputed before this method will return. Modules are
+     * precomputed in parallel and the underlying string codecs are shared with other precomputed factories bound
+     * to the same SchemaContext, such as the XmlCodecFactory.
      *
      * <p>
      * Choosing this implementation is appropriate when the memory overhead of keeping a full codec tree is not as
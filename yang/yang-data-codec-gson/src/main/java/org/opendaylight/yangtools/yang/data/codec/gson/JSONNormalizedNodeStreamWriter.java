@@ -7,10 +7,14 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.gson;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 import static org.w3c.dom.Node.ELEMENT_NODE;
 import static org.w3c.dom.Node.TEXT_NODE;
 
+import com.google.common.collect.ClassToInstanceMap;
+import com.google.common.collect.ImmutableClassToInstanceMap;
 import com.google.gson.stream.JsonWriter;
 import java.io.IOException;
 import java.net.URI;
@@ -21,11 +25,14 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.Augmentat
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForkingNormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriterExtension;
 import org.opendaylight.yangtools.yang.data.impl.codec.SchemaTracker;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
@@ -67,6 +74,40 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
         }
     }
 
+    /**
+     * Forking support, available when the writer is a {@link Utf8JsonWriter}, which can be forked, and the codec
+     * factory can be used from multiple threads. Each fork is a nested writer rooted at the list, with its own
+     * {@link SchemaTracker}, which writes into a forked {@link Utf8JsonWriter}.
+     */
+    private final class Forking implements ForkingNormalizedNodeStreamWriter {
+        private final Utf8JsonWriter utf8;
+
+        Forking(final Utf8JsonWriter utf8) {
+            this.utf8 = requireNonNull(utf8);
+        }
+
+        @Override
+        public NormalizedNodeStreamWriter forkListEntries() throws IOException {
+            final Object parent = tracker.getParent();
+            checkState(parent instanceof ListSchemaNode && context instanceof JSONStreamWriterListContext,
+                "List is not open");
+
+            // Each fork writes at least one entry, hence the list has to be emitted
+            context.emitMyself(codecs.getSchemaContext(), writer);
+            return new Nested(codecs, SchemaTracker.create((ListSchemaNode) parent), utf8.forkArrayElements(),
+                new JSONStreamWriterSharedRootContext(context.getNamespace()));
+        }
+
+        @Override
+        public void joinListEntries(final NormalizedNodeStreamWriter fork) throws IOException {
+            checkArgument(fork instanceof Nested, "Unexpected fork %s", fork);
+            final JSONNormalizedNodeStreamWriter nested = (JSONNormalizedNodeStreamWriter) fork;
+            checkArgument(nested.writer instanceof Utf8JsonWriter, "Unexpected fork %s", fork);
+            checkState(nested.context instanceof JSONStreamWriterSharedRootContext, "Fork has an open entry");
+            utf8.joinArrayElements((Utf8JsonWriter) nested.writer);
+        }
+    }
+
     /**
      * RFC6020 deviation: we are not required to emit empty containers unless they
      * are marked as 'presence'.
@@ -84,6 +125,7 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
     private final SchemaTracker tracker;
     private final JSONCodecFactory codecs;
     private final JsonWriter writer;
+    private final ClassToInstanceMap<NormalizedNodeStreamWriterExtension> extensions;
     private JSONStreamWriterContext context;
 
     JSONNormalizedNodeStreamWriter(final JSONCodecFactory codecFactory, final SchemaTracker tracker,
@@ -92,6 +134,10 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
         this.codecs = requireNonNull(codecFactory);
         this.tracker = requireNonNull(tracker);
         this.context = requireNonNull(rootContext);
+        extensions = writer instanceof Utf8JsonWriter && codecFactory.isThreadSafe()
+            ? ImmutableClassToInstanceMap.of(ForkingNormalizedNodeStreamWriter.class,
+                new Forking((Utf8JsonWriter) writer))
+                : ImmutableClassToInstanceMap.of();
     }
 
     /**
@@ -198,6 +244,11 @@ public abstract class JSONNormalizedNodeStreamWriter implements NormalizedNodeSt
             new JSONStreamWriterSharedRootContext(initialNs));
     }
 
+    @Override
+    public final ClassToInstanceMap<NormalizedNodeStreamWriterExtension> getExtensions() {
+        return extensions;
+    }
+
     @Override
     public void startLeafNode(final NodeIdentifier name) throws IOException {
         tracker.startLeafNode(name);
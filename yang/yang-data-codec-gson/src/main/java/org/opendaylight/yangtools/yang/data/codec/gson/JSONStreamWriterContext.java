@@ -60,18 +60,29 @@ abstract class JSONStreamWriterContext {
      */
     final void writeChildJsonIdentifier(final SchemaContext schema, final JsonWriter writer, final QName qname)
             throws IOException {
-
-        final StringBuilder sb = new StringBuilder();
         // Prepend module name if namespaces do not match
         final QNameModule module = qname.getModule();
-        if (!module.getNamespace().equals(getNamespace())) {
-            final Optional<String> modules = schema.findModule(module).map(Module::getName);
-            checkArgument(modules.isPresent(), "Could not find module for namespace {}", module);
-            sb.append(modules.get()).append(':');
+        final boolean qualified = !module.getNamespace().equals(getNamespace());
+
+        if (writer instanceof Utf8JsonWriter) {
+            final Utf8JsonWriter utf8 = (Utf8JsonWriter) writer;
+            if (!utf8.tryCachedName(qname, qualified)) {
+                utf8.cacheName(qname, qualified, jsonIdentifier(schema, qname, qualified));
+            }
+        } else {
+            writer.name(jsonIdentifier(schema, qname, qualified));
+        }
+    }
+
+    private static String jsonIdentifier(final SchemaContext schema, final QName qname, final boolean qualified) {
+        if (!qualified) {
+            return qname.getLocalName();
         }
-        sb.append(qname.getLocalName());
 
-        writer.name(sb.toString());
+        final QNameModule module = qname.getModule();
+        final Optional<String> modules = schema.findModule(module).map(Module::getName);
+        checkArgument(modules.isPresent(), "Could not find module for namespace {}", module);
+        return modules.get() + ':' + qname.getLocalName();
     }
 
     /**
@@ -112,7 +123,14 @@ abstract class JSONStreamWriterContext {
      */
     protected abstract void emitEnd(JsonWriter writer) throws IOException;
 
-    private void emitMyself(final SchemaContext schema, final JsonWriter writer) throws IOException {
+    /**
+     * Emit the start of this node and its parents, unless it has already been emitted.
+     *
+     * @param schema Schema context
+     * @param writer Output writer
+     * @throws IOException when writer reports it
+     */
+    final void emitMyself(final SchemaContext schema, final JsonWriter writer) throws IOException {
         if (!emittedMyself) {
             if (parent != null) {
                 parent.emitMyself(schema, writer);
@@ -16,6 +16,7 @@ import com.google.gson.JsonIOException;
 import com.google.gson.JsonParseException;
 import com.google.gson.JsonSyntaxException;
 import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonToken;
 import com.google.gson.stream.MalformedJsonException;
 import java.io.Closeable;
 import java.io.EOFException;
@@ -45,10 +46,14 @@ import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.OperationAsContainer;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.StreamingNodeDataEmitter;
 import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
@@ -69,12 +74,14 @@ public final class JsonParserStream implements Closeable, Flushable {
     private final NormalizedNodeStreamWriter writer;
     private final JSONCodecFactory codecs;
     private final DataSchemaNode parentNode;
+    private final boolean streaming;
 
     private JsonParserStream(final NormalizedNodeStreamWriter writer, final JSONCodecFactory codecs,
-            final DataSchemaNode parentNode) {
+            final DataSchemaNode parentNode, final boolean streaming) {
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.parentNode = parentNode;
+        this.streaming = streaming;
     }
 
     /**
@@ -89,7 +96,7 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory) {
-        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext());
+        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext(), false);
     }
 
     /**
@@ -104,15 +111,57 @@ public final class JsonParserStream implements Closeable, Flushable {
      */
     public static @NonNull JsonParserStream create(final @NonNull NormalizedNodeStreamWriter writer,
             final @NonNull JSONCodecFactory codecFactory, final @NonNull SchemaNode parentNode) {
-        final DataSchemaNode parent;
+        return new JsonParserStream(writer, codecFactory, parentDataNode(parentNode), false);
+    }
+
+    /**
+     * Create a new single-pass {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the top of the SchemaContext associated
+     * with the specified codec factory.
+     *
+     * <p>
+     * Unlike streams created by {@link #create(NormalizedNodeStreamWriter, JSONCodecFactory)}, this stream does not
+     * materialize the document before emitting it, but emits events into the writer as it reads the input. See
+     * {@link StreamingNodeDataEmitter} for restrictions this places on the input.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory) {
+        return new JsonParserStream(writer, codecFactory, codecFactory.getSchemaContext(), true);
+    }
+
+    /**
+     * Create a new single-pass {@link JsonParserStream} backed by specified {@link NormalizedNodeStreamWriter}
+     * and {@link JSONCodecFactory}. The stream will be logically rooted at the specified parent node.
+     *
+     * <p>
+     * Unlike streams created by {@link #create(NormalizedNodeStreamWriter, JSONCodecFactory, SchemaNode)}, this stream
+     * does not materialize the document before emitting it, but emits events into the writer as it reads the input.
+     * See {@link StreamingNodeDataEmitter} for restrictions this places on the input.
+     *
+     * @param writer NormalizedNodeStreamWriter to use for instantiation of normalized nodes
+     * @param codecFactory {@link JSONCodecFactory} to use for parsing leaves
+     * @param parentNode Logical root node
+     * @return A new {@link JsonParserStream}
+     * @throws NullPointerException if any of the arguments are null
+     */
+    public static @NonNull JsonParserStream createStreaming(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull JSONCodecFactory codecFactory, final @NonNull SchemaNode parentNode) {
+        return new JsonParserStream(writer, codecFactory, parentDataNode(parentNode), true);
+    }
+
+    private static DataSchemaNode parentDataNode(final SchemaNode parentNode) {
         if (parentNode instanceof DataSchemaNode) {
-            parent = (DataSchemaNode) parentNode;
+            return (DataSchemaNode) parentNode;
         } else if (parentNode instanceof OperationDefinition) {
-            parent = OperationAsContainer.of((OperationDefinition) parentNode);
+            return OperationAsContainer.of((OperationDefinition) parentNode);
         } else {
             throw new IllegalArgumentException("Illegal parent node " + requireNonNull(parentNode));
         }
-        return new JsonParserStream(writer, codecFactory, parent);
     }
 
     public JsonParserStream parse(final JsonReader reader) {
@@ -124,10 +173,16 @@ public final class JsonParserStream implements Closeable, Flushable {
         try {
             reader.peek();
             isEmpty = false;
-            final CompositeNodeDataWithSchema<?> compositeNodeDataWithSchema =
-                    new CompositeNodeDataWithSchema<>(parentNode);
-            read(reader, compositeNodeDataWithSchema);
-            compositeNodeDataWithSchema.write(writer);
+            if (streaming) {
+                final StreamingNodeDataEmitter emitter = StreamingNodeDataEmitter.create(writer, parentNode);
+                streamObject(reader, emitter, parentNode);
+                emitter.finish();
+            } else {
+                final CompositeNodeDataWithSchema<?> compositeNodeDataWithSchema =
+                        new CompositeNodeDataWithSchema<>(parentNode);
+                read(reader, compositeNodeDataWithSchema);
+                compositeNodeDataWithSchema.write(writer);
+            }
 
             return this;
         } catch (final EOFException e) {
@@ -243,20 +298,8 @@ public final class JsonParserStream implements Closeable, Flushable {
                     if (parentSchema instanceof YangModeledAnyXmlSchemaNode) {
                         parentSchema = ((YangModeledAnyXmlSchemaNode) parentSchema).getSchemaOfAnyXmlData();
                     }
-                    final Entry<String, URI> namespaceAndName = resolveNamespace(jsonElementName, parentSchema);
-                    final String localName = namespaceAndName.getKey();
-                    addNamespace(namespaceAndName.getValue());
-                    if (!namesakes.add(jsonElementName)) {
-                        throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
-                    }
-
-                    final Deque<DataSchemaNode> childDataSchemaNodes =
-                            ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, localName,
-                                getCurrentNamespace());
-                    checkState(!childDataSchemaNodes.isEmpty(),
-                        "Schema for node with name %s and namespace %s does not exist at %s",
-                        localName, getCurrentNamespace(), parentSchema.getPath());
-
+                    final Deque<DataSchemaNode> childDataSchemaNodes = resolveChild(jsonElementName, parentSchema,
+                        namesakes);
 
                     final AbstractNodeDataWithSchema<?> newChild = ((CompositeNodeDataWithSchema<?>) parent)
                             .addChild(childDataSchemaNodes);
@@ -274,6 +317,87 @@ public final class JsonParserStream implements Closeable, Flushable {
         }
     }
 
+    /**
+     * Resolve a JSON member name to schema nodes and push its namespace. Callers are required to pop the namespace
+     * once they are done with the member.
+     */
+    private Deque<DataSchemaNode> resolveChild(final String jsonElementName, final DataSchemaNode parentSchema,
+            final Set<String> namesakes) {
+        final Entry<String, URI> namespaceAndName = resolveNamespace(jsonElementName, parentSchema);
+        final String localName = namespaceAndName.getKey();
+        addNamespace(namespaceAndName.getValue());
+        if (!namesakes.add(jsonElementName)) {
+            throw new JsonSyntaxException("Duplicate name " + jsonElementName + " in JSON input.");
+        }
+
+        final Deque<DataSchemaNode> childDataSchemaNodes =
+                ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, localName, getCurrentNamespace());
+        checkState(!childDataSchemaNodes.isEmpty(),
+            "Schema for node with name %s and namespace %s does not exist at %s",
+            localName, getCurrentNamespace(), parentSchema.getPath());
+        return childDataSchemaNodes;
+    }
+
+    private void streamObject(final JsonReader in, final StreamingNodeDataEmitter emitter,
+            final DataSchemaNode parentSchema) throws IOException {
+        final Set<String> namesakes = new HashSet<>();
+        in.beginObject();
+        while (in.hasNext()) {
+            final String jsonElementName = in.nextName();
+            final Deque<DataSchemaNode> childDataSchemaNodes = resolveChild(jsonElementName, parentSchema, namesakes);
+            final DataSchemaNode childSchema = childDataSchemaNodes.getLast();
+            if (StreamingNodeDataEmitter.isStreamable(childSchema) && emitter.startChild(childDataSchemaNodes)) {
+                streamValue(in, emitter, childSchema);
+                emitter.endChild();
+            } else {
+                // Either a simple node, or we are buffering: parse the child in its entirety
+                final AbstractNodeDataWithSchema<?> newChild = StreamingNodeDataEmitter.newNodeData(childSchema);
+                if (newChild instanceof AnyXmlNodeDataWithSchema) {
+                    readAnyXmlValue(in, (AnyXmlNodeDataWithSchema) newChild, jsonElementName);
+                } else {
+                    read(in, newChild);
+                }
+                emitter.addChild(childDataSchemaNodes, newChild);
+            }
+            removeNamespace();
+        }
+        in.endObject();
+    }
+
+    private void streamValue(final JsonReader in, final StreamingNodeDataEmitter emitter,
+            final DataSchemaNode schema) throws IOException {
+        if (schema instanceof ContainerSchemaNode) {
+            streamObject(in, emitter, schema);
+        } else if (schema instanceof ListSchemaNode) {
+            // Lists with one entry are sometimes serialized without the wrapping array, see read()
+            if (in.peek() == JsonToken.BEGIN_OBJECT) {
+                streamListEntry(in, emitter, schema);
+            } else {
+                in.beginArray();
+                while (in.hasNext()) {
+                    streamListEntry(in, emitter, schema);
+                }
+                in.endArray();
+            }
+        } else {
+            in.beginArray();
+            while (in.hasNext()) {
+                final LeafListEntryNodeDataWithSchema entry = new LeafListEntryNodeDataWithSchema(
+                    (LeafListSchemaNode) schema);
+                read(in, entry);
+                emitter.addLeafSetEntry(entry);
+            }
+            in.endArray();
+        }
+    }
+
+    private void streamListEntry(final JsonReader in, final StreamingNodeDataEmitter emitter,
+            final DataSchemaNode schema) throws IOException {
+        emitter.startListEntry();
+        streamObject(in, emitter, schema);
+        emitter.endChild();
+    }
+
     private static boolean isArray(final AbstractNodeDataWithSchema<?> parent) {
         return parent instanceof ListNodeDataWithSchema || parent instanceof LeafListNodeDataWithSchema;
     }
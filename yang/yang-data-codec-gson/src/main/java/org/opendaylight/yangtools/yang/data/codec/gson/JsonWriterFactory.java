@@ -10,6 +10,7 @@ package org.opendaylight.yangtools.yang.data.codec.gson;
 import com.google.common.annotations.Beta;
 import com.google.common.base.Strings;
 import com.google.gson.stream.JsonWriter;
+import java.io.OutputStream;
 import java.io.Writer;
 
 /**
@@ -44,4 +45,32 @@ public final class JsonWriterFactory {
         jsonWriter.setIndent(indent);
         return jsonWriter;
     }
+
+    /**
+     * Create a new JsonWriter, which writes UTF-8 encoded output directly to the specified output stream. This avoids
+     * the overhead of character-based output and reuses encoded forms of node identifiers, hence it is preferable when
+     * the output is ultimately transmitted as UTF-8 bytes.
+     *
+     * <p>
+     * Output is buffered internally, hence the stream does not need to be buffered. Note that indentation cannot be
+     * changed via {@link JsonWriter#setIndent(String)} after the writer has been created.
+     *
+     * @param stream Output stream
+     * @return A JsonWriter instance
+     */
+    public static JsonWriter createUtf8JsonWriter(final OutputStream stream) {
+        return new Utf8JsonWriter(stream, null);
+    }
+
+    /**
+     * Create a new JsonWriter, which writes UTF-8 encoded output directly to the specified output stream, indenting
+     * nested elements by specified number of spaces. See {@link #createUtf8JsonWriter(OutputStream)} for details.
+     *
+     * @param stream Output stream
+     * @param indentSize size of the indent
+     * @return A JsonWriter instance
+     */
+    public static JsonWriter createUtf8JsonWriter(final OutputStream stream, final int indentSize) {
+        return new Utf8JsonWriter(stream, Strings.repeat(" ", indentSize));
+    }
 }
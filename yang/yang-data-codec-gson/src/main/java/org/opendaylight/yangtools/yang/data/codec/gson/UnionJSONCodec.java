@@ -78,21 +78,24 @@ abstract class UnionJSONCodec<T> implements JSONCodec<T> {
     }
 
     @Override
-    @SuppressWarnings("checkstyle:illegalCatch")
     public final T parseValue(final Object ctx, final String str) {
+        final T ret = tryParseValue(ctx, str);
+        if (ret == null) {
+            throw new IllegalArgumentException("Invalid value \"" + str + "\" for union type.");
+        }
+        return ret;
+    }
+
+    @Override
+    public final T tryParseValue(final Object ctx, final String str) {
         for (JSONCodec<?> codec : codecs) {
-            final Object ret;
-            try {
-                ret = codec.parseValue(ctx, str);
-            } catch (RuntimeException e) {
-                LOG.debug("Codec {} did not accept input '{}'", codec, str, e);
-                continue;
+            final Object ret = codec.tryParseValue(ctx, str);
+            if (ret != null) {
+                return getDataType().cast(ret);
             }
-
-            return getDataType().cast(ret);
+            LOG.trace("Codec {} did not accept input '{}'", codec, str);
         }
-
-        throw new IllegalArgumentException("Invalid value \"" + str + "\" for union type.");
+        return null;
     }
 
     @Override
@@ -0,0 +1,576 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.io.CharStreams;
+import com.google.gson.stream.JsonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+
+/**
+ * A {@link JsonWriter} which encodes its output directly into UTF-8 bytes, which are written to an
+ * {@link OutputStream} through an internal buffer. It produces the same output as a {@link JsonWriter} writing to an
+ * {@link java.io.OutputStreamWriter}, but avoids the intermediate char-based buffering and encoding. Strings which
+ * consist only of ASCII characters, which do not need escaping, are copied byte-by-byte.
+ *
+ * <p>
+ * JSON identifiers of schema nodes are encoded only once, and reused for the lifetime of the writer, see
+ * {@link #tryCachedName(QName, boolean)}.
+ *
+ * <p>
+ * Indentation has to be specified at construction time, as {@link #setIndent(String)} cannot be overridden and is
+ * ignored by this implementation.
+ *
+ * <p>
+ * Elements of an array can be written concurrently into forks of this writer, see {@link #forkArrayElements()}.
+ */
+final class Utf8JsonWriter extends JsonWriter {
+    // Same scopes as the ones used by JsonWriter
+    private static final int EMPTY_ARRAY = 1;
+    private static final int NONEMPTY_ARRAY = 2;
+    private static final int EMPTY_OBJECT = 3;
+    private static final int DANGLING_NAME = 4;
+    private static final int NONEMPTY_OBJECT = 5;
+    private static final int EMPTY_DOCUMENT = 6;
+    private static final int NONEMPTY_DOCUMENT = 7;
+
+    private static final int BUFFER_SIZE = 8192;
+    // The longest encoding of a single char is a six-character unicode escape sequence
+    private static final int MAX_CHAR_BYTES = 6;
+    private static final int MAX_CHUNK_CHARS = BUFFER_SIZE / MAX_CHAR_BYTES - 1;
+
+    // Escape sequences of ASCII characters, null if the character is written as-is
+    private static final byte[][] REPLACEMENTS = new byte[128][];
+    private static final byte[][] HTML_SAFE_REPLACEMENTS;
+    private static final char LINE_SEPARATOR_CHAR = 0x2028;
+    private static final char PARAGRAPH_SEPARATOR_CHAR = 0x2029;
+    private static final byte[] LINE_SEPARATOR = unicodeEscape(LINE_SEPARATOR_CHAR);
+    private static final byte[] PARAGRAPH_SEPARATOR = unicodeEscape(PARAGRAPH_SEPARATOR_CHAR);
+    private static final byte[] NULL = ascii("null");
+    private static final byte[] TRUE = ascii("true");
+    private static final byte[] FALSE = ascii("false");
+
+    static {
+        for (int i = 0; i < 0x20; ++i) {
+            REPLACEMENTS[i] = unicodeEscape(i);
+        }
+        REPLACEMENTS['"'] = ascii("\\\"");
+        REPLACEMENTS['\\'] = ascii("\\\\");
+        REPLACEMENTS['\t'] = ascii("\\t");
+        REPLACEMENTS['\b'] = ascii("\\b");
+        REPLACEMENTS['\n'] = ascii("\\n");
+        REPLACEMENTS['\r'] = ascii("\\r");
+        REPLACEMENTS['\f'] = ascii("\\f");
+
+        HTML_SAFE_REPLACEMENTS = REPLACEMENTS.clone();
+        HTML_SAFE_REPLACEMENTS['<'] = unicodeEscape('<');
+        HTML_SAFE_REPLACEMENTS['>'] = unicodeEscape('>');
+        HTML_SAFE_REPLACEMENTS['&'] = unicodeEscape('&');
+        HTML_SAFE_REPLACEMENTS['='] = unicodeEscape('=');
+        HTML_SAFE_REPLACEMENTS['\''] = unicodeEscape('\'');
+    }
+
+    // Encoded JSON identifiers, including quotes, with and without module name prefix
+    private final Map<QName, byte[]> qualifiedNames;
+    private final Map<QName, byte[]> unqualifiedNames;
+    private final byte[] buf = new byte[BUFFER_SIZE];
+    private final OutputStream out;
+    private final byte @Nullable [] indent;
+    private final byte[] separator;
+
+    private int[] stack = new int[32];
+    private int stackSize;
+    private int pos;
+
+    private @Nullable String deferredName;
+    private byte @Nullable [] deferredEncodedName;
+
+    Utf8JsonWriter(final OutputStream out, final @Nullable String indent) {
+        // All methods touching the Writer are overridden, hence it is never used
+        super(CharStreams.nullWriter());
+        this.out = requireNonNull(out);
+        if (indent == null || indent.isEmpty()) {
+            this.indent = null;
+            separator = ascii(":");
+        } else {
+            this.indent = indent.getBytes(StandardCharsets.UTF_8);
+            separator = ascii(": ");
+        }
+        qualifiedNames = new HashMap<>();
+        unqualifiedNames = new HashMap<>();
+        push(EMPTY_DOCUMENT);
+    }
+
+    private Utf8JsonWriter(final Utf8JsonWriter parent, final int top) {
+        super(CharStreams.nullWriter());
+        out = new ByteArrayOutputStream();
+        indent = parent.indent;
+        separator = parent.separator;
+        setLenient(parent.isLenient());
+        setHtmlSafe(parent.isHtmlSafe());
+        setSerializeNulls(parent.getSerializeNulls());
+        // Encoded names are immutable and can be shared
+        qualifiedNames = new HashMap<>(parent.qualifiedNames);
+        unqualifiedNames = new HashMap<>(parent.unqualifiedNames);
+        stack = Arrays.copyOf(parent.stack, parent.stack.length);
+        stackSize = parent.stackSize;
+        replaceTop(top);
+    }
+
+    /**
+     * Create a writer for a subsequence of elements of the currently-open array. The returned writer buffers its
+     * output in memory and is independent of this writer, hence it can be used from a different thread. Its output is
+     * appended to this writer by {@link #joinArrayElements(Utf8JsonWriter)}. The caller is required to write at least
+     * one element into each fork and must not write anything to this writer until all forks are joined.
+     *
+     * @return A new writer
+     * @throws IllegalStateException if an array is not open
+     */
+    Utf8JsonWriter forkArrayElements() {
+        checkState(deferredName == null && deferredEncodedName == null, "Dangling name");
+        final int context = peek();
+        checkState(context == EMPTY_ARRAY || context == NONEMPTY_ARRAY, "Array is not open");
+        final Utf8JsonWriter fork = new Utf8JsonWriter(this, context);
+        // The fork will write at least one element, hence anything after it needs a separator
+        replaceTop(NONEMPTY_ARRAY);
+        return fork;
+    }
+
+    /**
+     * Append the output of a fork to this writer. Forks have to be joined in the order in which they were created.
+     *
+     * @param fork A writer previously returned from {@link #forkArrayElements()}
+     * @throws IOException if an underlying IO error occurs
+     * @throws IllegalArgumentException if the fork was not created by this writer
+     * @throws IllegalStateException if the fork has not written any complete elements
+     */
+    void joinArrayElements(final Utf8JsonWriter fork) throws IOException {
+        checkArgument(fork.out instanceof ByteArrayOutputStream && fork.indent == indent, "Unexpected fork %s", fork);
+        checkState(fork.stackSize == stackSize && fork.peek() == NONEMPTY_ARRAY
+            && fork.deferredName == null && fork.deferredEncodedName == null, "Fork has not written complete elements");
+
+        fork.flushBuffer();
+        flushBuffer();
+        ((ByteArrayOutputStream) fork.out).writeTo(out);
+    }
+
+    @Override
+    public JsonWriter beginArray() throws IOException {
+        writeDeferredName();
+        return openScope(EMPTY_ARRAY, '[');
+    }
+
+    @Override
+    public JsonWriter endArray() throws IOException {
+        return closeScope(EMPTY_ARRAY, NONEMPTY_ARRAY, ']');
+    }
+
+    @Override
+    public JsonWriter beginObject() throws IOException {
+        writeDeferredName();
+        return openScope(EMPTY_OBJECT, '{');
+    }
+
+    @Override
+    public JsonWriter endObject() throws IOException {
+        return closeScope(EMPTY_OBJECT, NONEMPTY_OBJECT, '}');
+    }
+
+    @Override
+    public JsonWriter name(final String name) {
+        requireNonNull(name, "name == null");
+        checkNameAllowed();
+        deferredName = name;
+        return this;
+    }
+
+    /**
+     * Set the name of the next value to the previously-cached JSON identifier of a QName, if available.
+     *
+     * @param qname Node QName
+     * @param qualified True if the identifier is prefixed with module name
+     * @return True if the identifier was cached and the name has been set
+     */
+    boolean tryCachedName(final QName qname, final boolean qualified) {
+        final byte[] encoded = (qualified ? qualifiedNames : unqualifiedNames).get(qname);
+        if (encoded == null) {
+            return false;
+        }
+        checkNameAllowed();
+        deferredEncodedName = encoded;
+        return true;
+    }
+
+    /**
+     * Set the name of the next value to the JSON identifier of a QName and cache its encoded form for subsequent
+     * invocations of {@link #tryCachedName(QName, boolean)}.
+     *
+     * @param qname Node QName
+     * @param qualified True if the identifier is prefixed with module name
+     * @param name JSON identifier
+     */
+    void cacheName(final QName qname, final boolean qualified, final String name) {
+        checkNameAllowed();
+        deferredEncodedName = (qualified ? qualifiedNames : unqualifiedNames).computeIfAbsent(qname,
+            key -> encodeString(name));
+    }
+
+    @Override
+    public JsonWriter value(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        string(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final boolean value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        write(value ? TRUE : FALSE);
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Boolean value) throws IOException {
+        return value == null ? nullValue() : value(value.booleanValue());
+    }
+
+    @Override
+    public JsonWriter value(final double value) throws IOException {
+        if (!isLenient() && (Double.isNaN(value) || Double.isInfinite(value))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        writeDeferredName();
+        beforeValue();
+        rawAscii(Double.toString(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final long value) throws IOException {
+        writeDeferredName();
+        beforeValue();
+        rawAscii(Long.toString(value));
+        return this;
+    }
+
+    @Override
+    public JsonWriter value(final Number value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+
+        writeDeferredName();
+        final String string = value.toString();
+        if (!isLenient() && (string.equals("-Infinity") || string.equals("Infinity") || string.equals("NaN"))) {
+            throw new IllegalArgumentException("Numeric values must be finite, but was " + value);
+        }
+        beforeValue();
+        rawAscii(string);
+        return this;
+    }
+
+    @Override
+    public JsonWriter jsonValue(final String value) throws IOException {
+        if (value == null) {
+            return nullValue();
+        }
+        writeDeferredName();
+        beforeValue();
+        rawAscii(value);
+        return this;
+    }
+
+    @Override
+    public JsonWriter nullValue() throws IOException {
+        if (deferredName != null || deferredEncodedName != null) {
+            if (!getSerializeNulls()) {
+                // Skip the name and the value
+                deferredName = null;
+                deferredEncodedName = null;
+                return this;
+            }
+            writeDeferredName();
+        }
+        beforeValue();
+        write(NULL);
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        flushBuffer();
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        flushBuffer();
+        out.close();
+
+        final int size = stackSize;
+        if (size > 1 || size == 1 && stack[0] != NONEMPTY_DOCUMENT) {
+            throw new IOException("Incomplete document");
+        }
+        stackSize = 0;
+    }
+
+    private JsonWriter openScope(final int empty, final char openBracket) throws IOException {
+        beforeValue();
+        push(empty);
+        write(openBracket);
+        return this;
+    }
+
+    private JsonWriter closeScope(final int empty, final int nonempty, final char closeBracket) throws IOException {
+        final int context = peek();
+        if (context != nonempty && context != empty) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        if (deferredName != null || deferredEncodedName != null) {
+            throw new IllegalStateException("Dangling name: " + deferredName);
+        }
+
+        stackSize--;
+        if (context == nonempty) {
+            newline();
+        }
+        write(closeBracket);
+        return this;
+    }
+
+    private void push(final int newTop) {
+        if (stackSize == stack.length) {
+            stack = Arrays.copyOf(stack, stackSize * 2);
+        }
+        stack[stackSize++] = newTop;
+    }
+
+    private int peek() {
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+        return stack[stackSize - 1];
+    }
+
+    private void replaceTop(final int topOfStack) {
+        stack[stackSize - 1] = topOfStack;
+    }
+
+    private void checkNameAllowed() {
+        if (deferredName != null || deferredEncodedName != null) {
+            throw new IllegalStateException();
+        }
+        if (stackSize == 0) {
+            throw new IllegalStateException("JsonWriter is closed.");
+        }
+    }
+
+    private void writeDeferredName() throws IOException {
+        if (deferredEncodedName != null) {
+            beforeName();
+            write(deferredEncodedName);
+            deferredEncodedName = null;
+        } else if (deferredName != null) {
+            beforeName();
+            string(deferredName);
+            deferredName = null;
+        }
+    }
+
+    private void newline() throws IOException {
+        if (indent != null) {
+            write('\n');
+            for (int i = 1; i < stackSize; i++) {
+                write(indent);
+            }
+        }
+    }
+
+    private void beforeName() throws IOException {
+        final int context = peek();
+        if (context == NONEMPTY_OBJECT) {
+            write(',');
+        } else if (context != EMPTY_OBJECT) {
+            throw new IllegalStateException("Nesting problem.");
+        }
+        newline();
+        replaceTop(DANGLING_NAME);
+    }
+
+    private void beforeValue() throws IOException {
+        switch (peek()) {
+            case NONEMPTY_DOCUMENT:
+                if (!isLenient()) {
+                    throw new IllegalStateException("JSON must have only one top-level value.");
+                }
+                replaceTop(NONEMPTY_DOCUMENT);
+                break;
+            case EMPTY_DOCUMENT:
+                replaceTop(NONEMPTY_DOCUMENT);
+                break;
+            case EMPTY_ARRAY:
+                replaceTop(NONEMPTY_ARRAY);
+                newline();
+                break;
+            case NONEMPTY_ARRAY:
+                write(',');
+                newline();
+                break;
+            case DANGLING_NAME:
+                write(separator);
+                replaceTop(NONEMPTY_OBJECT);
+                break;
+            default:
+                throw new IllegalStateException("Nesting problem.");
+        }
+    }
+
+    private void string(final String value) throws IOException {
+        final byte[][] replacements = isHtmlSafe() ? HTML_SAFE_REPLACEMENTS : REPLACEMENTS;
+        write('"');
+
+        // Encode in chunks which are guaranteed to fit into the buffer, so that the encoding loop does not need to
+        // check for available space
+        final int length = value.length();
+        int from = 0;
+        while (from < length) {
+            int to = Math.min(length, from + MAX_CHUNK_CHARS);
+            if (to < length && Character.isHighSurrogate(value.charAt(to - 1))) {
+                // Do not split surrogate pairs
+                to++;
+            }
+
+            ensureCapacity((to - from) * MAX_CHAR_BYTES);
+            pos = encode(value, from, to, replacements, buf, pos);
+            from = to;
+        }
+
+        write('"');
+    }
+
+    private byte[] encodeString(final String value) {
+        final byte[][] replacements = isHtmlSafe() ? HTML_SAFE_REPLACEMENTS : REPLACEMENTS;
+        final byte[] bytes = new byte[value.length() * MAX_CHAR_BYTES + 2];
+        bytes[0] = '"';
+        final int end = encode(value, 0, value.length(), replacements, bytes, 1);
+        bytes[end] = '"';
+        return Arrays.copyOf(bytes, end + 1);
+    }
+
+    private static int encode(final String value, final int from, final int to, final byte[][] replacements,
+            final byte[] dst, final int offset) {
+        int off = offset;
+        for (int i = from; i < to; ++i) {
+            final char ch = value.charAt(i);
+            if (ch < 0x80) {
+                final byte[] replacement = replacements[ch];
+                if (replacement == null) {
+                    dst[off++] = (byte) ch;
+                } else {
+                    System.arraycopy(replacement, 0, dst, off, replacement.length);
+                    off += replacement.length;
+                }
+            } else if (ch < 0x800) {
+                dst[off++] = (byte) (0xC0 | ch >> 6);
+                dst[off++] = (byte) (0x80 | ch & 0x3F);
+            } else if (ch == LINE_SEPARATOR_CHAR || ch == PARAGRAPH_SEPARATOR_CHAR) {
+                // Valid JSON, but not valid JavaScript
+                final byte[] replacement = ch == LINE_SEPARATOR_CHAR ? LINE_SEPARATOR : PARAGRAPH_SEPARATOR;
+                System.arraycopy(replacement, 0, dst, off, replacement.length);
+                off += replacement.length;
+            } else if (!Character.isSurrogate(ch)) {
+                dst[off++] = (byte) (0xE0 | ch >> 12);
+                dst[off++] = (byte) (0x80 | ch >> 6 & 0x3F);
+                dst[off++] = (byte) (0x80 | ch & 0x3F);
+            } else if (Character.isHighSurrogate(ch) && i + 1 < to && Character.isLowSurrogate(value.charAt(i + 1))) {
+                final int cp = Character.toCodePoint(ch, value.charAt(++i));
+                dst[off++] = (byte) (0xF0 | cp >> 18);
+                dst[off++] = (byte) (0x80 | cp >> 12 & 0x3F);
+                dst[off++] = (byte) (0x80 | cp >> 6 & 0x3F);
+                dst[off++] = (byte) (0x80 | cp & 0x3F);
+            } else {
+                // Unpaired surrogate, replaced just like OutputStreamWriter does
+                dst[off++] = '?';
+            }
+        }
+        return off;
+    }
+
+    private void rawAscii(final String value) throws IOException {
+        final int length = value.length();
+        for (int i = 0; i < length; ++i) {
+            final char ch = value.charAt(i);
+            if (ch < 0x80) {
+                write(ch);
+            } else {
+                // Not expected in numbers, fall back to full encoding
+                write(value.substring(i).getBytes(StandardCharsets.UTF_8));
+                return;
+            }
+        }
+    }
+
+    private void write(final char ch) throws IOException {
+        if (pos == buf.length) {
+            flushBuffer();
+        }
+        buf[pos++] = (byte) ch;
+    }
+
+    private void write(final byte[] bytes) throws IOException {
+        if (bytes.length > buf.length - pos) {
+            flushBuffer();
+            if (bytes.length > buf.length) {
+                out.write(bytes);
+                return;
+            }
+        }
+        System.arraycopy(bytes, 0, buf, pos, bytes.length);
+        pos += bytes.length;
+    }
+
+    private void ensureCapacity(final int size) throws IOException {
+        if (size > buf.length - pos) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (pos != 0) {
+            out.write(buf, 0, pos);
+            pos = 0;
+        }
+    }
+
+    private static byte[] ascii(final String str) {
+        return str.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] unicodeEscape(final int ch) {
+        return ascii(String.format("\\u%04x", ch));
+    }
+}
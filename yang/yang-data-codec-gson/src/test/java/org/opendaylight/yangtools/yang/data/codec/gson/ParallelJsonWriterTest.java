@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static java.util.Objects.requireNonNull;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ClassToInstanceMap;
+import com.google.common.collect.ImmutableClassToInstanceMap;
+import com.google.common.collect.MutableClassToInstanceMap;
+import com.google.gson.stream.JsonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForkingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForwardingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriterExtension;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaOrderedNormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class ParallelJsonWriterTest {
+    @FunctionalInterface
+    private interface WriterFactory {
+        NormalizedNodeWriter create(NormalizedNodeStreamWriter writer);
+    }
+
+    private static final class ForkCountingWriter extends ForwardingNormalizedNodeStreamWriter {
+        private final NormalizedNodeStreamWriter delegate;
+        private final ClassToInstanceMap<NormalizedNodeStreamWriterExtension> extensions;
+
+        ForkCountingWriter(final NormalizedNodeStreamWriter delegate, final AtomicInteger forks) {
+            this.delegate = requireNonNull(delegate);
+            requireNonNull(forks);
+
+            final ClassToInstanceMap<NormalizedNodeStreamWriterExtension> map = MutableClassToInstanceMap.create();
+            map.putAll(delegate.getExtensions());
+            final ForkingNormalizedNodeStreamWriter forking = map.getInstance(ForkingNormalizedNodeStreamWriter.class);
+            if (forking != null) {
+                map.putInstance(ForkingNormalizedNodeStreamWriter.class, new ForkingNormalizedNodeStreamWriter() {
+                    @Override
+                    public NormalizedNodeStreamWriter forkListEntries() throws IOException {
+                        forks.incrementAndGet();
+                        return forking.forkListEntries();
+                    }
+
+                    @Override
+                    public void joinListEntries(final NormalizedNodeStreamWriter fork) throws IOException {
+                        forking.joinListEntries(fork);
+                    }
+                });
+            }
+            extensions = ImmutableClassToInstanceMap.copyOf(map);
+        }
+
+        @Override
+        protected NormalizedNodeStreamWriter delegate() {
+            return delegate;
+        }
+
+        @Override
+        public ClassToInstanceMap<NormalizedNodeStreamWriterExtension> getExtensions() {
+            return extensions;
+        }
+    }
+
+    private static final String NS = "urn:test:parallel";
+    private static final QName CONT = QName.create(NS, "cont");
+    private static final QName KEYED = QName.create(NS, "keyed");
+    private static final QName ID = QName.create(NS, "id");
+    private static final QName NAME = QName.create(NS, "name");
+    private static final QName IDENT = QName.create(NS, "ident");
+    private static final QName NESTED = QName.create(NS, "nested");
+    private static final QName UNKEYED = QName.create(NS, "unkeyed");
+    private static final QName VALUE = QName.create(NS, "value");
+    private static final QName ONE = QName.create("urn:test:parallel:identities", "one");
+
+    private static final int CHUNK_SIZE = 7;
+    // Both lists are split into chunks
+    private static final int FORKS = (200 + CHUNK_SIZE - 1) / CHUNK_SIZE + (50 + CHUNK_SIZE - 1) / CHUNK_SIZE;
+
+    private static SchemaContext schemaContext;
+    private static ContainerNode data;
+
+    private final AtomicInteger forks = new AtomicInteger();
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/parallel");
+        data = createData();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+        data = null;
+    }
+
+    @Test
+    public void testForkingSupport() {
+        final JSONCodecFactory shared = JSONCodecFactorySupplier.RFC7951.getShared(schemaContext);
+        assertTrue(createStreamWriter(shared, JsonWriterFactory.createUtf8JsonWriter(new ByteArrayOutputStream()))
+            .getExtensions().containsKey(ForkingNormalizedNodeStreamWriter.class));
+        // Lazy factories are not thread-safe
+        assertFalse(createStreamWriter(JSONCodecFactorySupplier.RFC7951.createLazy(schemaContext),
+            JsonWriterFactory.createUtf8JsonWriter(new ByteArrayOutputStream()))
+            .getExtensions().containsKey(ForkingNormalizedNodeStreamWriter.class));
+        // Plain JsonWriters cannot be forked
+        assertFalse(createStreamWriter(shared, JsonWriterFactory.createJsonWriter(new StringWriter()))
+            .getExtensions().containsKey(ForkingNormalizedNodeStreamWriter.class));
+    }
+
+    @Test
+    public void testNormalizedNodeWriter() throws IOException {
+        for (int indent : new int[] { 0, 2 }) {
+            assertEquals(write(indent, writer -> NormalizedNodeWriter.forStreamWriter(writer, true)),
+                write(indent, writer -> NormalizedNodeWriter.forStreamWriter(writer, true, CHUNK_SIZE)));
+            assertEquals(FORKS, forks.getAndSet(0));
+            assertEquals(write(indent, writer -> NormalizedNodeWriter.forStreamWriter(writer, false)),
+                write(indent, writer -> NormalizedNodeWriter.forStreamWriter(writer, false, CHUNK_SIZE)));
+            assertEquals(FORKS, forks.getAndSet(0));
+        }
+    }
+
+    @Test
+    public void testSchemaOrderedNormalizedNodeWriter() throws IOException {
+        assertEquals(write(2, writer -> new SchemaOrderedNormalizedNodeWriter(writer, schemaContext, SchemaPath.ROOT)),
+            write(2, writer -> new SchemaOrderedNormalizedNodeWriter(writer, schemaContext, SchemaPath.ROOT,
+                CHUNK_SIZE)));
+        assertEquals(FORKS, forks.get());
+    }
+
+    private String write(final int indent, final WriterFactory writerFactory) throws IOException {
+        final ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (NormalizedNodeWriter writer = writerFactory.create(new ForkCountingWriter(createStreamWriter(
+                JSONCodecFactorySupplier.RFC7951.getPrecomputed(schemaContext),
+                JsonWriterFactory.createUtf8JsonWriter(result, indent)), forks))) {
+            writer.write(data);
+        }
+        return new String(result.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static NormalizedNodeStreamWriter createStreamWriter(final JSONCodecFactory codecFactory,
+            final JsonWriter writer) {
+        return JSONNormalizedNodeStreamWriter.createExclusiveWriter(codecFactory, SchemaPath.ROOT, null, writer);
+    }
+
+    private static ContainerNode createData() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> keyed = Builders.mapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(KEYED));
+        for (int i = 0; i < 200; ++i) {
+            final Long id = (long) i;
+            keyed.withChild(Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(KEYED, ID, id))
+                .withChild(ImmutableNodes.leafNode(NAME, "name \"" + i + "\""))
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(IDENT, ONE))
+                .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(NESTED))
+                    .withChild(ImmutableNodes.mapEntry(NESTED, NAME, "nested " + i))
+                    .build())
+                .build());
+        }
+
+        final CollectionNodeBuilder<UnkeyedListEntryNode, UnkeyedListNode> unkeyed = Builders.unkeyedListBuilder()
+                .withNodeIdentifier(new NodeIdentifier(UNKEYED));
+        for (int i = 0; i < 50; ++i) {
+            unkeyed.withChild(Builders.unkeyedListEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifier(UNKEYED))
+                .withChild(ImmutableNodes.leafNode(VALUE, "value " + i))
+                .build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CONT))
+                .withChild(keyed.build())
+                .withChild(unkeyed.build())
+                .build();
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.codec.xml.XmlCodecFactory;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataStringCodecCache;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class PrecomputedCodecTest {
+    private static final String NS = "urn:test:precomputed";
+
+    private static SchemaContext schemaContext;
+    private static Module module;
+    private static ContainerSchemaNode cont;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/precomputed/precomputed.yang");
+        module = schemaContext.getModules().iterator().next();
+        cont = (ContainerSchemaNode) module.findDataChildByName(qN("cont")).get();
+    }
+
+    @Test
+    public void testChoiceLeaf() {
+        final ChoiceSchemaNode choice = (ChoiceSchemaNode) cont.findDataChildByName(qN("ch")).get();
+        assertPrecomputed(leaf(choice.getCases().get(qN("one")), "in-case"));
+    }
+
+    @Test
+    public void testOperationLeaves() {
+        assertPrecomputed(leaf(module.getRpcs().iterator().next().getInput(), "in-rpc"));
+        assertPrecomputed(leaf(cont.getActions().iterator().next().getInput(), "in-action"));
+    }
+
+    @Test
+    public void testNotificationLeaf() {
+        assertPrecomputed(leaf(module.getNotifications().iterator().next(), "in-notification"));
+    }
+
+    @Test
+    public void testNeverCachedCodec() {
+        final TypedDataSchemaNode flag = leaf(cont, "flag");
+        assertNotNull(JSONCodecFactorySupplier.RFC7951.getPrecomputed(schemaContext).codecFor(flag));
+    }
+
+    @Test
+    public void testUncachedCodec() {
+        final SchemaContext other = YangParserTestUtils.parseYangResource("/precomputed/precomputed.yang");
+        final TypedDataSchemaNode leaf = leaf(choiceCase(other), "in-case");
+        final JSONCodecFactory precomputed = JSONCodecFactorySupplier.RFC7951.getPrecomputed(schemaContext);
+        try {
+            precomputed.codecFor(leaf);
+            fail("Leaf from another SchemaContext should not have a precomputed codec");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Uncached codec for "));
+        }
+    }
+
+    @Test
+    public void testSharedStringCodecs() {
+        // Fresh contexts, so that we observe what each precomputed factory puts into the shared cache
+        final SchemaContext xmlContext = YangParserTestUtils.parseYangResource("/precomputed/precomputed.yang");
+        final TypeDefinition<?> xmlType = stringType(xmlContext);
+        XmlCodecFactory.getPrecomputed(xmlContext);
+        final DataStringCodec<?> xmlCodec = cachedCodec(xmlContext, xmlType);
+
+        // JSON reuses the string codec computed for XML
+        JSONCodecFactorySupplier.RFC7951.getPrecomputed(xmlContext);
+        assertSame(xmlCodec, cachedCodec(xmlContext, xmlType));
+
+        final SchemaContext jsonContext = YangParserTestUtils.parseYangResource("/precomputed/precomputed.yang");
+        final TypeDefinition<?> jsonType = stringType(jsonContext);
+        JSONCodecFactorySupplier.RFC7951.getPrecomputed(jsonContext);
+        final DataStringCodec<?> jsonCodec = cachedCodec(jsonContext, jsonType);
+        assertNotSame(xmlCodec, jsonCodec);
+
+        // Non-precomputed factories do not populate the shared cache
+        final SchemaContext lazyContext = YangParserTestUtils.parseYangResource("/precomputed/precomputed.yang");
+        final TypeDefinition<?> lazyType = stringType(lazyContext);
+        JSONCodecFactorySupplier.RFC7951.createLazy(lazyContext).codecFor(leaf(container(lazyContext), "str"));
+        XmlCodecFactory.create(lazyContext).codecFor(leaf(container(lazyContext), "str"));
+        try {
+            cachedCodec(lazyContext, lazyType);
+            fail("String codec should not be cached");
+        } catch (IllegalStateException e) {
+            // Expected
+        }
+    }
+
+    private static DataStringCodec<?> cachedCodec(final SchemaContext context, final TypeDefinition<?> type) {
+        return DataStringCodecCache.forSchemaContext(context).getCodec(type, missing -> {
+            throw new IllegalStateException("No cached codec for " + missing);
+        });
+    }
+
+    private static TypeDefinition<?> stringType(final SchemaContext context) {
+        return leaf(container(context), "str").getType();
+    }
+
+    private static ContainerSchemaNode container(final SchemaContext context) {
+        return (ContainerSchemaNode) context.findDataChildByName(qN("cont")).get();
+    }
+
+    private static DataNodeContainer choiceCase(final SchemaContext context) {
+        final ChoiceSchemaNode choice = (ChoiceSchemaNode) container(context).findDataChildByName(qN("ch")).get();
+        return choice.getCases().get(qN("one"));
+    }
+
+    private static void assertPrecomputed(final TypedDataSchemaNode leaf) {
+        // Identityref codecs are specific to a leaf, hence they are not shared unless they were cached
+        final JSONCodecFactory simple = JSONCodecFactorySupplier.RFC7951.createSimple(schemaContext);
+        assertNotSame(simple.codecFor(leaf), simple.codecFor(leaf));
+
+        final JSONCodecFactory precomputed = JSONCodecFactorySupplier.RFC7951.getPrecomputed(schemaContext);
+        assertSame(precomputed.codecFor(leaf), precomputed.codecFor(leaf));
+    }
+
+    private static TypedDataSchemaNode leaf(final DataNodeContainer parent, final String localName) {
+        return (TypedDataSchemaNode) parent.findDataChildByName(qN(localName)).get();
+    }
+
+    private static QName qN(final String localName) {
+        return QName.create(NS, localName);
+    }
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.codec.gson.TestUtils.loadTextFile;
+
+import com.google.gson.stream.JsonReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.net.URISyntaxException;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForwardingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+/**
+ * Tests that single-pass parsing results in the same structures as the default two-pass parsing.
+ */
+public class StreamingJsonParserTest {
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void initialization() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/complexjson/yang");
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        schemaContext = null;
+    }
+
+    @Test
+    public void testComplexJson() throws IOException, URISyntaxException {
+        // anyxml values do not compare equal, hence we exercise them separately
+        assertSameResult(loadTextFile("/complexjson/type-empty.json"));
+        assertSameResult(loadTextFile("/complexjson/leaf-node-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/leaf-node-via-augmentation-in-container.json"));
+        assertNotNull(parse(loadTextFile("/complexjson/complex-json.json"), true));
+    }
+
+    @Test
+    public void testChoicesAndAugmentations() throws IOException, URISyntaxException {
+        assertSameResult(loadTextFile("/complexjson/case-node-augmentation-in-choice-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/case-node-external-augmentation-in-choice-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/choice-node-augmentation-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/multiple-choice-augmentation-in-container.json"));
+    }
+
+    @Test
+    public void testLists() throws IOException, URISyntaxException {
+        assertSameResult(loadTextFile("/complexjson/keyed-list-node-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/unkeyed-node-in-container.json"));
+        assertSameResult(loadTextFile("/complexjson/leaflist-node-in-container.json"));
+    }
+
+    @Test
+    public void testKeysAfterOtherChildren() {
+        assertSameResult("{\"complexjson:cont1\":{\"lst11\":["
+                + "{\"lf113\":\"lf113 value\",\"key111\":\"key111 value\",\"lf112\":\"/complexjson:cont1\","
+                + "\"lf111\":\"lf111 value\"},"
+                + "{\"lf111\":\"lf111 other\",\"lf113\":\"lf113 other\",\"key111\":\"key111 other\"}]}}");
+    }
+
+    @Test
+    public void testInterleavedAugmentation() {
+        // lf11 is interleaved between leaves of the same augmentation, hence it needs to be buffered
+        assertSameResult("{\"complexjson:cont1\":{\"lf12_1\":\"one\",\"lf11\":1,\"lf12_2\":\"two\","
+                + "\"lst12\":[{\"lf121\":\"lf121 value\"}],\"lf13\":\"lf13 value\"}}");
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testMissingKey() {
+        parse("{\"complexjson:cont1\":{\"lst11\":[{\"lf113\":\"lf113 value\",\"key111\":\"key111 value\"}]}}",
+            true);
+    }
+
+    @Test
+    public void testNonContiguousAugmentation() {
+        // Augmentation leaves separated by a list are retained until the end of their parent, the list is streamed
+        assertSameResult("{\"complexjson:cont1\":{\"lf12_1\":\"one\",\"lst12\":[{\"lf121\":\"lf121 value\"}],"
+                + "\"lf12_2\":\"two\"}}");
+        // Same for a container from another augmentation
+        assertSameResult("{\"complexjson:cont1\":{\"lf12_1\":\"one\",\"cont11\":{\"lf111\":\"lf111 value\"},"
+                + "\"lf12_2\":\"two\",\"lf12_3\":\"three\"}}");
+    }
+
+    @Test
+    public void testLargeListAfterAugmentedLeaf() throws IOException {
+        final StringBuilder sb = new StringBuilder("{\"complexjson:cont1\":{\"lf12_1\":\"one\",\"lst12\":[");
+        for (int i = 0; i < 10000; ++i) {
+            sb.append("{\"lf121\":\"value ").append(i).append("\"},");
+        }
+        sb.setLength(sb.length() - 1);
+        final String inputJson = sb.append("],\"lf12_2\":\"two\"}}").toString();
+
+        final CountingReader reader = new CountingReader(inputJson);
+        final AtomicLong firstEntryOffset = new AtomicLong(-1);
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter delegate = ImmutableNormalizedNodeStreamWriter.from(result);
+        final NormalizedNodeStreamWriter streamWriter = new ForwardingNormalizedNodeStreamWriter() {
+            @Override
+            protected NormalizedNodeStreamWriter delegate() {
+                return delegate;
+            }
+
+            @Override
+            public void startUnkeyedListItem(final NodeIdentifier name, final int childSizeHint) throws IOException {
+                firstEntryOffset.compareAndSet(-1, reader.offset);
+                super.startUnkeyedListItem(name, childSizeHint);
+            }
+        };
+        JsonParserStream.createStreaming(streamWriter,
+            JSONCodecFactorySupplier.DRAFT_LHOTKA_NETMOD_YANG_JSON_02.getShared(schemaContext))
+            .parse(new JsonReader(reader));
+
+        // The first entry has been emitted before the rest of the list has been read
+        assertTrue(firstEntryOffset.get() > 0);
+        assertTrue(firstEntryOffset.get() < inputJson.length() / 10);
+        assertEquals(parse(inputJson, false), result.getResult());
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNonContiguousStreamedChoice() {
+        // case1 has already been emitted with its container when the list is encountered, hence it cannot be reopened
+        parse("{\"complexjson:cont1\":{\"case1-container\":{\"case1-leaf\":\"one\"},"
+                + "\"lst12\":[{\"lf121\":\"lf121 value\"}],"
+                + "\"case11-choice-case-container\":{\"case11-choice-case-leaf\":\"two\"}}}", true);
+    }
+
+    @Test
+    public void testNonContiguousChoice() {
+        // Members of case c11A, some of them coming from augmentations, are separated by containers, lists and leaves
+        assertSameResult("{\"complexjson:cont1\":{\"lf13\":\"lf13 value\",\"lst12\":[{\"lf121\":\"lf121 value\"}],"
+                + "\"lf15_21\":\"lf15_21 value\",\"lflst11\":[\"one\",\"two\"],\"lf11\":1,"
+                + "\"lf15_11\":\"one two\",\"cont11\":{\"lf111\":\"lf111 value\"}}}");
+    }
+
+    private static final class CountingReader extends StringReader {
+        long offset;
+
+        CountingReader(final String str) {
+            super(str);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            final int ret = super.read(cbuf, off, len);
+            if (ret > 0) {
+                offset += ret;
+            }
+            return ret;
+        }
+    }
+
+    private static void assertSameResult(final String inputJson) {
+        final NormalizedNode<?, ?> expected = parse(inputJson, false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(inputJson, true));
+    }
+
+    private static NormalizedNode<?, ?> parse(final String inputJson, final boolean streaming) {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final JSONCodecFactory codecFactory = JSONCodecFactorySupplier.DRAFT_LHOTKA_NETMOD_YANG_JSON_02.getShared(
+            schemaContext);
+        final JsonParserStream jsonParser = streaming ? JsonParserStream.createStreaming(streamWriter, codecFactory)
+                : JsonParserStream.create(streamWriter, codecFactory);
+        jsonParser.parse(new JsonReader(new StringReader(inputJson)));
+        return result.getResult();
+    }
+}
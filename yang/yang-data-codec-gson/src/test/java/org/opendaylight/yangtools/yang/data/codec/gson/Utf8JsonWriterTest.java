@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.gson;
+
+import static org.junit.Assert.assertEquals;
+
+import com.google.common.base.Strings;
+import com.google.gson.stream.JsonWriter;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class Utf8JsonWriterTest {
+    @FunctionalInterface
+    private interface WriterAction {
+        void apply(JsonWriter writer) throws IOException;
+    }
+
+    // Two-byte, three-byte and four-byte UTF-8 sequences, followed by characters escaped by JsonWriter
+    private static final String UNICODE = new StringBuilder().append((char) 0xE9).append((char) 0x20AC)
+            .appendCodePoint(0x1F600).append((char) 0x2028).append((char) 0x2029).toString();
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void initialization() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/complexjson/yang");
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        schemaContext = null;
+    }
+
+    @Test
+    public void testPrimitives() throws IOException {
+        assertSameOutput(0, writer -> {
+            writer.beginObject();
+            writer.name("string").value("plain ascii");
+            writer.name("escapes").value("quote \" backslash \\ tab \t newline \n control \0 html <&>='");
+            writer.name("unicode").value(UNICODE + " unpaired " + (char) 0xD800 + " end");
+            writer.name("long").value(Strings.repeat(UNICODE + "\n", 2000));
+            writer.name("numbers").beginArray().value(1L).value(-2.5).value(new BigDecimal("3.25")).value(0).endArray();
+            writer.name("booleans").beginArray().value(true).value(Boolean.FALSE).endArray();
+            writer.name("skipped").nullValue();
+            writer.name("raw").jsonValue("{\"a\":1}");
+            writer.name("empty").beginObject().endObject();
+            writer.endObject();
+        });
+    }
+
+    @Test
+    public void testIndentAndNulls() throws IOException {
+        assertSameOutput(4, writer -> {
+            writer.setSerializeNulls(true);
+            writer.setHtmlSafe(true);
+            writer.beginArray();
+            writer.nullValue();
+            writer.beginObject().name("null").nullValue().name("html").value("<&>='").endObject();
+            writer.beginArray().endArray();
+            writer.endArray();
+        });
+    }
+
+    @Test
+    public void testNormalizedNodes() throws IOException {
+        assertSameOutput(TestingNormalizedNodeStructuresCreator.leafListNodeInContainerMultiline());
+        assertSameOutput(TestingNormalizedNodeStructuresCreator.keyedListNodeInContainer());
+        assertSameOutput(TestingNormalizedNodeStructuresCreator.choiceNodeAugmentationInContainer());
+        assertSameOutput(TestingNormalizedNodeStructuresCreator.caseNodeExternalAugmentationInChoiceInContainer());
+    }
+
+    private static void assertSameOutput(final NormalizedNode<?, ?> node) throws IOException {
+        assertSameOutput(2, writer -> {
+            try (NormalizedNodeWriter nodeWriter = NormalizedNodeWriter.forStreamWriter(
+                    createStreamWriter(writer))) {
+                nodeWriter.write(node);
+            }
+        });
+    }
+
+    private static void assertSameOutput(final int indentSize, final WriterAction action) throws IOException {
+        final ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        final JsonWriter gsonWriter = JsonWriterFactory.createJsonWriter(
+            new OutputStreamWriter(expected, StandardCharsets.UTF_8), indentSize);
+        action.apply(gsonWriter);
+        gsonWriter.close();
+
+        final ByteArrayOutputStream actual = new ByteArrayOutputStream();
+        final JsonWriter utf8Writer = JsonWriterFactory.createUtf8JsonWriter(actual, indentSize);
+        action.apply(utf8Writer);
+        utf8Writer.close();
+
+        assertEquals(new String(expected.toByteArray(), StandardCharsets.UTF_8),
+            new String(actual.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(expected.size(), actual.size());
+    }
+
+    private static NormalizedNodeStreamWriter createStreamWriter(final JsonWriter writer) {
+        return JSONNormalizedNodeStreamWriter.createExclusiveWriter(
+            JSONCodecFactorySupplier.RFC7951.getShared(schemaContext), SchemaPath.ROOT, null, writer);
+    }
+}
@@ -37,6 +37,11 @@ abstract class AbstractXmlCodec<T> implements XmlCodec<T> {
         return codec.deserialize(str);
     }
 
+    @Override
+    public final T tryParseValue(final NamespaceContext namespaceContext, final String str) {
+        return codec.tryDeserialize(str);
+    }
+
     final String serialize(final T input) {
         return codec.serialize(input);
     }
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.stream.XMLStreamWriter;
+import javax.xml.transform.dom.DOMSource;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.w3c.dom.Node;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+
+/**
+ * A {@link DOMSource} holding an anyxml subtree captured in its textual form. The DOM tree, which is typically an order
+ * of magnitude larger than the text, is only built when it is first requested via {@link #getNode()}.
+ */
+final class CapturedDOMSource extends DOMSource {
+    private static final XMLOutputFactory OUTPUT_FACTORY;
+
+    static {
+        final XMLOutputFactory f = XMLOutputFactory.newFactory();
+        f.setProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES, Boolean.TRUE);
+        OUTPUT_FACTORY = f;
+    }
+
+    private final String xml;
+
+    private CapturedDOMSource(final String xml) {
+        this.xml = requireNonNull(xml);
+    }
+
+    /**
+     * Capture the element the reader is positioned at, including its subtree. When this method returns, the reader is
+     * positioned at the corresponding END_ELEMENT.
+     *
+     * @param in StAX reader positioned at a START_ELEMENT
+     * @return A captured source
+     * @throws XMLStreamException if the input cannot be read
+     */
+    static CapturedDOMSource capture(final XMLStreamReader in) throws XMLStreamException {
+        final StringWriter str = new StringWriter();
+        final XMLStreamWriter out = OUTPUT_FACTORY.createXMLStreamWriter(str);
+        int depth = 0;
+        while (true) {
+            switch (in.getEventType()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    depth++;
+                    copyStartElement(in, out);
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    depth--;
+                    out.writeEndElement();
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.SPACE:
+                    out.writeCharacters(in.getTextCharacters(), in.getTextStart(), in.getTextLength());
+                    break;
+                case XMLStreamConstants.CDATA:
+                    out.writeCData(in.getText());
+                    break;
+                case XMLStreamConstants.COMMENT:
+                    out.writeComment(in.getText());
+                    break;
+                case XMLStreamConstants.PROCESSING_INSTRUCTION:
+                    out.writeProcessingInstruction(in.getPITarget(), in.getPIData());
+                    break;
+                case XMLStreamConstants.ENTITY_REFERENCE:
+                    out.writeEntityRef(in.getLocalName());
+                    break;
+                default:
+                    throw new XMLStreamException("Unexpected event " + in.getEventType() + " in anyxml content",
+                        in.getLocation());
+            }
+
+            if (depth == 0) {
+                break;
+            }
+            in.next();
+        }
+
+        out.close();
+        return new CapturedDOMSource(str.toString());
+    }
+
+    @Override
+    public synchronized Node getNode() {
+        Node node = super.getNode();
+        if (node == null) {
+            try {
+                node = UntrustedXML.newDocumentBuilder().parse(new InputSource(new StringReader(xml)))
+                        .getDocumentElement();
+            } catch (IOException | SAXException e) {
+                throw new IllegalStateException("Failed to parse captured anyxml " + xml, e);
+            }
+            super.setNode(node);
+        }
+        return node;
+    }
+
+    @Override
+    public synchronized void setNode(final Node node) {
+        super.setNode(node);
+    }
+
+    private static void copyStartElement(final XMLStreamReader in, final XMLStreamWriter out)
+            throws XMLStreamException {
+        final String namespace = in.getNamespaceURI();
+        final String prefix = in.getPrefix();
+        out.writeStartElement(prefix != null ? prefix : "", in.getLocalName(), namespace != null ? namespace : "");
+        for (int i = 0; i < in.getNamespaceCount(); ++i) {
+            final String nsPrefix = in.getNamespacePrefix(i);
+            if (nsPrefix == null || nsPrefix.isEmpty()) {
+                out.writeDefaultNamespace(in.getNamespaceURI(i));
+            } else {
+                out.writeNamespace(nsPrefix, in.getNamespaceURI(i));
+            }
+        }
+        for (int i = 0; i < in.getAttributeCount(); ++i) {
+            final String attrNamespace = in.getAttributeNamespace(i);
+            if (attrNamespace == null || attrNamespace.isEmpty()) {
+                out.writeAttribute(in.getAttributeLocalName(i), in.getAttributeValue(i));
+            } else {
+                final String attrPrefix = in.getAttributePrefix(i);
+                out.writeAttribute(attrPrefix != null ? attrPrefix : "", attrNamespace, in.getAttributeLocalName(i),
+                    in.getAttributeValue(i));
+            }
+        }
+    }
+}
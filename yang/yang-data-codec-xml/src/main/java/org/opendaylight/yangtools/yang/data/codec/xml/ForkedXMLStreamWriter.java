@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import javax.xml.XMLConstants;
+import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.Nullable;
+
+/**
+ * An {@link XMLStreamWriter} which records events, so that they can be replayed into another XMLStreamWriter later on.
+ * It is used to write a sequence of elements concurrently with other instances, while its target writer is not being
+ * written to. Replaying the recorded events into the target results in the same output as writing the elements
+ * directly, as long as the namespace context of the target does not change in the meantime.
+ *
+ * <p>
+ * Namespace bindings declared by the recorded events are tracked in the same way the target would track them, while
+ * any other lookups are answered by the namespace context of the target. Since multiple forks may be looking up the
+ * same target, these lookups are synchronized on a shared lock and their results are cached.
+ *
+ * <p>
+ * Document-level events are not supported.
+ */
+final class ForkedXMLStreamWriter implements XMLStreamWriter {
+    @FunctionalInterface
+    interface Event {
+        void replay(XMLStreamWriter writer) throws XMLStreamException;
+    }
+
+    private final class ForkedNamespaceContext implements NamespaceContext {
+        @Override
+        public String getNamespaceURI(final String prefix) {
+            final String bound = lookupNamespace(prefix);
+            if (bound != null) {
+                return bound;
+            }
+
+            // Results may be null, hence we cannot use computeIfAbsent()
+            if (parentNamespaces.containsKey(prefix)) {
+                return parentNamespaces.get(prefix);
+            }
+            final String namespace;
+            synchronized (lock) {
+                namespace = parent.getNamespaceURI(prefix);
+            }
+            parentNamespaces.put(prefix, namespace);
+            return namespace;
+        }
+
+        @Override
+        public String getPrefix(final String namespaceURI) {
+            for (int i = scopes.size() - 1; i >= 0; --i) {
+                final Map<String, String> scope = scopes.get(i);
+                if (scope != null) {
+                    for (Entry<String, String> entry : scope.entrySet()) {
+                        // Make sure the prefix is not rebound in a nested scope
+                        if (namespaceURI.equals(entry.getValue())
+                                && namespaceURI.equals(lookupNamespace(entry.getKey()))) {
+                            return entry.getKey();
+                        }
+                    }
+                }
+            }
+
+            final String prefix;
+            if (parentPrefixes.containsKey(namespaceURI)) {
+                prefix = parentPrefixes.get(namespaceURI);
+            } else {
+                synchronized (lock) {
+                    prefix = parent.getPrefix(namespaceURI);
+                }
+                parentPrefixes.put(namespaceURI, prefix);
+            }
+            return prefix == null || lookupNamespace(prefix) == null ? prefix : null;
+        }
+
+        @Override
+        public Iterator<?> getPrefixes(final String namespaceURI) {
+            final String prefix = getPrefix(namespaceURI);
+            return prefix == null ? ImmutableList.of().iterator() : ImmutableList.of(prefix).iterator();
+        }
+    }
+
+    private final List<Event> events = new ArrayList<>();
+    // Namespace bindings of open elements, null if an element does not declare any
+    private final List<@Nullable Map<String, String>> scopes = new ArrayList<>();
+    private final Map<String, String> parentNamespaces = new HashMap<>();
+    private final Map<String, String> parentPrefixes = new HashMap<>();
+    private final NamespaceContext namespaceContext = new ForkedNamespaceContext();
+    private final NamespaceContext parent;
+    private final Object lock;
+
+    /**
+     * Create a new fork.
+     *
+     * @param parent Namespace context of the target writer
+     * @param lock Lock guarding accesses to parent
+     */
+    ForkedXMLStreamWriter(final NamespaceContext parent, final Object lock) {
+        this.parent = requireNonNull(parent);
+        this.lock = requireNonNull(lock);
+    }
+
+    /**
+     * Replay recorded events into a writer.
+     *
+     * @param writer Target writer
+     * @throws XMLStreamException if the target writer reports it
+     * @throws IllegalStateException if an element is still open or no events were recorded
+     */
+    void replay(final XMLStreamWriter writer) throws XMLStreamException {
+        checkState(scopes.isEmpty(), "Fork has %s open elements", scopes.size());
+        checkState(!events.isEmpty(), "Fork has not recorded any events");
+        for (Event event : events) {
+            event.replay(writer);
+        }
+    }
+
+    /**
+     * Record an event which is not expressed in terms of {@link XMLStreamWriter} methods, for example because its
+     * effect depends on the state of the target at the time it is replayed.
+     *
+     * @param event Event to record
+     */
+    void writeEvent(final Event event) {
+        events.add(requireNonNull(event));
+    }
+
+    @Override
+    public void writeStartElement(final String localName) {
+        openScope();
+        events.add(writer -> writer.writeStartElement(localName));
+    }
+
+    @Override
+    public void writeStartElement(final String namespaceURI, final String localName) {
+        openScope();
+        events.add(writer -> writer.writeStartElement(namespaceURI, localName));
+    }
+
+    @Override
+    public void writeStartElement(final String prefix, final String localName, final String namespaceURI) {
+        openScope();
+        events.add(writer -> writer.writeStartElement(prefix, localName, namespaceURI));
+    }
+
+    @Override
+    public void writeEmptyElement(final String namespaceURI, final String localName) {
+        events.add(writer -> writer.writeEmptyElement(namespaceURI, localName));
+    }
+
+    @Override
+    public void writeEmptyElement(final String prefix, final String localName, final String namespaceURI) {
+        events.add(writer -> writer.writeEmptyElement(prefix, localName, namespaceURI));
+    }
+
+    @Override
+    public void writeEmptyElement(final String localName) {
+        events.add(writer -> writer.writeEmptyElement(localName));
+    }
+
+    @Override
+    public void writeEndElement() {
+        checkState(!scopes.isEmpty(), "No element is open");
+        scopes.remove(scopes.size() - 1);
+        events.add(XMLStreamWriter::writeEndElement);
+    }
+
+    @Override
+    public void writeEndDocument() {
+        throw new UnsupportedOperationException("Forks cannot end the document");
+    }
+
+    @Override
+    public void close() {
+        // No-op
+    }
+
+    @Override
+    public void flush() {
+        // No-op
+    }
+
+    @Override
+    public void writeAttribute(final String localName, final String value) {
+        events.add(writer -> writer.writeAttribute(localName, value));
+    }
+
+    @Override
+    public void writeAttribute(final String prefix, final String namespaceURI, final String localName,
+            final String value) {
+        events.add(writer -> writer.writeAttribute(prefix, namespaceURI, localName, value));
+    }
+
+    @Override
+    public void writeAttribute(final String namespaceURI, final String localName, final String value) {
+        events.add(writer -> writer.writeAttribute(namespaceURI, localName, value));
+    }
+
+    @Override
+    public void writeNamespace(final String prefix, final String namespaceURI) {
+        if (prefix == null || XMLConstants.DEFAULT_NS_PREFIX.equals(prefix)
+                || XMLConstants.XMLNS_ATTRIBUTE.equals(prefix)) {
+            writeDefaultNamespace(namespaceURI);
+            return;
+        }
+
+        bind(prefix, namespaceURI);
+        events.add(writer -> writer.writeNamespace(prefix, namespaceURI));
+    }
+
+    @Override
+    public void writeDefaultNamespace(final String namespaceURI) {
+        bind(XMLConstants.DEFAULT_NS_PREFIX, namespaceURI);
+        events.add(writer -> writer.writeDefaultNamespace(namespaceURI));
+    }
+
+    @Override
+    public void writeComment(final String data) {
+        events.add(writer -> writer.writeComment(data));
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target) {
+        events.add(writer -> writer.writeProcessingInstruction(target));
+    }
+
+    @Override
+    public void writeProcessingInstruction(final String target, final String data) {
+        events.add(writer -> writer.writeProcessingInstruction(target, data));
+    }
+
+    @Override
+    public void writeCData(final String data) {
+        events.add(writer -> writer.writeCData(data));
+    }
+
+    @Override
+    public void writeDTD(final String dtd) {
+        events.add(writer -> writer.writeDTD(dtd));
+    }
+
+    @Override
+    public void writeEntityRef(final String name) {
+        events.add(writer -> writer.writeEntityRef(name));
+    }
+
+    @Override
+    public void writeStartDocument() {
+        throw new UnsupportedOperationException("Forks cannot start the document");
+    }
+
+    @Override
+    public void writeStartDocument(final String version) {
+        throw new UnsupportedOperationException("Forks cannot start the document");
+    }
+
+    @Override
+    public void writeStartDocument(final String encoding, final String version) {
+        throw new UnsupportedOperationException("Forks cannot start the document");
+    }
+
+    @Override
+    public void writeCharacters(final String text) {
+        events.add(writer -> writer.writeCharacters(text));
+    }
+
+    @Override
+    public void writeCharacters(final char[] text, final int start, final int len) {
+        writeCharacters(new String(text, start, len));
+    }
+
+    @Override
+    public String getPrefix(final String uri) {
+        return namespaceContext.getPrefix(uri);
+    }
+
+    @Override
+    public void setPrefix(final String prefix, final String uri) {
+        bind(prefix, uri);
+        events.add(writer -> writer.setPrefix(prefix, uri));
+    }
+
+    @Override
+    public void setDefaultNamespace(final String uri) {
+        bind(XMLConstants.DEFAULT_NS_PREFIX, uri);
+        events.add(writer -> writer.setDefaultNamespace(uri));
+    }
+
+    @Override
+    public void setNamespaceContext(final NamespaceContext context) {
+        throw new UnsupportedOperationException("Forks use the namespace context of their parent");
+    }
+
+    @Override
+    public NamespaceContext getNamespaceContext() {
+        return namespaceContext;
+    }
+
+    @Override
+    public Object getProperty(final String name) {
+        throw new IllegalArgumentException("Property " + name + " is not supported");
+    }
+
+    private void openScope() {
+        scopes.add(null);
+    }
+
+    private void bind(final String prefix, final String namespaceURI) {
+        checkState(!scopes.isEmpty(), "No element is open");
+        final int last = scopes.size() - 1;
+        Map<String, String> scope = scopes.get(last);
+        if (scope == null) {
+            scope = new HashMap<>(4);
+            scopes.set(last, scope);
+        }
+        scope.put(prefix, namespaceURI);
+    }
+
+    private @Nullable String lookupNamespace(final String prefix) {
+        for (int i = scopes.size() - 1; i >= 0; --i) {
+            final Map<String, String> scope = scopes.get(i);
+            if (scope != null) {
+                final String namespace = scope.get(prefix);
+                if (namespace != null) {
+                    return namespace;
+                }
+            }
+        }
+        return null;
+    }
+}
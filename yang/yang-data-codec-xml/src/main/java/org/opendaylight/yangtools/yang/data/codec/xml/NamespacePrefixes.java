@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableMap;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.model.api.IdentitySchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * A table of XML namespace prefixes assigned to modules of a {@link SchemaContext}. Each module namespace is assigned
+ * a stable prefix, based on the prefix of the module itself, so that a prefix needs to be declared only once in the
+ * scope of an element, no matter how many values below it use it. Encoded names of identities are precomputed, so that
+ * identityref values can be written without any string concatenation.
+ *
+ * <p>
+ * Instances are immutable and shared by all writers using the same SchemaContext. They do not reference the
+ * SchemaContext, hence they do not prevent it from being garbage-collected.
+ */
+final class NamespacePrefixes {
+    private static final LoadingCache<SchemaContext, NamespacePrefixes> CACHE = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<SchemaContext, NamespacePrefixes>() {
+                @Override
+                public NamespacePrefixes load(final SchemaContext key) {
+                    return new NamespacePrefixes(key);
+                }
+            });
+
+    // Modules sharing a namespace are revisions of the same module, we prefer the newest one
+    private static final Comparator<Module> MODULE_ORDER = Comparator.comparing(Module::getName)
+            .thenComparing(Module::getRevision, (first, second) -> Revision.compare(second, first));
+
+    private final ImmutableMap<URI, String> prefixes;
+    private final ImmutableMap<QName, String> identities;
+
+    private NamespacePrefixes(final SchemaContext context) {
+        final List<Module> modules = new ArrayList<>(context.getModules());
+        modules.sort(MODULE_ORDER);
+
+        final Map<URI, String> namespaces = new HashMap<>();
+        final Map<String, String> prefixToNamespace = new HashMap<>();
+        for (Module module : modules) {
+            final URI namespace = module.getNamespace();
+            if (!namespaces.containsKey(namespace)) {
+                final String prefix = allocatePrefix(prefixToNamespace, module.getPrefix());
+                namespaces.put(namespace, prefix);
+                prefixToNamespace.put(prefix, namespace.toString());
+            }
+        }
+
+        final Map<QName, String> names = new HashMap<>();
+        for (Module module : modules) {
+            for (IdentitySchemaNode identity : module.getIdentities()) {
+                final QName qname = identity.getQName();
+                names.putIfAbsent(qname, namespaces.get(qname.getNamespace()) + ':' + qname.getLocalName());
+            }
+        }
+
+        prefixes = ImmutableMap.copyOf(namespaces);
+        identities = ImmutableMap.copyOf(names);
+    }
+
+    static @NonNull NamespacePrefixes forSchemaContext(final SchemaContext context) {
+        return CACHE.getUnchecked(context);
+    }
+
+    /**
+     * Return the prefix assigned to a namespace.
+     *
+     * @param namespace Namespace
+     * @return Assigned prefix, or null if the namespace does not belong to any module
+     */
+    @Nullable String prefixFor(final URI namespace) {
+        return prefixes.get(namespace);
+    }
+
+    /**
+     * Return the prefixed name of an identity, as used in identityref values.
+     *
+     * @param qname Identity QName
+     * @return Prefixed name, or null if the identity is not known
+     */
+    @Nullable String identityName(final QName qname) {
+        return identities.get(qname);
+    }
+
+    private static String allocatePrefix(final Map<String, String> allocated, final String modulePrefix) {
+        // Prefixes starting with 'xml' are reserved by XML, but YANG 1.1 allows them
+        final String base = modulePrefix.toLowerCase(Locale.ENGLISH).startsWith("xml") ? "_" + modulePrefix
+                : modulePrefix;
+        if (!allocated.containsKey(base)) {
+            return base;
+        }
+
+        int counter = 2;
+        String prefix;
+        do {
+            prefix = base + counter++;
+        } while (allocated.containsKey(prefix));
+        return prefix;
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.util.AbstractStringInstanceIdentifierCodec;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
+
+/**
+ * An instance-identifier serializer using prefixes from a {@link NamespacePrefixes} table. Unlike
+ * {@link RandomPrefixInstanceIdentifierSerializer}, it does not allocate any prefixes or consult the namespace context,
+ * it only records which namespaces have been used, so that the caller can declare their prefixes.
+ */
+final class PrefixedInstanceIdentifierSerializer extends AbstractStringInstanceIdentifierCodec {
+    private final @NonNull DataSchemaContextTree schemaTree;
+    private final @NonNull NamespacePrefixes prefixes;
+    private final List<URI> namespaces = new ArrayList<>(2);
+
+    PrefixedInstanceIdentifierSerializer(final DataSchemaContextTree schemaTree, final NamespacePrefixes prefixes) {
+        this.schemaTree = requireNonNull(schemaTree);
+        this.prefixes = requireNonNull(prefixes);
+    }
+
+    @Override
+    protected String prefixForNamespace(final URI namespace) {
+        if (!namespaces.contains(namespace)) {
+            namespaces.add(namespace);
+        }
+        return prefixes.prefixFor(namespace);
+    }
+
+    /**
+     * Return the namespaces used by values serialized by this serializer, so that their prefixes can be declared.
+     *
+     * @return Used namespaces
+     */
+    List<URI> getNamespaces() {
+        return namespaces;
+    }
+
+    @Override
+    protected QName createQName(final String prefix, final String localName) {
+        throw new UnsupportedOperationException("Not implemented");
+    }
+
+    @Override
+    protected DataSchemaContextTree getDataContextTree() {
+        return schemaTree;
+    }
+}
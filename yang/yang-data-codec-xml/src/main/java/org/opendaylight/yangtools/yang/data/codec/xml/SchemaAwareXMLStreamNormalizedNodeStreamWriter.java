@@ -13,7 +13,6 @@ import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
@@ -33,11 +32,11 @@ final class SchemaAwareXMLStreamNormalizedNodeStreamWriter extends XMLStreamNorm
     private final SchemaTracker tracker;
     private final SchemaAwareXMLStreamWriterUtils streamUtils;
 
-    SchemaAwareXMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer, final SchemaContext context,
+    SchemaAwareXMLStreamNormalizedNodeStreamWriter(final StreamWriterFacade facade, final SchemaContext context,
             final SchemaTracker tracker) {
-        super(writer);
+        super(facade);
         this.tracker = requireNonNull(tracker);
-        this.streamUtils = new SchemaAwareXMLStreamWriterUtils(context);
+        this.streamUtils = new SchemaAwareXMLStreamWriterUtils(context, facade.getStablePrefixes());
     }
 
     @Override
@@ -51,6 +50,14 @@ final class SchemaAwareXMLStreamNormalizedNodeStreamWriter extends XMLStreamNorm
         tracker.startList(name);
     }
 
+    @Override
+    SchemaAwareXMLStreamNormalizedNodeStreamWriter createListFork(final StreamWriterFacade fork) {
+        final Object parent = tracker.getParent();
+        checkState(parent instanceof ListSchemaNode, "List is not open");
+        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(fork, getSchemaContext(),
+            SchemaTracker.create((ListSchemaNode) parent));
+    }
+
     @Override
     void startListItem(final PathArgument name) throws IOException {
         tracker.startListItem(name);
@@ -14,7 +14,9 @@ import java.net.URI;
 import java.util.Map.Entry;
 import javax.xml.stream.XMLStreamException;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.SchemaContextProvider;
 import org.opendaylight.yangtools.yang.model.api.SchemaNode;
@@ -24,9 +26,14 @@ import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
 
 final class SchemaAwareXMLStreamWriterUtils extends XMLStreamWriterUtils implements SchemaContextProvider {
     private final @NonNull SchemaContext schemaContext;
+    private final @NonNull DataSchemaContextTree schemaTree;
+    private final @Nullable NamespacePrefixes stablePrefixes;
 
-    SchemaAwareXMLStreamWriterUtils(final SchemaContext schemaContext) {
+    SchemaAwareXMLStreamWriterUtils(final SchemaContext schemaContext,
+            final @Nullable NamespacePrefixes stablePrefixes) {
         this.schemaContext = requireNonNull(schemaContext);
+        this.stablePrefixes = stablePrefixes;
+        schemaTree = DataSchemaContextTree.from(schemaContext);
     }
 
     @Override
@@ -38,6 +45,17 @@ final class SchemaAwareXMLStreamWriterUtils extends XMLStreamWriterUtils impleme
     @Override
     void writeInstanceIdentifier(final ValueWriter writer, final YangInstanceIdentifier value)
             throws XMLStreamException {
+        if (stablePrefixes != null) {
+            final PrefixedInstanceIdentifierSerializer prefixedCodec = new PrefixedInstanceIdentifierSerializer(
+                schemaTree, stablePrefixes);
+            final String serializedValue = prefixedCodec.serialize(value);
+            for (URI namespace : prefixedCodec.getNamespaces()) {
+                writer.declarePrefix(stablePrefixes.prefixFor(namespace), namespace.toString());
+            }
+            writer.writeCharacters(serializedValue);
+            return;
+        }
+
         RandomPrefixInstanceIdentifierSerializer iiCodec = new RandomPrefixInstanceIdentifierSerializer(schemaContext,
             writer.getNamespaceContext());
         String serializedValue = iiCodec.serialize(value);
@@ -7,11 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
+import static com.google.common.base.Preconditions.checkState;
+
 import java.io.IOException;
 import java.util.ArrayDeque;
 import java.util.Deque;
 import javax.xml.stream.XMLStreamException;
-import javax.xml.stream.XMLStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
@@ -32,8 +33,8 @@ final class SchemalessXMLStreamNormalizedNodeStreamWriter extends XMLStreamNorma
 
     private final Deque<ContainerType> containerTypeStack = new ArrayDeque<>();
 
-    SchemalessXMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer) {
-        super(writer);
+    SchemalessXMLStreamNormalizedNodeStreamWriter(final StreamWriterFacade facade) {
+        super(facade);
     }
 
     @Override
@@ -96,6 +97,12 @@ final class SchemalessXMLStreamNormalizedNodeStreamWriter extends XMLStreamNorma
         containerTypeStack.push(ContainerType.LIST);
     }
 
+    @Override
+    SchemalessXMLStreamNormalizedNodeStreamWriter createListFork(final StreamWriterFacade fork) {
+        checkState(containerTypeStack.peek() == ContainerType.LIST, "List is not open");
+        return new SchemalessXMLStreamNormalizedNodeStreamWriter(fork);
+    }
+
     @Override
     void startListItem(final PathArgument name) throws IOException {
         containerTypeStack.push(ContainerType.LIST_ITEM);
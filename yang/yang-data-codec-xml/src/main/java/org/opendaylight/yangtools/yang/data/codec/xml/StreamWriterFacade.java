@@ -7,19 +7,22 @@
  */
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.Strings;
-import java.net.URI;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import javax.xml.XMLConstants;
 import javax.xml.namespace.NamespaceContext;
+import javax.xml.stream.XMLOutputFactory;
 import javax.xml.stream.XMLStreamConstants;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -33,15 +36,37 @@ final class StreamWriterFacade extends ValueWriter {
     private static final Set<String> BROKEN_NAMESPACES = ConcurrentHashMap.newKeySet();
 
     private final XMLStreamWriter writer;
-    private final RandomPrefix prefixes;
+    // Null in forks, which leave prefix allocation to their parent
+    private final @Nullable RandomPrefix prefixes;
+    private final @Nullable NamespacePrefixes stablePrefixes;
+    // Facade which created this fork, null if this facade is not a fork
+    private final @Nullable StreamWriterFacade parent;
 
     // QName of an element we delayed emitting. This only happens if it is a naked element, without any attributes,
     // namespace declarations or value.
     private QName openElement;
 
     StreamWriterFacade(final XMLStreamWriter writer) {
+        this(writer, null, null);
+    }
+
+    /**
+     * Create a new facade, which encodes values using prefixes from a {@link NamespacePrefixes} table. Each prefix is
+     * declared on the element whose value uses it, unless it is already declared in that element's scope.
+     *
+     * @param writer Underlying writer
+     * @param stablePrefixes Prefixes to use, null if values should use randomly-allocated prefixes
+     */
+    StreamWriterFacade(final XMLStreamWriter writer, final @Nullable NamespacePrefixes stablePrefixes) {
+        this(writer, stablePrefixes, null);
+    }
+
+    private StreamWriterFacade(final XMLStreamWriter writer, final @Nullable NamespacePrefixes stablePrefixes,
+            final @Nullable StreamWriterFacade parent) {
         this.writer = requireNonNull(writer);
-        prefixes = new RandomPrefix(writer.getNamespaceContext());
+        this.stablePrefixes = stablePrefixes;
+        this.parent = parent;
+        prefixes = parent == null ? new RandomPrefix(writer.getNamespaceContext()) : null;
     }
 
     @Override
@@ -77,6 +102,11 @@ final class StreamWriterFacade extends ValueWriter {
         return writer.getNamespaceContext();
     }
 
+    @Override
+    NamespacePrefixes getStablePrefixes() {
+        return stablePrefixes;
+    }
+
     private void flushElement() throws XMLStreamException {
         if (openElement != null) {
             writer.writeStartElement(XMLConstants.DEFAULT_NS_PREFIX, openElement.getLocalName(),
@@ -122,28 +152,89 @@ final class StreamWriterFacade extends ValueWriter {
             final String namespace = qname.getNamespace().toString();
 
             if (!Strings.isNullOrEmpty(namespace)) {
-                final String prefix = getPrefix(qname.getNamespace(), namespace);
-                writer.writeAttribute(prefix, namespace, qname.getLocalName(), entry.getValue());
+                writePrefixedAttribute(qname, namespace, entry.getValue());
             } else {
                 writer.writeAttribute(qname.getLocalName(), entry.getValue());
             }
         }
     }
 
-    private String getPrefix(final URI uri, final String str) throws XMLStreamException {
-        final String prefix = writer.getPrefix(str);
+    private void writePrefixedAttribute(final QName qname, final String namespace, final String value)
+            throws XMLStreamException {
+        final String prefix = writer.getPrefix(namespace);
         if (prefix != null) {
-            return prefix;
+            writer.writeAttribute(prefix, namespace, qname.getLocalName(), value);
+            return;
         }
 
         // This is needed to recover from attributes emitted while the namespace was not declared. Ordinarily
         // attribute namespaces would be bound in the writer, so the resulting XML is efficient, but we cannot rely
         // on that having been done.
-        if (BROKEN_NAMESPACES.add(str)) {
-            LOG.info("Namespace {} was not bound, please fix the caller", str, new Throwable());
+        if (BROKEN_NAMESPACES.add(namespace)) {
+            LOG.info("Namespace {} was not bound, please fix the caller", namespace, new Throwable());
+        }
+
+        if (parent != null) {
+            // Prefixes are allocated in document order, hence we let our parent allocate it when we are being joined
+            final StreamWriterFacade local = parent;
+            ((ForkedXMLStreamWriter) writer).writeEvent(
+                target -> local.writePrefixedAttribute(qname, namespace, value));
+        } else {
+            writer.writeAttribute(prefixes.encodePrefix(qname.getNamespace()), namespace, qname.getLocalName(), value);
+        }
+    }
+
+    /**
+     * Check whether this facade can be forked. This requires the writer to expose its namespace context and not to
+     * repair namespaces, as forks need to make the same decisions about namespace declarations as the writer would.
+     *
+     * @return True if {@link #fork()} is supported
+     */
+    boolean canFork() {
+        if (writer.getNamespaceContext() == null) {
+            return false;
+        }
+
+        final Object repairing;
+        try {
+            repairing = writer.getProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES);
+        } catch (IllegalArgumentException e) {
+            LOG.trace("Writer {} does not report namespace repairing, assuming it does not repair", writer, e);
+            return true;
         }
+        return !Boolean.TRUE.equals(repairing);
+    }
 
-        return prefixes.encodePrefix(uri);
+    /**
+     * Create a facade which records a sequence of sibling elements to be written at the current position. Prefixes
+     * for attributes in namespaces which are not bound are allocated by this facade when the fork is joined, so that
+     * they match the prefixes allocated when writing without forks.
+     *
+     * @return A new facade writing to a {@link ForkedXMLStreamWriter}
+     * @throws XMLStreamException if the writer reports it
+     */
+    StreamWriterFacade fork() throws XMLStreamException {
+        // The enclosing element would be emitted before the first element of the fork anyway
+        flushElement();
+        return new StreamWriterFacade(new ForkedXMLStreamWriter(writer.getNamespaceContext(), this), stablePrefixes,
+            this);
+    }
+
+    /**
+     * Write the elements recorded by a fork of this facade.
+     *
+     * @param fork A facade previously returned from {@link #fork()}
+     * @throws XMLStreamException if the writer reports it
+     */
+    void join(final StreamWriterFacade fork) throws XMLStreamException {
+        checkArgument(fork.writer instanceof ForkedXMLStreamWriter, "Unexpected fork %s", fork);
+        checkState(fork.openElement == null, "Fork has an open element %s", fork.openElement);
+
+        // Other forks may be looking up our namespace context, which changes while events are being replayed
+        synchronized (this) {
+            flushElement();
+            ((ForkedXMLStreamWriter) fork.writer).replay(writer);
+        }
     }
 
     void close() throws XMLStreamException {
@@ -11,6 +11,7 @@ import javax.xml.namespace.NamespaceContext;
 import javax.xml.stream.XMLStreamException;
 import javax.xml.stream.XMLStreamWriter;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
  * A minimal facade for exposing just enough information from {@link XMLStreamWriter} for the purposes of encoding
@@ -34,6 +35,17 @@ abstract class ValueWriter {
     // Note: lookup results may change if there is other interaction
     abstract NamespaceContext getNamespaceContext();
 
+    // Stable prefixes to use for values, null if values should use randomly-allocated prefixes
+    abstract @Nullable NamespacePrefixes getStablePrefixes();
+
+    // Declare a prefix on the current element, unless it is already bound to the namespace in its scope
+    final void declarePrefix(final String prefix, final String namespaceURI) throws XMLStreamException {
+        final NamespaceContext context = getNamespaceContext();
+        if (context == null || !namespaceURI.equals(context.getNamespaceURI(prefix))) {
+            writeNamespace(prefix, namespaceURI);
+        }
+    }
+
     // Utility shortcut
     final void writeToStringCharacters(final @NonNull Object obj) throws XMLStreamException {
         writeCharacters(obj.toString());
@@ -10,6 +10,9 @@ package org.opendaylight.yangtools.yang.data.codec.xml;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.Beta;
+import com.google.common.collect.ClassToInstanceMap;
+import com.google.common.collect.ImmutableClassToInstanceMap;
 import java.io.IOException;
 import java.io.StringWriter;
 import java.util.Map;
@@ -26,8 +29,10 @@ import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForkingNormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamAttributeWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriterExtension;
 import org.opendaylight.yangtools.yang.data.impl.codec.SchemaTracker;
 import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -43,12 +48,43 @@ import org.w3c.dom.Node;
  * where doesn't have a SchemaContext available and isn't meant for production use.
  */
 public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements NormalizedNodeStreamAttributeWriter {
+    /**
+     * Forking support. Each fork is a writer of the same kind, positioned at the list, which records its events
+     * through a {@link ForkedXMLStreamWriter}. Joining a fork replays these events into our writer.
+     */
+    private final class Forking implements ForkingNormalizedNodeStreamWriter {
+        @Override
+        public NormalizedNodeStreamWriter forkListEntries() throws IOException {
+            final StreamWriterFacade fork;
+            try {
+                fork = facade.fork();
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to fork writer", e);
+            }
+            return createListFork(fork);
+        }
+
+        @Override
+        public void joinListEntries(final NormalizedNodeStreamWriter fork) throws IOException {
+            checkArgument(fork instanceof XMLStreamNormalizedNodeStreamWriter, "Unexpected fork %s", fork);
+            try {
+                facade.join(((XMLStreamNormalizedNodeStreamWriter<?>) fork).facade);
+            } catch (XMLStreamException e) {
+                throw new IOException("Failed to join fork " + fork, e);
+            }
+        }
+    }
+
     private static final TransformerFactory TRANSFORMER_FACTORY = TransformerFactory.newInstance();
 
     private final @NonNull StreamWriterFacade facade;
+    private final @NonNull ClassToInstanceMap<NormalizedNodeStreamWriterExtension> extensions;
 
-    XMLStreamNormalizedNodeStreamWriter(final XMLStreamWriter writer) {
-        facade = new StreamWriterFacade(writer);
+    XMLStreamNormalizedNodeStreamWriter(final StreamWriterFacade facade) {
+        this.facade = requireNonNull(facade);
+        extensions = facade.canFork()
+                ? ImmutableClassToInstanceMap.of(ForkingNormalizedNodeStreamWriter.class, new Forking())
+                        : ImmutableClassToInstanceMap.of();
     }
 
     /**
@@ -73,7 +109,8 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
      */
     public static @NonNull NormalizedNodeStreamWriter create(final XMLStreamWriter writer, final SchemaContext context,
             final DataNodeContainer rootNode) {
-        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(writer, context, SchemaTracker.create(rootNode));
+        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(new StreamWriterFacade(writer), context,
+            SchemaTracker.create(rootNode));
     }
 
     /**
@@ -86,7 +123,45 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
      */
     public static @NonNull NormalizedNodeStreamWriter create(final XMLStreamWriter writer, final SchemaContext context,
             final SchemaPath path) {
-        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(writer, context, SchemaTracker.create(context, path));
+        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(new StreamWriterFacade(writer), context,
+            SchemaTracker.create(context, path));
+    }
+
+    /**
+     * Create a new writer with the specified context as its root, which encodes values using stable namespace
+     * prefixes. See {@link #createPrefixed(XMLStreamWriter, SchemaContext, SchemaPath)} for details.
+     *
+     * @param writer Output {@link XMLStreamWriter}
+     * @param context Associated {@link SchemaContext}.
+     * @return A new {@link NormalizedNodeStreamWriter}
+     */
+    @Beta
+    public static @NonNull NormalizedNodeStreamWriter createPrefixed(final XMLStreamWriter writer,
+            final SchemaContext context) {
+        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(createPrefixedFacade(writer, context), context,
+            SchemaTracker.create(context));
+    }
+
+    /**
+     * Create a new writer with the specified context and rooted in the specified schema path, which encodes values
+     * using stable namespace prefixes. Each namespace is assigned a stable prefix, derived from the module prefix.
+     * Identityref and instance-identifier values are encoded using these prefixes, which are declared on the value's
+     * element only if they are not already declared in its scope, for example by the enclosing document.
+     *
+     * <p>
+     * This avoids allocating prefixes for each value and results in a more compact encoding when the enclosing document
+     * declares the prefixes used by its values.
+     *
+     * @param writer Output {@link XMLStreamWriter}
+     * @param context Associated {@link SchemaContext}.
+     * @param path path
+     * @return A new {@link NormalizedNodeStreamWriter}
+     */
+    @Beta
+    public static @NonNull NormalizedNodeStreamWriter createPrefixed(final XMLStreamWriter writer,
+            final SchemaContext context, final SchemaPath path) {
+        return new SchemaAwareXMLStreamNormalizedNodeStreamWriter(createPrefixedFacade(writer, context), context,
+            SchemaTracker.create(context, path));
     }
 
     /**
@@ -98,7 +173,12 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
      * @return A new {@link NormalizedNodeStreamWriter}
      */
     public static @NonNull NormalizedNodeStreamWriter createSchemaless(final XMLStreamWriter writer) {
-        return new SchemalessXMLStreamNormalizedNodeStreamWriter(writer);
+        return new SchemalessXMLStreamNormalizedNodeStreamWriter(new StreamWriterFacade(writer));
+    }
+
+    private static StreamWriterFacade createPrefixedFacade(final XMLStreamWriter writer,
+            final SchemaContext context) {
+        return new StreamWriterFacade(writer, NamespacePrefixes.forSchemaContext(context));
     }
 
     /**
@@ -121,8 +201,22 @@ public abstract class XMLStreamNormalizedNodeStreamWriter<T> implements Normaliz
         }
     }
 
+    @Override
+    public final ClassToInstanceMap<NormalizedNodeStreamWriterExtension> getExtensions() {
+        return extensions;
+    }
+
     abstract void startList(NodeIdentifier name);
 
+    /**
+     * Create a writer of entries of the currently-open list, writing to specified facade.
+     *
+     * @param fork Output facade
+     * @return A new writer
+     * @throws IllegalStateException if a list is not open
+     */
+    abstract @NonNull XMLStreamNormalizedNodeStreamWriter<T> createListFork(@NonNull StreamWriterFacade fork);
+
     abstract void startListItem(PathArgument name) throws IOException;
 
     abstract void writeValue(@NonNull ValueWriter xmlWriter, @NonNull Object value, T context)
@@ -103,6 +103,16 @@ abstract class XMLStreamWriterUtils {
             if (qname.getNamespace().equals(parent.getNamespace())) {
                 writer.writeCharacters(qname.getLocalName());
             } else {
+                final NamespacePrefixes stable = writer.getStablePrefixes();
+                if (stable != null) {
+                    final String name = stable.identityName(qname);
+                    if (name != null) {
+                        writer.declarePrefix(stable.prefixFor(qname.getNamespace()), qname.getNamespace().toString());
+                        writer.writeCharacters(name);
+                        return;
+                    }
+                }
+
                 final String ns = qname.getNamespace().toString();
                 final String prefix = "x";
                 writer.writeNamespace(prefix, ns);
@@ -8,17 +8,26 @@
 
 package org.opendaylight.yangtools.yang.data.codec.xml;
 
+import static com.google.common.base.Verify.verifyNotNull;
+import static java.util.Objects.requireNonNull;
+
 import com.google.common.annotations.Beta;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
 import java.util.List;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.impl.codec.AbstractIntegerStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BinaryStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BitsStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.BooleanStringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataStringCodecCache;
 import org.opendaylight.yangtools.yang.data.impl.codec.DecimalStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.EnumStringCodec;
 import org.opendaylight.yangtools.yang.data.impl.codec.StringStringCodec;
 import org.opendaylight.yangtools.yang.data.util.codec.AbstractCodecFactory;
+import org.opendaylight.yangtools.yang.data.util.codec.CodecCache;
+import org.opendaylight.yangtools.yang.data.util.codec.PrecomputedCodecCache;
 import org.opendaylight.yangtools.yang.data.util.codec.SharedCodecCache;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
@@ -47,8 +56,24 @@ import org.opendaylight.yangtools.yang.model.api.type.UnknownTypeDefinition;
 @Beta
 public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
 
-    private XmlCodecFactory(final SchemaContext context) {
-        super(context, new SharedCodecCache<>());
+    // Weak keys to retire the entry when SchemaContext goes away
+    private static final LoadingCache<SchemaContext, XmlCodecFactory> PRECOMPUTED = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<SchemaContext, XmlCodecFactory>() {
+                @Override
+                public XmlCodecFactory load(final SchemaContext key) {
+                    final DataStringCodecCache stringCodecs = DataStringCodecCache.forSchemaContext(key);
+                    final PrecomputedCodecCache<XmlCodec<?>> cache = PrecomputedCodecCache.precompute(key,
+                        lazyCache -> new XmlCodecFactory(key, lazyCache, stringCodecs));
+                    return new XmlCodecFactory(key, cache, stringCodecs);
+                }
+            });
+
+    private final DataStringCodecCache stringCodecs;
+
+    private XmlCodecFactory(final SchemaContext context, final CodecCache<XmlCodec<?>> cache,
+            final DataStringCodecCache stringCodecs) {
+        super(context, cache);
+        this.stringCodecs = requireNonNull(stringCodecs);
     }
 
     /**
@@ -58,22 +83,36 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
      * @return A codec factory instance.
      */
     public static XmlCodecFactory create(final SchemaContext context) {
-        return new XmlCodecFactory(context);
+        return new XmlCodecFactory(context, new SharedCodecCache<>(), DataStringCodecCache.uncached());
+    }
+
+    /**
+     * Get a thread-safe, eagerly-caching codec factory for a SchemaContext. This method will return the same instance
+     * as long as the associated SchemaContext is present. If there is no such instance, codecs for the entire
+     * SchemaContext will be computed before this method returns. Modules are precomputed in parallel and the
+     * underlying string codecs are shared with other precomputed factories bound to the same SchemaContext.
+     *
+     * @param context SchemaContext to which the factory should be bound
+     * @return A sharable codec factory instance
+     * @throws NullPointerException if context is null
+     */
+    public static XmlCodecFactory getPrecomputed(final SchemaContext context) {
+        return verifyNotNull(PRECOMPUTED.getUnchecked(context));
     }
 
     @Override
     protected XmlCodec<?> binaryCodec(final BinaryTypeDefinition type) {
-        return new QuotedXmlCodec<>(BinaryStringCodec.from(type));
+        return new QuotedXmlCodec<>(stringCodecs.getCodec(type, BinaryStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> booleanCodec(final BooleanTypeDefinition type) {
-        return new BooleanXmlCodec(BooleanStringCodec.from(type));
+        return new BooleanXmlCodec(stringCodecs.getCodec(type, BooleanStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> bitsCodec(final BitsTypeDefinition type) {
-        return new QuotedXmlCodec<>(BitsStringCodec.from(type));
+        return new QuotedXmlCodec<>(stringCodecs.getCodec(type, BitsStringCodec::from));
     }
 
     @Override
@@ -83,7 +122,7 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
 
     @Override
     protected XmlCodec<?> enumCodec(final EnumTypeDefinition type) {
-        return new QuotedXmlCodec<>(EnumStringCodec.from(type));
+        return new QuotedXmlCodec<>(stringCodecs.getCodec(type, EnumStringCodec::from));
     }
 
     @Override
@@ -98,52 +137,52 @@ public final class XmlCodecFactory extends AbstractCodecFactory<XmlCodec<?>> {
 
     @Override
     protected XmlCodec<?> int8Codec(final Int8TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> int16Codec(final Int16TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> int32Codec(final Int32TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> int64Codec(final Int64TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> decimalCodec(final DecimalTypeDefinition type) {
-        return new NumberXmlCodec<>(DecimalStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, DecimalStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> stringCodec(final StringTypeDefinition type) {
-        return new QuotedXmlCodec<>(StringStringCodec.from(type));
+        return new QuotedXmlCodec<>(stringCodecs.getCodec(type, StringStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> uint8Codec(final Uint8TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> uint16Codec(final Uint16TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> uint32Codec(final Uint32TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
     protected XmlCodec<?> uint64Codec(final Uint64TypeDefinition type) {
-        return new NumberXmlCodec<>(AbstractIntegerStringCodec.from(type));
+        return new NumberXmlCodec<>(stringCodecs.getCodec(type, AbstractIntegerStringCodec::from));
     }
 
     @Override
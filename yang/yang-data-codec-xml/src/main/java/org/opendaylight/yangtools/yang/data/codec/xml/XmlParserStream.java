@@ -11,6 +11,7 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static com.google.common.base.Preconditions.checkState;
 import static com.google.common.base.Verify.verify;
 import static java.util.Objects.requireNonNull;
+import static org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter.UNKNOWN_SIZE;
 
 import com.google.common.annotations.Beta;
 import com.google.common.collect.ImmutableMap;
@@ -41,6 +42,8 @@ import javax.xml.transform.dom.DOMSource;
 import javax.xml.transform.stax.StAXSource;
 import org.opendaylight.yangtools.odlext.model.api.YangModeledAnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamAttributeWriter;
 import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
 import org.opendaylight.yangtools.yang.data.util.AbstractNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.AnyXmlNodeDataWithSchema;
@@ -54,6 +57,7 @@ import org.opendaylight.yangtools.yang.data.util.ListNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.data.util.OperationAsContainer;
 import org.opendaylight.yangtools.yang.data.util.ParserStreamUtils;
 import org.opendaylight.yangtools.yang.data.util.SimpleNodeDataWithSchema;
+import org.opendaylight.yangtools.yang.data.util.StreamingNodeDataEmitter;
 import org.opendaylight.yangtools.yang.data.util.YangModeledAnyXmlNodeDataWithSchema;
 import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
@@ -102,13 +106,15 @@ public final class XmlParserStream implements Closeable, Flushable {
     private final XmlCodecFactory codecs;
     private final DataSchemaNode parentNode;
     private final boolean strictParsing;
+    private final boolean streaming;
 
     private XmlParserStream(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
-            final DataSchemaNode parentNode, final boolean strictParsing) {
+            final DataSchemaNode parentNode, final boolean strictParsing, final boolean streaming) {
         this.writer = requireNonNull(writer);
         this.codecs = requireNonNull(codecs);
         this.parentNode = parentNode;
         this.strictParsing = strictParsing;
+        this.streaming = streaming;
     }
 
     /**
@@ -138,15 +144,7 @@ public final class XmlParserStream implements Closeable, Flushable {
      */
     public static XmlParserStream create(final NormalizedNodeStreamWriter writer, final XmlCodecFactory codecs,
             final SchemaNode parentNode, final boolean strictParsing) {
-        final DataSchemaNode parent;
-        if (parentNode instanceof DataSchemaNode) {
-            parent = (DataSchemaNode) parentNode;
-        } else if (parentNode instanceof OperationDefinition) {
-            parent = OperationAsContainer.of((OperationDefinition) parentNode);
-        } else {
-            throw new IllegalArgumentException("Illegal parent node " + parentNode);
-        }
-        return new XmlParserStream(writer, codecs, parent, strictParsing);
+        return new XmlParserStream(writer, codecs, parentDataNode(parentNode), strictParsing, false);
     }
 
     /**
@@ -169,6 +167,53 @@ public final class XmlParserStream implements Closeable, Flushable {
         return create(writer, XmlCodecFactory.create(schemaContext), parentNode, strictParsing);
     }
 
+    /**
+     * Construct a new single-pass {@link XmlParserStream} with strict parsing mode switched on.
+     *
+     * @param writer Output writer
+     * @param codecs Shared codecs
+     * @param parentNode Parent root node
+     * @return A new stream instance
+     * @see #createStreaming(NormalizedNodeStreamWriter, XmlCodecFactory, SchemaNode, boolean)
+     */
+    public static XmlParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final XmlCodecFactory codecs, final SchemaNode parentNode) {
+        return createStreaming(writer, codecs, parentNode, true);
+    }
+
+    /**
+     * Construct a new single-pass {@link XmlParserStream}. Unlike streams created by
+     * {@link #create(NormalizedNodeStreamWriter, XmlCodecFactory, SchemaNode, boolean)}, this stream does not
+     * materialize the document before emitting it, but emits events into the writer as it reads the input, so that
+     * the memory required is proportional to the largest list entry rather than to the whole document. Anyxml content
+     * is retained in its textual form until it is accessed.
+     *
+     * <p>
+     * Only documents rooted at a container are streamed, others are parsed in two passes. See
+     * {@link StreamingNodeDataEmitter} for restrictions this places on the input.
+     *
+     * @param writer Output writer
+     * @param codecs Shared codecs
+     * @param parentNode Parent root node
+     * @param strictParsing parsing mode, see {@link #create(NormalizedNodeStreamWriter, XmlCodecFactory, SchemaNode,
+     *                      boolean)}
+     * @return A new stream instance
+     */
+    public static XmlParserStream createStreaming(final NormalizedNodeStreamWriter writer,
+            final XmlCodecFactory codecs, final SchemaNode parentNode, final boolean strictParsing) {
+        return new XmlParserStream(writer, codecs, parentDataNode(parentNode), strictParsing, true);
+    }
+
+    private static DataSchemaNode parentDataNode(final SchemaNode parentNode) {
+        if (parentNode instanceof DataSchemaNode) {
+            return (DataSchemaNode) parentNode;
+        } else if (parentNode instanceof OperationDefinition) {
+            return OperationAsContainer.of((OperationDefinition) parentNode);
+        } else {
+            throw new IllegalArgumentException("Illegal parent node " + parentNode);
+        }
+    }
+
     /**
      * This method parses the XML source and emits node events into a NormalizedNodeStreamWriter based on the
      * YANG-modeled data contained in the XML source.
@@ -190,6 +235,11 @@ public final class XmlParserStream implements Closeable, Flushable {
             IOException, SAXException {
         if (reader.hasNext()) {
             reader.nextTag();
+            if (streaming && parentNode instanceof ContainerSchemaNode) {
+                streamRoot(reader, (ContainerSchemaNode) parentNode);
+                return this;
+            }
+
             final AbstractNodeDataWithSchema<?> nodeDataWithSchema;
             if (parentNode instanceof ContainerSchemaNode) {
                 nodeDataWithSchema = new ContainerNodeDataWithSchema((ContainerSchemaNode) parentNode);
@@ -405,6 +455,93 @@ public final class XmlParserStream implements Closeable, Flushable {
         }
     }
 
+    private void streamRoot(final XMLStreamReader in, final ContainerSchemaNode schema) throws XMLStreamException,
+            URISyntaxException, IOException {
+        final String rootElement = in.getLocalName();
+        writer.nextDataSchemaNode(schema);
+        writer.startContainerNode(NodeIdentifier.create(schema.getQName()), UNKNOWN_SIZE);
+        if (writer instanceof NormalizedNodeStreamAttributeWriter) {
+            ((NormalizedNodeStreamAttributeWriter) writer).attributes(getElementAttributes(in));
+        }
+
+        final StreamingNodeDataEmitter emitter = StreamingNodeDataEmitter.create(writer, schema);
+        streamChildren(in, emitter, schema, rootElement);
+        emitter.finish();
+        writer.endNode();
+    }
+
+    /**
+     * Stream children of the element the reader is positioned at. When this method returns, the reader is positioned
+     * at the tag following that element's END_ELEMENT, or at the end of the document.
+     */
+    private void streamChildren(final XMLStreamReader in, final StreamingNodeDataEmitter emitter,
+            final DataSchemaNode parentSchema, final String rootElement) throws XMLStreamException,
+            URISyntaxException, IOException {
+        final Set<Entry<String, String>> namesakes = new HashSet<>();
+        in.nextTag();
+        while (in.isStartElement()) {
+            final String xmlElementName = in.getLocalName();
+            final String xmlElementNamespace = in.getNamespaceURI();
+            if (!namesakes.add(new SimpleImmutableEntry<>(xmlElementNamespace, xmlElementName))) {
+                final Location loc = in.getLocation();
+                throw new IllegalStateException(String.format(
+                        "Duplicate namespace \"%s\" element \"%s\" in XML input at: line %s column %s",
+                        xmlElementNamespace, xmlElementName, loc.getLineNumber(), loc.getColumnNumber()));
+            }
+
+            final Deque<DataSchemaNode> childDataSchemaNodes =
+                    ParserStreamUtils.findSchemaNodeByNameAndNamespace(parentSchema, xmlElementName,
+                        new URI(xmlElementNamespace));
+            if (childDataSchemaNodes.isEmpty()) {
+                checkState(!strictParsing, "Schema for node with name %s and namespace %s does not exist at %s",
+                    xmlElementName, xmlElementNamespace, parentSchema.getPath());
+                skipUnknownNode(in);
+                continue;
+            }
+
+            final DataSchemaNode childSchema = childDataSchemaNodes.getLast();
+            if (StreamingNodeDataEmitter.isStreamable(childSchema)
+                    && emitter.startChild(childDataSchemaNodes, childSchema instanceof ContainerSchemaNode
+                        ? getElementAttributes(in) : null)) {
+                if (childSchema instanceof ContainerSchemaNode) {
+                    streamChildren(in, emitter, childSchema, rootElement);
+                } else if (childSchema instanceof ListSchemaNode) {
+                    do {
+                        emitter.startListEntry(getElementAttributes(in));
+                        streamChildren(in, emitter, childSchema, rootElement);
+                        emitter.endChild();
+                    } while (in.isStartElement() && xmlElementName.equals(in.getLocalName()));
+                } else {
+                    do {
+                        final LeafListEntryNodeDataWithSchema entry = new LeafListEntryNodeDataWithSchema(
+                            (LeafListSchemaNode) childSchema);
+                        read(in, entry, rootElement);
+                        emitter.addLeafSetEntry(entry);
+                    } while (in.isStartElement() && xmlElementName.equals(in.getLocalName()));
+                }
+                emitter.endChild();
+            } else {
+                // Either a simple node, or we are buffering: parse the child in its entirety
+                final AbstractNodeDataWithSchema<?> newChild = StreamingNodeDataEmitter.newNodeData(childSchema);
+                if (newChild instanceof AnyXmlNodeDataWithSchema) {
+                    ((AnyXmlNodeDataWithSchema) newChild).setValue(CapturedDOMSource.capture(in));
+                    skipToNextTag(in);
+                } else {
+                    read(in, newChild, rootElement);
+                }
+                emitter.addChild(childDataSchemaNodes, newChild);
+            }
+        }
+
+        skipToNextTag(in);
+    }
+
+    private static void skipToNextTag(final XMLStreamReader in) throws XMLStreamException {
+        if (!isNextEndDocument(in) && !isAtElement(in)) {
+            in.nextTag();
+        }
+    }
+
     private static boolean isNextEndDocument(final XMLStreamReader in) throws XMLStreamException {
         return !in.hasNext() || in.next() == XMLStreamConstants.END_DOCUMENT;
     }
@@ -0,0 +1,168 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ClassToInstanceMap;
+import com.google.common.collect.ImmutableClassToInstanceMap;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MutableClassToInstanceMap;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForkingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForwardingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamAttributeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriterExtension;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+/**
+ * Model and data used by tests writing lists in parallel.
+ */
+final class ParallelTestModel {
+    private static final String NS = "urn:test:parallel";
+    private static final QName CONT = QName.create(NS, "cont");
+    private static final QName KEYED = QName.create(NS, "keyed");
+    private static final QName ID = QName.create(NS, "id");
+    private static final QName NAME = QName.create(NS, "name");
+    private static final QName IDENT = QName.create(NS, "ident");
+    private static final QName NESTED = QName.create(NS, "nested");
+    private static final QName UNKEYED = QName.create(NS, "unkeyed");
+    private static final QName VALUE = QName.create(NS, "value");
+    private static final QName ONE = QName.create("urn:test:parallel:identities", "one");
+
+    /**
+     * Number of entries in a chunk written by a single fork. It is chosen so that each list is split into multiple
+     * chunks which do not align with the period of the generated data.
+     */
+    static final int CHUNK_SIZE = 7;
+
+    private ParallelTestModel() {
+        // Hidden on purpose
+    }
+
+    static SchemaContext createSchemaContext() {
+        return YangParserTestUtils.parseYangResources(ParallelTestModel.class, "/parallel/parallel.yang",
+            "/parallel/parallel-identities.yang");
+    }
+
+    /**
+     * Create data with large lists. Values contain characters which need to be escaped and keyed entries have
+     * attributes in namespaces which are not bound, each of which is first encountered in a different chunk.
+     *
+     * @return Data conforming to the model returned by {@link #createSchemaContext()}
+     */
+    static ContainerNode createData() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> keyed = Builders.mapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(KEYED));
+        for (int i = 0; i < 200; ++i) {
+            final Long id = (long) i;
+            final Map<QName, String> attributes = ImmutableMap.of(
+                QName.create("urn:test:parallel:attr" + i / CHUNK_SIZE % 4, "attr"), "attr <" + i + ">");
+            keyed.withChild(Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(KEYED, ID, id))
+                .withChild(Builders.<String>leafBuilder().withNodeIdentifier(new NodeIdentifier(NAME))
+                    .withValue("name <\"" + i + "\">").withAttributes(attributes).build())
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(IDENT, ONE))
+                .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(NESTED))
+                    .withChild(ImmutableNodes.mapEntry(NESTED, NAME, "nested " + i))
+                    .build())
+                .build());
+        }
+
+        final CollectionNodeBuilder<UnkeyedListEntryNode, UnkeyedListNode> unkeyed = Builders.unkeyedListBuilder()
+                .withNodeIdentifier(new NodeIdentifier(UNKEYED));
+        for (int i = 0; i < 50; ++i) {
+            unkeyed.withChild(Builders.unkeyedListEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifier(UNKEYED))
+                .withChild(ImmutableNodes.leafNode(VALUE, "value & " + i))
+                .build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(CONT))
+                .withChild(keyed.build())
+                .withChild(unkeyed.build())
+                .build();
+    }
+
+    /**
+     * Wrap a writer so that forks created through its {@link ForkingNormalizedNodeStreamWriter} extension are
+     * counted.
+     *
+     * @param writer Writer to wrap
+     * @param forks Counter of created forks
+     * @return A writer forwarding to the specified writer
+     */
+    static NormalizedNodeStreamWriter countForks(final NormalizedNodeStreamWriter writer,
+            final AtomicInteger forks) {
+        return new ForkCountingWriter(writer, forks);
+    }
+
+    private static final class ForkCountingWriter extends ForwardingNormalizedNodeStreamWriter
+            implements NormalizedNodeStreamAttributeWriter {
+        private final NormalizedNodeStreamWriter delegate;
+        private final ClassToInstanceMap<NormalizedNodeStreamWriterExtension> extensions;
+
+        ForkCountingWriter(final NormalizedNodeStreamWriter delegate, final AtomicInteger forks) {
+            this.delegate = requireNonNull(delegate);
+            requireNonNull(forks);
+
+            final ClassToInstanceMap<NormalizedNodeStreamWriterExtension> map = MutableClassToInstanceMap.create();
+            map.putAll(delegate.getExtensions());
+            final ForkingNormalizedNodeStreamWriter forking = map.getInstance(ForkingNormalizedNodeStreamWriter.class);
+            map.remove(ForkingNormalizedNodeStreamWriter.class);
+            if (forking != null) {
+                map.putInstance(ForkingNormalizedNodeStreamWriter.class, new ForkingNormalizedNodeStreamWriter() {
+                    @Override
+                    public NormalizedNodeStreamWriter forkListEntries() throws IOException {
+                        forks.incrementAndGet();
+                        return forking.forkListEntries();
+                    }
+
+                    @Override
+                    public void joinListEntries(final NormalizedNodeStreamWriter fork) throws IOException {
+                        forking.joinListEntries(fork);
+                    }
+                });
+            }
+            extensions = ImmutableClassToInstanceMap.copyOf(map);
+        }
+
+        @Override
+        protected NormalizedNodeStreamWriter delegate() {
+            return delegate;
+        }
+
+        @Override
+        public ClassToInstanceMap<NormalizedNodeStreamWriterExtension> getExtensions() {
+            return extensions;
+        }
+
+        @Override
+        public void attributes(final Map<QName, String> attributes) throws IOException {
+            if (delegate instanceof NormalizedNodeStreamAttributeWriter) {
+                ((NormalizedNodeStreamAttributeWriter) delegate).attributes(attributes);
+            }
+        }
+    }
+}
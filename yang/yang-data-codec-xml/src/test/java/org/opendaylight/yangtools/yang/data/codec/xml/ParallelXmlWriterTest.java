@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Collection;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForkingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.SchemaOrderedNormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.SchemaPath;
+
+@RunWith(Parameterized.class)
+public class ParallelXmlWriterTest {
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return TestFactories.junitParameters();
+    }
+
+    @FunctionalInterface
+    private interface WriterFactory {
+        NormalizedNodeWriter create(NormalizedNodeStreamWriter writer);
+    }
+
+    private static final int CHUNK_SIZE = ParallelTestModel.CHUNK_SIZE;
+
+    private static SchemaContext schemaContext;
+    private static ContainerNode data;
+
+    private final AtomicInteger forks = new AtomicInteger();
+    private final XMLOutputFactory factory;
+    private final boolean forking;
+
+    public ParallelXmlWriterTest(final String factoryMode, final XMLOutputFactory factory) {
+        this.factory = factory;
+        forking = !Boolean.TRUE.equals(factory.getProperty(XMLOutputFactory.IS_REPAIRING_NAMESPACES));
+    }
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = ParallelTestModel.createSchemaContext();
+        data = ParallelTestModel.createData();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+        data = null;
+    }
+
+    @Test
+    public void testForkingSupport() throws XMLStreamException {
+        final NormalizedNodeStreamWriter writer = XMLStreamNormalizedNodeStreamWriter.create(
+            factory.createXMLStreamWriter(new StringWriter()), schemaContext);
+        assertEquals(forking, writer.getExtensions().containsKey(ForkingNormalizedNodeStreamWriter.class));
+    }
+
+    @Test
+    public void testNormalizedNodeWriter() throws IOException, XMLStreamException {
+        assertEquals(write(writer -> NormalizedNodeWriter.forStreamWriter(writer, true)),
+            write(writer -> NormalizedNodeWriter.forStreamWriter(writer, true, CHUNK_SIZE)));
+        assertForked();
+        assertEquals(write(writer -> NormalizedNodeWriter.forStreamWriter(writer, false)),
+            write(writer -> NormalizedNodeWriter.forStreamWriter(writer, false, CHUNK_SIZE)));
+        assertForked();
+    }
+
+    @Test
+    public void testSchemaOrderedNormalizedNodeWriter() throws IOException, XMLStreamException {
+        assertEquals(write(writer -> new SchemaOrderedNormalizedNodeWriter(writer, schemaContext, SchemaPath.ROOT)),
+            write(writer -> new SchemaOrderedNormalizedNodeWriter(writer, schemaContext, SchemaPath.ROOT,
+                CHUNK_SIZE)));
+        assertForked();
+    }
+
+    private void assertForked() {
+        // Both lists should have been split into multiple chunks, unless forking is not supported
+        final int expected = forking ? (200 + CHUNK_SIZE - 1) / CHUNK_SIZE + (50 + CHUNK_SIZE - 1) / CHUNK_SIZE : 0;
+        assertEquals(expected, forks.getAndSet(0));
+    }
+
+    private String write(final WriterFactory writerFactory) throws IOException, XMLStreamException {
+        final StringWriter result = new StringWriter();
+        final XMLStreamWriter xmlWriter = factory.createXMLStreamWriter(result);
+        try (NormalizedNodeWriter writer = writerFactory.create(ParallelTestModel.countForks(
+                XMLStreamNormalizedNodeStreamWriter.create(xmlWriter, schemaContext), forks))) {
+            writer.write(data);
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class PrecomputedXmlCodecTest {
+    private static final String NS = "urn:test:prefixes:a";
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/prefixes");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+    }
+
+    @Test
+    public void testPrecomputedFactory() {
+        final XmlCodecFactory precomputed = XmlCodecFactory.getPrecomputed(schemaContext);
+        assertSame(precomputed, XmlCodecFactory.getPrecomputed(schemaContext));
+        assertNotSame(precomputed, XmlCodecFactory.create(schemaContext));
+    }
+
+    @Test
+    public void testPrecomputedCodecs() {
+        final TypedDataSchemaNode ident = leaf(top(schemaContext), "ident");
+        final TypedDataSchemaNode name = leaf(item(schemaContext), "name");
+        final XmlCodecFactory precomputed = XmlCodecFactory.getPrecomputed(schemaContext);
+        assertSame(precomputed.codecFor(ident), precomputed.codecFor(ident));
+        assertSame(precomputed.codecFor(name), precomputed.codecFor(name));
+
+        // Identityref codecs are specific to a leaf, hence a leaf in a list has its own codec
+        assertNotSame(precomputed.codecFor(ident), precomputed.codecFor(leaf(item(schemaContext), "ident")));
+
+        // Instance-identifier codecs are never cached, but are still available
+        assertNotNull(precomputed.codecFor(leaf(top(schemaContext), "ref")));
+    }
+
+    @Test
+    public void testUncachedCodec() {
+        final SchemaContext other = YangParserTestUtils.parseYangResourceDirectory("/prefixes");
+        try {
+            XmlCodecFactory.getPrecomputed(schemaContext).codecFor(leaf(top(other), "ident"));
+            fail("Leaf from another SchemaContext should not have a precomputed codec");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getMessage().startsWith("Uncached codec for "));
+        }
+    }
+
+    private static ContainerSchemaNode top(final SchemaContext context) {
+        return (ContainerSchemaNode) context.findDataChildByName(qN("top")).get();
+    }
+
+    private static DataNodeContainer item(final SchemaContext context) {
+        return (DataNodeContainer) top(context).findDataChildByName(qN("item")).get();
+    }
+
+    private static TypedDataSchemaNode leaf(final DataNodeContainer parent, final String localName) {
+        return (TypedDataSchemaNode) parent.findDataChildByName(qN(localName)).get();
+    }
+
+    private static QName qN(final String localName) {
+        return QName.create(NS, localName);
+    }
+}
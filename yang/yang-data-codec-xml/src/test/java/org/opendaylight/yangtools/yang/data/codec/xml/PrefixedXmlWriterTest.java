@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.Collection;
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.Parameterized;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.xml.sax.SAXException;
+
+@RunWith(Parameterized.class)
+public class PrefixedXmlWriterTest {
+    @Parameterized.Parameters(name = "{0}")
+    public static Collection<Object[]> data() {
+        return TestFactories.junitParameters();
+    }
+
+    private static final String NS_A = "urn:test:prefixes:a";
+    private static final String NS_B = "urn:test:prefixes:b";
+    private static final String NS_XML = "urn:test:prefixes:xml";
+    private static final QName TOP = QName.create(NS_A, "top");
+    private static final QName IDENT = QName.create(NS_A, "ident");
+    private static final QName LOCAL_IDENT = QName.create(NS_A, "local-ident");
+    private static final QName REF = QName.create(NS_A, "ref");
+    private static final QName ITEM = QName.create(NS_A, "item");
+    private static final QName NAME = QName.create(NS_A, "name");
+    private static final QName LOCAL_ONE = QName.create(NS_A, "local-one");
+    private static final QName ONE = QName.create(NS_B, "one");
+
+    private static SchemaContext schemaContext;
+    private static ContainerNode data;
+
+    private final XMLOutputFactory factory;
+
+    public PrefixedXmlWriterTest(final String factoryMode, final XMLOutputFactory factory) {
+        this.factory = factory;
+    }
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/prefixes");
+        data = createData();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+        data = null;
+    }
+
+    @Test
+    public void testNamespacePrefixes() {
+        final NamespacePrefixes prefixes = NamespacePrefixes.forSchemaContext(schemaContext);
+        assertSame(prefixes, NamespacePrefixes.forSchemaContext(schemaContext));
+        assertEquals("pfx", prefixes.prefixFor(URI.create(NS_A)));
+        assertEquals("pfx2", prefixes.prefixFor(URI.create(NS_B)));
+        assertEquals("_xmlp", prefixes.prefixFor(URI.create(NS_XML)));
+        assertEquals("pfx2:one", prefixes.identityName(ONE));
+        assertEquals("pfx:local-one", prefixes.identityName(LOCAL_ONE));
+        assertNull(prefixes.identityName(QName.create(NS_B, "unknown")));
+    }
+
+    @Test
+    public void testPrefixedWriter() throws IOException, SAXException, URISyntaxException, XMLStreamException {
+        final String xml = write(writer -> NormalizedNodeWriter.forStreamWriter(writer));
+
+        assertTrue(xml, xml.contains("xmlns:pfx2=\"urn:test:prefixes:b\""));
+        assertTrue(xml, xml.contains(">pfx2:one<"));
+        assertTrue(xml, xml.contains(">local-one<"));
+        assertTrue(xml, xml.contains(">/pfx:top/pfx:item[pfx:name='item 3']<"));
+        // Values use stable prefixes and only namespaces they use are declared
+        assertFalse(xml, xml.contains("xmlns:x="));
+        assertFalse(xml, xml.contains(NS_XML));
+
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final XmlParserStream parser = XmlParserStream.create(ImmutableNormalizedNodeStreamWriter.from(result),
+            schemaContext, schemaContext.findDataChildByName(TOP).get());
+        parser.parse(UntrustedXML.createXMLStreamReader(new StringReader(xml)));
+        assertEquals(data, result.getResult());
+    }
+
+    @Test
+    public void testEnclosingDeclarations() throws XMLStreamException, IOException {
+        final StringWriter result = new StringWriter();
+        final XMLStreamWriter xmlWriter = factory.createXMLStreamWriter(result);
+        xmlWriter.writeStartElement("", "data", "urn:test:data");
+        xmlWriter.writeDefaultNamespace("urn:test:data");
+        xmlWriter.writeNamespace("pfx2", NS_B);
+        // Closing the writer would close the underlying writer as well
+        final NormalizedNodeWriter writer = NormalizedNodeWriter.forStreamWriter(
+            XMLStreamNormalizedNodeStreamWriter.createPrefixed(xmlWriter, schemaContext));
+        writer.write(data);
+        writer.flush();
+        xmlWriter.writeEndElement();
+        xmlWriter.close();
+
+        // Prefixes declared by the enclosing document are not declared again
+        final String xml = result.toString();
+        assertEquals(xml, xml.indexOf("xmlns:pfx2="), xml.lastIndexOf("xmlns:pfx2="));
+        assertTrue(xml, xml.contains(">pfx2:one<"));
+    }
+
+    @Test
+    public void testPrefixedForkedWriter() throws IOException, XMLStreamException {
+        assertEquals(write(writer -> NormalizedNodeWriter.forStreamWriter(writer)),
+            write(writer -> NormalizedNodeWriter.forStreamWriter(writer, true, 3)));
+    }
+
+    @FunctionalInterface
+    private interface WriterFactory {
+        NormalizedNodeWriter create(NormalizedNodeStreamWriter writer);
+    }
+
+    private String write(final WriterFactory writerFactory) throws IOException, XMLStreamException {
+        final StringWriter result = new StringWriter();
+        try (NormalizedNodeWriter writer = writerFactory.create(XMLStreamNormalizedNodeStreamWriter.createPrefixed(
+                factory.createXMLStreamWriter(result), schemaContext))) {
+            writer.write(data);
+        }
+        return result.toString();
+    }
+
+    private static ContainerNode createData() {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> items = Builders.mapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(ITEM));
+        for (int i = 0; i < 10; ++i) {
+            final String name = "item " + i;
+            items.withChild(Builders.mapEntryBuilder()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(ITEM, NAME, name))
+                .withChild(ImmutableNodes.leafNode(NAME, name))
+                .withChild(ImmutableNodes.leafNode(IDENT, ONE))
+                .build());
+        }
+
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+                .withChild(ImmutableNodes.leafNode(IDENT, ONE))
+                .withChild(ImmutableNodes.leafNode(LOCAL_IDENT, LOCAL_ONE))
+                .withChild(ImmutableNodes.leafNode(REF, YangInstanceIdentifier.builder()
+                    .node(TOP).node(ITEM).nodeWithKey(ITEM, NAME, "item 3").build()))
+                .withChild(items.build())
+                .build();
+    }
+}
@@ -0,0 +1,276 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.codec.xml;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import javax.xml.transform.dom.DOMSource;
+import org.eclipse.jdt.annotation.Nullable;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.util.xml.UntrustedXML;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.AnyXmlNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.ForwardingNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.data.impl.schema.NormalizedNodeResult;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.util.SchemaContextUtil;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+import org.w3c.dom.Element;
+import org.xml.sax.SAXException;
+
+/**
+ * Tests that single-pass parsing results in the same structures as the default two-pass parsing.
+ */
+public class StreamingXmlParserTest {
+    private static final QNameModule FOO_MODULE = QNameModule.create(URI.create("foo-namespace"));
+    private static final QName PARENT_CONTAINER = QName.create(FOO_MODULE, "parent-container");
+    private static final QName OUTER_CONTAINER = QName.create(QNameModule.create(URI.create("baz-namespace")),
+        "outer-container");
+
+    private static final QName TOP = QName.create(QNameModule.create(URI.create("streaming-namespace")), "top");
+
+    private static SchemaContext schemaContext;
+    private static XmlCodecFactory codecFactory;
+    private static ContainerSchemaNode outerContainerSchema;
+    private static ContainerSchemaNode parentContainerSchema;
+    private static XmlCodecFactory streamingCodecFactory;
+    private static ContainerSchemaNode topSchema;
+
+    @BeforeClass
+    public static void setup() {
+        schemaContext = YangParserTestUtils.parseYangResourceDirectory("/");
+        codecFactory = XmlCodecFactory.create(schemaContext);
+        parentContainerSchema = (ContainerSchemaNode) SchemaContextUtil.findNodeInSchemaContext(schemaContext,
+                ImmutableList.of(PARENT_CONTAINER));
+        outerContainerSchema = (ContainerSchemaNode) SchemaContextUtil.findNodeInSchemaContext(schemaContext,
+                ImmutableList.of(OUTER_CONTAINER));
+
+        final SchemaContext streamingContext = YangParserTestUtils.parseYangResources(StreamingXmlParserTest.class,
+            "/streaming/streaming.yang");
+        streamingCodecFactory = XmlCodecFactory.create(streamingContext);
+        topSchema = (ContainerSchemaNode) SchemaContextUtil.findNodeInSchemaContext(streamingContext,
+            ImmutableList.of(TOP));
+    }
+
+    @AfterClass
+    public static void cleanup() {
+        schemaContext = null;
+        codecFactory = null;
+        parentContainerSchema = null;
+        outerContainerSchema = null;
+        streamingCodecFactory = null;
+        topSchema = null;
+    }
+
+    @Test
+    public void testComplexXmlParsing() throws Exception {
+        final NormalizedNode<?, ?> expected = parse(UntrustedXML.createXMLStreamReader(
+            StreamingXmlParserTest.class.getResourceAsStream("/baz.xml")), outerContainerSchema, false);
+        assertNotNull(expected);
+        assertEquals(expected, parse(UntrustedXML.createXMLStreamReader(
+            StreamingXmlParserTest.class.getResourceAsStream("/baz.xml")), outerContainerSchema, true));
+    }
+
+    @Test
+    public void testKeysAfterOtherChildren() throws Exception {
+        assertSameResult("<outer-container xmlns=\"baz-namespace\">"
+            + "<my-container-1>"
+            + "<my-keyed-list><my-leaf-in-list-1>one</my-leaf-in-list-1><my-key-leaf>key1</my-key-leaf></my-keyed-list>"
+            + "<my-keyed-list><my-key-leaf>key2</my-key-leaf><my-leaf-in-list-1>two</my-leaf-in-list-1></my-keyed-list>"
+            + "<my-leaf-1>value1</my-leaf-1>"
+            + "</my-container-1>"
+            + "<my-container-3><my-doubly-keyed-list>"
+            + "<my-leaf-in-list-3>value</my-leaf-in-list-3>"
+            + "<my-second-key-leaf>key2</my-second-key-leaf>"
+            + "<my-first-key-leaf>key1</my-first-key-leaf>"
+            + "</my-doubly-keyed-list></my-container-3>"
+            + "</outer-container>");
+    }
+
+    @Test
+    public void testInterleavedAugmentation() throws Exception {
+        // Members of the augmentation and of the choice are interleaved with each other and with plain siblings
+        final String xml = "<top xmlns=\"streaming-namespace\">"
+                + "<aug-leaf-1>one</aug-leaf-1>"
+                + "<plain-leaf>plain</plain-leaf>"
+                + "<first-leaf>first</first-leaf>"
+                + "<plain-list><name>key1</name><value>value1</value></plain-list>"
+                + "<plain-list><value>value2</value><name>key2</name></plain-list>"
+                + "<first-aug-leaf>first aug</first-aug-leaf>"
+                + "<plain-container><inner-leaf>inner</inner-leaf></plain-container>"
+                + "<aug-leaf-2>two</aug-leaf-2>"
+                + "<aug-container><aug-inner-leaf>inner</aug-inner-leaf></aug-container>"
+                + "</top>";
+        final NormalizedNode<?, ?> expected = parseTop(xml, false, null);
+        assertNotNull(expected);
+        assertEquals(expected, parseTop(xml, true, null));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testNonContiguousStreamedAugmentation() throws Exception {
+        // The augmentation has been emitted with its container when plain-container is encountered, hence it cannot
+        // be reopened for aug-leaf-2
+        parseTop("<top xmlns=\"streaming-namespace\">"
+                + "<aug-container><aug-inner-leaf>inner</aug-inner-leaf></aug-container>"
+                + "<plain-container><inner-leaf>inner</inner-leaf></plain-container>"
+                + "<aug-leaf-2>two</aug-leaf-2>"
+                + "</top>", true, null);
+    }
+
+    @Test
+    public void testLargeListAfterAugmentedLeaf() throws Exception {
+        final StringBuilder sb = new StringBuilder("<top xmlns=\"streaming-namespace\"><aug-leaf-1>one</aug-leaf-1>");
+        for (int i = 0; i < 10000; ++i) {
+            sb.append("<plain-list><name>key").append(i).append("</name></plain-list>");
+        }
+        final String xml = sb.append("<aug-leaf-2>two</aug-leaf-2></top>").toString();
+
+        // The first entry has been emitted before the rest of the list has been read
+        final CountingReader reader = new CountingReader(xml);
+        final AtomicLong firstEntryOffset = new AtomicLong(-1);
+        final NormalizedNode<?, ?> actual = parseTop(reader, true, () -> firstEntryOffset.compareAndSet(-1,
+            reader.offset));
+        assertTrue(firstEntryOffset.get() > 0);
+        assertTrue(firstEntryOffset.get() < xml.length() / 10);
+        assertEquals(parseTop(xml, false, null), actual);
+    }
+
+    @Test
+    public void testUnknownElementsSkipped() throws Exception {
+        final String xml = "<outer-container xmlns=\"baz-namespace\">"
+                + "<my-container-1><unknown><my-leaf-1>bad</my-leaf-1></unknown><my-leaf-1>value1</my-leaf-1>"
+                + "</my-container-1></outer-container>";
+        final NormalizedNode<?, ?> expected = parse(xml, outerContainerSchema, false, false);
+        assertEquals(expected, parse(xml, outerContainerSchema, true, false));
+    }
+
+    @Test
+    public void testAnyXmlCapturedLazily() throws IOException, SAXException, URISyntaxException,
+            XMLStreamException {
+        final InputStream resourceAsStream = StreamingXmlParserTest.class.getResourceAsStream("/foo.xml");
+        final NormalizedNode<?, ?> expected = parse(UntrustedXML.createXMLStreamReader(
+            StreamingXmlParserTest.class.getResourceAsStream("/foo.xml")), parentContainerSchema, false);
+        final NormalizedNode<?, ?> actual = parse(UntrustedXML.createXMLStreamReader(resourceAsStream),
+            parentContainerSchema, true);
+
+        final YangInstanceIdentifier leafContainer = YangInstanceIdentifier.create(
+            NodeIdentifier.create(QName.create(FOO_MODULE, "leaf-container")));
+        assertEquals(NormalizedNodes.findNode(expected, leafContainer), NormalizedNodes.findNode(actual,
+            leafContainer));
+
+        final YangInstanceIdentifier anyxmlPath = YangInstanceIdentifier.create(
+            NodeIdentifier.create(QName.create(FOO_MODULE, "anyxml-container")),
+            NodeIdentifier.create(QName.create(FOO_MODULE, "my-anyxml")));
+        final DOMSource value = ((AnyXmlNode) NormalizedNodes.findNode(actual, anyxmlPath).get()).getValue();
+        assertTrue(value instanceof CapturedDOMSource);
+
+        final Element element = (Element) value.getNode();
+        assertEquals("my-anyxml", element.getLocalName());
+        assertEquals("foo-namespace", element.getNamespaceURI());
+        assertEquals("< & sub-element value", element.getElementsByTagNameNS("foo-namespace", "my-sub-element")
+            .item(0).getTextContent());
+    }
+
+    private static final class CountingReader extends StringReader {
+        long offset;
+
+        CountingReader(final String str) {
+            super(str);
+        }
+
+        @Override
+        public int read(final char[] cbuf, final int off, final int len) throws IOException {
+            final int ret = super.read(cbuf, off, len);
+            if (ret > 0) {
+                offset += ret;
+            }
+            return ret;
+        }
+    }
+
+    private static NormalizedNode<?, ?> parseTop(final String xml, final boolean streaming,
+            final @Nullable Runnable onMapEntry) throws Exception {
+        return parseTop(new StringReader(xml), streaming, onMapEntry);
+    }
+
+    private static NormalizedNode<?, ?> parseTop(final Reader reader, final boolean streaming,
+            final @Nullable Runnable onMapEntry) throws Exception {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter delegate = ImmutableNormalizedNodeStreamWriter.from(result);
+        final NormalizedNodeStreamWriter streamWriter = onMapEntry == null ? delegate
+                : new ForwardingNormalizedNodeStreamWriter() {
+                    @Override
+                    protected NormalizedNodeStreamWriter delegate() {
+                        return delegate;
+                    }
+
+                    @Override
+                    public void startMapEntryNode(final NodeIdentifierWithPredicates identifier,
+                            final int childSizeHint) throws IOException {
+                        onMapEntry.run();
+                        super.startMapEntryNode(identifier, childSizeHint);
+                    }
+                };
+        final XmlParserStream xmlParser = streaming
+                ? XmlParserStream.createStreaming(streamWriter, streamingCodecFactory, topSchema)
+                        : XmlParserStream.create(streamWriter, streamingCodecFactory, topSchema);
+        xmlParser.parse(UntrustedXML.createXMLStreamReader(reader));
+        return result.getResult();
+    }
+
+    private static void assertSameResult(final String xml) throws Exception {
+        final NormalizedNode<?, ?> expected = parse(xml, outerContainerSchema, false, true);
+        assertNotNull(expected);
+        assertEquals(expected, parse(xml, outerContainerSchema, true, true));
+    }
+
+    private static NormalizedNode<?, ?> parse(final String xml, final ContainerSchemaNode schema,
+            final boolean streaming, final boolean strict) throws Exception {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final XmlParserStream xmlParser = streaming
+                ? XmlParserStream.createStreaming(streamWriter, codecFactory, schema, strict)
+                        : XmlParserStream.create(streamWriter, codecFactory, schema, strict);
+        xmlParser.parse(UntrustedXML.createXMLStreamReader(new StringReader(xml)));
+        return result.getResult();
+    }
+
+    private static NormalizedNode<?, ?> parse(final XMLStreamReader reader, final ContainerSchemaNode schema,
+            final boolean streaming) throws IOException, SAXException, URISyntaxException, XMLStreamException {
+        final NormalizedNodeResult result = new NormalizedNodeResult();
+        final NormalizedNodeStreamWriter streamWriter = ImmutableNormalizedNodeStreamWriter.from(result);
+        final XmlParserStream xmlParser = streaming
+                ? XmlParserStream.createStreaming(streamWriter, codecFactory, schema)
+                        : XmlParserStream.create(streamWriter, codecFactory, schema);
+        xmlParser.parse(reader);
+        return result.getResult();
+    }
+}
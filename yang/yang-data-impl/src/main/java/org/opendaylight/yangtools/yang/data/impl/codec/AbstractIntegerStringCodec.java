@@ -14,7 +14,7 @@ import com.google.common.base.CharMatcher;
 import com.google.common.collect.RangeSet;
 import java.math.BigInteger;
 import java.util.Optional;
-import java.util.regex.Pattern;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.model.api.type.Int16TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.Int32TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.Int64TypeDefinition;
@@ -33,10 +33,6 @@ import org.opendaylight.yangtools.yang.model.api.type.Uint8TypeDefinition;
 public abstract class AbstractIntegerStringCodec<N extends Number & Comparable<N>,
         T extends RangeRestrictedTypeDefinition<T, N>> extends TypeDefinitionAwareCodec<N, T> {
 
-    private static final Pattern INT_PATTERN = Pattern.compile("[+-]?[1-9][0-9]*$");
-    private static final Pattern HEX_PATTERN = Pattern.compile("[+-]?0[xX][0-9a-fA-F]+");
-    private static final Pattern OCT_PATTERN = Pattern.compile("[+-]?0[1-7][0-7]*$");
-
     // For up to two characters, this is very fast
     private static final CharMatcher X_MATCHER = CharMatcher.anyOf("xX");
 
@@ -47,6 +43,9 @@ public abstract class AbstractIntegerStringCodec<N extends Number & Comparable<N
                     + "\n  - a hexadecimal number (prefix 0x)," + "%n  - an octal number (prefix 0)."
                     + "\nSigned values are allowed. Spaces between digits are NOT allowed.";
 
+    // Representations of up to this length cannot overflow a long in any of the supported bases
+    private static final int MAX_SAFE_LONG_LENGTH = 15;
+
     private final RangeSet<N> rangeConstraints;
 
     AbstractIntegerStringCodec(final Optional<T> typeDefinition, final Optional<RangeConstraint<N>> constraint,
@@ -110,6 +109,55 @@ public abstract class AbstractIntegerStringCodec<N extends Number & Comparable<N
      */
     abstract N deserialize(String stringRepresentation, int radix);
 
+    @Override
+    public final @Nullable N tryDeserialize(final String stringRepresentation) {
+        if (stringRepresentation == null) {
+            return null;
+        }
+        final int base = lexicalBase(stringRepresentation);
+        if (base == 0) {
+            return null;
+        }
+
+        final N deserialized = tryDeserialize(base == 16 ? normalizeHexadecimal(stringRepresentation)
+            : stringRepresentation, base);
+        return deserialized != null && (rangeConstraints == null || rangeConstraints.contains(deserialized))
+            ? deserialized : null;
+    }
+
+    /**
+     * Deserializes value from supplied lexically-valid string representation in supplied radix, returning null if the
+     * value does not fit into the value type.
+     *
+     * @param stringRepresentation String representation
+     * @param radix numeric base.
+     * @return Deserialized value, or null
+     */
+    abstract @Nullable N tryDeserialize(String stringRepresentation, int radix);
+
+    /**
+     * Parse a lexically-valid string representation in supplied radix into a long, without throwing an exception on
+     * overflow.
+     *
+     * @param stringRepresentation String representation
+     * @param radix numeric base.
+     * @return Parsed value, or null if it does not fit into a long
+     */
+    static @Nullable Long tryParseLong(final String stringRepresentation, final int radix) {
+        // Shorter strings cannot overflow a long in any of the supported bases, even with a sign and leading zero
+        if (stringRepresentation.length() <= MAX_SAFE_LONG_LENGTH) {
+            return Long.valueOf(stringRepresentation, radix);
+        }
+        final BigInteger value = new BigInteger(stringRepresentation, radix);
+        return value.bitLength() < Long.SIZE ? value.longValue() : null;
+    }
+
+    static @Nullable Long tryParseLong(final String stringRepresentation, final int radix, final long min,
+            final long max) {
+        final Long value = tryParseLong(stringRepresentation, radix);
+        return value != null && value >= min && value <= max ? value : null;
+    }
+
     private void validate(final N value) {
         if (rangeConstraints != null) {
             checkArgument(rangeConstraints.contains(value), "Value '%s'  is not in required ranges %s",
@@ -125,17 +173,66 @@ public abstract class AbstractIntegerStringCodec<N extends Number & Comparable<N
     private static int provideBase(final String integer) {
         checkArgument(integer != null, "String representing integer number cannot be NULL");
 
-        if (integer.length() == 1 && integer.charAt(0) == '0') {
-            return 10;
-        } else if (INT_PATTERN.matcher(integer).matches()) {
-            return 10;
-        } else if (HEX_PATTERN.matcher(integer).matches()) {
-            return 16;
-        } else if (OCT_PATTERN.matcher(integer).matches()) {
-            return 8;
-        } else {
+        final int base = lexicalBase(integer);
+        if (base == 0) {
             throw new NumberFormatException(String.format(INCORRECT_LEXICAL_REPRESENTATION, integer));
         }
+        return base;
+    }
+
+    /**
+     * Determine the base of an integer representation. This is a hand-written equivalent of matching the string
+     * against {@code [+-]?[1-9][0-9]*}, {@code [+-]?0[xX][0-9a-fA-F]+} and {@code [+-]?0[1-7][0-7]*}, with a lone
+     * {@code 0} being a decimal number.
+     *
+     * @param integer String representation
+     * @return Numeric base, or 0 if the string is not a valid representation
+     */
+    private static int lexicalBase(final String integer) {
+        final int length = integer.length();
+        if (length == 0) {
+            return 0;
+        }
+
+        final char first = integer.charAt(0);
+        final int offset = first == '+' || first == '-' ? 1 : 0;
+        if (offset == length) {
+            return 0;
+        }
+
+        final char lead = integer.charAt(offset);
+        if (lead != '0') {
+            return lead >= '1' && lead <= '9' && allMatch(integer, offset + 1, '0', '9') ? 10 : 0;
+        }
+        if (offset + 1 == length) {
+            return offset == 0 ? 10 : 0;
+        }
+
+        final char second = integer.charAt(offset + 1);
+        if (second == 'x' || second == 'X') {
+            return offset + 2 < length && allHex(integer, offset + 2) ? 16 : 0;
+        }
+        return second >= '1' && second <= '7' && allMatch(integer, offset + 2, '0', '7') ? 8 : 0;
+    }
+
+    private static boolean allMatch(final String str, final int offset, final char min, final char max) {
+        for (int i = offset; i < str.length(); ++i) {
+            final char ch = str.charAt(i);
+            if (ch < min || ch > max) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean allHex(final String str, final int offset) {
+        for (int i = offset; i < str.length(); ++i) {
+            final char ch = str.charAt(i);
+            if ((ch < '0' || ch > '9') && (ch < 'a' || ch > 'f') && (ch < 'A' || ch > 'F')) {
+                return false;
+            }
+        }
+        return true;
     }
 
     private static String normalizeHexadecimal(final String hexInt) {
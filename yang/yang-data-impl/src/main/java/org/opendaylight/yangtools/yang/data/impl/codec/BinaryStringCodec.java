@@ -35,8 +35,13 @@ public abstract class BinaryStringCodec extends TypeDefinitionAwareCodec<byte[],
         @Override
         void validate(final byte[] value) {
             // FIXME: throw an exception capturing the constraint violation
-            checkArgument(lengthConstraint.getAllowedRanges().contains(value.length),
-                "Value length %s does not match constraint %s", value.length, lengthConstraint);
+            checkArgument(isValid(value), "Value length %s does not match constraint %s", value.length,
+                lengthConstraint);
+        }
+
+        @Override
+        boolean isValid(final byte[] value) {
+            return lengthConstraint.getAllowedRanges().contains(value.length);
         }
     }
 
@@ -49,6 +54,11 @@ public abstract class BinaryStringCodec extends TypeDefinitionAwareCodec<byte[],
         void validate(final byte[] value) {
             // No-op
         }
+
+        @Override
+        boolean isValid(final byte[] value) {
+            return true;
+        }
     }
 
     BinaryStringCodec(final BinaryTypeDefinition typeDef) {
@@ -76,5 +86,17 @@ public abstract class BinaryStringCodec extends TypeDefinitionAwareCodec<byte[],
         return ret;
     }
 
+    @Override
+    public byte[] tryDeserialize(final String stringRepresentation) {
+        if (stringRepresentation == null) {
+            return null;
+        }
+
+        final byte[] ret = DatatypeConverter.parseBase64Binary(stringRepresentation);
+        return isValid(ret) ? ret : null;
+    }
+
     abstract void validate(byte[] value);
+
+    abstract boolean isValid(byte[] value);
 }
@@ -65,6 +65,27 @@ public final class BitsStringCodec extends TypeDefinitionAwareCodec<Set<String>,
             return strings;
         }
 
+        final Set<String> ret = normalize(strings);
+        if (ret == null) {
+            for (final String bit : strings) {
+                checkArgument(validBits.contains(bit), "Invalid value '%s' for bits type. Allowed values are: %s", bit,
+                    validBits);
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    public Set<String> tryDeserialize(final String stringRepresentation) {
+        if (stringRepresentation == null) {
+            return ImmutableSet.of();
+        }
+
+        final Set<String> strings = ImmutableSet.copyOf(SPLITTER.split(stringRepresentation));
+        return validBits == null ? strings : normalize(strings);
+    }
+
+    private Set<String> normalize(final Set<String> strings) {
         // Normalize strings to schema first, retaining definition order
         final List<String> sorted = new ArrayList<>(strings.size());
         for (final String bit : validBits) {
@@ -76,10 +97,7 @@ public final class BitsStringCodec extends TypeDefinitionAwareCodec<Set<String>,
         // Check sizes, if the normalized set does not match non-normalized size, non-normalized strings contain
         // an invalid bit.
         if (sorted.size() != strings.size()) {
-            for (final String bit : strings) {
-                checkArgument(validBits.contains(bit), "Invalid value '%s' for bits type. Allowed values are: %s", bit,
-                    validBits);
-            }
+            return null;
         }
 
         // In case all valid bits have been specified, retain the set we have created for this codec
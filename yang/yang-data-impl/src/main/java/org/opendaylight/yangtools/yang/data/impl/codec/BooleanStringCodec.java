@@ -41,6 +41,14 @@ public final class BooleanStringCodec extends TypeDefinitionAwareCodec<Boolean,
         return Boolean.valueOf(stringRepresentation);
     }
 
+    @Override
+    public Boolean tryDeserialize(final String stringRepresentation) {
+        if ("true".equalsIgnoreCase(stringRepresentation)) {
+            return Boolean.TRUE;
+        }
+        return "false".equalsIgnoreCase(stringRepresentation) ? Boolean.FALSE : null;
+    }
+
     public static BooleanStringCodec from(final BooleanTypeDefinition normalizedType) {
         return new BooleanStringCodec(Optional.of(normalizedType));
     }
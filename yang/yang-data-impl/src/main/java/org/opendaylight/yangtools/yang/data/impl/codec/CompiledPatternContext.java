@@ -7,19 +7,49 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.codec;
 
+import com.google.common.annotations.Beta;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.List;
 import java.util.Optional;
 import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.model.api.type.ModifierKind;
 import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
-class CompiledPatternContext {
+/**
+ * A compiled {@link PatternConstraint}. Compiled patterns are shared by all users of a particular PatternConstraint
+ * instance, such as {@link StringStringCodec}s and data tree validation, so each pattern is compiled only once.
+ *
+ * <p>
+ * Do not use this class outside of yangtools, its presence does not fall into the API stability contract.
+ */
+@Beta
+public final class CompiledPatternContext {
+    private static final Logger LOG = LoggerFactory.getLogger(CompiledPatternContext.class);
+
+    // Weak keys to retire the entry when the constraint goes away and to force identity-based lookup
+    private static final LoadingCache<PatternConstraint, CompiledPatternContext> CACHE = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<PatternConstraint, CompiledPatternContext>() {
+                @Override
+                public CompiledPatternContext load(final PatternConstraint key) {
+                    return new CompiledPatternContext(key);
+                }
+            });
 
     private final Pattern pattern;
     private final String errorMessage;
     private final String regEx;
     private final boolean invert;
 
-    CompiledPatternContext(final PatternConstraint yangConstraint) {
+    private CompiledPatternContext(final PatternConstraint yangConstraint) {
         pattern = Pattern.compile(yangConstraint.getJavaPatternString());
         errorMessage = yangConstraint.getErrorMessage().orElse(null);
         regEx = errorMessage == null ? yangConstraint.getRegularExpressionString() : null;
@@ -39,14 +69,47 @@ class CompiledPatternContext {
         }
     }
 
-    void validate(final String str) {
-        if (pattern.matcher(str).matches() == invert) {
-            if (errorMessage != null) {
-                throw new IllegalArgumentException(errorMessage);
+    /**
+     * Return compiled patterns of a string type. Patterns which cannot be compiled are excluded.
+     *
+     * @param type String type definition
+     * @return Compiled patterns, in the order in which they are defined
+     */
+    public static @NonNull ImmutableList<CompiledPatternContext> forType(final StringTypeDefinition type) {
+        final List<PatternConstraint> constraints = type.getPatternConstraints();
+        final ImmutableList.Builder<CompiledPatternContext> builder =
+                ImmutableList.builderWithExpectedSize(constraints.size());
+        for (final PatternConstraint yangPattern : constraints) {
+            try {
+                builder.add(CACHE.getUnchecked(yangPattern));
+            } catch (final UncheckedExecutionException e) {
+                if (!(e.getCause() instanceof PatternSyntaxException)) {
+                    throw e;
+                }
+                LOG.debug("Unable to compile {} pattern, excluding it from validation.", yangPattern, e.getCause());
             }
+        }
+        return builder.build();
+    }
 
-            throw new IllegalArgumentException("Value '" + str + "' " + (invert ? "matches" : "does not match")
-                    + " regular expression '" + regEx + "'");
+    public boolean matches(final String str) {
+        return pattern.matcher(str).matches() != invert;
+    }
+
+    /**
+     * Return the message describing why a string does not match this pattern.
+     *
+     * @param str Non-matching string
+     * @return Error message
+     */
+    public @NonNull String mismatchMessage(final String str) {
+        return errorMessage != null ? errorMessage : "Value '" + str + "' " + (invert ? "matches" : "does not match")
+                + " regular expression '" + regEx + "'";
+    }
+
+    void validate(final String str) {
+        if (!matches(str)) {
+            throw new IllegalArgumentException(mismatchMessage(str));
         }
     }
 }
@@ -7,6 +7,8 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.codec;
 
+import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.concepts.Codec;
 
 public interface DataStringCodec<T> extends Codec<String, T> {
@@ -16,4 +18,23 @@ public interface DataStringCodec<T> extends Codec<String, T> {
     String serialize(T data);
 
     T deserialize(String stringRepresentation);
+
+    /**
+     * Deserialize a string representation, returning null if it is not valid for this codec. Unlike
+     * {@link #deserialize(String)}, this method is not expected to throw exceptions, which makes it suitable for
+     * selecting a union member type, where invalid input is the common case. The default implementation defers to
+     * {@link #deserialize(String)}, implementations should override it with checks which do not rely on exceptions.
+     *
+     * @param stringRepresentation String representation
+     * @return Deserialized value, or null if the representation is not valid
+     */
+    @Beta
+    @SuppressWarnings("checkstyle:illegalCatch")
+    default @Nullable T tryDeserialize(final String stringRepresentation) {
+        try {
+            return deserialize(stringRepresentation);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
 }
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.codec;
+
+import static com.google.common.base.Verify.verifyNotNull;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.Throwables;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Function;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+
+/**
+ * A thread-safe cache of {@link DataStringCodec}s, keyed by the identity of their {@link TypeDefinition}. It allows
+ * codec factories for different data formats, such as JSON and XML, to share the string codecs they are wrapping
+ * when they are bound to the same {@link SchemaContext}.
+ */
+@Beta
+public final class DataStringCodecCache {
+    private static final DataStringCodecCache UNCACHED = new DataStringCodecCache(null);
+
+    // Weak keys to retire the entry when SchemaContext goes away and to force identity-based lookup
+    private static final LoadingCache<SchemaContext, DataStringCodecCache> SHARED = CacheBuilder.newBuilder()
+            .weakKeys().build(new CacheLoader<SchemaContext, DataStringCodecCache>() {
+                @Override
+                public DataStringCodecCache load(final SchemaContext key) {
+                    return new DataStringCodecCache(CacheBuilder.newBuilder().weakKeys().build());
+                }
+            });
+
+    private final @Nullable Cache<TypeDefinition<?>, DataStringCodec<?>> codecs;
+
+    private DataStringCodecCache(final @Nullable Cache<TypeDefinition<?>, DataStringCodec<?>> codecs) {
+        this.codecs = codecs;
+    }
+
+    /**
+     * Return a cache which does not retain any codecs, creating them on each request.
+     *
+     * @return A non-caching instance
+     */
+    public static @NonNull DataStringCodecCache uncached() {
+        return UNCACHED;
+    }
+
+    /**
+     * Return the cache shared by all users of a particular SchemaContext. This method will return the same instance
+     * as long as the SchemaContext is present.
+     *
+     * @param context SchemaContext instance
+     * @return A shared cache
+     * @throws NullPointerException if context is null
+     */
+    public static @NonNull DataStringCodecCache forSchemaContext(final SchemaContext context) {
+        return verifyNotNull(SHARED.getUnchecked(context));
+    }
+
+    /**
+     * Return the codec for a particular type, creating it via specified function if it is not cached. The function
+     * is expected to return the same kind of codec for a particular type on each invocation.
+     *
+     * @param <T> Type definition type
+     * @param <C> Codec type
+     * @param type Type definition
+     * @param factory Function creating the codec
+     * @return A codec
+     * @throws NullPointerException if any argument is null
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends TypeDefinition<?>, C extends DataStringCodec<?>> @NonNull C getCodec(final T type,
+            final Function<T, C> factory) {
+        requireNonNull(type);
+        if (codecs == null) {
+            return verifyNotNull(factory.apply(type));
+        }
+
+        try {
+            return (C) codecs.get(type, () -> verifyNotNull(factory.apply(type)));
+        } catch (ExecutionException | UncheckedExecutionException e) {
+            final Throwable cause = e.getCause();
+            Throwables.throwIfUnchecked(cause);
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -42,4 +42,35 @@ public final class DecimalStringCodec extends TypeDefinitionAwareCodec<BigDecima
         // FIXME: run value validation
         return new BigDecimal(stringRepresentation);
     }
+
+    @Override
+    public BigDecimal tryDeserialize(final String stringRepresentation) {
+        return stringRepresentation != null && isDecimal(stringRepresentation) ? new BigDecimal(stringRepresentation)
+            : null;
+    }
+
+    /**
+     * Check whether a string is a plain decimal number, i.e. an optional sign followed by digits with an optional
+     * fraction part, which {@link BigDecimal#BigDecimal(String)} is guaranteed to accept.
+     *
+     * @param str String to check
+     * @return True if the string is a plain decimal number
+     */
+    private static boolean isDecimal(final String str) {
+        final int length = str.length();
+        int offset = length != 0 && (str.charAt(0) == '+' || str.charAt(0) == '-') ? 1 : 0;
+        boolean digits = false;
+        boolean dot = false;
+        for (; offset < length; ++offset) {
+            final char ch = str.charAt(offset);
+            if (ch >= '0' && ch <= '9') {
+                digits = true;
+            } else if (ch == '.' && !dot) {
+                dot = true;
+            } else {
+                return false;
+            }
+        }
+        return digits;
+    }
 }
@@ -34,4 +34,9 @@ final class EmptyStringCodec extends TypeDefinitionAwareCodec<Empty, EmptyTypeDe
         checkArgument(stringRepresentation.isEmpty(), "The value must be empty");
         return Empty.getInstance();
     }
+
+    @Override
+    public Empty tryDeserialize(final String stringRepresentation) {
+        return stringRepresentation != null && stringRepresentation.isEmpty() ? Empty.getInstance() : null;
+    }
 }
\ No newline at end of file
@@ -59,6 +59,12 @@ public final class EnumStringCodec extends TypeDefinitionAwareCodec<String, Enum
         return result;
     }
 
+    @Override
+    public String tryDeserialize(final String stringRepresentation) {
+        return values == null || stringRepresentation == null ? stringRepresentation
+            : values.get(stringRepresentation);
+    }
+
     @Override
     public String serialize(final String data) {
         return Objects.toString(data, "");
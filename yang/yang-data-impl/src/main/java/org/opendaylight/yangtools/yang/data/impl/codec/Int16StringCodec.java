@@ -24,6 +24,12 @@ final class Int16StringCodec extends AbstractIntegerStringCodec<Short, Int16Type
         return Short.valueOf(stringRepresentation, base);
     }
 
+    @Override
+    Short tryDeserialize(final String stringRepresentation, final int base) {
+        final Long value = tryParseLong(stringRepresentation, base, Short.MIN_VALUE, Short.MAX_VALUE);
+        return value == null ? null : value.shortValue();
+    }
+
     @Override
     public String serialize(final Short data) {
         return Objects.toString(data, "");
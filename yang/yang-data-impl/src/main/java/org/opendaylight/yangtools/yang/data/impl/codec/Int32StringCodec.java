@@ -24,6 +24,12 @@ final class Int32StringCodec extends AbstractIntegerStringCodec<Integer, Int32Ty
         return Integer.valueOf(stringRepresentation, base);
     }
 
+    @Override
+    Integer tryDeserialize(final String stringRepresentation, final int base) {
+        final Long value = tryParseLong(stringRepresentation, base, Integer.MIN_VALUE, Integer.MAX_VALUE);
+        return value == null ? null : value.intValue();
+    }
+
     @Override
     public String serialize(final Integer data) {
         return Objects.toString(data, "");
@@ -25,6 +25,11 @@ final class Int64StringCodec extends AbstractIntegerStringCodec<Long, Int64TypeD
         return Long.valueOf(stringRepresentation, base);
     }
 
+    @Override
+    Long tryDeserialize(final String stringRepresentation, final int base) {
+        return tryParseLong(stringRepresentation, base);
+    }
+
     @Override
     public String serialize(final Long data) {
         return Objects.toString(data, "");
@@ -24,6 +24,12 @@ final class Int8StringCodec extends AbstractIntegerStringCodec<Byte, Int8TypeDef
         return Byte.valueOf(stringRepresentation, base);
     }
 
+    @Override
+    Byte tryDeserialize(final String stringRepresentation, final int base) {
+        final Long value = tryParseLong(stringRepresentation, base, Byte.MIN_VALUE, Byte.MAX_VALUE);
+        return value == null ? null : value.byteValue();
+    }
+
     @Override
     public String serialize(final Byte data) {
         return Objects.toString(data, "");
@@ -8,32 +8,14 @@
 package org.opendaylight.yangtools.yang.data.impl.codec;
 
 import com.google.common.collect.ImmutableList;
-import com.google.common.collect.ImmutableList.Builder;
-import java.util.List;
-import java.util.regex.PatternSyntaxException;
-import org.opendaylight.yangtools.yang.model.api.type.PatternConstraint;
 import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 
 final class StringPatternCheckingCodec extends StringStringCodec {
-    private static final Logger LOG = LoggerFactory.getLogger(StringPatternCheckingCodec.class);
-
     private final ImmutableList<CompiledPatternContext> patterns;
 
     StringPatternCheckingCodec(final StringTypeDefinition typeDef) {
         super(typeDef);
-
-        final List<PatternConstraint> constraints = typeDef.getPatternConstraints();
-        final Builder<CompiledPatternContext> builder = ImmutableList.builderWithExpectedSize(constraints.size());
-        for (final PatternConstraint yangPattern : typeDef.getPatternConstraints()) {
-            try {
-                builder.add(new CompiledPatternContext(yangPattern));
-            } catch (final PatternSyntaxException e) {
-                LOG.debug("Unable to compile {} pattern, excluding it from validation.", yangPattern, e);
-            }
-        }
-        patterns = builder.build();
+        patterns = CompiledPatternContext.forType(typeDef);
     }
 
     @Override
@@ -44,4 +26,17 @@ final class StringPatternCheckingCodec extends StringStringCodec {
         }
     }
 
+    @Override
+    boolean isValid(final String str) {
+        if (!super.isValid(str)) {
+            return false;
+        }
+        for (final CompiledPatternContext pattern : patterns) {
+            if (!pattern.matches(str)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
 }
\ No newline at end of file
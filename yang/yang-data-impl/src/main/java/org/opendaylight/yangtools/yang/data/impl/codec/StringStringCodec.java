@@ -44,6 +44,11 @@ public class StringStringCodec extends TypeDefinitionAwareCodec<String, StringTy
         return stringRepresentation;
     }
 
+    @Override
+    public final String tryDeserialize(final String stringRepresentation) {
+        return stringRepresentation != null && isValid(stringRepresentation) ? stringRepresentation : null;
+    }
+
     @Override
     public final String serialize(final String data) {
         return requireNonNull(data);
@@ -55,4 +60,8 @@ public class StringStringCodec extends TypeDefinitionAwareCodec<String, StringTy
                     "String '%s' does not match allowed length constraint %s", lengthConstraint);
         }
     }
+
+    boolean isValid(final String str) {
+        return lengthConstraint == null || lengthConstraint.getAllowedRanges().contains(str.length());
+    }
 }
@@ -26,6 +26,11 @@ final class Uint64StringCodec extends AbstractIntegerStringCodec<BigInteger, Uin
         return new BigInteger(stringRepresentation, base);
     }
 
+    @Override
+    BigInteger tryDeserialize(final String stringRepresentation, final int base) {
+        return new BigInteger(stringRepresentation, base);
+    }
+
     @Override
     public String serialize(final BigInteger data) {
         return Objects.toString(data, "");
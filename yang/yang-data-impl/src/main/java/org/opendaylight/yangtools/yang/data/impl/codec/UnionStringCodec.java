@@ -8,6 +8,7 @@
 
 package org.opendaylight.yangtools.yang.data.impl.codec;
 
+import com.google.common.collect.ImmutableList;
 import com.google.common.io.BaseEncoding;
 import java.util.Objects;
 import java.util.Optional;
@@ -22,8 +23,33 @@ final class UnionStringCodec extends TypeDefinitionAwareCodec<Object, UnionTypeD
 
     private static final Logger LOG = LoggerFactory.getLogger(UnionStringCodec.class);
 
+    // Codecs of member types, in order of preference, up to the first member type without a codec
+    private final ImmutableList<TypeDefinitionAwareCodec<Object, ?>> codecs;
+    // True if a value rejected by all codecs is accepted as is
+    private final boolean acceptsAll;
+
     private UnionStringCodec(final Optional<UnionTypeDefinition> typeDef) {
         super(typeDef, Object.class);
+        if (!typeDef.isPresent()) {
+            codecs = ImmutableList.of();
+            acceptsAll = true;
+            return;
+        }
+
+        final ImmutableList.Builder<TypeDefinitionAwareCodec<Object, ?>> builder = ImmutableList.builder();
+        boolean noCodec = false;
+        for (final TypeDefinition<?> type : typeDef.get().getTypes()) {
+            final TypeDefinitionAwareCodec<Object, ?> codec = from(type);
+            if (codec == null) {
+                // This is a type for which we have no codec (eg identity ref) so we'll say it's valid
+                LOG.debug("Union member {} has no codec, it will accept all values", type);
+                noCodec = true;
+                break;
+            }
+            builder.add(codec);
+        }
+        codecs = builder.build();
+        acceptsAll = noCodec;
     }
 
     static TypeDefinitionAwareCodec<?, UnionTypeDefinition> from(final UnionTypeDefinition normalizedType) {
@@ -39,31 +65,23 @@ final class UnionStringCodec extends TypeDefinitionAwareCodec<Object, UnionTypeD
     }
 
     @Override
-    @SuppressWarnings("checkstyle:illegalCatch")
     public Object deserialize(final String stringRepresentation) {
-
-        if (!getTypeDefinition().isPresent()) {
-            return stringRepresentation;
+        final Object ret = tryDeserialize(stringRepresentation);
+        if (ret == null) {
+            throw new IllegalArgumentException("Invalid value \"" + stringRepresentation + "\" for union type.");
         }
+        return ret;
+    }
 
-        for (final TypeDefinition<?> type : getTypeDefinition().get().getTypes()) {
-            final TypeDefinitionAwareCodec<Object, ?> typeAwareCodec = from(type);
-            if (typeAwareCodec == null) {
-                /*
-                 * This is a type for which we have no codec (eg identity ref) so we'll say it's
-                 * valid
-                 */
-                return stringRepresentation;
-            }
-
-            try {
-                return typeAwareCodec.deserialize(stringRepresentation);
-            } catch (final Exception e) {
-                LOG.debug("Value {} did not matched representation for {}",stringRepresentation,type,e);
-                // invalid - try the next union type.
+    @Override
+    public Object tryDeserialize(final String stringRepresentation) {
+        for (final TypeDefinitionAwareCodec<Object, ?> codec : codecs) {
+            final Object ret = codec.tryDeserialize(stringRepresentation);
+            if (ret != null) {
+                return ret;
             }
         }
 
-        throw new IllegalArgumentException("Invalid value \"" + stringRepresentation + "\" for union type.");
+        return acceptsAll ? stringRepresentation : null;
     }
 }
@@ -53,7 +53,25 @@ public class SchemaOrderedNormalizedNodeWriter extends NormalizedNodeWriter {
      */
     public SchemaOrderedNormalizedNodeWriter(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
             final SchemaPath path) {
-        super(writer);
+        this(writer, schemaContext, path, 0);
+    }
+
+    /**
+     * Create a new writer backed by a {@link NormalizedNodeStreamWriter}, which writes entries of large lists in
+     * parallel, as described in {@link NormalizedNodeWriter#forStreamWriter(NormalizedNodeStreamWriter, boolean, int)}.
+     *
+     * @param writer
+     *            Back-end writer
+     * @param schemaContext
+     *            Schema context
+     * @param path
+     *            path
+     * @param chunkSize
+     *            Number of list entries written by a single task, 0 to disable parallel writes
+     */
+    public SchemaOrderedNormalizedNodeWriter(final NormalizedNodeStreamWriter writer, final SchemaContext schemaContext,
+            final SchemaPath path, final int chunkSize) {
+        super(writer, chunkSize);
         this.schemaContext = schemaContext;
         final Collection<SchemaNode> schemaNodes = SchemaUtils.findParentSchemaNodesOnPath(schemaContext, path);
         Preconditions.checkArgument(!schemaNodes.isEmpty(), "Unable to find schema node for supplied schema path: %s",
@@ -64,6 +82,13 @@ public class SchemaOrderedNormalizedNodeWriter extends NormalizedNodeWriter {
         this.root = schemaNodes.iterator().next();
     }
 
+    private SchemaOrderedNormalizedNodeWriter(final NormalizedNodeStreamWriter writer,
+            final SchemaContext schemaContext, final SchemaNode root) {
+        super(writer);
+        this.schemaContext = schemaContext;
+        this.root = root;
+    }
+
     @Override
     public SchemaOrderedNormalizedNodeWriter write(final NormalizedNode<?, ?> node) throws IOException {
         if (Objects.equals(root, schemaContext)) {
@@ -162,6 +187,12 @@ public class SchemaOrderedNormalizedNodeWriter extends NormalizedNodeWriter {
         return true;
     }
 
+    @Override
+    protected NormalizedNodeWriter createForkWriter(final NormalizedNodeStreamWriter fork) {
+        // Entries are written with the list as their schema node, just as write(List, SchemaNode) does
+        return new SchemaOrderedNormalizedNodeWriter(fork, schemaContext, currentSchemaNode);
+    }
+
     private SchemaOrderedNormalizedNodeWriter writeLeaf(final NormalizedNode<?, ?> node) throws IOException {
         if (wasProcessAsSimpleNode(node)) {
             return this;
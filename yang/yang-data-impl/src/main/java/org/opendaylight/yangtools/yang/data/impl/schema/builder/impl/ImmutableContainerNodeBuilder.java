@@ -50,7 +50,7 @@ public class ImmutableContainerNodeBuilder
 
     @Override
     public ContainerNode build() {
-        return new ImmutableContainerNode(getNodeIdentifier(), buildValue(), getAttributes());
+        return new ImmutableContainerNode(getNodeIdentifier(), LeafPackedChildren.pack(buildValue()), getAttributes());
     }
 
     protected static final class ImmutableContainerNode extends AbstractImmutableDataContainerAttrNode<NodeIdentifier>
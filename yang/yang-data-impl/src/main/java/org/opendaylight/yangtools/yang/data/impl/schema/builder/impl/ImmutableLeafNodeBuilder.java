@@ -7,12 +7,19 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
+import com.google.common.collect.ImmutableMap;
 import java.util.Map;
+import java.util.Objects;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeAttrBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedValueAttrNode;
 
 public class ImmutableLeafNodeBuilder<T>
@@ -25,12 +32,65 @@ public class ImmutableLeafNodeBuilder<T>
     @Override
     @SuppressWarnings("unchecked")
     public LeafNode<T> build() {
-        final T value = getValue();
+        return (LeafNode<T>) createNode(getNodeIdentifier(), getValue(), getAttributes());
+    }
+
+    /**
+     * Return the value of a leaf node, provided it can be turned back into an equal node via
+     * {@link #unpackNode(NodeIdentifier, Object)}.
+     *
+     * @param node Candidate node
+     * @return Value of the node, or null if the node cannot be packed
+     */
+    static @Nullable Object packValue(final NormalizedNode<?, ?> node) {
+        if (node instanceof AbstractCompactLeafNode) {
+            return node.getValue();
+        }
+        if (node instanceof ImmutableLeafNode) {
+            final ImmutableLeafNode<?> leaf = (ImmutableLeafNode<?>) node;
+            return leaf.getAttributes().isEmpty() ? leaf.getValue() : null;
+        }
+        if (node instanceof ImmutableBinaryLeafNode) {
+            final ImmutableBinaryLeafNode leaf = (ImmutableBinaryLeafNode) node;
+            return leaf.getAttributes().isEmpty() ? leaf.packedValue() : null;
+        }
+        return null;
+    }
+
+    /**
+     * Recreate a leaf node from a value returned from {@link #packValue(NormalizedNode)}.
+     *
+     * @param nodeIdentifier Node identifier
+     * @param value Packed value
+     * @return A leaf node
+     */
+    static @NonNull LeafNode<?> unpackNode(final NodeIdentifier nodeIdentifier, final Object value) {
+        return createNode(nodeIdentifier, value, ImmutableMap.of());
+    }
+
+    private static @NonNull LeafNode<?> createNode(final NodeIdentifier nodeIdentifier, final Object value,
+            final Map<QName, String> attributes) {
         if (value instanceof byte[]) {
-            return (LeafNode<T>) new ImmutableBinaryLeafNode(getNodeIdentifier(), (byte[]) value, getAttributes());
+            return new ImmutableBinaryLeafNode(nodeIdentifier, (byte[]) value, attributes);
+        }
+
+        // Attributes are rare, hence we only provide compact implementations for the common case of not having them
+        if (attributes.isEmpty() && value != null) {
+            final Class<?> valueClass = value.getClass();
+            if (valueClass == Long.class) {
+                return new LongLeafNode(nodeIdentifier, (Long) value);
+            } else if (valueClass == Integer.class) {
+                return new IntegerLeafNode(nodeIdentifier, (Integer) value);
+            } else if (valueClass == Short.class) {
+                return new ShortLeafNode(nodeIdentifier, (Short) value);
+            } else if (valueClass == Uint32.class) {
+                return new Uint32LeafNode(nodeIdentifier, ((Uint32) value).intValue());
+            } else if (valueClass == Uint64.class) {
+                return new Uint64LeafNode(nodeIdentifier, ((Uint64) value).longValue());
+            }
         }
 
-        return new ImmutableLeafNode<>(getNodeIdentifier(), value, getAttributes());
+        return new ImmutableLeafNode<>(nodeIdentifier, value, attributes);
     }
 
     private static final class ImmutableLeafNode<T>
@@ -51,5 +111,112 @@ public class ImmutableLeafNodeBuilder<T>
         protected byte[] wrapValue(final byte[] valueToWrap) {
             return valueToWrap.clone();
         }
+
+        byte[] packedValue() {
+            return value();
+        }
+    }
+
+    /**
+     * Base class for leaf nodes which store their value in an unboxed form and have no attributes. The value is boxed
+     * on each invocation of {@link #getValue()}, which is usually eliminated by escape analysis.
+     *
+     * @param <T> Value type
+     */
+    private abstract static class AbstractCompactLeafNode<T> extends AbstractImmutableNormalizedNode<NodeIdentifier, T>
+            implements LeafNode<T> {
+        AbstractCompactLeafNode(final NodeIdentifier nodeIdentifier) {
+            super(nodeIdentifier);
+        }
+
+        @Override
+        public final Map<QName, String> getAttributes() {
+            return ImmutableMap.of();
+        }
+
+        @Override
+        public final Object getAttributeValue(final QName name) {
+            return null;
+        }
+
+        @Override
+        protected final int valueHashCode() {
+            return getValue().hashCode();
+        }
+
+        @Override
+        protected final boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
+            return Objects.equals(getValue(), other.getValue());
+        }
+    }
+
+    private static final class LongLeafNode extends AbstractCompactLeafNode<Long> {
+        private final long value;
+
+        LongLeafNode(final NodeIdentifier nodeIdentifier, final long value) {
+            super(nodeIdentifier);
+            this.value = value;
+        }
+
+        @Override
+        public Long getValue() {
+            return value;
+        }
+    }
+
+    private static final class IntegerLeafNode extends AbstractCompactLeafNode<Integer> {
+        private final int value;
+
+        IntegerLeafNode(final NodeIdentifier nodeIdentifier, final int value) {
+            super(nodeIdentifier);
+            this.value = value;
+        }
+
+        @Override
+        public Integer getValue() {
+            return value;
+        }
+    }
+
+    private static final class ShortLeafNode extends AbstractCompactLeafNode<Short> {
+        private final short value;
+
+        ShortLeafNode(final NodeIdentifier nodeIdentifier, final short value) {
+            super(nodeIdentifier);
+            this.value = value;
+        }
+
+        @Override
+        public Short getValue() {
+            return value;
+        }
+    }
+
+    private static final class Uint32LeafNode extends AbstractCompactLeafNode<Uint32> {
+        private final int bits;
+
+        Uint32LeafNode(final NodeIdentifier nodeIdentifier, final int bits) {
+            super(nodeIdentifier);
+            this.bits = bits;
+        }
+
+        @Override
+        public Uint32 getValue() {
+            return Uint32.fromIntBits(bits);
+        }
+    }
+
+    private static final class Uint64LeafNode extends AbstractCompactLeafNode<Uint64> {
+        private final long bits;
+
+        Uint64LeafNode(final NodeIdentifier nodeIdentifier, final long bits) {
+            super(nodeIdentifier);
+            this.bits = bits;
+        }
+
+        @Override
+        public Uint64 getValue() {
+            return Uint64.fromLongBits(bits);
+        }
     }
 }
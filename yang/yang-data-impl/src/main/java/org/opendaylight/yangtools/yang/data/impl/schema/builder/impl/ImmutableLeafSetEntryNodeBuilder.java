@@ -8,13 +8,16 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
 import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
 
+import com.google.common.collect.ImmutableMap;
 import java.util.Map;
 import java.util.Objects;
 import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedNode;
 import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableNormalizedValueAttrNode;
 
 public class ImmutableLeafSetEntryNodeBuilder<T>
@@ -26,7 +29,9 @@ public class ImmutableLeafSetEntryNodeBuilder<T>
 
     @Override
     public LeafSetEntryNode<T> build() {
-        return new ImmutableLeafSetEntryNode<>(getNodeIdentifier(), getValue(), getAttributes());
+        final Map<QName, String> attributes = getAttributes();
+        return attributes.isEmpty() ? new CompactLeafSetEntryNode<>(getNodeIdentifier(), getValue())
+                : new ImmutableLeafSetEntryNode<>(getNodeIdentifier(), getValue(), attributes);
     }
 
     private static final class ImmutableLeafSetEntryNode<T>
@@ -39,4 +44,43 @@ public class ImmutableLeafSetEntryNodeBuilder<T>
                     "Node identifier contains different value: %s than value itself: %s", nodeIdentifier, value);
         }
     }
+
+    /**
+     * A leaf-set entry without attributes. Its value is held by its {@link NodeWithValue} identifier, hence we do not
+     * need to store it separately.
+     */
+    private static final class CompactLeafSetEntryNode<T> extends AbstractImmutableNormalizedNode<NodeWithValue, T>
+            implements LeafSetEntryNode<T> {
+        CompactLeafSetEntryNode(final NodeWithValue nodeIdentifier, final T value) {
+            super(nodeIdentifier);
+            checkArgument(Objects.deepEquals(nodeIdentifier.getValue(), requireNonNull(value)),
+                    "Node identifier contains different value: %s than value itself: %s", nodeIdentifier, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public T getValue() {
+            return (T) getIdentifier().getValue();
+        }
+
+        @Override
+        public Map<QName, String> getAttributes() {
+            return ImmutableMap.of();
+        }
+
+        @Override
+        public Object getAttributeValue(final QName name) {
+            return null;
+        }
+
+        @Override
+        protected int valueHashCode() {
+            return getValue().hashCode();
+        }
+
+        @Override
+        protected boolean valueEquals(final AbstractImmutableNormalizedNode<?, ?> other) {
+            return Objects.deepEquals(getValue(), other.getValue());
+        }
+    }
 }
@@ -117,7 +117,7 @@ public class ImmutableMapEntryNodeBuilder
             }
         }
 
-        return new ImmutableMapEntryNode(getNodeIdentifier(), buildValue(), getAttributes());
+        return new ImmutableMapEntryNode(getNodeIdentifier(), LeafPackedChildren.pack(buildValue()), getAttributes());
     }
 
     private static final class ImmutableMapEntryNode
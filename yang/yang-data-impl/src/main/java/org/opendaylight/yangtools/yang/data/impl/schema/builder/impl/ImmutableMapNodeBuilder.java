@@ -7,12 +7,19 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
+import com.google.common.annotations.Beta;
+import com.google.common.collect.Iterators;
 import com.google.common.collect.Maps;
 import java.util.Collection;
+import java.util.Comparator;
 import java.util.HashMap;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.Map.Entry;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.ImmutableTreapMap;
 import org.opendaylight.yangtools.util.MapAdaptor;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
@@ -42,6 +49,10 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
         }
     }
 
+    protected ImmutableMapNodeBuilder(final Comparator<? super NodeIdentifierWithPredicates> comparator) {
+        this.value = MapAdaptor.getDefaultInstance().takeSnapshot(ImmutableTreapMap.of(comparator));
+    }
+
     protected ImmutableMapNodeBuilder(final ImmutableMapNode node) {
         this.nodeIdentifier = node.getIdentifier();
         this.value = MapAdaptor.getDefaultInstance().takeSnapshot(node.children);
@@ -63,6 +74,52 @@ public class ImmutableMapNodeBuilder implements CollectionNodeBuilder<MapEntryNo
         return new ImmutableMapNodeBuilder((ImmutableMapNode) node);
     }
 
+    /**
+     * Create a builder of a map node which keeps its entries sorted by their keys. Nodes created by copying such a node
+     * via {@link #create(MapNode)} are sorted, too.
+     *
+     * @param comparator Comparator defining the order of entries
+     * @return A new builder
+     */
+    @Beta
+    public static @NonNull CollectionNodeBuilder<MapEntryNode, MapNode> createSorted(
+            final Comparator<? super NodeIdentifierWithPredicates> comparator) {
+        return new ImmutableMapNodeBuilder(comparator);
+    }
+
+    /**
+     * Check whether a map node keeps its entries sorted, i.e. it has been created by a builder returned from
+     * {@link #createSorted(Comparator)}.
+     *
+     * @param node Map node
+     * @return True if the node keeps its entries sorted
+     */
+    @Beta
+    public static boolean isSorted(final MapNode node) {
+        return node instanceof ImmutableMapNode && ((ImmutableMapNode) node).children instanceof ImmutableTreapMap;
+    }
+
+    /**
+     * Return a lazy iterator over a range of entries of a sorted map node. Only entries within the range are visited.
+     *
+     * @param node Map node
+     * @param fromKey Key of the first entry, inclusive, or null to start with the first entry
+     * @param toKey Key at which to stop, exclusive, or null to continue to the last entry
+     * @return Iterator over the entries, empty if the node does not keep its entries sorted
+     */
+    @Beta
+    public static Optional<Iterator<MapEntryNode>> sortedRange(final MapNode node,
+            final @Nullable NodeIdentifierWithPredicates fromKey, final @Nullable NodeIdentifierWithPredicates toKey) {
+        if (!isSorted(node)) {
+            return Optional.empty();
+        }
+
+        final Iterator<Entry<NodeIdentifierWithPredicates, MapEntryNode>> it =
+                ((ImmutableTreapMap<NodeIdentifierWithPredicates, MapEntryNode>) ((ImmutableMapNode) node).children)
+                .range(fromKey, toKey);
+        return Optional.of(Iterators.transform(it, Entry::getValue));
+    }
+
     @Override
     public CollectionNodeBuilder<MapEntryNode, MapNode> withChild(final MapEntryNode child) {
         this.value.put(child.getIdentifier(), child);
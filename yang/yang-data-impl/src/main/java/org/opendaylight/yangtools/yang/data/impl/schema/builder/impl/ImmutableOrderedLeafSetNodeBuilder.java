@@ -7,13 +7,13 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
-import com.google.common.collect.Iterables;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.ImmutableIndexedMap;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
@@ -28,19 +28,18 @@ import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableN
 
 public class ImmutableOrderedLeafSetNodeBuilder<T> implements ListNodeBuilder<T, LeafSetEntryNode<T>> {
 
-    private Map<NodeWithValue, LeafSetEntryNode<T>> value;
+    // See ImmutableOrderedMapNodeBuilder for how these two are used
+    private Map<NodeWithValue, LeafSetEntryNode<T>> mutable;
+    private ImmutableIndexedMap<NodeWithValue, LeafSetEntryNode<T>> value;
     private NodeIdentifier nodeIdentifier;
-    private boolean dirty;
 
     protected ImmutableOrderedLeafSetNodeBuilder() {
-        value = new LinkedHashMap<>();
-        dirty = false;
+        mutable = new LinkedHashMap<>();
     }
 
     protected ImmutableOrderedLeafSetNodeBuilder(final ImmutableOrderedLeafSetNode<T> node) {
         nodeIdentifier = node.getIdentifier();
         value = node.getChildren();
-        dirty = true;
     }
 
     public static <T> @NonNull ListNodeBuilder<T, LeafSetEntryNode<T>> create() {
@@ -55,30 +54,32 @@ public class ImmutableOrderedLeafSetNodeBuilder<T> implements ListNodeBuilder<T,
         return new ImmutableOrderedLeafSetNodeBuilder<>((ImmutableOrderedLeafSetNode<T>) node);
     }
 
-    private void checkDirty() {
-        if (dirty) {
-            value = new LinkedHashMap<>(value);
-            dirty = false;
-        }
-    }
-
     @Override
     public ListNodeBuilder<T, LeafSetEntryNode<T>> withChild(final LeafSetEntryNode<T> child) {
-        checkDirty();
-        this.value.put(child.getIdentifier(), child);
+        if (mutable != null) {
+            mutable.put(child.getIdentifier(), child);
+        } else {
+            value = value.with(child.getIdentifier(), child);
+        }
         return this;
     }
 
     @Override
     public ListNodeBuilder<T, LeafSetEntryNode<T>> withoutChild(final PathArgument key) {
-        checkDirty();
-        this.value.remove(key);
+        if (mutable != null) {
+            mutable.remove(key);
+        } else {
+            value = value.without(key);
+        }
         return this;
     }
 
     @Override
     public OrderedLeafSetNode<T> build() {
-        dirty = true;
+        if (mutable != null) {
+            value = ImmutableIndexedMap.copyOf(mutable);
+            mutable = null;
+        }
         return new ImmutableOrderedLeafSetNode<>(nodeIdentifier, value);
     }
 
@@ -90,7 +91,6 @@ public class ImmutableOrderedLeafSetNodeBuilder<T> implements ListNodeBuilder<T,
 
     @Override
     public ListNodeBuilder<T, LeafSetEntryNode<T>> withValue(final Collection<LeafSetEntryNode<T>> withValue) {
-        checkDirty();
         for (final LeafSetEntryNode<T> leafSetEntry : withValue) {
             withChild(leafSetEntry);
         }
@@ -116,10 +116,10 @@ public class ImmutableOrderedLeafSetNodeBuilder<T> implements ListNodeBuilder<T,
             AbstractImmutableNormalizedNode<NodeIdentifier, Collection<LeafSetEntryNode<T>>> implements
             OrderedLeafSetNode<T> {
 
-        private final Map<NodeWithValue, LeafSetEntryNode<T>> children;
+        private final ImmutableIndexedMap<NodeWithValue, LeafSetEntryNode<T>> children;
 
         ImmutableOrderedLeafSetNode(final NodeIdentifier nodeIdentifier,
-                final Map<NodeWithValue, LeafSetEntryNode<T>> children) {
+                final ImmutableIndexedMap<NodeWithValue, LeafSetEntryNode<T>> children) {
             super(nodeIdentifier);
             this.children = children;
         }
@@ -131,7 +131,7 @@ public class ImmutableOrderedLeafSetNodeBuilder<T> implements ListNodeBuilder<T,
 
         @Override
         public LeafSetEntryNode<T> getChild(final int position) {
-            return Iterables.get(children.values(), position);
+            return children.valueAt(position);
         }
 
         @Override
@@ -139,8 +139,8 @@ public class ImmutableOrderedLeafSetNodeBuilder<T> implements ListNodeBuilder<T,
             return children.hashCode();
         }
 
-        private Map<NodeWithValue, LeafSetEntryNode<T>> getChildren() {
-            return Collections.unmodifiableMap(children);
+        private ImmutableIndexedMap<NodeWithValue, LeafSetEntryNode<T>> getChildren() {
+            return children;
         }
 
         @Override
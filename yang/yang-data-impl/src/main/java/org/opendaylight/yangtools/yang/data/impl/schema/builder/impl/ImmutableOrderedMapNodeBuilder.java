@@ -7,12 +7,12 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
 
-import com.google.common.collect.Iterables;
 import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.util.ImmutableIndexedMap;
 import org.opendaylight.yangtools.util.UnmodifiableCollection;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
@@ -27,28 +27,30 @@ import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableN
 public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<MapEntryNode, OrderedMapNode> {
     private static final int DEFAULT_CAPACITY = 4;
 
-    private Map<NodeIdentifierWithPredicates, MapEntryNode> value;
+    /*
+     * Children are accumulated in a LinkedHashMap while building a node from scratch. Once we have a persistent map,
+     * either from a node we were initialized from or from a previous build(), we update it in place, which costs
+     * O(log(n)) for each modification and allows the resulting node to share structure with its predecessor.
+     */
+    private Map<NodeIdentifierWithPredicates, MapEntryNode> mutable;
+    private ImmutableIndexedMap<NodeIdentifierWithPredicates, MapEntryNode> value;
     private NodeIdentifier nodeIdentifier;
-    private boolean dirty;
 
     protected ImmutableOrderedMapNodeBuilder() {
-        this.value = new LinkedHashMap<>(DEFAULT_CAPACITY);
-        this.dirty = false;
+        this.mutable = new LinkedHashMap<>(DEFAULT_CAPACITY);
     }
 
     protected ImmutableOrderedMapNodeBuilder(final int sizeHint) {
         if (sizeHint >= 0) {
-            this.value = new LinkedHashMap<>(sizeHint + sizeHint / 3);
+            this.mutable = new LinkedHashMap<>(sizeHint + sizeHint / 3);
         } else {
-            this.value = new LinkedHashMap<>(DEFAULT_CAPACITY);
+            this.mutable = new LinkedHashMap<>(DEFAULT_CAPACITY);
         }
-        this.dirty = false;
     }
 
     protected ImmutableOrderedMapNodeBuilder(final ImmutableOrderedMapNode node) {
         this.nodeIdentifier = node.getIdentifier();
         this.value = node.children;
-        this.dirty = true;
     }
 
     public static @NonNull CollectionNodeBuilder<MapEntryNode, OrderedMapNode> create() {
@@ -67,24 +69,23 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
         return new ImmutableOrderedMapNodeBuilder((ImmutableOrderedMapNode) node);
     }
 
-    private void checkDirty() {
-        if (dirty) {
-            value = new LinkedHashMap<>(value);
-            dirty = false;
-        }
-    }
-
     @Override
     public CollectionNodeBuilder<MapEntryNode, OrderedMapNode> withChild(final MapEntryNode child) {
-        checkDirty();
-        this.value.put(child.getIdentifier(), child);
+        if (mutable != null) {
+            mutable.put(child.getIdentifier(), child);
+        } else {
+            value = value.with(child.getIdentifier(), child);
+        }
         return this;
     }
 
     @Override
     public CollectionNodeBuilder<MapEntryNode, OrderedMapNode> withoutChild(final PathArgument key) {
-        checkDirty();
-        this.value.remove(key);
+        if (mutable != null) {
+            mutable.remove(key);
+        } else {
+            value = value.without(key);
+        }
         return this;
     }
 
@@ -107,7 +108,10 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
     @Override
     public OrderedMapNode build() {
-        dirty = true;
+        if (mutable != null) {
+            value = ImmutableIndexedMap.copyOf(mutable);
+            mutable = null;
+        }
         return new ImmutableOrderedMapNode(nodeIdentifier, value);
     }
 
@@ -128,10 +132,10 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
             extends AbstractImmutableNormalizedNode<NodeIdentifier, Collection<MapEntryNode>>
             implements OrderedMapNode {
 
-        private final Map<NodeIdentifierWithPredicates, MapEntryNode> children;
+        private final ImmutableIndexedMap<NodeIdentifierWithPredicates, MapEntryNode> children;
 
         ImmutableOrderedMapNode(final NodeIdentifier nodeIdentifier,
-                         final Map<NodeIdentifierWithPredicates, MapEntryNode> children) {
+                         final ImmutableIndexedMap<NodeIdentifierWithPredicates, MapEntryNode> children) {
             super(nodeIdentifier);
             this.children = children;
         }
@@ -143,7 +147,7 @@ public class ImmutableOrderedMapNodeBuilder implements CollectionNodeBuilder<Map
 
         @Override
         public MapEntryNode getChild(final int position) {
-            return Iterables.get(children.values(), position);
+            return children.valueAt(position);
         }
 
         @Override
@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableMap;
+import java.util.AbstractMap;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.opendaylight.yangtools.util.MutableOffsetMap;
+import org.opendaylight.yangtools.util.UnmodifiableMapPhase;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+
+/**
+ * Children of a data container node, where leaf children are stored as their values, without the corresponding
+ * {@link org.opendaylight.yangtools.yang.data.api.schema.LeafNode}s. Values are held in an array indexed by a shared
+ * key-to-offset mapping, hence all containers with the same set of children share the mapping and each of them holds
+ * only a single array. Values are stored as returned by
+ * {@link org.opendaylight.yangtools.yang.data.api.schema.LeafNode#getValue()}, hence numeric values remain boxed
+ * and only the leaf node wrapping them is saved.
+ *
+ * <p>
+ * The packed values are never replaced. A leaf node looked up via {@link #get(Object)} is retained in a separate
+ * array, which is allocated on first lookup, so repeated lookups do not allocate. Bulk operations, such as iteration,
+ * {@link #equals(Object)}, {@link #hashCode()} and {@link #toModifiableMap()}, reuse retained leaf nodes, but
+ * instantiate the others without retaining them, so that they do not unpack data at rest.
+ */
+final class LeafPackedChildren extends AbstractMap<PathArgument, DataContainerChild<? extends PathArgument, ?>>
+        implements UnmodifiableMapPhase<PathArgument, DataContainerChild<? extends PathArgument, ?>> {
+    private final class EntrySet
+            extends AbstractSet<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> {
+        @Override
+        public Iterator<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> iterator() {
+            final Iterator<Entry<PathArgument, Integer>> it = offsets.entrySet().iterator();
+            return new Iterator<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> next() {
+                    final Entry<PathArgument, Integer> entry = it.next();
+                    final PathArgument key = entry.getKey();
+                    return new SimpleImmutableEntry<>(key, peek(key, entry.getValue()));
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+
+    /*
+     * Shared key-to-offset mappings, keyed by the set of keys they contain. Weak values retire mappings which are no
+     * longer used by any instance. The key is the mapping's own keySet(), so the two share the same Set.
+     */
+    private static final Cache<Set<PathArgument>, ImmutableMap<PathArgument, Integer>> OFFSETS =
+            CacheBuilder.newBuilder().weakValues().build();
+
+    private final ImmutableMap<PathArgument, Integer> offsets;
+    // Elements are either packed leaf values or DataContainerChildren
+    private final Object[] values;
+    // Leaves looked up via get(), instantiated on first use. Both the array and its elements are published via a data
+    // race, which is benign, as leaf nodes are immutable and anyone observing a stale value simply unpacks it again.
+    private DataContainerChild<?, ?>[] unpacked;
+
+    private LeafPackedChildren(final ImmutableMap<PathArgument, Integer> offsets, final Object[] values) {
+        this.offsets = requireNonNull(offsets);
+        this.values = requireNonNull(values);
+    }
+
+    /**
+     * Pack leaf children of a data container node, if there are any.
+     *
+     * @param children Children of a data container node
+     * @return Packed children, or the original map if there are no leaves which can be packed
+     */
+    static Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> pack(
+            final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children) {
+        Object[] packed = null;
+        ImmutableMap<PathArgument, Integer> offsets = null;
+        for (Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> entry : children.entrySet()) {
+            final Object value = ImmutableLeafNodeBuilder.packValue(entry.getValue());
+            if (value != null) {
+                if (packed == null) {
+                    offsets = offsetsFor(children.keySet());
+                    packed = new Object[offsets.size()];
+                    for (Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>> child
+                            : children.entrySet()) {
+                        packed[offsets.get(child.getKey())] = child.getValue();
+                    }
+                }
+                packed[offsets.get(entry.getKey())] = value;
+            }
+        }
+
+        return packed == null ? children : new LeafPackedChildren(offsets, packed);
+    }
+
+    @Override
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    @Override
+    public boolean containsKey(final Object key) {
+        return offsets.containsKey(key);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public DataContainerChild<? extends PathArgument, ?> get(final Object key) {
+        final Integer offset = offsets.get(key);
+        if (offset == null) {
+            return null;
+        }
+
+        final int index = offset;
+        final Object value = values[index];
+        if (value instanceof DataContainerChild) {
+            return (DataContainerChild<? extends PathArgument, ?>) value;
+        }
+
+        DataContainerChild<?, ?>[] leaves = unpacked;
+        if (leaves == null) {
+            leaves = new DataContainerChild<?, ?>[values.length];
+            unpacked = leaves;
+        }
+        DataContainerChild<?, ?> leaf = leaves[index];
+        if (leaf == null) {
+            leaf = ImmutableLeafNodeBuilder.unpackNode((NodeIdentifier) key, value);
+            leaves[index] = leaf;
+        }
+        return (DataContainerChild<? extends PathArgument, ?>) leaf;
+    }
+
+    @Override
+    public Set<Entry<PathArgument, DataContainerChild<? extends PathArgument, ?>>> entrySet() {
+        return new EntrySet();
+    }
+
+    @Override
+    public MutableOffsetMap<PathArgument, DataContainerChild<? extends PathArgument, ?>> toModifiableMap() {
+        // Goes through entrySet(), hence the copy receives its own leaf nodes and this map is left untouched
+        return MutableOffsetMap.unorderedCopyOf(this);
+    }
+
+    @Override
+    public int hashCode() {
+        // Same as AbstractMap, spelled out to make it clear it does not go through get()
+        int result = 0;
+        for (Entry<PathArgument, Integer> entry : offsets.entrySet()) {
+            result += entry.getKey().hashCode() ^ peek(entry.getKey(), entry.getValue()).hashCode();
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(final Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof Map)) {
+            return false;
+        }
+        if (!(obj instanceof LeafPackedChildren)) {
+            // Goes through entrySet() of this map and get() of the other map, which is not packed
+            return super.equals(obj);
+        }
+
+        final LeafPackedChildren other = (LeafPackedChildren) obj;
+        if (values.length != other.values.length) {
+            return false;
+        }
+        for (Entry<PathArgument, Integer> entry : offsets.entrySet()) {
+            final PathArgument key = entry.getKey();
+            final Integer otherOffset = other.offsets.get(key);
+            if (otherOffset == null) {
+                return false;
+            }
+
+            final int offset = entry.getValue();
+            final Object value = values[offset];
+            final Object otherValue = other.values[otherOffset];
+            if (value instanceof DataContainerChild || otherValue instanceof DataContainerChild) {
+                if (!peek(key, offset).equals(other.peek(key, otherOffset))) {
+                    return false;
+                }
+            } else if (!Objects.deepEquals(value, otherValue)) {
+                // Packed leaves with the same identifier are equal if their values are equal
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Return the child at specified offset, without retaining it if it needs to be unpacked.
+     */
+    @SuppressWarnings("unchecked")
+    private DataContainerChild<? extends PathArgument, ?> peek(final PathArgument key, final int offset) {
+        final Object value = values[offset];
+        // Leaf values are never normalized nodes, hence anything else is a packed leaf
+        if (value instanceof DataContainerChild) {
+            return (DataContainerChild<? extends PathArgument, ?>) value;
+        }
+
+        final DataContainerChild<?, ?>[] leaves = unpacked;
+        if (leaves != null && leaves[offset] != null) {
+            return (DataContainerChild<? extends PathArgument, ?>) leaves[offset];
+        }
+        return (DataContainerChild<? extends PathArgument, ?>) ImmutableLeafNodeBuilder.unpackNode(
+            (NodeIdentifier) key, value);
+    }
+
+    private static ImmutableMap<PathArgument, Integer> offsetsFor(final Set<PathArgument> keys) {
+        final ImmutableMap<PathArgument, Integer> existing = OFFSETS.getIfPresent(keys);
+        if (existing != null) {
+            return existing;
+        }
+
+        final ImmutableMap.Builder<PathArgument, Integer> builder = ImmutableMap.builderWithExpectedSize(keys.size());
+        int offset = 0;
+        for (PathArgument key : keys) {
+            builder.put(key, offset++);
+        }
+        final ImmutableMap<PathArgument, Integer> created = builder.build();
+        final ImmutableMap<PathArgument, Integer> raced = OFFSETS.asMap().putIfAbsent(created.keySet(), created);
+        return raced != null ? raced : created;
+    }
+}
@@ -7,24 +7,38 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.nodes;
 
+import com.google.common.collect.ImmutableList;
 import java.util.Collection;
 import java.util.Map;
 import java.util.Optional;
+import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.util.ImmutableOffsetMap;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
 import org.opendaylight.yangtools.yang.data.api.schema.DataContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.YangModeledAnyXmlNode;
 
 public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
         extends AbstractImmutableNormalizedNode<K, Collection<DataContainerChild<? extends PathArgument, ?>>>
         implements DataContainerNode<K> {
+    // Interfaces which distinguish data container nodes with the same kind of identifier
+    private static final ImmutableList<Class<?>> CONTRACTS = ImmutableList.of(AugmentationNode.class, ChoiceNode.class,
+        ContainerNode.class, MapEntryNode.class, UnkeyedListEntryNode.class, YangModeledAnyXmlNode.class);
+
     private final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children;
 
     public AbstractImmutableDataContainerNode(
             final Map<PathArgument, DataContainerChild<? extends PathArgument, ?>> children, final K nodeIdentifier) {
         super(nodeIdentifier);
 
-        this.children = ImmutableOffsetMap.unorderedCopyOf(children);
+        // Immutable maps are already in their final representation, such as the one chosen by a builder
+        this.children = children instanceof Immutable ? children : ImmutableOffsetMap.unorderedCopyOf(children);
     }
 
     @Override
@@ -62,4 +76,29 @@ public abstract class AbstractImmutableDataContainerNode<K extends PathArgument>
                 ((AbstractImmutableDataContainerNode<?>) other).children);
 
     }
+
+    @Override
+    protected boolean foreignValueEquals(final NormalizedNode<?, ?> other) {
+        if (!(other instanceof DataContainerNode)) {
+            return false;
+        }
+        for (Class<?> contract : CONTRACTS) {
+            if (contract.isInstance(this) != contract.isInstance(other)) {
+                return false;
+            }
+        }
+
+        final Collection<DataContainerChild<? extends PathArgument, ?>> otherChildren =
+                ((DataContainerNode<?>) other).getValue();
+        if (otherChildren.size() != children.size()) {
+            return false;
+        }
+        for (DataContainerChild<? extends PathArgument, ?> otherChild : otherChildren) {
+            final DataContainerChild<? extends PathArgument, ?> child = children.get(otherChild.getIdentifier());
+            if (child == null || !child.equals(otherChild)) {
+                return false;
+            }
+        }
+        return true;
+    }
 }
@@ -48,6 +48,17 @@ public abstract class AbstractImmutableNormalizedNode<K extends PathArgument,V>
 
     protected abstract int valueHashCode();
 
+    /**
+     * Compare the value of this node with the value of a node of a different class, which has the same identifier.
+     * The default implementation considers such nodes to be different.
+     *
+     * @param other Other node
+     * @return True if the other node implements the same contract as this node and has an equal value
+     */
+    protected boolean foreignValueEquals(final NormalizedNode<?, ?> other) {
+        return false;
+    }
+
     @Override
     public final boolean equals(final Object obj) {
         if (this == obj) {
@@ -57,7 +68,11 @@ public abstract class AbstractImmutableNormalizedNode<K extends PathArgument,V>
             return false;
         }
         if (this.getClass() != obj.getClass()) {
-            return false;
+            // Other implementations of the same contract, such as nodes held off heap by a data tree, are compared
+            // through the NormalizedNode interface
+            return obj instanceof NormalizedNode
+                    && nodeIdentifier.equals(((NormalizedNode<?, ?>) obj).getIdentifier())
+                    && foreignValueEquals((NormalizedNode<?, ?>) obj);
         }
 
         final AbstractImmutableNormalizedNode<?, ?> other = (AbstractImmutableNormalizedNode<?, ?>)obj;
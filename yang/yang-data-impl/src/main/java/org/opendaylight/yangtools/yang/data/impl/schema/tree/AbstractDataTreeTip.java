@@ -33,30 +33,51 @@ abstract class AbstractDataTreeTip implements DataTreeTip {
     public final void validate(final DataTreeModification modification) throws DataValidationFailedException {
         final InMemoryDataTreeModification m = checkedCast(modification);
         checkArgument(m.isSealed(), "Attempted to verify unsealed modification %s", m);
-
-        m.getStrategy().checkApplicable(new ModificationPath(getRootPath()), m.getRootModification(),
-            Optional.of(getTipRoot()), m.getVersion());
+        validateAgainst(m, getTipRoot());
     }
 
     @Override
     public final DataTreeCandidateTip prepare(final DataTreeModification modification) {
         final InMemoryDataTreeModification m = checkedCast(modification);
         checkArgument(m.isSealed(), "Attempted to prepare unsealed modification %s", m);
+        return prepareAgainst(m, getTipRoot());
+    }
 
-        final ModifiedNode root = m.getRootModification();
+    /**
+     * Validate a sealed modification against specified root node.
+     *
+     * @param modification Sealed modification
+     * @param currentRoot Root node to validate against
+     * @throws DataValidationFailedException If modification data is not valid.
+     */
+    final void validateAgainst(final InMemoryDataTreeModification modification, final TreeNode currentRoot)
+            throws DataValidationFailedException {
+        modification.getStrategy().checkApplicable(new ModificationPath(getRootPath()),
+            modification.getRootModification(), Optional.of(currentRoot), modification.getVersion());
+    }
 
-        final TreeNode currentRoot = getTipRoot();
+    /**
+     * Prepare a sealed modification on top of specified root node.
+     *
+     * @param modification Sealed modification
+     * @param currentRoot Root node to which the modification is applied
+     * @return candidate data tree
+     */
+    static final AbstractDataTreeCandidate prepareAgainst(final InMemoryDataTreeModification modification,
+            final TreeNode currentRoot) {
+        final ModifiedNode root = modification.getRootModification();
         if (root.getOperation() == LogicalOperation.NONE) {
             return new NoopDataTreeCandidate(YangInstanceIdentifier.EMPTY, root, currentRoot);
         }
 
-        final Optional<TreeNode> newRoot = m.getStrategy().apply(m.getRootModification(), Optional.of(currentRoot),
-            m.getVersion());
-        checkState(newRoot.isPresent(), "Apply strategy failed to produce root node for modification %s", modification);
+        final Optional<TreeNode> newRoot = modification.getStrategy().apply(root, Optional.of(currentRoot),
+            modification.getVersion());
+        checkState(newRoot.isPresent(), "Apply strategy failed to produce root node for modification %s",
+            modification);
         return new InMemoryDataTreeCandidate(YangInstanceIdentifier.EMPTY, root, currentRoot, newRoot.get());
     }
 
-    private static InMemoryDataTreeModification checkedCast(final DataTreeModification mod) {
+    static final InMemoryDataTreeModification checkedCast(final DataTreeModification mod) {
         checkArgument(mod instanceof InMemoryDataTreeModification, "Invalid modification class %s", mod.getClass());
         return (InMemoryDataTreeModification)mod;
     }
@@ -15,8 +15,10 @@ import com.google.common.base.MoreObjects.ToStringHelper;
 import com.google.common.base.Verify;
 import java.util.Collection;
 import java.util.Optional;
+import java.util.Set;
 import org.eclipse.jdt.annotation.NonNull;
 import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
@@ -32,7 +34,12 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.DocumentedNode.WithStatus;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 
 abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         extends SchemaAwareApplyOperation<T> {
@@ -41,7 +48,7 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
 
         Invisible(final NormalizedNodeContainerSupport<?, ?> support, final DataTreeConfiguration treeConfig,
                 final SchemaAwareApplyOperation<T> entryStrategy) {
-            super(support, treeConfig);
+            super(support, treeConfig, entryStrategy.getSchema());
             this.entryStrategy = requireNonNull(entryStrategy);
         }
 
@@ -65,7 +72,7 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
 
         Visible(final NormalizedNodeContainerSupport<?, ?> support, final DataTreeConfiguration treeConfig,
             final T schema) {
-            super(support, treeConfig);
+            super(support, treeConfig, schema);
             this.schema = requireNonNull(schema);
         }
 
@@ -88,12 +95,52 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
     private static final Version FAKE_VERSION = Version.initial();
 
     private final NormalizedNodeContainerSupport<?, ?> support;
+    private final SiblingFanOut fanOut;
     private final boolean verifyChildrenStructure;
+    private final boolean checkTypeConstraints;
+    // Only sorted lists have a stored form different from the written one, hence we need to normalize children only
+    // if there is a sorted list somewhere below us
+    private final boolean normalizeStoredValues;
 
     AbstractNodeContainerModificationStrategy(final NormalizedNodeContainerSupport<?, ?> support,
-            final DataTreeConfiguration treeConfig) {
+            final DataTreeConfiguration treeConfig, final T schema) {
         this.support = requireNonNull(support);
+        this.fanOut = new SiblingFanOut(treeConfig);
         this.verifyChildrenStructure = treeConfig.getTreeType() == TreeType.CONFIGURATION;
+        this.checkTypeConstraints = treeConfig.isTypeConstraintValidationEnabled();
+        this.normalizeStoredValues = hasSortedListBelow(requireNonNull(schema), treeConfig.getSortedLists());
+    }
+
+    /**
+     * Check whether any list defined below a schema node is stored sorted. The node itself is not considered.
+     *
+     * @param schema Schema node
+     * @param sortedLists Names of sorted lists, see {@link DataTreeConfiguration#getSortedLists()}
+     * @return True if a sorted list is present in the subtree.
+     */
+    static boolean hasSortedListBelow(final WithStatus schema, final Set<QName> sortedLists) {
+        if (sortedLists.isEmpty()) {
+            return false;
+        }
+        if (schema instanceof ChoiceSchemaNode) {
+            for (final CaseSchemaNode caze : ((ChoiceSchemaNode) schema).getCases().values()) {
+                if (hasSortedListBelow(caze, sortedLists)) {
+                    return true;
+                }
+            }
+        } else if (schema instanceof DataNodeContainer) {
+            for (final DataSchemaNode child : ((DataNodeContainer) schema).getChildNodes()) {
+                if (child instanceof ListSchemaNode && sortedLists.contains(child.getQName())
+                        || hasSortedListBelow(child, sortedLists)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    final boolean normalizesStoredValues() {
+        return normalizeStoredValues;
     }
 
     @Override
@@ -112,16 +159,13 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
     final void verifyValueChildren(final NormalizedNode<?, ?> writtenValue) {
         if (verifyChildrenStructure) {
             final NormalizedNodeContainer<?, ?, ?> container = (NormalizedNodeContainer<?, ?, ?>) writtenValue;
-            for (final Object child : container.getValue()) {
-                checkArgument(child instanceof NormalizedNode);
-                final NormalizedNode<?, ?> castedChild = (NormalizedNode<?, ?>) child;
-                final Optional<ModificationApplyOperation> childOp = getChild(castedChild.getIdentifier());
-                if (childOp.isPresent()) {
-                    childOp.get().fullVerifyStructure(castedChild);
-                } else {
-                    throw new SchemaValidationFailedException(String.format(
-                            "Node %s is not a valid child of %s according to the schema.",
-                            castedChild.getIdentifier(), container.getIdentifier()));
+            final Collection<?> children = container.getValue();
+            if (fanOut.isParallel(children.size())) {
+                final Object[] array = children.toArray();
+                fanOut.forEach(array.length, i -> verifyChildStructure(container, array[i]));
+            } else {
+                for (final Object child : children) {
+                    verifyChildStructure(container, child);
                 }
             }
 
@@ -130,6 +174,83 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         mandatoryVerifyValueChildren(writtenValue);
     }
 
+    @Override
+    final void checkWrittenValue(final ModificationPath path, final NormalizedNode<?, ?> value)
+            throws DataValidationFailedException {
+        if (checkTypeConstraints) {
+            for (final Object child : ((NormalizedNodeContainer<?, ?, ?>) value).getValue()) {
+                checkChildValue(path, (NormalizedNode<?, ?>) child);
+            }
+        }
+    }
+
+    @Override
+    final void checkMergedValue(final ModificationPath path, final NodeModification modification)
+            throws DataValidationFailedException {
+        if (checkTypeConstraints) {
+            for (final Object child : ((NormalizedNodeContainer<?, ?, ?>) modification.getWrittenValue()).getValue()) {
+                final NormalizedNode<?, ?> castedChild = (NormalizedNode<?, ?>) child;
+                // Modified children are checked by checkMergeApplicable()
+                if (!modification.getChild(castedChild.getIdentifier()).isPresent()) {
+                    checkChildValue(path, castedChild);
+                }
+            }
+        }
+    }
+
+    @Override
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    NormalizedNode<?, ?> toStoredValue(final NormalizedNode<?, ?> value) {
+        if (!normalizeStoredValues || !(value instanceof NormalizedNodeContainer)) {
+            return value;
+        }
+
+        NormalizedNodeContainerBuilder builder = null;
+        for (final Object child : ((NormalizedNodeContainer<?, ?, ?>) value).getValue()) {
+            final NormalizedNode<?, ?> castedChild = (NormalizedNode<?, ?>) child;
+            // Structure is verified separately, we only care about children we understand
+            final Optional<ModificationApplyOperation> childOp = getChild(castedChild.getIdentifier());
+            if (childOp.isPresent()) {
+                final NormalizedNode<?, ?> stored = childOp.get().toStoredValue(castedChild);
+                if (stored != castedChild) {
+                    if (builder == null) {
+                        builder = support.createBuilder(value);
+                    }
+                    builder.addChild(stored);
+                }
+            }
+        }
+        return builder == null ? value : builder.build();
+    }
+
+    private void checkChildValue(final ModificationPath path, final NormalizedNode<?, ?> child)
+            throws DataValidationFailedException {
+        final PathArgument childId = child.getIdentifier();
+        final Optional<ModificationApplyOperation> childOp = getChild(childId);
+        // Structure is verified separately, we only care about children we understand
+        if (childOp.isPresent()) {
+            path.push(childId);
+            try {
+                childOp.get().checkWrittenValue(path, child);
+            } finally {
+                path.pop();
+            }
+        }
+    }
+
+    private void verifyChildStructure(final NormalizedNodeContainer<?, ?, ?> container, final Object child) {
+        checkArgument(child instanceof NormalizedNode);
+        final NormalizedNode<?, ?> castedChild = (NormalizedNode<?, ?>) child;
+        final Optional<ModificationApplyOperation> childOp = getChild(castedChild.getIdentifier());
+        if (childOp.isPresent()) {
+            childOp.get().fullVerifyStructure(castedChild);
+        } else {
+            throw new SchemaValidationFailedException(String.format(
+                    "Node %s is not a valid child of %s according to the schema.",
+                    castedChild.getIdentifier(), container.getIdentifier()));
+        }
+    }
+
     /**
      * Perform additional verification on written value's child structure, like presence of mandatory children and
      * exclusion. The default implementation does nothing and is not invoked for non-CONFIG data trees.
@@ -167,10 +288,24 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         }
     }
 
+    @Override
+    final void recursivelyVerifyMandatoryNodes(final NormalizedNode<?, ?> value) {
+        mandatoryVerifyValueChildren(value);
+        for (final Object child : ((NormalizedNodeContainer<?, ?, ?>) value).getValue()) {
+            final NormalizedNode<?, ?> castedChild = (NormalizedNode<?, ?>) child;
+            // Structure has been verified when the data was written, we only care about children we understand
+            final Optional<ModificationApplyOperation> childOp = getChild(castedChild.getIdentifier());
+            if (childOp.isPresent()) {
+                childOp.get().recursivelyVerifyMandatoryNodes(castedChild);
+            }
+        }
+    }
+
     @Override
     protected TreeNode applyWrite(final ModifiedNode modification, final NormalizedNode<?, ?> newValue,
             final Optional<TreeNode> currentMeta, final Version version) {
-        final TreeNode newValueMeta = TreeNodeFactory.createTreeNode(newValue, version);
+        final NormalizedNode<?, ?> storedValue = toStoredValue(newValue);
+        final TreeNode newValueMeta = TreeNodeFactory.createTreeNode(storedValue, version);
 
         if (modification.getChildren().isEmpty()) {
             return newValueMeta;
@@ -196,7 +331,7 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
         mutable.setSubtreeVersion(version);
 
         @SuppressWarnings("rawtypes")
-        final NormalizedNodeContainerBuilder dataBuilder = support.createBuilder(newValue);
+        final NormalizedNodeContainerBuilder dataBuilder = support.createBuilder(storedValue);
         final TreeNode result = mutateChildren(mutable, dataBuilder, version, modification.getChildren());
 
         // We are good to go except one detail: this is a single logical write, but
@@ -215,29 +350,65 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
      * @param modifications modification operations to apply
      * @return Sealed immutable copy of TreeNode structure with all Data Node references set.
      */
-    @SuppressWarnings({ "rawtypes", "unchecked" })
+    @SuppressWarnings("rawtypes")
     private TreeNode mutateChildren(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
-            final Version nodeVersion, final Iterable<ModifiedNode> modifications) {
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        if (fanOut.isParallel(modifications.size())) {
+            return mutateChildrenInParallel(meta, data, nodeVersion, modifications);
+        }
 
         for (final ModifiedNode mod : modifications) {
             final PathArgument id = mod.getIdentifier();
             final Optional<TreeNode> cm = meta.getChild(id);
 
             final Optional<TreeNode> result = resolveChildOperation(id).apply(mod, cm, nodeVersion);
-            if (result.isPresent()) {
-                final TreeNode tn = result.get();
-                meta.addChild(tn);
-                data.addChild(tn.getData());
-            } else {
-                meta.removeChild(id);
-                data.removeChild(id);
-            }
+            applyChildResult(meta, data, id, result);
+        }
+
+        meta.setData(data.build());
+        return meta.seal();
+    }
+
+    /**
+     * Variant of {@link #mutateChildren(MutableTreeNode, NormalizedNodeContainerBuilder, Version, Collection)} which
+     * applies children concurrently. Neither the MutableTreeNode nor the builder are thread-safe, hence we access them
+     * only from the calling thread, before and after the children have been applied.
+     */
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private TreeNode mutateChildrenInParallel(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final Version nodeVersion, final Collection<ModifiedNode> modifications) {
+        final ModifiedNode[] mods = modifications.toArray(new ModifiedNode[0]);
+        final Optional<TreeNode>[] results = new Optional[mods.length];
+        for (int i = 0; i < mods.length; ++i) {
+            results[i] = meta.getChild(mods[i].getIdentifier());
+        }
+
+        fanOut.forEach(mods.length, i -> {
+            final ModifiedNode mod = mods[i];
+            results[i] = resolveChildOperation(mod.getIdentifier()).apply(mod, results[i], nodeVersion);
+        });
+
+        for (int i = 0; i < mods.length; ++i) {
+            applyChildResult(meta, data, mods[i].getIdentifier(), results[i]);
         }
 
         meta.setData(data.build());
         return meta.seal();
     }
 
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static void applyChildResult(final MutableTreeNode meta, final NormalizedNodeContainerBuilder data,
+            final PathArgument id, final Optional<TreeNode> result) {
+        if (result.isPresent()) {
+            final TreeNode tn = result.get();
+            meta.addChild(tn);
+            data.addChild(tn.getData());
+        } else {
+            meta.removeChild(id);
+            data.removeChild(id);
+        }
+    }
+
     @Override
     protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta, final Version version) {
         /*
@@ -405,31 +576,74 @@ abstract class AbstractNodeContainerModificationStrategy<T extends WithStatus>
             final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
         if (current.isPresent()) {
             checkChildPreconditions(path, modification, current.get(), version);
+        } else if (checkTypeConstraints) {
+            checkChildValues(path, modification, version);
         }
     }
 
     /**
-     * Recursively check child preconditions.
+     * Check values of children of a merge into a non-existent node. There is nothing to conflict with, hence we only
+     * need to look at written and merged values.
      *
      * @param path current node path
      * @param modification current modification
-     * @param current Current data tree node.
      */
-    private void checkChildPreconditions(final ModificationPath path, final NodeModification modification,
-            final TreeNode current, final Version version) throws DataValidationFailedException {
+    private void checkChildValues(final ModificationPath path, final NodeModification modification,
+            final Version version) throws DataValidationFailedException {
         for (final NodeModification childMod : modification.getChildren()) {
             final PathArgument childId = childMod.getIdentifier();
-            final Optional<TreeNode> childMeta = current.getChild(childId);
-
             path.push(childId);
             try {
-                resolveChildOperation(childId).checkApplicable(path, childMod, childMeta, version);
+                switch (childMod.getOperation()) {
+                    case WRITE:
+                        resolveChildOperation(childId).checkWrittenValue(path, childMod.getWrittenValue());
+                        break;
+                    case MERGE:
+                        resolveChildOperation(childId).checkApplicable(path, childMod, Optional.empty(), version);
+                        break;
+                    default:
+                        break;
+                }
             } finally {
                 path.pop();
             }
         }
     }
 
+    /**
+     * Recursively check child preconditions.
+     *
+     * @param path current node path
+     * @param modification current modification
+     * @param current Current data tree node.
+     */
+    private void checkChildPreconditions(final ModificationPath path, final NodeModification modification,
+            final TreeNode current, final Version version) throws DataValidationFailedException {
+        final Collection<? extends NodeModification> children = modification.getChildren();
+        if (fanOut.isParallel(children.size())) {
+            // ModificationPath is not thread-safe, each child gets its own copy
+            final NodeModification[] array = children.toArray(new NodeModification[0]);
+            fanOut.forEach(array.length, i -> checkChildPrecondition(path.copy(), array[i], current, version));
+        } else {
+            for (final NodeModification childMod : children) {
+                checkChildPrecondition(path, childMod, current, version);
+            }
+        }
+    }
+
+    private void checkChildPrecondition(final ModificationPath path, final NodeModification childMod,
+            final TreeNode current, final Version version) throws DataValidationFailedException {
+        final PathArgument childId = childMod.getIdentifier();
+        final Optional<TreeNode> childMeta = current.getChild(childId);
+
+        path.push(childId);
+        try {
+            resolveChildOperation(childId).checkApplicable(path, childMod, childMeta, version);
+        } finally {
+            path.pop();
+        }
+    }
+
     @Override
     public final String toString() {
         return addToStringAttributes(MoreObjects.toStringHelper(this)).toString();
@@ -25,7 +25,7 @@ abstract class ChildTrackingPolicy {
     static final ChildTrackingPolicy NONE = new ChildTrackingPolicy() {
         @Override
         Map<PathArgument, ModifiedNode> createMap() {
-            // We cannot use ImmutableMap, as we need a functioning Map.clear()
+            // Never invoked, as ModifiedNode does not allow even a single child with this policy
             return Collections.emptyMap();
         }
     };
@@ -50,7 +50,8 @@ abstract class ChildTrackingPolicy {
     };
 
     /**
-     * Instantiate a new map for all possible children.
+     * Instantiate a new map for children. It is invoked only once a node has more than one child, as a single child
+     * is tracked without a map.
      *
      * @return An empty map instance
      */
@@ -43,7 +43,7 @@ class ContainerModificationStrategy extends DataNodeContainerModificationStrateg
         protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta,
                 final Version version) {
             final TreeNode ret = super.applyMerge(modification, currentMeta, version);
-            enforcer.enforceOnTreeNode(ret);
+            enforcer.enforceOnTreeNode(modification, ret);
             return ret;
         }
 
@@ -59,7 +59,7 @@ class ContainerModificationStrategy extends DataNodeContainerModificationStrateg
         protected TreeNode applyTouch(final ModifiedNode modification, final TreeNode currentMeta,
                 final Version version) {
             final TreeNode ret = super.applyTouch(modification, currentMeta, version);
-            enforcer.enforceOnTreeNode(ret);
+            enforcer.enforceOnTreeNode(modification, ret);
             return ret;
         }
     }
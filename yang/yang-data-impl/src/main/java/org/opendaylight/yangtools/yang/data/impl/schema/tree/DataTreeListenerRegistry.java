@@ -0,0 +1,290 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.base.MoreObjects.ToStringHelper;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableMap.Builder;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.concepts.AbstractListenerRegistration;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeChangeListener;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Registry of {@link DataTreeChangeListener}s attached to a data tree created by {@link InMemoryDataTreeFactory}.
+ * Listeners are notified synchronously by whichever thread commits a change into the tree, including commits made
+ * through {@link InMemoryDataTreeCommitPipeline}.
+ *
+ * <p>
+ * Registrations are kept in a trie keyed by {@link PathArgument}s. A {@link NodeIdentifier} in place of a list entry
+ * or leaf-set entry identifier acts as a wildcard, matching all entries of that list or leaf-set. When a change is
+ * committed, its candidate is walked once, descending only into children for which there are registrations and
+ * skipping those whose {@link TreeNode#getSubtreeVersion()} has not changed. The cost of a commit is therefore
+ * proportional to the part of the trie which intersects the change, not to the number of listeners.
+ */
+@Beta
+public final class DataTreeListenerRegistry {
+    private static final class Registration<L extends DataTreeChangeListener> extends AbstractListenerRegistration<L> {
+        private final DataTreeListenerRegistry registry;
+        private final ImmutableList<PathArgument> path;
+
+        Registration(final DataTreeListenerRegistry registry, final ImmutableList<PathArgument> path,
+                final L listener) {
+            super(listener);
+            this.registry = requireNonNull(registry);
+            this.path = requireNonNull(path);
+        }
+
+        @Override
+        protected void removeRegistration() {
+            registry.removeRegistration(this);
+        }
+
+        @Override
+        protected ToStringHelper addToStringAttributes(final ToStringHelper toStringHelper) {
+            return super.addToStringAttributes(toStringHelper).add("path", path);
+        }
+    }
+
+    /**
+     * An immutable node of the registration trie. Updates copy the nodes on the path from the root to the affected
+     * node, so that notifications can walk the trie without synchronization.
+     */
+    private static final class ListenerNode {
+        static final ListenerNode EMPTY = new ListenerNode(ImmutableMap.of(), ImmutableList.of());
+
+        final ImmutableMap<PathArgument, ListenerNode> children;
+        final ImmutableList<Registration<?>> registrations;
+
+        ListenerNode(final ImmutableMap<PathArgument, ListenerNode> children,
+                final ImmutableList<Registration<?>> registrations) {
+            this.children = requireNonNull(children);
+            this.registrations = requireNonNull(registrations);
+        }
+
+        boolean isEmpty() {
+            return children.isEmpty() && registrations.isEmpty();
+        }
+
+        ListenerNode withRegistration(final Registration<?> reg, final int offset) {
+            if (offset == reg.path.size()) {
+                return new ListenerNode(children, ImmutableList.<Registration<?>>builder().addAll(registrations)
+                    .add(reg).build());
+            }
+
+            final PathArgument arg = reg.path.get(offset);
+            final ListenerNode child = children.getOrDefault(arg, EMPTY);
+            return new ListenerNode(replaceChild(arg, child.withRegistration(reg, offset + 1)), registrations);
+        }
+
+        ListenerNode withoutRegistration(final Registration<?> reg, final int offset) {
+            if (offset == reg.path.size()) {
+                final ImmutableList.Builder<Registration<?>> builder = ImmutableList.builder();
+                for (Registration<?> existing : registrations) {
+                    if (existing != reg) {
+                        builder.add(existing);
+                    }
+                }
+                return new ListenerNode(children, builder.build());
+            }
+
+            final PathArgument arg = reg.path.get(offset);
+            final ListenerNode child = children.get(arg);
+            if (child == null) {
+                return this;
+            }
+
+            final ListenerNode newChild = child.withoutRegistration(reg, offset + 1);
+            return new ListenerNode(replaceChild(arg, newChild.isEmpty() ? null : newChild), registrations);
+        }
+
+        private ImmutableMap<PathArgument, ListenerNode> replaceChild(final PathArgument arg,
+                final ListenerNode child) {
+            final Builder<PathArgument, ListenerNode> builder = ImmutableMap.builder();
+            for (Entry<PathArgument, ListenerNode> entry : children.entrySet()) {
+                if (!arg.equals(entry.getKey())) {
+                    builder.put(entry);
+                }
+            }
+            if (child != null) {
+                builder.put(arg, child);
+            }
+            return builder.build();
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(DataTreeListenerRegistry.class);
+
+    private final YangInstanceIdentifier rootPath;
+
+    private volatile ListenerNode root = ListenerNode.EMPTY;
+
+    DataTreeListenerRegistry(final YangInstanceIdentifier rootPath) {
+        this.rootPath = requireNonNull(rootPath);
+    }
+
+    /**
+     * Return the listener registry of a data tree.
+     *
+     * @param tree Data tree
+     * @return Listener registry attached to the tree
+     * @throws IllegalArgumentException if the tree was not created by {@link InMemoryDataTreeFactory}
+     */
+    public static @NonNull DataTreeListenerRegistry of(final DataTree tree) {
+        checkArgument(tree instanceof InMemoryDataTree, "Unsupported data tree %s", tree);
+        return ((InMemoryDataTree) tree).getListenerRegistry();
+    }
+
+    /**
+     * Register a listener for changes at or underneath specified path. A {@link NodeIdentifier} in place of a list
+     * entry or a leaf-set entry identifier matches all entries.
+     *
+     * @param path Path to listen on, which has to be at or underneath the tree's root path
+     * @param listener Listener to register
+     * @return Listener registration, which needs to be closed to stop receiving notifications
+     * @throws NullPointerException if any argument is null
+     * @throws IllegalArgumentException if path is not at or underneath the tree's root path
+     */
+    public <L extends DataTreeChangeListener> @NonNull ListenerRegistration<L> registerListener(
+            final YangInstanceIdentifier path, final L listener) {
+        final Optional<YangInstanceIdentifier> relative = path.relativeTo(rootPath);
+        checkArgument(relative.isPresent(), "Path %s is not underneath root %s", path, rootPath);
+
+        final Registration<L> reg = new Registration<>(this, ImmutableList.copyOf(
+            relative.get().getPathArguments()), requireNonNull(listener));
+        synchronized (this) {
+            root = root.withRegistration(reg, 0);
+        }
+        LOG.debug("Registered {}", reg);
+        return reg;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("rootPath", rootPath).toString();
+    }
+
+    /**
+     * Notify listeners about a committed change.
+     *
+     * @param rootNode Root node of the committed candidate, corresponding to the tree's root path
+     */
+    void notifyListeners(final DataTreeCandidateNode rootNode) {
+        final ListenerNode trie = root;
+        if (trie.isEmpty()) {
+            return;
+        }
+
+        final Map<Registration<?>, List<DataTreeCandidate>> changes = new LinkedHashMap<>();
+        collectChanges(changes, trie, rootPath, rootNode);
+        for (Entry<Registration<?>, List<DataTreeCandidate>> entry : changes.entrySet()) {
+            notifyListener(entry.getKey(), entry.getValue());
+        }
+    }
+
+    private synchronized void removeRegistration(final Registration<?> reg) {
+        root = root.withoutRegistration(reg, 0);
+        LOG.debug("Unregistered {}", reg);
+    }
+
+    private static void collectChanges(final Map<Registration<?>, List<DataTreeCandidate>> changes,
+            final ListenerNode trie, final YangInstanceIdentifier path, final DataTreeCandidateNode node) {
+        if (isUnmodified(node)) {
+            return;
+        }
+
+        if (!trie.registrations.isEmpty()) {
+            final DataTreeCandidate candidate = DataTreeCandidates.newDataTreeCandidate(path, node);
+            for (Registration<?> reg : trie.registrations) {
+                changes.computeIfAbsent(reg, key -> new ArrayList<>()).add(candidate);
+            }
+        }
+
+        if (trie.children.isEmpty()) {
+            return;
+        }
+
+        final boolean wildcardParent = isWildcardParent(node);
+        for (Entry<PathArgument, ListenerNode> entry : trie.children.entrySet()) {
+            final PathArgument arg = entry.getKey();
+            if (wildcardParent && arg instanceof NodeIdentifier) {
+                for (DataTreeCandidateNode child : node.getChildNodes()) {
+                    final PathArgument childArg = child.getIdentifier();
+                    if (!(childArg instanceof NodeIdentifier) && arg.getNodeType().equals(childArg.getNodeType())) {
+                        collectChanges(changes, entry.getValue(), path.node(childArg), child);
+                    }
+                }
+            } else {
+                final Optional<DataTreeCandidateNode> child = node.getModifiedChild(arg);
+                if (child.isPresent()) {
+                    collectChanges(changes, entry.getValue(), path.node(arg), child.get());
+                }
+            }
+        }
+    }
+
+    private static boolean isUnmodified(final DataTreeCandidateNode node) {
+        if (node.getModificationType() == ModificationType.UNMODIFIED) {
+            return true;
+        }
+        if (node instanceof AbstractModifiedNodeBasedCandidateNode) {
+            // Every commit allocates a new version, hence a subtree with the same version has not been touched
+            final AbstractModifiedNodeBasedCandidateNode modified = (AbstractModifiedNodeBasedCandidateNode) node;
+            final TreeNode oldMeta = modified.getOldMeta();
+            final TreeNode newMeta = modified.getNewMeta();
+            return oldMeta != null && newMeta != null
+                    && oldMeta.getSubtreeVersion().equals(newMeta.getSubtreeVersion());
+        }
+        return false;
+    }
+
+    private static boolean isWildcardParent(final DataTreeCandidateNode node) {
+        final Optional<NormalizedNode<?, ?>> data = node.getDataAfter().isPresent() ? node.getDataAfter()
+                : node.getDataBefore();
+        return data.isPresent() && (data.get() instanceof MapNode || data.get() instanceof LeafSetNode);
+    }
+
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    private static void notifyListener(final Registration<?> reg, final List<DataTreeCandidate> changes) {
+        if (reg.isClosed()) {
+            return;
+        }
+
+        try {
+            reg.getInstance().onDataTreeChanged(changes);
+        } catch (RuntimeException e) {
+            LOG.warn("Listener {} failed to process changes {}", reg.getInstance(), changes, e);
+        }
+    }
+}
@@ -11,6 +11,7 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -24,18 +25,22 @@ final class DataTreeState {
     private final LatestOperationHolder holder;
     private final SchemaContext schemaContext;
     private final @NonNull TreeNode root;
+    private final @NonNull TreeNode origin;
 
     private DataTreeState(final TreeNode root) {
         this.root = requireNonNull(root);
+        this.origin = root;
         holder = new LatestOperationHolder();
         schemaContext = null;
     }
 
-    private DataTreeState(final TreeNode root, final LatestOperationHolder holder, final SchemaContext schemaContext) {
+    private DataTreeState(final TreeNode root, final TreeNode origin, final LatestOperationHolder holder,
+            final SchemaContext schemaContext) {
         // It should be impossible to instantiate a new root without a SchemaContext
         this.schemaContext = requireNonNull(schemaContext);
         this.holder = requireNonNull(holder);
         this.root = requireNonNull(root);
+        this.origin = requireNonNull(origin);
     }
 
     static DataTreeState createInitial(final TreeNode root) {
@@ -46,17 +51,28 @@ final class DataTreeState {
         return root;
     }
 
-    InMemoryDataTreeSnapshot newSnapshot() {
-        return new InMemoryDataTreeSnapshot(schemaContext, root, holder.newSnapshot());
+    /**
+     * Return the root node the current root has been derived from. This is the current root, unless some of its
+     * subtrees have been moved off heap by {@link OffHeapSubtreeTier}, in which case it is the root node of the last
+     * committed candidate.
+     *
+     * @return Origin root node
+     */
+    @NonNull TreeNode getOrigin() {
+        return origin;
+    }
+
+    InMemoryDataTreeSnapshot newSnapshot(final int readCacheSize, final @Nullable OffHeapSubtreeTier offHeapTier) {
+        return new InMemoryDataTreeSnapshot(schemaContext, root, holder.newSnapshot(), readCacheSize, offHeapTier);
     }
 
     DataTreeState withSchemaContext(final SchemaContext newSchemaContext, final ModificationApplyOperation operation) {
         holder.setCurrent(operation);
-        return new DataTreeState(root, holder, newSchemaContext);
+        return new DataTreeState(root, origin, holder, newSchemaContext);
     }
 
-    DataTreeState withRoot(final TreeNode newRoot) {
-        return new DataTreeState(newRoot, holder, schemaContext);
+    DataTreeState withRoot(final TreeNode newRoot, final TreeNode newOrigin) {
+        return new DataTreeState(newRoot, newOrigin, holder, schemaContext);
     }
 
     @Override
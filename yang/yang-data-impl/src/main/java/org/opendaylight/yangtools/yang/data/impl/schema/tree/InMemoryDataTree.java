@@ -11,14 +11,20 @@ import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.util.List;
 import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
-import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BatchingDataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
 import org.opendaylight.yangtools.yang.data.util.DataSchemaContextTree;
@@ -33,12 +39,14 @@ import org.slf4j.LoggerFactory;
 /**
  * Read-only snapshot of the data tree.
  */
-final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
+final class InMemoryDataTree extends AbstractDataTreeTip implements BatchingDataTree {
     private static final AtomicReferenceFieldUpdater<InMemoryDataTree, DataTreeState> STATE_UPDATER =
             AtomicReferenceFieldUpdater.newUpdater(InMemoryDataTree.class, DataTreeState.class, "state");
     private static final Logger LOG = LoggerFactory.getLogger(InMemoryDataTree.class);
 
     private final DataTreeConfiguration treeConfig;
+    private final OffHeapSubtreeTier offHeapTier;
+    private final DataTreeListenerRegistry listeners;
     private final boolean maskMandatory;
 
     /**
@@ -49,6 +57,8 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
     InMemoryDataTree(final TreeNode rootNode, final DataTreeConfiguration treeConfig,
         final SchemaContext schemaContext) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
+        offHeapTier = OffHeapSubtreeTier.create(treeConfig);
+        listeners = new DataTreeListenerRegistry(treeConfig.getRootPath());
         maskMandatory = true;
         state = DataTreeState.createInitial(rootNode);
         if (schemaContext != null) {
@@ -59,24 +69,29 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
     InMemoryDataTree(final TreeNode rootNode, final DataTreeConfiguration treeConfig,
             final SchemaContext schemaContext, final DataSchemaNode rootSchemaNode, final boolean maskMandatory) {
         this.treeConfig = requireNonNull(treeConfig, "treeConfig");
+        offHeapTier = OffHeapSubtreeTier.create(treeConfig);
+        listeners = new DataTreeListenerRegistry(treeConfig.getRootPath());
         this.maskMandatory = maskMandatory;
 
-        state = DataTreeState.createInitial(rootNode).withSchemaContext(schemaContext, getOperation(rootSchemaNode));
+        state = DataTreeState.createInitial(rootNode).withSchemaContext(schemaContext, getOperation(rootSchemaNode,
+            treeConfig));
     }
 
-    private ModificationApplyOperation getOperation(final DataSchemaNode rootSchemaNode) {
+    private ModificationApplyOperation getOperation(final DataSchemaNode rootSchemaNode,
+            final DataTreeConfiguration strategyConfig) {
         if (rootSchemaNode instanceof ContainerSchemaNode && maskMandatory) {
-            return new ContainerModificationStrategy((ContainerSchemaNode) rootSchemaNode, treeConfig);
+            return new ContainerModificationStrategy((ContainerSchemaNode) rootSchemaNode, strategyConfig);
         }
         if (rootSchemaNode instanceof ListSchemaNode) {
             final PathArgument arg = treeConfig.getRootPath().getLastPathArgument();
             if (arg instanceof NodeIdentifierWithPredicates) {
-                return maskMandatory ? new ListEntryModificationStrategy((ListSchemaNode) rootSchemaNode, treeConfig)
-                        : ListEntryModificationStrategy.of((ListSchemaNode) rootSchemaNode, treeConfig);
+                final ListSchemaNode listSchema = (ListSchemaNode) rootSchemaNode;
+                return maskMandatory ? new ListEntryModificationStrategy(listSchema, strategyConfig)
+                        : ListEntryModificationStrategy.of(listSchema, strategyConfig);
             }
         }
 
-        return SchemaAwareApplyOperation.from(rootSchemaNode, treeConfig);
+        return SchemaAwareApplyOperation.from(rootSchemaNode, strategyConfig);
     }
 
     /*
@@ -102,18 +117,54 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             return;
         }
 
-        final ModificationApplyOperation rootNode = getOperation(rootSchemaNode);
+        // Incremental validation of mandatory nodes relies on existing data having been validated against the schema,
+        // hence we validate it once here. Commits may be happening concurrently, so we need to validate the root we are
+        // replacing.
+        final boolean checkMandatory = treeConfig.isMandatoryNodesValidationEnabled()
+                && treeConfig.isIncrementalMandatoryNodesValidationEnabled();
+        ModificationApplyOperation rootNode = getOperation(rootSchemaNode, treeConfig);
+        boolean incremental = true;
+        TreeNode validatedRoot = null;
         DataTreeState currentState;
         DataTreeState newState;
         do {
             currentState = state;
+            final TreeNode currentRoot = currentState.getRoot();
+            if (checkMandatory && incremental && currentRoot != validatedRoot) {
+                validatedRoot = currentRoot;
+                if (!conformsToMandatoryNodes(rootNode, currentRoot)) {
+                    rootNode = getOperation(rootSchemaNode,
+                        treeConfig.copyBuilder().setIncrementalMandatoryNodesValidation(false).build());
+                    incremental = false;
+                }
+            }
             newState = currentState.withSchemaContext(newSchemaContext, rootNode);
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
     }
 
+    private boolean conformsToMandatoryNodes(final ModificationApplyOperation rootNode, final TreeNode root) {
+        if (!hasData(root)) {
+            return true;
+        }
+        try {
+            rootNode.recursivelyVerifyMandatoryNodes(root.getData());
+            return true;
+        } catch (IllegalArgumentException e) {
+            LOG.warn("Data in {} does not conform to the new schema, all mandatory nodes will be validated on each "
+                + "modification", getRootPath(), e);
+            return false;
+        }
+    }
+
+    private static boolean hasData(final TreeNode root) {
+        final NormalizedNode<?, ?> data = root.getData();
+        return !(data instanceof NormalizedNodeContainer) || !((NormalizedNodeContainer<?, ?, ?>) data).getValue()
+                .isEmpty();
+    }
+
     @Override
     public InMemoryDataTreeSnapshot takeSnapshot() {
-        return state.newSnapshot();
+        return state.newSnapshot(treeConfig.getReadCacheSize(), offHeapTier);
     }
 
     @Override
@@ -129,25 +180,70 @@ final class InMemoryDataTree extends AbstractDataTreeTip implements DataTree {
             LOG.trace("Data Tree is {}", NormalizedNodes.toStringTree(c.getTipRoot().getData()));
         }
 
-        final TreeNode newRoot = c.getTipRoot();
+        final TreeNode tipRoot = c.getTipRoot();
+        TreeNode newRoot = null;
         DataTreeState currentState;
         DataTreeState newState;
         do {
             currentState = state;
             final TreeNode currentRoot = currentState.getRoot();
-            LOG.debug("Updating datastore from {} to {}", currentRoot, newRoot);
+            LOG.debug("Updating datastore from {} to {}", currentRoot, tipRoot);
 
+            // The candidate may have been prepared on top of the previous candidate, before its subtrees have been
+            // moved off heap
             final TreeNode oldRoot = c.getBeforeRoot();
-            if (oldRoot != currentRoot) {
+            if (oldRoot != currentRoot && oldRoot != currentState.getOrigin()) {
                 final String oldStr = simpleToString(oldRoot);
                 final String currentStr = simpleToString(currentRoot);
                 throw new IllegalStateException("Store tree " + currentStr + " and candidate base " + oldStr
                     + " differ.");
             }
 
-            newState = currentState.withRoot(newRoot);
+            if (newRoot == null) {
+                newRoot = offHeapTier == null ? tipRoot
+                        : offHeapTier.commit(oldRoot, ImmutableList.of(c.getRootNode()), tipRoot);
+            }
+            newState = currentState.withRoot(newRoot, tipRoot);
             LOG.trace("Updated state from {} to {}", currentState, newState);
         } while (!STATE_UPDATER.compareAndSet(this, currentState, newState));
+
+        listeners.notifyListeners(c.getRootNode());
+    }
+
+    @Override
+    public InMemoryDataTreeBatch prepareBatch(final List<DataTreeModification> modifications) {
+        return InMemoryDataTreeBatch.prepare(this, modifications);
+    }
+
+    /**
+     * Atomically replace the root node, provided it has not changed.
+     *
+     * @param expectedRoot Expected current root node
+     * @param changes Root nodes of candidates which lead from {@code expectedRoot} to {@code newRoot}
+     * @param newRoot New root node
+     * @return True if the root has been replaced, false if the current root is not {@code expectedRoot}
+     */
+    boolean replaceRoot(final TreeNode expectedRoot, final List<DataTreeCandidateNode> changes,
+            final TreeNode newRoot) {
+        TreeNode root = null;
+        DataTreeState currentState;
+        do {
+            currentState = state;
+            if (currentState.getRoot() != expectedRoot) {
+                return false;
+            }
+            if (root == null) {
+                root = offHeapTier == null ? newRoot : offHeapTier.commit(expectedRoot, changes, newRoot);
+            }
+        } while (!STATE_UPDATER.compareAndSet(this, currentState, currentState.withRoot(root, newRoot)));
+
+        LOG.debug("Updated datastore from {} to {}", expectedRoot, root);
+        changes.forEach(listeners::notifyListeners);
+        return true;
+    }
+
+    DataTreeListenerRegistry getListenerRegistry() {
+        return listeners;
     }
 
     private static String simpleToString(final Object obj) {
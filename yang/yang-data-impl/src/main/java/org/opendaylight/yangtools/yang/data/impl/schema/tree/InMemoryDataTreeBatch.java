@@ -0,0 +1,230 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeBatch;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DataTreeBatch} produced by {@link InMemoryDataTree}.
+ *
+ * <p>
+ * Each modification is first validated against the current root. If the accepted modifications do not overlap, i.e.
+ * none of them touches a node at or below a node written, merged or deleted by an earlier one, they are replayed into
+ * a single modification, which is then validated and applied once. If they overlap, or the combined modification fails
+ * to validate, we fall back to validating each modification on top of its predecessors to find out which ones need to
+ * be rejected. The accepted modifications are then combined as before.
+ */
+final class InMemoryDataTreeBatch implements DataTreeBatch {
+    /**
+     * The set of paths affected by a set of modifications, organized as a tree.
+     */
+    private static final class Footprint {
+        private final Map<PathArgument, Footprint> children = new HashMap<>();
+        private boolean terminal;
+
+        boolean overlaps(final ModifiedNode node) {
+            if (terminal) {
+                return true;
+            }
+
+            switch (node.getOperation()) {
+                case NONE:
+                    return false;
+                case TOUCH:
+                    for (ModifiedNode child : node.getChildren()) {
+                        final Footprint footprint = children.get(child.getIdentifier());
+                        if (footprint != null && footprint.overlaps(child)) {
+                            return true;
+                        }
+                    }
+                    return false;
+                default:
+                    // Everything underneath this node is affected, we can only proceed if nothing was touched
+                    return !children.isEmpty();
+            }
+        }
+
+        void record(final ModifiedNode node) {
+            switch (node.getOperation()) {
+                case NONE:
+                    break;
+                case TOUCH:
+                    for (ModifiedNode child : node.getChildren()) {
+                        children.computeIfAbsent(child.getIdentifier(), key -> new Footprint()).record(child);
+                    }
+                    break;
+                default:
+                    terminal = true;
+                    children.clear();
+            }
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryDataTreeBatch.class);
+
+    private final AbstractDataTreeCandidate candidate;
+    private final ImmutableList<DataTreeModification> accepted;
+    private final ImmutableMap<DataTreeModification, DataValidationFailedException> failures;
+
+    private InMemoryDataTreeBatch(final AbstractDataTreeCandidate candidate,
+            final List<InMemoryDataTreeModification> accepted,
+            final Map<InMemoryDataTreeModification, DataValidationFailedException> failures) {
+        this.candidate = requireNonNull(candidate);
+        this.accepted = ImmutableList.copyOf(accepted);
+        this.failures = ImmutableMap.copyOf(failures);
+    }
+
+    static InMemoryDataTreeBatch prepare(final InMemoryDataTree tree,
+            final List<? extends DataTreeModification> modifications) {
+        final List<InMemoryDataTreeModification> mods = new ArrayList<>(modifications.size());
+        for (DataTreeModification modification : modifications) {
+            final InMemoryDataTreeModification m = AbstractDataTreeTip.checkedCast(requireNonNull(modification));
+            checkArgument(m.isSealed(), "Attempted to prepare unsealed modification %s", m);
+            mods.add(m);
+        }
+
+        final InMemoryDataTreeSnapshot snapshot = tree.takeSnapshot();
+        final TreeNode baseRoot = snapshot.getRootNode();
+
+        final List<InMemoryDataTreeModification> accepted = new ArrayList<>(mods.size());
+        final Map<InMemoryDataTreeModification, DataValidationFailedException> failures = new LinkedHashMap<>();
+        final Footprint footprint = new Footprint();
+        boolean disjoint = true;
+        for (InMemoryDataTreeModification m : mods) {
+            try {
+                tree.validateAgainst(m, baseRoot);
+            } catch (DataValidationFailedException e) {
+                LOG.debug("Modification {} failed to validate", m, e);
+                failures.put(m, e);
+                continue;
+            }
+
+            final ModifiedNode root = m.getRootModification();
+            if (footprint.overlaps(root)) {
+                disjoint = false;
+                break;
+            }
+            footprint.record(root);
+            accepted.add(m);
+        }
+
+        if (disjoint) {
+            final InMemoryDataTreeModification combined = combine(snapshot, accepted);
+            try {
+                tree.validateAgainst(combined, baseRoot);
+                return new InMemoryDataTreeBatch(AbstractDataTreeTip.prepareAgainst(combined, baseRoot), accepted,
+                    failures);
+            } catch (DataValidationFailedException e) {
+                LOG.debug("Combined modification {} failed to validate, validating modifications separately",
+                    combined, e);
+            }
+        }
+
+        // Slow path: validate each modification on top of the previous ones
+        accepted.clear();
+        failures.clear();
+        TreeNode tip = baseRoot;
+        for (InMemoryDataTreeModification m : mods) {
+            try {
+                tree.validateAgainst(m, tip);
+            } catch (DataValidationFailedException e) {
+                LOG.debug("Modification {} failed to validate", m, e);
+                failures.put(m, e);
+                continue;
+            }
+
+            tip = AbstractDataTreeTip.prepareAgainst(m, tip).getTipRoot();
+            accepted.add(m);
+        }
+
+        return new InMemoryDataTreeBatch(AbstractDataTreeTip.prepareAgainst(combine(snapshot, accepted), baseRoot),
+            accepted, failures);
+    }
+
+    @Override
+    public DataTreeCandidateTip getCandidate() {
+        return candidate;
+    }
+
+    @Override
+    public List<DataTreeModification> getAcceptedModifications() {
+        return accepted;
+    }
+
+    @Override
+    public Map<DataTreeModification, DataValidationFailedException> getFailures() {
+        return failures;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("candidate", candidate).add("accepted", accepted.size())
+                .add("failures", failures.size()).toString();
+    }
+
+    /**
+     * Replay specified modifications into a single sealed modification based on a snapshot.
+     *
+     * @param snapshot Base snapshot
+     * @param modifications Modifications to replay
+     * @return Combined modification
+     */
+    private static InMemoryDataTreeModification combine(final InMemoryDataTreeSnapshot snapshot,
+            final List<InMemoryDataTreeModification> modifications) {
+        final InMemoryDataTreeModification combined = snapshot.newModification();
+        for (InMemoryDataTreeModification m : modifications) {
+            final ModifiedNode root = m.getRootModification();
+            switch (root.getOperation()) {
+                case NONE:
+                    continue;
+                case DELETE:
+                    combined.delete(YangInstanceIdentifier.EMPTY);
+                    continue;
+                case MERGE:
+                    combined.merge(YangInstanceIdentifier.EMPTY, root.getWrittenValue());
+                    break;
+                case WRITE:
+                    combined.write(YangInstanceIdentifier.EMPTY, root.getWrittenValue());
+                    break;
+                case TOUCH:
+                    break;
+                default:
+                    throw new IllegalStateException("Unhandled root operation " + root.getOperation());
+            }
+
+            if (!root.getChildren().isEmpty()) {
+                try (DataTreeModificationCursor cursor = combined.openCursor()) {
+                    m.applyToCursor(cursor);
+                }
+            }
+        }
+
+        combined.ready();
+        return combined;
+    }
+}
@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.util.concurrent.ListenableFuture;
+import com.google.common.util.concurrent.SettableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCommitPipeline;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A lock-free {@link DataTreeCommitPipeline} for data trees created by {@link InMemoryDataTreeFactory}.
+ *
+ * <p>
+ * Submitted modifications are placed into a queue. Whichever submitting thread finds the pipeline idle becomes the
+ * committer and drains the queue in batches. Each modification in a batch is validated against the tip produced by its
+ * predecessors, which detects conflicts through the usual version checks, and is then rebased onto that tip by
+ * applying it. The resulting root is installed with a single compare-and-set. If the tree has been modified by other
+ * means in the meantime, the whole batch is processed again against the new root.
+ */
+@Beta
+public final class InMemoryDataTreeCommitPipeline implements DataTreeCommitPipeline {
+    private static final class Submission {
+        final SettableFuture<DataTreeCandidate> future = SettableFuture.create();
+        final InMemoryDataTreeModification modification;
+
+        DataTreeCandidate candidate;
+        Exception failure;
+
+        Submission(final InMemoryDataTreeModification modification) {
+            this.modification = requireNonNull(modification);
+        }
+
+        void complete(final boolean committed) {
+            if (committed && candidate != null) {
+                future.set(candidate);
+            } else if (failure != null) {
+                future.setException(failure);
+            } else {
+                future.setException(new IllegalStateException("Failed to commit " + modification));
+            }
+        }
+    }
+
+    public static final int DEFAULT_MAX_BATCH_SIZE = 1000;
+
+    private static final AtomicIntegerFieldUpdater<InMemoryDataTreeCommitPipeline> DRAINING_UPDATER =
+            AtomicIntegerFieldUpdater.newUpdater(InMemoryDataTreeCommitPipeline.class, "draining");
+    private static final Logger LOG = LoggerFactory.getLogger(InMemoryDataTreeCommitPipeline.class);
+
+    private final Queue<Submission> queue = new ConcurrentLinkedQueue<>();
+    private final InMemoryDataTree tree;
+    private final int maxBatchSize;
+
+    private volatile int draining;
+
+    private InMemoryDataTreeCommitPipeline(final InMemoryDataTree tree, final int maxBatchSize) {
+        this.tree = requireNonNull(tree);
+        this.maxBatchSize = maxBatchSize;
+    }
+
+    /**
+     * Create a new pipeline committing into specified tree, using {@link #DEFAULT_MAX_BATCH_SIZE}.
+     *
+     * @param tree Target data tree
+     * @return A new pipeline
+     * @throws IllegalArgumentException if the tree was not created by {@link InMemoryDataTreeFactory}
+     */
+    public static @NonNull InMemoryDataTreeCommitPipeline create(final DataTree tree) {
+        return create(tree, DEFAULT_MAX_BATCH_SIZE);
+    }
+
+    /**
+     * Create a new pipeline committing into specified tree.
+     *
+     * @param tree Target data tree
+     * @param maxBatchSize Maximum number of modifications committed at once
+     * @return A new pipeline
+     * @throws IllegalArgumentException if the tree was not created by {@link InMemoryDataTreeFactory} or if
+     *                                  {@code maxBatchSize} is not positive
+     */
+    public static @NonNull InMemoryDataTreeCommitPipeline create(final DataTree tree, final int maxBatchSize) {
+        checkArgument(tree instanceof InMemoryDataTree, "Unsupported data tree %s", tree);
+        checkArgument(maxBatchSize > 0, "Invalid batch size %s", maxBatchSize);
+        return new InMemoryDataTreeCommitPipeline((InMemoryDataTree) tree, maxBatchSize);
+    }
+
+    @Override
+    public ListenableFuture<DataTreeCandidate> submit(final DataTreeModification modification) {
+        final InMemoryDataTreeModification m = AbstractDataTreeTip.checkedCast(requireNonNull(modification));
+        checkArgument(m.isSealed(), "Attempted to submit unsealed modification %s", m);
+
+        final Submission submission = new Submission(m);
+        queue.add(submission);
+        drain();
+        return submission.future;
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("tree", tree).add("maxBatchSize", maxBatchSize).toString();
+    }
+
+    private void drain() {
+        // Re-check the queue after releasing the flag, so a submission racing with us is not left behind
+        while (!queue.isEmpty() && DRAINING_UPDATER.compareAndSet(this, 0, 1)) {
+            final List<Submission> batch = new ArrayList<>();
+            boolean committed = false;
+            try {
+                Submission submission;
+                while (batch.size() < maxBatchSize && (submission = queue.poll()) != null) {
+                    batch.add(submission);
+                }
+                commitBatch(batch);
+                committed = true;
+            } finally {
+                draining = 0;
+
+                // Complete futures outside of the critical section, so their listeners can submit more work
+                for (Submission submission : batch) {
+                    submission.complete(committed);
+                }
+            }
+        }
+    }
+
+    private void commitBatch(final List<Submission> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        while (true) {
+            final TreeNode baseRoot = tree.getTipRoot();
+            final List<DataTreeCandidateNode> changes = new ArrayList<>(batch.size());
+            TreeNode tip = baseRoot;
+            for (Submission submission : batch) {
+                tip = rebase(submission, tip);
+                if (submission.candidate != null) {
+                    changes.add(submission.candidate.getRootNode());
+                }
+            }
+
+            if (tip == baseRoot || tree.replaceRoot(baseRoot, changes, tip)) {
+                LOG.debug("Committed batch of {} modifications", batch.size());
+                return;
+            }
+
+            LOG.debug("Tree root changed while committing batch of {} modifications, retrying", batch.size());
+        }
+    }
+
+    private TreeNode rebase(final Submission submission, final TreeNode tip) {
+        final InMemoryDataTreeModification modification = submission.modification;
+        submission.candidate = null;
+        submission.failure = null;
+
+        try {
+            tree.validateAgainst(modification, tip);
+        } catch (DataValidationFailedException e) {
+            LOG.debug("Modification {} failed to validate", modification, e);
+            submission.failure = e;
+            return tip;
+        }
+
+        final AbstractDataTreeCandidate candidate;
+        try {
+            candidate = AbstractDataTreeTip.prepareAgainst(modification, tip);
+        } catch (IllegalArgumentException | IllegalStateException e) {
+            LOG.debug("Modification {} failed to apply", modification, e);
+            submission.failure = e;
+            return tip;
+        }
+
+        submission.candidate = candidate;
+        return candidate.getTipRoot();
+    }
+}
@@ -105,6 +105,7 @@ final class InMemoryDataTreeModification extends AbstractCursorAware implements
          * the requested path which has been modified. If no such node exists,
          * we use the node itself.
          */
+        snapshot.recordRead(path);
         final Entry<YangInstanceIdentifier, ModifiedNode> entry = StoreTreeNodes.findClosestsOrFirstMatch(rootNode,
             path, ModifiedNode.IS_TERMINAL_PREDICATE);
         final YangInstanceIdentifier key = entry.getKey();
@@ -10,8 +10,14 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
@@ -27,12 +33,28 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
     private final @NonNull RootApplyStrategy applyOper;
     private final @NonNull SchemaContext schemaContext;
     private final @NonNull TreeNode rootNode;
+    private final @Nullable OffHeapSubtreeTier offHeapTier;
+    private final int readCacheSize;
+
+    /*
+     * Parent nodes resolved by readNode(), along with their ancestors, instantiated on first use. Since the snapshot is
+     * immutable, entries never need to be invalidated.
+     */
+    private volatile Cache<YangInstanceIdentifier, NormalizedNode<?, ?>> readCache;
 
     InMemoryDataTreeSnapshot(final SchemaContext schemaContext, final TreeNode rootNode,
             final RootApplyStrategy applyOper) {
+        this(schemaContext, rootNode, applyOper, 0, null);
+    }
+
+    InMemoryDataTreeSnapshot(final SchemaContext schemaContext, final TreeNode rootNode,
+            final RootApplyStrategy applyOper, final int readCacheSize,
+            final @Nullable OffHeapSubtreeTier offHeapTier) {
         this.schemaContext = requireNonNull(schemaContext);
         this.rootNode = requireNonNull(rootNode);
         this.applyOper = requireNonNull(applyOper);
+        this.readCacheSize = readCacheSize;
+        this.offHeapTier = offHeapTier;
     }
 
     TreeNode getRootNode() {
@@ -44,9 +66,89 @@ final class InMemoryDataTreeSnapshot extends AbstractCursorAware implements Curs
         return schemaContext;
     }
 
+    /**
+     * Account for a read of specified path, either directly or by a modification based on this snapshot.
+     *
+     * @param path Path being read
+     */
+    void recordRead(final YangInstanceIdentifier path) {
+        if (offHeapTier != null) {
+            offHeapTier.recordRead(path);
+        }
+    }
+
     @Override
     public Optional<NormalizedNode<?, ?>> readNode(final YangInstanceIdentifier path) {
-        return NormalizedNodes.findNode(rootNode.getData(), path);
+        recordRead(path);
+        if (readCacheSize == 0) {
+            return NormalizedNodes.findNode(rootNode.getData(), path);
+        }
+
+        final YangInstanceIdentifier parentPath = path.getParent();
+        if (parentPath == null || parentPath.isEmpty()) {
+            return NormalizedNodes.findNode(rootNode.getData(), path);
+        }
+
+        // Identifiers of siblings typically share their parent, making its hashCode() and equals() cheap
+        final Cache<YangInstanceIdentifier, NormalizedNode<?, ?>> cache = readCache();
+        NormalizedNode<?, ?> parent = cache.getIfPresent(parentPath);
+        if (parent == null) {
+            parent = resolveParent(cache, parentPath);
+            if (parent == null) {
+                return Optional.empty();
+            }
+        }
+        return NormalizedNodes.getDirectChild(parent, path.getLastPathArgument());
+    }
+
+    /*
+     * Resolve a node starting from its longest cached ancestor, caching all the intermediate nodes on the way down, so
+     * that reads of its cousins can start from their common ancestor.
+     */
+    private NormalizedNode<?, ?> resolveParent(final Cache<YangInstanceIdentifier, NormalizedNode<?, ?>> cache,
+            final YangInstanceIdentifier parentPath) {
+        final Deque<YangInstanceIdentifier> missing = new ArrayDeque<>();
+        missing.push(parentPath);
+
+        NormalizedNode<?, ?> node = null;
+        YangInstanceIdentifier ancestor = parentPath.getParent();
+        while (ancestor != null && !ancestor.isEmpty()) {
+            node = cache.getIfPresent(ancestor);
+            if (node != null) {
+                break;
+            }
+            missing.push(ancestor);
+            ancestor = ancestor.getParent();
+        }
+        if (node == null) {
+            node = rootNode.getData();
+        }
+
+        do {
+            final YangInstanceIdentifier prefix = missing.pop();
+            final Optional<NormalizedNode<?, ?>> child = NormalizedNodes.getDirectChild(node,
+                prefix.getLastPathArgument());
+            if (!child.isPresent()) {
+                return null;
+            }
+            node = child.get();
+            cache.put(prefix, node);
+        } while (!missing.isEmpty());
+        return node;
+    }
+
+    @VisibleForTesting
+    Cache<YangInstanceIdentifier, NormalizedNode<?, ?>> readCache() {
+        Cache<YangInstanceIdentifier, NormalizedNode<?, ?>> ret = readCache;
+        if (ret == null) {
+            synchronized (this) {
+                ret = readCache;
+                if (ret == null) {
+                    readCache = ret = CacheBuilder.newBuilder().maximumSize(readCacheSize).build();
+                }
+            }
+        }
+        return ret;
     }
 
     @Override
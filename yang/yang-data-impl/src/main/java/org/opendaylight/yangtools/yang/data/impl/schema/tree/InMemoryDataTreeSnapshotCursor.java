@@ -12,12 +12,18 @@ import static com.google.common.base.Preconditions.checkState;
 
 import java.util.ArrayDeque;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.Optional;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodeContainer;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapNodeBuilder;
 
 final class InMemoryDataTreeSnapshotCursor extends AbstractCursor<InMemoryDataTreeSnapshot> {
     private final Deque<NormalizedNodeContainer<?, ?, ?>> stack = new ArrayDeque<>();
@@ -76,4 +82,19 @@ final class InMemoryDataTreeSnapshotCursor extends AbstractCursor<InMemoryDataTr
     public Optional<NormalizedNode<?, ?>> readNode(final PathArgument child) {
         return NormalizedNodes.findNode(stack.peek(), child);
     }
+
+    @Override
+    public Iterator<MapEntryNode> readRange(final NodeIdentifier child, final NodeIdentifierWithPredicates fromKey,
+            final NodeIdentifierWithPredicates toKey) {
+        // Snapshot data is immutable, hence we can iterate over sorted storage directly
+        final Optional<NormalizedNode<?, ?>> maybeNode = readNode(child);
+        if (maybeNode.isPresent() && maybeNode.get() instanceof MapNode) {
+            final Optional<Iterator<MapEntryNode>> range = ImmutableMapNodeBuilder.sortedRange(
+                (MapNode) maybeNode.get(), fromKey, toKey);
+            if (range.isPresent()) {
+                return range.get();
+            }
+        }
+        return super.readRange(child, fromKey, toKey);
+    }
 }
@@ -34,7 +34,7 @@ final class LeafSetModificationStrategy extends Invisible<LeafListSchemaNode> {
 
     LeafSetModificationStrategy(final LeafListSchemaNode schema, final DataTreeConfiguration treeConfig) {
         super(schema.isUserOrdered() ? ORDERED_SUPPORT : UNORDERED_SUPPORT, treeConfig,
-                new ValueNodeModificationStrategy<>(LeafSetEntryNode.class, schema));
+                new ValueNodeModificationStrategy<>(LeafSetEntryNode.class, schema, treeConfig));
     }
 
     @Override
@@ -39,7 +39,7 @@ class ListEntryModificationStrategy extends DataNodeContainerModificationStrateg
         protected TreeNode applyMerge(final ModifiedNode modification, final TreeNode currentMeta,
                 final Version version) {
             final TreeNode ret = super.applyMerge(modification, currentMeta, version);
-            enforcer.enforceOnTreeNode(ret);
+            enforcer.enforceOnTreeNode(modification, ret);
             return ret;
         }
 
@@ -55,7 +55,7 @@ class ListEntryModificationStrategy extends DataNodeContainerModificationStrateg
         protected TreeNode applyTouch(final ModifiedNode modification, final TreeNode currentMeta,
                 final Version version) {
             final TreeNode ret = super.applyTouch(modification, currentMeta, version);
-            enforcer.enforceOnTreeNode(ret);
+            enforcer.enforceOnTreeNode(modification, ret);
             return ret;
         }
     }
@@ -12,10 +12,15 @@ import static java.util.Objects.requireNonNull;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableList.Builder;
+import com.google.common.collect.ImmutableListMultimap;
+import com.google.common.collect.Multimaps;
+import java.util.Collection;
+import java.util.Map.Entry;
 import java.util.Optional;
 import org.opendaylight.yangtools.concepts.Immutable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
@@ -34,12 +39,17 @@ final class MandatoryLeafEnforcer implements Immutable {
     private static final Logger LOG = LoggerFactory.getLogger(MandatoryLeafEnforcer.class);
 
     private final ImmutableList<YangInstanceIdentifier> mandatoryNodes;
+    // Mandatory nodes indexed by the direct child through which they are reachable
+    private final ImmutableListMultimap<PathArgument, YangInstanceIdentifier> mandatoryChildren;
+    private final boolean incremental;
 
-    private MandatoryLeafEnforcer(final ImmutableList<YangInstanceIdentifier> mandatoryNodes) {
+    private MandatoryLeafEnforcer(final ImmutableList<YangInstanceIdentifier> mandatoryNodes,
+            final boolean incremental) {
         this.mandatoryNodes = requireNonNull(mandatoryNodes);
+        mandatoryChildren = Multimaps.index(mandatoryNodes, id -> id.getPathArguments().get(0));
+        this.incremental = incremental;
     }
 
-
     static Optional<MandatoryLeafEnforcer> forContainer(final DataNodeContainer schema,
             final DataTreeConfiguration treeConfig) {
         if (!treeConfig.isMandatoryNodesValidationEnabled()) {
@@ -49,7 +59,8 @@ final class MandatoryLeafEnforcer implements Immutable {
         final Builder<YangInstanceIdentifier> builder = ImmutableList.builder();
         findMandatoryNodes(builder, YangInstanceIdentifier.EMPTY, schema, treeConfig.getTreeType());
         final ImmutableList<YangInstanceIdentifier> mandatoryNodes = builder.build();
-        return mandatoryNodes.isEmpty() ? Optional.empty() : Optional.of(new MandatoryLeafEnforcer(mandatoryNodes));
+        return mandatoryNodes.isEmpty() ? Optional.empty() : Optional.of(new MandatoryLeafEnforcer(mandatoryNodes,
+            treeConfig.isIncrementalMandatoryNodesValidationEnabled()));
     }
 
     void enforceOnData(final NormalizedNode<?, ?> data) {
@@ -63,6 +74,36 @@ final class MandatoryLeafEnforcer implements Immutable {
         enforceOnData(tree.getData());
     }
 
+    /**
+     * Enforce mandatory descendants on the result of applying a modification to a node which has already been
+     * enforced. Descendants can only have disappeared through children which have been modified, hence this check
+     * scales with the number of mandatory children, not with the size of the data.
+     *
+     * <p>
+     * Data which predates the current schema may not have been enforced at all, hence if incremental validation is
+     * disabled, which is the case when such data has been found not to conform to the schema, all mandatory
+     * descendants are checked.
+     *
+     * @param modification Applied modification
+     * @param tree Resulting node
+     */
+    void enforceOnTreeNode(final ModifiedNode modification, final TreeNode tree) {
+        final NormalizedNode<?, ?> data = tree.getData();
+        if (!incremental) {
+            enforceOnData(data);
+            return;
+        }
+
+        for (Entry<PathArgument, Collection<YangInstanceIdentifier>> entry : mandatoryChildren.asMap().entrySet()) {
+            if (modification.getChild(entry.getKey()).isPresent()) {
+                for (YangInstanceIdentifier id : entry.getValue()) {
+                    checkArgument(NormalizedNodes.findNode(data, id).isPresent(),
+                        "Node %s is missing mandatory descendant %s", data.getIdentifier(), id);
+                }
+            }
+        }
+    }
+
     private static void findMandatoryNodes(final Builder<YangInstanceIdentifier> builder,
             final YangInstanceIdentifier id, final DataNodeContainer schema, final TreeType type) {
         for (final DataSchemaNode child : schema.getChildNodes()) {
@@ -9,14 +9,18 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.Comparator;
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
 import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.MapEntryKeyComparator;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
@@ -34,24 +38,39 @@ final class MapModificationStrategy extends Invisible<ListSchemaNode> {
                     ImmutableMapNodeBuilder::create);
 
     private final @NonNull MapNode emptyNode;
+    // Non-null if the list is stored sorted by its keys
+    private final @Nullable Comparator<NodeIdentifierWithPredicates> comparator;
 
     private MapModificationStrategy(final NormalizedNodeContainerSupport<?, ?> support, final ListSchemaNode schema,
-        final DataTreeConfiguration treeConfig, final MapNode emptyNode) {
+        final DataTreeConfiguration treeConfig, final MapNode emptyNode,
+        final @Nullable Comparator<NodeIdentifierWithPredicates> comparator) {
         super(support, treeConfig, ListEntryModificationStrategy.of(schema, treeConfig));
         this.emptyNode = requireNonNull(emptyNode);
+        this.comparator = comparator;
     }
 
     static MapModificationStrategy of(final ListSchemaNode schema, final DataTreeConfiguration treeConfig) {
         final NormalizedNodeContainerSupport<?, ?> support;
         final MapNode emptyNode;
+        Comparator<NodeIdentifierWithPredicates> comparator = null;
         if (schema.isUserOrdered()) {
             support = ORDERED_SUPPORT;
             emptyNode = ImmutableNodes.orderedMapNode(schema.getQName());
+        } else if (treeConfig.getSortedLists().contains(schema.getQName())) {
+            // Sorted storage is propagated by the copy builder, we only need to make sure we start off sorted
+            support = UNORDERED_SUPPORT;
+            try {
+                comparator = MapEntryKeyComparator.of(schema);
+            } catch (IllegalArgumentException e) {
+                throw new IllegalStateException("List " + schema.getQName() + " cannot be stored sorted", e);
+            }
+            emptyNode = ImmutableMapNodeBuilder.createSorted(comparator)
+                    .withNodeIdentifier(NodeIdentifier.create(schema.getQName())).build();
         } else {
             support = UNORDERED_SUPPORT;
             emptyNode = ImmutableNodes.mapNode(schema.getQName());
         }
-        return new MapModificationStrategy(support, schema, treeConfig, emptyNode);
+        return new MapModificationStrategy(support, schema, treeConfig, emptyNode, comparator);
     }
 
     @Override
@@ -66,8 +85,22 @@ final class MapModificationStrategy extends Invisible<ListSchemaNode> {
             version);
     }
 
+    @Override
+    NormalizedNode<?, ?> toStoredValue(final NormalizedNode<?, ?> value) {
+        final NormalizedNode<?, ?> stored = super.toStoredValue(value);
+        return comparator == null || !(stored instanceof MapNode) ? stored : toSorted((MapNode) stored);
+    }
+
     @Override
     TreeNode defaultTreeNode() {
         return defaultTreeNode(emptyNode);
     }
+
+    private MapNode toSorted(final MapNode value) {
+        if (ImmutableMapNodeBuilder.isSorted(value)) {
+            return value;
+        }
+        return ImmutableMapNodeBuilder.createSorted(comparator).withNodeIdentifier(value.getIdentifier())
+                .withValue(value.getValue()).build();
+    }
 }
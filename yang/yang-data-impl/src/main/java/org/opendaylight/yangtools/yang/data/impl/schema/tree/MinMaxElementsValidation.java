@@ -94,6 +94,22 @@ final class MinMaxElementsValidation<T extends DataSchemaNode & ElementCountCons
         modified.setValidatedNode(this, current, maybeApplied);
     }
 
+    @Override
+    void checkWrittenValue(final ModificationPath path, final NormalizedNode<?, ?> value)
+            throws DataValidationFailedException {
+        delegate.checkWrittenValue(path, value);
+    }
+
+    @Override
+    NormalizedNode<?, ?> toStoredValue(final NormalizedNode<?, ?> value) {
+        return delegate.toStoredValue(value);
+    }
+
+    @Override
+    void recursivelyVerifyMandatoryNodes(final NormalizedNode<?, ?> value) {
+        delegate.recursivelyVerifyMandatoryNodes(value);
+    }
+
     @Override
     void fullVerifyStructure(final NormalizedNode<?, ?> modification) {
         delegate.fullVerifyStructure(modification);
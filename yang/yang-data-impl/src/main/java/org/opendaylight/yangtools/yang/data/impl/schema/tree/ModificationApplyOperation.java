@@ -68,6 +68,43 @@ abstract class ModificationApplyOperation implements StoreTreeNode<ModificationA
     abstract void checkApplicable(ModificationPath path, NodeModification modification,
             Optional<TreeNode> current, Version version) throws DataValidationFailedException;
 
+    /**
+     * Checks values contained in a written or merged node against the restrictions of their types. Default
+     * implementation does nothing.
+     *
+     * @param path Path to the value
+     * @param value Written value
+     * @throws DataValidationFailedException if a value does not meet its type restrictions
+     */
+    void checkWrittenValue(final ModificationPath path, final NormalizedNode<?, ?> value)
+            throws DataValidationFailedException {
+        // Defaults to no-op
+    }
+
+    /**
+     * Return the form in which a written value is stored. This is also invoked on values written as part of their
+     * ancestors, so that the stored form of a node does not depend on which node has been written. Default
+     * implementation returns the value unchanged.
+     *
+     * @param value Written value
+     * @return Value to store
+     */
+    NormalizedNode<?, ?> toStoredValue(final NormalizedNode<?, ?> value) {
+        return value;
+    }
+
+    /**
+     * Verify that an existing value and all of its descendants contain their mandatory nodes. This is used to check
+     * data which predates a schema change, without considering any other constraints. Default implementation does
+     * nothing.
+     *
+     * @param value Existing value
+     * @throws IllegalArgumentException if a mandatory node is missing
+     */
+    void recursivelyVerifyMandatoryNodes(final NormalizedNode<?, ?> value) {
+        // Defaults to no-op
+    }
+
     /**
      * Performs a quick structural verification of NodeModification, such as written values / types uses right
      * structural elements.
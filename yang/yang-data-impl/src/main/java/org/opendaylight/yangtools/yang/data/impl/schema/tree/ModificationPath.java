@@ -44,6 +44,18 @@ final class ModificationPath implements Mutable {
         used--;
     }
 
+    /**
+     * Return an independent copy of this path, which can be manipulated without affecting this path.
+     *
+     * @return A copy of this path
+     */
+    ModificationPath copy() {
+        final ModificationPath ret = new ModificationPath(root);
+        ret.entries = Arrays.copyOf(entries, entries.length);
+        ret.used = used;
+        return ret;
+    }
+
     YangInstanceIdentifier toInstanceIdentifier() {
         return YangInstanceIdentifier.builder(root).append(Arrays.asList(entries).subList(0, used)).build();
     }
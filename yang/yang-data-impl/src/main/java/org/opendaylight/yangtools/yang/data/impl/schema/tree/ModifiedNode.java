@@ -7,13 +7,18 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import static com.google.common.base.Verify.verify;
 import static com.google.common.base.Verify.verifyNotNull;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.base.MoreObjects;
 import com.google.common.base.MoreObjects.ToStringHelper;
+import java.util.AbstractCollection;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 import java.util.function.Predicate;
 import org.eclipse.jdt.annotation.NonNull;
@@ -56,9 +61,79 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
         }
     };
 
-    private final Map<PathArgument, ModifiedNode> children;
+    /**
+     * Cache of a TreeNode created as part of validation. It is allocated only for nodes which are actually validated,
+     * which is a small fraction of all modified nodes.
+     */
+    private static final class ValidatedTreeNode {
+        final ModificationApplyOperation op;
+        final Optional<TreeNode> current;
+        final Optional<TreeNode> node;
+
+        ValidatedTreeNode(final ModificationApplyOperation op, final Optional<TreeNode> current,
+                final Optional<TreeNode> node) {
+            this.op = requireNonNull(op);
+            this.current = requireNonNull(current);
+            this.node = requireNonNull(node);
+        }
+    }
+
+    /**
+     * Holder of the only child modification, doubling as its {@link #getChildren()} view. Its iterator supports
+     * removal, as is the case with map-based children.
+     */
+    private final class OnlyChild extends AbstractCollection<ModifiedNode> {
+        private final ModifiedNode child;
+
+        OnlyChild(final ModifiedNode child) {
+            this.child = child;
+        }
+
+        @Override
+        public Iterator<ModifiedNode> iterator() {
+            return new Iterator<ModifiedNode>() {
+                private boolean consumed;
+                private boolean removed;
+
+                @Override
+                public boolean hasNext() {
+                    return !consumed;
+                }
+
+                @Override
+                public ModifiedNode next() {
+                    if (consumed) {
+                        throw new NoSuchElementException();
+                    }
+                    consumed = true;
+                    return child;
+                }
+
+                @Override
+                public void remove() {
+                    if (!consumed || removed) {
+                        throw new IllegalStateException();
+                    }
+                    removed = true;
+                    if (children == OnlyChild.this) {
+                        children = null;
+                    }
+                }
+            };
+        }
+
+        @Override
+        public int size() {
+            return children == this ? 1 : 0;
+        }
+    }
+
+    private final ChildTrackingPolicy childPolicy;
     private final Optional<TreeNode> original;
     private final PathArgument identifier;
+    // Child modifications: null if there are none, an OnlyChild, or a Map created by childPolicy once there is more
+    // than one. Most modified nodes have at most one child, hence we do not instantiate a map for them.
+    private Object children;
     private LogicalOperation operation = LogicalOperation.NONE;
     private Optional<TreeNode> snapshotCache;
     private NormalizedNode<?, ?> value;
@@ -68,15 +143,13 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
     private TreeNode writtenOriginal;
 
     // Internal cache for TreeNodes created as part of validation
-    private ModificationApplyOperation validatedOp;
-    private Optional<TreeNode> validatedCurrent;
-    private Optional<TreeNode> validatedNode;
+    private ValidatedTreeNode validated;
 
     private ModifiedNode(final PathArgument identifier, final Optional<TreeNode> original,
             final ChildTrackingPolicy childPolicy) {
         this.identifier = identifier;
         this.original = original;
-        this.children = childPolicy.createMap();
+        this.childPolicy = requireNonNull(childPolicy);
     }
 
     @Override
@@ -102,6 +175,7 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
      *
      * @return Currently-written value
      */
+    @Override
     @NonNull NormalizedNode<?, ?> getWrittenValue() {
         return verifyNotNull(value);
     }
@@ -113,7 +187,39 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
      */
     @Override
     public Optional<ModifiedNode> getChild(final PathArgument child) {
-        return Optional.ofNullable(children.get(child));
+        return Optional.ofNullable(lookupChild(child));
+    }
+
+    private ModifiedNode lookupChild(final PathArgument child) {
+        if (children instanceof OnlyChild) {
+            final ModifiedNode only = ((OnlyChild) children).child;
+            return child.equals(only.identifier) ? only : null;
+        }
+        return children == null ? null : childMap().get(child);
+    }
+
+    private void addChild(final ModifiedNode child) {
+        if (children == null) {
+            verify(childPolicy != ChildTrackingPolicy.NONE, "Node %s cannot have children", identifier);
+            children = new OnlyChild(child);
+        } else if (children instanceof OnlyChild) {
+            final ModifiedNode only = ((OnlyChild) children).child;
+            final Map<PathArgument, ModifiedNode> map = childPolicy.createMap();
+            map.put(only.identifier, only);
+            map.put(child.identifier, child);
+            children = map;
+        } else {
+            childMap().put(child.identifier, child);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<PathArgument, ModifiedNode> childMap() {
+        return (Map<PathArgument, ModifiedNode>) children;
+    }
+
+    private boolean hasChildren() {
+        return children instanceof OnlyChild || children != null && !childMap().isEmpty();
     }
 
     private Optional<TreeNode> metadataFromSnapshot(final @NonNull PathArgument child) {
@@ -174,14 +280,12 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
         if (operation == LogicalOperation.NONE) {
             updateOperationType(LogicalOperation.TOUCH);
         }
-        final ModifiedNode potential = children.get(child);
+        final ModifiedNode potential = lookupChild(child);
         if (potential != null) {
             return potential;
         }
 
         final Optional<TreeNode> currentMetadata = findOriginalMetadata(child, modVersion);
-
-
         final ModifiedNode newlyCreated = new ModifiedNode(child, currentMetadata, childOper.getChildPolicy());
         if (operation == LogicalOperation.MERGE && value != null) {
             /*
@@ -195,7 +299,7 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
             }
         }
 
-        children.put(child, newlyCreated);
+        addChild(newlyCreated);
         return newlyCreated;
     }
 
@@ -206,7 +310,10 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
      */
     @Override
     Collection<ModifiedNode> getChildren() {
-        return children.values();
+        if (children instanceof OnlyChild) {
+            return (OnlyChild) children;
+        }
+        return children == null ? Collections.emptyList() : childMap().values();
     }
 
     /**
@@ -242,7 +349,7 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
         }
 
         clearSnapshot();
-        children.clear();
+        children = null;
         this.value = null;
         updateOperationType(newType);
     }
@@ -254,7 +361,7 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
      */
     void write(final NormalizedNode<?, ?> newValue) {
         updateValue(LogicalOperation.WRITE, newValue);
-        children.clear();
+        children = null;
     }
 
     /**
@@ -270,15 +377,15 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
         switch (operation) {
             case TOUCH:
                 // A TOUCH node without any children is a no-op
-                if (children.isEmpty()) {
+                if (!hasChildren()) {
                     updateOperationType(LogicalOperation.NONE);
                 }
                 break;
             case WRITE:
                 // A WRITE can collapse all of its children
-                if (!children.isEmpty()) {
+                if (hasChildren()) {
                     value = schema.apply(this, getOriginal(), version).map(TreeNode::getData).orElse(null);
-                    children.clear();
+                    children = null;
                 }
 
                 if (value == null) {
@@ -319,8 +426,8 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
     public String toString() {
         final ToStringHelper helper = MoreObjects.toStringHelper(this).omitNullValues()
                 .add("identifier", identifier).add("operation", operation).add("modificationType", modType);
-        if (!children.isEmpty()) {
-            helper.add("childModification", children);
+        if (hasChildren()) {
+            helper.add("childModification", getChildren());
         }
         return helper.toString();
     }
@@ -358,12 +465,11 @@ final class ModifiedNode extends NodeModification implements StoreTreeNode<Modif
 
     void setValidatedNode(final ModificationApplyOperation op, final Optional<TreeNode> current,
             final Optional<TreeNode> node) {
-        this.validatedOp = requireNonNull(op);
-        this.validatedCurrent = requireNonNull(current);
-        this.validatedNode = requireNonNull(node);
+        validated = new ValidatedTreeNode(op, current, node);
     }
 
     Optional<TreeNode> getValidatedNode(final ModificationApplyOperation op, final Optional<TreeNode> current) {
-        return op.equals(validatedOp) && current.equals(validatedCurrent) ? validatedNode : null;
+        final ValidatedTreeNode local = validated;
+        return local != null && op.equals(local.op) && current.equals(local.current) ? local.node : null;
     }
 }
@@ -9,8 +9,10 @@ package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import java.util.Collection;
 import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
 import org.opendaylight.yangtools.concepts.Identifiable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 
 /**
@@ -40,4 +42,20 @@ abstract class NodeModification implements Identifiable<PathArgument> {
      * @return Collection of all children nodes.
      */
     abstract Collection<? extends NodeModification> getChildren();
+
+    /**
+     * Get the modification of a particular child.
+     *
+     * @param child Child identifier
+     * @return Child modification, or empty if the child is not modified
+     */
+    abstract Optional<? extends NodeModification> getChild(PathArgument child);
+
+    /**
+     * Get the value which should be written or merged. This method is valid only for {@link LogicalOperation#WRITE}
+     * and {@link LogicalOperation#MERGE} operations.
+     *
+     * @return Written value
+     */
+    abstract @NonNull NormalizedNode<?, ?> getWrittenValue();
 }
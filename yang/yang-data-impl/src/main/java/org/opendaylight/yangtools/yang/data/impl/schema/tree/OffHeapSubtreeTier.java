@@ -0,0 +1,332 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.collect.ImmutableList;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.AugmentationNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ChoiceNode;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.MutableTreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.OffHeapCodec;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableAugmentationNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableChoiceNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableOrderedMapNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListEntryNodeBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Off-heap storage tier of an {@link InMemoryDataTree}. It tracks the subtrees matching
+ * {@link DataTreeConfiguration#getOffHeapPaths()} in the order in which they were last used. Whenever a new root is
+ * committed, least recently used subtrees in excess of {@link DataTreeConfiguration#getMaxOnHeapSubtrees()} are
+ * replaced with their off-heap equivalents, as created by
+ * {@link TreeNodeFactory#createOffHeapTreeNode(TreeNode, OffHeapCodec)}, before the root is made visible.
+ *
+ * <p>
+ * Writes are accounted for when they are committed. Reads only record the subtree in a concurrent set, which is folded
+ * into the usage order on the next commit, so that the read path does not contend on the tier. Reading a subtree which
+ * has already been moved off heap does not bring it back on heap, only writing it does.
+ *
+ * <p>
+ * A root produced by a candidate does not contain off-heap subtrees introduced when its predecessor was committed, if
+ * the candidate was prepared on top of its predecessor rather than on the state of the tree. We detect this by
+ * comparing the base of each commit with the last root we have produced and move all known cold subtrees off heap
+ * again.
+ */
+final class OffHeapSubtreeTier {
+    private static final Logger LOG = LoggerFactory.getLogger(OffHeapSubtreeTier.class);
+
+    // Patterns relative to the root of the tree
+    private final ImmutableList<ImmutableList<PathArgument>> patterns;
+    private final OffHeapCodec codec;
+    private final int maxOnHeapSubtrees;
+
+    // Eligible subtrees on heap, least recently used first
+    private final Set<YangInstanceIdentifier> onHeap = new LinkedHashSet<>();
+    // Eligible subtrees read since the last commit
+    private final Set<YangInstanceIdentifier> read = ConcurrentHashMap.newKeySet();
+    private final Set<YangInstanceIdentifier> offHeap = new HashSet<>();
+    private TreeNode lastRoot;
+
+    private OffHeapSubtreeTier(final ImmutableList<ImmutableList<PathArgument>> patterns, final OffHeapCodec codec,
+            final int maxOnHeapSubtrees) {
+        this.patterns = requireNonNull(patterns);
+        this.codec = requireNonNull(codec);
+        this.maxOnHeapSubtrees = maxOnHeapSubtrees;
+    }
+
+    static @Nullable OffHeapSubtreeTier create(final DataTreeConfiguration treeConfig) {
+        final Optional<OffHeapCodec> codec = treeConfig.getOffHeapCodec();
+        if (!codec.isPresent() || treeConfig.getOffHeapPaths().isEmpty()) {
+            return null;
+        }
+
+        final ImmutableList.Builder<ImmutableList<PathArgument>> builder = ImmutableList.builder();
+        for (YangInstanceIdentifier path : treeConfig.getOffHeapPaths()) {
+            final Optional<YangInstanceIdentifier> relative = path.relativeTo(treeConfig.getRootPath());
+            if (relative.isPresent() && !relative.get().isEmpty()) {
+                builder.add(ImmutableList.copyOf(relative.get().getPathArguments()));
+            } else {
+                LOG.warn("Ignoring off-heap path {} not strictly inside tree root {}", path, treeConfig.getRootPath());
+            }
+        }
+
+        final ImmutableList<ImmutableList<PathArgument>> patterns = builder.build();
+        return patterns.isEmpty() ? null : new OffHeapSubtreeTier(patterns, codec.get(),
+            treeConfig.getMaxOnHeapSubtrees());
+    }
+
+    /**
+     * Account for a set of changes and produce the root which should be made visible instead of the root resulting
+     * from those changes.
+     *
+     * @param baseRoot Root the changes were applied to
+     * @param changes Root candidate nodes of the changes, in the order in which they were applied
+     * @param newRoot Root resulting from the changes
+     * @return Root to be made visible
+     */
+    synchronized TreeNode commit(final TreeNode baseRoot, final List<DataTreeCandidateNode> changes,
+            final TreeNode newRoot) {
+        // Reads have happened before the changes are committed
+        final Iterator<YangInstanceIdentifier> readIt = read.iterator();
+        while (readIt.hasNext()) {
+            final YangInstanceIdentifier path = readIt.next();
+            readIt.remove();
+            if (onHeap.remove(path)) {
+                onHeap.add(path);
+            }
+        }
+
+        for (DataTreeCandidateNode change : changes) {
+            for (ImmutableList<PathArgument> pattern : patterns) {
+                recordChanges(pattern, 0, change, YangInstanceIdentifier.EMPTY);
+            }
+        }
+
+        TreeNode root = newRoot;
+        if (baseRoot != lastRoot && !offHeap.isEmpty()) {
+            LOG.debug("Root {} is not based on {}, moving {} subtrees off heap again", newRoot, lastRoot,
+                offHeap.size());
+            final Iterator<YangInstanceIdentifier> it = offHeap.iterator();
+            while (it.hasNext()) {
+                final Optional<TreeNode> spilled = spill(root, it.next());
+                if (spilled.isPresent()) {
+                    root = spilled.get();
+                } else {
+                    it.remove();
+                }
+            }
+        }
+
+        final Iterator<YangInstanceIdentifier> it = onHeap.iterator();
+        while (onHeap.size() > maxOnHeapSubtrees) {
+            final YangInstanceIdentifier path = it.next();
+            it.remove();
+
+            final Optional<TreeNode> spilled = spill(root, path);
+            if (spilled.isPresent()) {
+                root = spilled.get();
+                offHeap.add(path);
+            }
+        }
+
+        lastRoot = root;
+        return root;
+    }
+
+    /**
+     * Record a read of specified path. If the path points to an eligible subtree or inside of it, that subtree becomes
+     * the most recently used one on the next commit.
+     *
+     * @param path Path being read, relative to the root of the tree
+     */
+    void recordRead(final YangInstanceIdentifier path) {
+        final List<PathArgument> args = path.getPathArguments();
+        for (ImmutableList<PathArgument> pattern : patterns) {
+            if (matches(pattern, args)) {
+                read.add(args.size() == pattern.size() ? path
+                        : YangInstanceIdentifier.create(args.subList(0, pattern.size())));
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("patterns", patterns).add("maxOnHeap", maxOnHeapSubtrees)
+                .add("onHeap", onHeap.size()).add("offHeap", offHeap.size()).toString();
+    }
+
+    private void recordChanges(final List<PathArgument> pattern, final int offset, final DataTreeCandidateNode node,
+            final YangInstanceIdentifier path) {
+        if (node.getModificationType() == ModificationType.UNMODIFIED) {
+            return;
+        }
+
+        if (offset == pattern.size()) {
+            offHeap.remove(path);
+            onHeap.remove(path);
+            if (node.getDataAfter().isPresent()) {
+                onHeap.add(path);
+            }
+            return;
+        }
+
+        final PathArgument arg = pattern.get(offset);
+        if (arg instanceof NodeIdentifier && isMapNode(node)) {
+            // A NodeIdentifier matches all entries of a list
+            for (DataTreeCandidateNode child : node.getChildNodes()) {
+                final PathArgument childId = child.getIdentifier();
+                if (childId instanceof NodeIdentifierWithPredicates
+                        && arg.getNodeType().equals(childId.getNodeType())) {
+                    recordChanges(pattern, offset + 1, child, path.node(childId));
+                }
+            }
+        } else {
+            final Optional<DataTreeCandidateNode> child = node.getModifiedChild(arg);
+            if (child.isPresent()) {
+                recordChanges(pattern, offset + 1, child.get(), path.node(arg));
+            }
+        }
+    }
+
+    private static boolean matches(final List<PathArgument> pattern, final List<PathArgument> args) {
+        if (args.size() < pattern.size()) {
+            return false;
+        }
+        for (int i = 0; i < pattern.size(); ++i) {
+            final PathArgument expected = pattern.get(i);
+            final PathArgument actual = args.get(i);
+            // A NodeIdentifier matches all entries of a list, just as in recordChanges()
+            if (!expected.equals(actual) && !(expected instanceof NodeIdentifier
+                    && actual instanceof NodeIdentifierWithPredicates
+                    && expected.getNodeType().equals(actual.getNodeType()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isMapNode(final DataTreeCandidateNode node) {
+        final Optional<NormalizedNode<?, ?>> data = node.getDataAfter();
+        return (data.isPresent() ? data : node.getDataBefore()).orElse(null) instanceof MapNode;
+    }
+
+    /**
+     * Move a subtree off heap.
+     *
+     * @param root Root node
+     * @param path Path to the subtree
+     * @return New root node, or empty if the subtree cannot be moved off heap
+     */
+    private Optional<TreeNode> spill(final TreeNode root, final YangInstanceIdentifier path) {
+        final List<PathArgument> args = new ArrayList<>(path.getPathArguments());
+        try {
+            return Optional.ofNullable(spill(root, args, 0));
+        } catch (IOException | IllegalArgumentException e) {
+            LOG.warn("Failed to move subtree {} off heap", path, e);
+            return Optional.empty();
+        }
+    }
+
+    private @Nullable TreeNode spill(final TreeNode node, final List<PathArgument> path, final int offset)
+            throws IOException {
+        if (TreeNodeFactory.isOffHeap(node)) {
+            // Already off heap, possibly as part of an enclosing subtree
+            return node;
+        }
+        if (offset == path.size()) {
+            return TreeNodeFactory.createOffHeapTreeNode(node, codec);
+        }
+
+        final Optional<TreeNode> child = node.getChild(path.get(offset));
+        if (!child.isPresent()) {
+            return null;
+        }
+        final TreeNode newChild = spill(child.get(), path, offset + 1);
+        if (newChild == null) {
+            return null;
+        }
+        if (newChild == child.get()) {
+            return node;
+        }
+
+        // The parent's data refer to the child's data, hence we need to update them, too
+        final NormalizedNode<?, ?> newData = replaceChild(node.getData(), newChild.getData());
+        final MutableTreeNode mutable = node.mutable();
+        mutable.addChild(newChild);
+        mutable.setData(newData);
+        return mutable.seal();
+    }
+
+    private static NormalizedNode<?, ?> replaceChild(final NormalizedNode<?, ?> parent,
+            final NormalizedNode<?, ?> child) {
+        try {
+            if (parent instanceof ContainerNode) {
+                return ImmutableContainerNodeBuilder.create((ContainerNode) parent)
+                        .withChild((DataContainerChild<?, ?>) child).build();
+            }
+            if (parent instanceof MapEntryNode) {
+                return ImmutableMapEntryNodeBuilder.create((MapEntryNode) parent)
+                        .withChild((DataContainerChild<?, ?>) child).build();
+            }
+            if (parent instanceof OrderedMapNode) {
+                return ImmutableOrderedMapNodeBuilder.create((OrderedMapNode) parent).withChild((MapEntryNode) child)
+                        .build();
+            }
+            if (parent instanceof MapNode) {
+                return ImmutableMapNodeBuilder.create((MapNode) parent).withChild((MapEntryNode) child).build();
+            }
+            if (parent instanceof AugmentationNode) {
+                return ImmutableAugmentationNodeBuilder.create((AugmentationNode) parent)
+                        .withChild((DataContainerChild<?, ?>) child).build();
+            }
+            if (parent instanceof ChoiceNode) {
+                return ImmutableChoiceNodeBuilder.create((ChoiceNode) parent)
+                        .withChild((DataContainerChild<?, ?>) child).build();
+            }
+            if (parent instanceof UnkeyedListEntryNode) {
+                return ImmutableUnkeyedListEntryNodeBuilder.create((UnkeyedListEntryNode) parent)
+                        .withChild((DataContainerChild<?, ?>) child).build();
+            }
+        } catch (UnsupportedOperationException e) {
+            throw new IllegalArgumentException("Cannot update " + parent.getIdentifier(), e);
+        }
+        throw new IllegalArgumentException("Unsupported parent " + parent.getIdentifier());
+    }
+}
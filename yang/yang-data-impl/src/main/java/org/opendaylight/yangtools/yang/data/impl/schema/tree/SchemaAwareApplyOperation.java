@@ -57,7 +57,7 @@ abstract class SchemaAwareApplyOperation<T extends WithStatus> extends Modificat
             return MinMaxElementsValidation.from(new LeafSetModificationStrategy((LeafListSchemaNode) schemaNode,
                 treeConfig));
         } else if (schemaNode instanceof LeafSchemaNode) {
-            return new ValueNodeModificationStrategy<>(LeafNode.class, (LeafSchemaNode) schemaNode);
+            return new ValueNodeModificationStrategy<>(LeafNode.class, (LeafSchemaNode) schemaNode, treeConfig);
         }
         throw new IllegalArgumentException("Not supported schema node type for " + schemaNode.getClass());
     }
@@ -86,14 +86,12 @@ abstract class SchemaAwareApplyOperation<T extends WithStatus> extends Modificat
     private static ModificationApplyOperation fromListSchemaNode(final ListSchemaNode schemaNode,
             final DataTreeConfiguration treeConfig) {
         final List<QName> keyDefinition = schemaNode.getKeyDefinition();
-        final SchemaAwareApplyOperation<ListSchemaNode> op;
         if (keyDefinition == null || keyDefinition.isEmpty()) {
-            op = new UnkeyedListModificationStrategy(schemaNode, treeConfig);
-        } else {
-            op = MapModificationStrategy.of(schemaNode, treeConfig);
+            return MinMaxElementsValidation.from(new UnkeyedListModificationStrategy(schemaNode, treeConfig));
         }
 
-        return MinMaxElementsValidation.from(op);
+        return UniqueValidation.from(MinMaxElementsValidation.from(MapModificationStrategy.of(schemaNode, treeConfig)),
+            schemaNode, treeConfig);
     }
 
     protected static void checkNotConflicting(final ModificationPath path, final TreeNode original,
@@ -122,9 +120,11 @@ abstract class SchemaAwareApplyOperation<T extends WithStatus> extends Modificat
                 break;
             case WRITE:
                 checkWriteApplicable(path, modification, current, version);
+                checkWrittenValue(path, modification.getWrittenValue());
                 break;
             case MERGE:
                 checkMergeApplicable(path, modification, current, version);
+                checkMergedValue(path, modification);
                 break;
             case NONE:
                 break;
@@ -134,6 +134,20 @@ abstract class SchemaAwareApplyOperation<T extends WithStatus> extends Modificat
         }
     }
 
+    /**
+     * Checks values contained in a merged node against the restrictions of their types. Children which have their own
+     * modification are checked by {@link #checkMergeApplicable(ModificationPath, NodeModification, Optional, Version)},
+     * hence implementations should skip them. Default implementation checks the entire merged value.
+     *
+     * @param path Path to the merged node
+     * @param modification Merge modification
+     * @throws DataValidationFailedException if a value does not meet its type restrictions
+     */
+    void checkMergedValue(final ModificationPath path, final NodeModification modification)
+            throws DataValidationFailedException {
+        checkWrittenValue(path, modification.getWrittenValue());
+    }
+
     @Override
     final void quickVerifyStructure(final NormalizedNode<?, ?> writtenValue) {
         verifyValue(writtenValue);
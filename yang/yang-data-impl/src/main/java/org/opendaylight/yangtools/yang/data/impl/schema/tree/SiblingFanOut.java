@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+import org.eclipse.jdt.annotation.NonNullByDefault;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+
+/**
+ * Support for processing siblings in a data tree concurrently, as controlled by
+ * {@link DataTreeConfiguration#getParallelValidationThreshold()}. Work is split across
+ * {@link ForkJoinPool#commonPool()}, which allows nested fan-outs to be processed without blocking worker threads.
+ *
+ * <p>
+ * Processing is deterministic: if more than one sibling fails, the failure of the first sibling is reported, exactly
+ * as if the siblings were processed sequentially. The price for this is that we always process all siblings, even
+ * when one of them has already failed.
+ */
+@NonNullByDefault
+final class SiblingFanOut {
+    /**
+     * Action performed on a single sibling, identified by its index.
+     *
+     * @param <X> Checked exception type
+     */
+    @FunctionalInterface
+    interface SiblingAction<X extends Exception> {
+        void run(int index) throws X;
+    }
+
+    private static final class FanOutTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final transient SiblingAction<?> action;
+        private final Throwable[] failures;
+        private final int granularity;
+        private final int from;
+        private final int to;
+
+        FanOutTask(final SiblingAction<?> action, final Throwable[] failures, final int granularity, final int from,
+                final int to) {
+            this.action = action;
+            this.failures = failures;
+            this.granularity = granularity;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        @SuppressWarnings("checkstyle:illegalCatch")
+        protected void compute() {
+            if (to - from <= granularity) {
+                for (int i = from; i < to; ++i) {
+                    try {
+                        action.run(i);
+                    } catch (Throwable e) {
+                        failures[i] = e;
+                    }
+                }
+            } else {
+                final int mid = from + to >>> 1;
+                invokeAll(new FanOutTask(action, failures, granularity, from, mid),
+                    new FanOutTask(action, failures, granularity, mid, to));
+            }
+        }
+    }
+
+    // Number of tasks we aim to create for each thread in the pool, so that uneven subtrees are balanced out
+    private static final int TASKS_PER_THREAD = 8;
+
+    private final int threshold;
+
+    SiblingFanOut(final DataTreeConfiguration treeConfig) {
+        this.threshold = treeConfig.getParallelValidationThreshold();
+    }
+
+    /**
+     * Determine whether the specified number of siblings should be processed in parallel.
+     *
+     * @param size Number of siblings
+     * @return True if the siblings should be processed in parallel
+     */
+    boolean isParallel(final int size) {
+        return threshold != 0 && size >= threshold;
+    }
+
+    /**
+     * Run an action for each sibling index in range {@code [0, size)}. If parallel processing is enabled and the number
+     * of siblings meets the threshold, the action is invoked concurrently, otherwise it is invoked sequentially on the
+     * calling thread.
+     *
+     * @param size Number of siblings
+     * @param action Action to run
+     * @throws X if the action fails on any sibling
+     */
+    <X extends Exception> void forEach(final int size, final SiblingAction<X> action) throws X {
+        if (!isParallel(size)) {
+            for (int i = 0; i < size; ++i) {
+                action.run(i);
+            }
+            return;
+        }
+
+        final Throwable[] failures = new Throwable[size];
+        final int granularity = Math.max(1, size / (ForkJoinPool.getCommonPoolParallelism() * TASKS_PER_THREAD));
+        final FanOutTask task = new FanOutTask(requireNonNull(action), failures, granularity, 0, size);
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            ForkJoinPool.commonPool().invoke(task);
+        }
+
+        for (Throwable failure : failures) {
+            if (failure != null) {
+                throwFailure(failure);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <X extends Exception> void throwFailure(final Throwable failure) throws X {
+        if (failure instanceof RuntimeException) {
+            throw (RuntimeException) failure;
+        }
+        if (failure instanceof Error) {
+            throw (Error) failure;
+        }
+        // The only checked exception the action can throw is X
+        throw (X) failure;
+    }
+}
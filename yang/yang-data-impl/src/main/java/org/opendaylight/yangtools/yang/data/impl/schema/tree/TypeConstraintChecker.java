@@ -0,0 +1,275 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Range;
+import com.google.common.collect.RangeSet;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.impl.codec.CompiledPatternContext;
+import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BinaryTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.BitsTypeDefinition.Bit;
+import org.opendaylight.yangtools.yang.model.api.type.DecimalTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.EnumTypeDefinition.EnumPair;
+import org.opendaylight.yangtools.yang.model.api.type.LengthConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeConstraint;
+import org.opendaylight.yangtools.yang.model.api.type.RangeRestrictedTypeDefinition;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
+
+/**
+ * A checker of leaf values against the restrictions of their {@link TypeDefinition}. Instances are compiled once per
+ * schema node, so that checking a value does not need to look at the model. Successful checks do not allocate any
+ * objects, except for {@link java.util.regex.Matcher}s needed to evaluate patterns.
+ *
+ * <p>
+ * Only restrictions which can be evaluated on the value alone are checked. Union, leafref, identityref and
+ * instance-identifier types are not checked.
+ */
+abstract class TypeConstraintChecker {
+    private static final class Composite extends TypeConstraintChecker {
+        private final TypeConstraintChecker[] checkers;
+
+        Composite(final List<TypeConstraintChecker> checkers) {
+            this.checkers = checkers.toArray(new TypeConstraintChecker[0]);
+        }
+
+        @Override
+        String check(final Object value) {
+            for (TypeConstraintChecker checker : checkers) {
+                final String error = checker.check(value);
+                if (error != null) {
+                    return error;
+                }
+            }
+            return null;
+        }
+    }
+
+    private static final class RangeChecker<C extends Comparable<C>> extends TypeConstraintChecker {
+        private final Class<C> valueClass;
+        private final RangeSet<C> ranges;
+        private final @Nullable Range<C> singleRange;
+        private final @Nullable String errorMessage;
+
+        @SuppressWarnings("unchecked")
+        RangeChecker(final RangeSet<C> ranges, final Optional<String> errorMessage) {
+            this.ranges = requireNonNull(ranges);
+            final Set<Range<C>> asRanges = ranges.asRanges();
+            this.singleRange = asRanges.size() == 1 ? asRanges.iterator().next() : null;
+            this.valueClass = (Class<C>) ranges.span().lowerEndpoint().getClass();
+            this.errorMessage = errorMessage.orElse(null);
+        }
+
+        @Override
+        String check(final Object value) {
+            if (!valueClass.isInstance(value)) {
+                return unexpectedClass(value, valueClass);
+            }
+
+            final C cast = valueClass.cast(value);
+            final boolean contains = singleRange != null ? singleRange.contains(cast) : ranges.contains(cast);
+            if (contains) {
+                return null;
+            }
+            return errorMessage != null ? errorMessage : "Value '" + value + "' is not in required ranges " + ranges;
+        }
+    }
+
+    private static final class FractionDigitsChecker extends TypeConstraintChecker {
+        private final int fractionDigits;
+
+        FractionDigitsChecker(final int fractionDigits) {
+            this.fractionDigits = fractionDigits;
+        }
+
+        @Override
+        String check(final Object value) {
+            if (!(value instanceof BigDecimal)) {
+                return unexpectedClass(value, BigDecimal.class);
+            }
+
+            final BigDecimal decimal = (BigDecimal) value;
+            if (decimal.scale() <= fractionDigits || decimal.stripTrailingZeros().scale() <= fractionDigits) {
+                return null;
+            }
+            return "Value '" + value + "' has more than " + fractionDigits + " fraction digits";
+        }
+    }
+
+    private abstract static class LengthChecker extends TypeConstraintChecker {
+        private final RangeSet<Integer> lengths;
+        private final @Nullable Range<Integer> singleRange;
+        private final @Nullable String errorMessage;
+
+        LengthChecker(final LengthConstraint constraint) {
+            lengths = constraint.getAllowedRanges();
+            final Set<Range<Integer>> asRanges = lengths.asRanges();
+            singleRange = asRanges.size() == 1 ? asRanges.iterator().next() : null;
+            errorMessage = constraint.getErrorMessage().orElse(null);
+        }
+
+        final @Nullable String checkLength(final Object value, final int length) {
+            if (singleRange != null ? singleRange.contains(length) : lengths.contains(length)) {
+                return null;
+            }
+            return errorMessage != null ? errorMessage
+                    : "Value '" + value + "' does not match required length " + lengths;
+        }
+    }
+
+    private static final class StringLengthChecker extends LengthChecker {
+        StringLengthChecker(final LengthConstraint constraint) {
+            super(constraint);
+        }
+
+        @Override
+        String check(final Object value) {
+            if (!(value instanceof String)) {
+                return unexpectedClass(value, String.class);
+            }
+            final String str = (String) value;
+            return checkLength(value, str.codePointCount(0, str.length()));
+        }
+    }
+
+    private static final class BinaryLengthChecker extends LengthChecker {
+        BinaryLengthChecker(final LengthConstraint constraint) {
+            super(constraint);
+        }
+
+        @Override
+        String check(final Object value) {
+            if (!(value instanceof byte[])) {
+                return unexpectedClass(value, byte[].class);
+            }
+            return checkLength(value, ((byte[]) value).length);
+        }
+    }
+
+    private static final class PatternChecker extends TypeConstraintChecker {
+        private final CompiledPatternContext pattern;
+
+        PatternChecker(final CompiledPatternContext pattern) {
+            this.pattern = requireNonNull(pattern);
+        }
+
+        @Override
+        String check(final Object value) {
+            if (!(value instanceof String)) {
+                return unexpectedClass(value, String.class);
+            }
+            final String str = (String) value;
+            return pattern.matches(str) ? null : pattern.mismatchMessage(str);
+        }
+    }
+
+    private static final class EnumChecker extends TypeConstraintChecker {
+        private final ImmutableSet<String> names;
+
+        EnumChecker(final EnumTypeDefinition type) {
+            names = type.getValues().stream().map(EnumPair::getName).collect(ImmutableSet.toImmutableSet());
+        }
+
+        @Override
+        String check(final Object value) {
+            return names.contains(value) ? null : "Value '" + value + "' is not one of enumerated values " + names;
+        }
+    }
+
+    private static final class BitsChecker extends TypeConstraintChecker {
+        private final ImmutableSet<String> names;
+
+        BitsChecker(final BitsTypeDefinition type) {
+            names = type.getBits().stream().map(Bit::getName).collect(ImmutableSet.toImmutableSet());
+        }
+
+        @Override
+        String check(final Object value) {
+            if (!(value instanceof Set)) {
+                return unexpectedClass(value, Set.class);
+            }
+            for (Object bit : (Set<?>) value) {
+                if (!names.contains(bit)) {
+                    return "Value '" + value + "' contains bit '" + bit + "', which is not one of " + names;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Compile a checker for specified type.
+     *
+     * @param type Type definition
+     * @return A checker, or null if the type does not have any restrictions which can be checked
+     */
+    static @Nullable TypeConstraintChecker of(final TypeDefinition<?> type) {
+        final List<TypeConstraintChecker> checkers = new ArrayList<>(2);
+        if (type instanceof RangeRestrictedTypeDefinition) {
+            final Optional<? extends RangeConstraint<?>> optRange =
+                    ((RangeRestrictedTypeDefinition<?, ?>) type).getRangeConstraint();
+            if (optRange.isPresent()) {
+                checkers.add(rangeChecker(optRange.get()));
+            }
+            if (type instanceof DecimalTypeDefinition) {
+                checkers.add(new FractionDigitsChecker(((DecimalTypeDefinition) type).getFractionDigits()));
+            }
+        } else if (type instanceof StringTypeDefinition) {
+            final StringTypeDefinition stringType = (StringTypeDefinition) type;
+            stringType.getLengthConstraint().ifPresent(length -> checkers.add(new StringLengthChecker(length)));
+            // Compiled patterns are shared with StringStringCodec
+            for (CompiledPatternContext pattern : CompiledPatternContext.forType(stringType)) {
+                checkers.add(new PatternChecker(pattern));
+            }
+        } else if (type instanceof BinaryTypeDefinition) {
+            ((BinaryTypeDefinition) type).getLengthConstraint()
+                .ifPresent(length -> checkers.add(new BinaryLengthChecker(length)));
+        } else if (type instanceof EnumTypeDefinition) {
+            checkers.add(new EnumChecker((EnumTypeDefinition) type));
+        } else if (type instanceof BitsTypeDefinition) {
+            checkers.add(new BitsChecker((BitsTypeDefinition) type));
+        }
+
+        switch (checkers.size()) {
+            case 0:
+                return null;
+            case 1:
+                return checkers.get(0);
+            default:
+                return new Composite(checkers);
+        }
+    }
+
+    /**
+     * Check a value.
+     *
+     * @param value Value to check
+     * @return Null if the value is valid, otherwise a description of the violation
+     */
+    abstract @Nullable String check(@NonNull Object value);
+
+    @SuppressWarnings({ "rawtypes", "unchecked" })
+    private static TypeConstraintChecker rangeChecker(final RangeConstraint<?> constraint) {
+        return new RangeChecker(constraint.getAllowedRanges(), constraint.getErrorMessage());
+    }
+
+    static final String unexpectedClass(final Object value, final Class<?> expected) {
+        return "Value '" + value + "' is not an instance of " + expected.getName();
+    }
+}
@@ -0,0 +1,413 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.base.MoreObjects;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableMap;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.util.ImmutableHashTrieMap;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.AugmentationIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNodes;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.UniqueConstraintException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.data.util.DataSchemaContextNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.UniqueConstraint;
+import org.opendaylight.yangtools.yang.model.api.stmt.SchemaNodeIdentifier.Relative;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Enforcement of {@code unique} constraints on a keyed list. For each constraint we maintain a persistent index of
+ * value combinations to the entry holding them. Indexes are associated with the {@link MapNode} they were computed
+ * for, so that a subsequent modification can derive the index of its result from the index of its input, touching
+ * only the entries which were actually modified. Since the index is a persistent structure, the indexes of consecutive
+ * versions of a list share most of their state.
+ *
+ * <p>
+ * Note that the leaf values are compared as they appear in data, i.e. leaves with default values which are not
+ * present are not considered.
+ */
+final class UniqueValidation extends ModificationApplyOperation {
+    /**
+     * A single {@code unique} statement, resolved to paths relative to the list entry.
+     */
+    private static final class UniqueVector {
+        final @NonNull ImmutableList<YangInstanceIdentifier> paths;
+
+        UniqueVector(final ImmutableList<YangInstanceIdentifier> paths) {
+            this.paths = requireNonNull(paths);
+        }
+
+        @Nullable List<Object> extractValues(final NormalizedNode<?, ?> entry) {
+            final List<Object> values = new ArrayList<>(paths.size());
+            for (YangInstanceIdentifier path : paths) {
+                final Optional<NormalizedNode<?, ?>> leaf = NormalizedNodes.findNode(entry, path);
+                if (!leaf.isPresent() || !(leaf.get() instanceof LeafNode)) {
+                    // Not all leaves are present, the constraint does not apply to this entry
+                    return null;
+                }
+                values.add(leaf.get().getValue());
+            }
+            return ImmutableList.copyOf(values);
+        }
+
+        ImmutableMap<YangInstanceIdentifier, Object> toValueMap(final List<Object> values) {
+            final ImmutableMap.Builder<YangInstanceIdentifier, Object> builder =
+                    ImmutableMap.builderWithExpectedSize(paths.size());
+            for (int i = 0; i < paths.size(); ++i) {
+                builder.put(paths.get(i), values.get(i));
+            }
+            return builder.build();
+        }
+
+        @Override
+        public String toString() {
+            return paths.toString();
+        }
+    }
+
+    /**
+     * A conflict detected while updating an index.
+     */
+    private static final class Violation {
+        final UniqueVector vector;
+        final List<Object> values;
+        final NodeIdentifierWithPredicates existing;
+        final NodeIdentifierWithPredicates conflicting;
+
+        Violation(final UniqueVector vector, final List<Object> values, final NodeIdentifierWithPredicates existing,
+                final NodeIdentifierWithPredicates conflicting) {
+            this.vector = vector;
+            this.values = values;
+            this.existing = existing;
+            this.conflicting = conflicting;
+        }
+
+        String message() {
+            return String.format("Entries %s and %s violate unique constraint on %s with values %s", existing,
+                conflicting, vector, values);
+        }
+
+        UniqueConstraintException toException(final YangInstanceIdentifier path) {
+            return new UniqueConstraintException(path, vector.toValueMap(values), message());
+        }
+    }
+
+    /**
+     * Index state for all constraints of a particular list instance. Mutable during an update, the maps it holds are
+     * persistent, though.
+     */
+    private static final class IndexState {
+        final List<ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates>> maps;
+        Violation violation;
+
+        IndexState(final List<ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates>> maps) {
+            this.maps = new ArrayList<>(maps);
+        }
+
+        void remove(final List<UniqueVector> vectors, final MapEntryNode entry) {
+            final NodeIdentifierWithPredicates id = entry.getIdentifier();
+            for (int i = 0; i < vectors.size(); ++i) {
+                final List<Object> values = vectors.get(i).extractValues(entry);
+                if (values != null) {
+                    final ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates> map = maps.get(i);
+                    if (id.equals(map.get(values))) {
+                        maps.set(i, map.without(values));
+                    }
+                }
+            }
+        }
+
+        boolean add(final List<UniqueVector> vectors, final MapEntryNode entry) {
+            final NodeIdentifierWithPredicates id = entry.getIdentifier();
+            for (int i = 0; i < vectors.size(); ++i) {
+                final UniqueVector vector = vectors.get(i);
+                final List<Object> values = vector.extractValues(entry);
+                if (values != null) {
+                    final ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates> map = maps.get(i);
+                    final NodeIdentifierWithPredicates existing = map.get(values);
+                    if (existing != null && !id.equals(existing)) {
+                        violation = new Violation(vector, values, existing, id);
+                        return false;
+                    }
+                    maps.set(i, map.with(values, id));
+                }
+            }
+            return true;
+        }
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(UniqueValidation.class);
+
+    private final @NonNull ModificationApplyOperation delegate;
+    private final @NonNull ImmutableList<UniqueVector> vectors;
+    private final @NonNull ImmutableList<ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates>> emptyMaps;
+
+    // Indexes of list instances we have encountered, keyed by identity of the MapNode
+    private final Cache<NormalizedNode<?, ?>, List<ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates>>>
+        indexes = CacheBuilder.newBuilder().weakKeys().build();
+
+    private UniqueValidation(final ModificationApplyOperation delegate, final ImmutableList<UniqueVector> vectors) {
+        this.delegate = requireNonNull(delegate);
+        this.vectors = requireNonNull(vectors);
+
+        final ImmutableList.Builder<ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates>> builder =
+                ImmutableList.builderWithExpectedSize(vectors.size());
+        for (int i = 0; i < vectors.size(); ++i) {
+            builder.add(ImmutableHashTrieMap.of());
+        }
+        this.emptyMaps = builder.build();
+    }
+
+    static ModificationApplyOperation from(final ModificationApplyOperation delegate, final ListSchemaNode schema,
+            final DataTreeConfiguration treeConfig) {
+        if (!treeConfig.isUniqueIndexEnabled()) {
+            return delegate;
+        }
+        final Collection<UniqueConstraint> uniques = schema.getUniqueConstraints();
+        if (uniques.isEmpty()) {
+            return delegate;
+        }
+
+        final DataSchemaContextNode<?> entry = DataSchemaContextNode.fromDataSchemaNode(schema)
+                .getChild(schema.getQName());
+        final ImmutableList.Builder<UniqueVector> builder = ImmutableList.builderWithExpectedSize(uniques.size());
+        for (UniqueConstraint unique : uniques) {
+            final ImmutableList.Builder<YangInstanceIdentifier> paths = ImmutableList.builder();
+            for (Relative tag : unique.getTag()) {
+                paths.add(toDataPath(entry, tag));
+            }
+            builder.add(new UniqueVector(paths.build()));
+        }
+
+        final ImmutableList<UniqueVector> vectors = builder.build();
+        LOG.debug("Enforcing unique constraints {} on {}", vectors, schema.getQName());
+        return new UniqueValidation(delegate, vectors);
+    }
+
+    @Override
+    Optional<TreeNode> apply(final ModifiedNode modification, final Optional<TreeNode> storeMeta,
+            final Version version) {
+        Optional<TreeNode> ret = modification.getValidatedNode(this, storeMeta);
+        if (ret == null) {
+            // Deal with the result moving on us
+            ret = delegate.apply(modification, storeMeta, version);
+            if (ret.isPresent()) {
+                final Violation violation = updateIndex(modification, storeMeta, ret.get());
+                checkArgument(violation == null, "%s", violation == null ? null : violation.message());
+            }
+        }
+        return ret;
+    }
+
+    @Override
+    void checkApplicable(final ModificationPath path, final NodeModification modification,
+            final Optional<TreeNode> current, final Version version) throws DataValidationFailedException {
+        delegate.checkApplicable(path, modification, current, version);
+
+        if (!(modification instanceof ModifiedNode)) {
+            LOG.debug("Could not validate {}, does not implement expected class {}", modification, ModifiedNode.class);
+            return;
+        }
+        final ModifiedNode modified = (ModifiedNode) modification;
+
+        // We need to actually perform the operation to get the result, which we then stash for apply()
+        final Optional<TreeNode> maybeApplied = delegate.apply(modified, current, version);
+        if (maybeApplied.isPresent()) {
+            final Violation violation = updateIndex(modified, current, maybeApplied.get());
+            if (violation != null) {
+                throw violation.toException(path.toInstanceIdentifier());
+            }
+        }
+
+        modified.setValidatedNode(this, current, maybeApplied);
+    }
+
+    @Override
+    void checkWrittenValue(final ModificationPath path, final NormalizedNode<?, ?> value)
+            throws DataValidationFailedException {
+        delegate.checkWrittenValue(path, value);
+    }
+
+    @Override
+    NormalizedNode<?, ?> toStoredValue(final NormalizedNode<?, ?> value) {
+        return delegate.toStoredValue(value);
+    }
+
+    @Override
+    void recursivelyVerifyMandatoryNodes(final NormalizedNode<?, ?> value) {
+        delegate.recursivelyVerifyMandatoryNodes(value);
+    }
+
+    @Override
+    void fullVerifyStructure(final NormalizedNode<?, ?> modification) {
+        delegate.fullVerifyStructure(modification);
+        final Violation violation = indexOf(modification);
+        checkArgument(violation == null, "%s", violation == null ? null : violation.message());
+    }
+
+    @Override
+    void quickVerifyStructure(final NormalizedNode<?, ?> modification) {
+        delegate.quickVerifyStructure(modification);
+    }
+
+    @Override
+    void recursivelyVerifyStructure(final NormalizedNode<?, ?> value) {
+        delegate.recursivelyVerifyStructure(value);
+    }
+
+    @Override
+    ChildTrackingPolicy getChildPolicy() {
+        return delegate.getChildPolicy();
+    }
+
+    @Override
+    void mergeIntoModifiedNode(final ModifiedNode node, final NormalizedNode<?, ?> value, final Version version) {
+        delegate.mergeIntoModifiedNode(node, value, version);
+    }
+
+    @Override
+    public Optional<ModificationApplyOperation> getChild(final PathArgument child) {
+        return delegate.getChild(child);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("delegate", delegate).add("vectors", vectors).toString();
+    }
+
+    /**
+     * Compute the index of a list resulting from a modification. If the index of the original list is known and the
+     * modification has not replaced the list, this costs O(number of modified entries), otherwise the index is built
+     * from scratch.
+     *
+     * @return A violation, or null if the result complies with all constraints
+     */
+    private @Nullable Violation updateIndex(final ModifiedNode modification, final Optional<TreeNode> storeMeta,
+            final TreeNode result) {
+        final NormalizedNode<?, ?> resultData = result.getData();
+        if (indexes.getIfPresent(resultData) != null) {
+            return null;
+        }
+        if (!storeMeta.isPresent()) {
+            return indexOf(resultData);
+        }
+
+        final TreeNode before = storeMeta.get();
+        final List<ImmutableHashTrieMap<List<Object>, NodeIdentifierWithPredicates>> beforeIndex =
+                indexes.getIfPresent(before.getData());
+        final LogicalOperation operation = modification.getOperation();
+        if (beforeIndex == null || operation != LogicalOperation.TOUCH && operation != LogicalOperation.MERGE) {
+            return indexOf(resultData);
+        }
+
+        // Incremental update: remove all modified entries first and then add their new versions, so that entries
+        // can swap values within a single modification.
+        final Collection<ModifiedNode> children = modification.getChildren();
+        final IndexState state = new IndexState(beforeIndex);
+        for (ModifiedNode child : children) {
+            if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                final Optional<TreeNode> entry = before.getChild(child.getIdentifier());
+                if (entry.isPresent()) {
+                    state.remove(vectors, (MapEntryNode) entry.get().getData());
+                }
+            }
+        }
+        for (ModifiedNode child : children) {
+            if (child.getModificationType() != ModificationType.UNMODIFIED) {
+                final Optional<TreeNode> entry = result.getChild(child.getIdentifier());
+                if (entry.isPresent() && !state.add(vectors, (MapEntryNode) entry.get().getData())) {
+                    return state.violation;
+                }
+            }
+        }
+
+        indexes.put(resultData, state.maps);
+        return null;
+    }
+
+    /**
+     * Build the index of a list from scratch.
+     *
+     * @return A violation, or null if the list complies with all constraints
+     */
+    private @Nullable Violation indexOf(final NormalizedNode<?, ?> data) {
+        if (indexes.getIfPresent(data) != null) {
+            return null;
+        }
+
+        final IndexState state = new IndexState(emptyMaps);
+        for (MapEntryNode entry : ((MapNode) data).getValue()) {
+            if (!state.add(vectors, entry)) {
+                return state.violation;
+            }
+        }
+
+        indexes.put(data, state.maps);
+        return null;
+    }
+
+    private static YangInstanceIdentifier toDataPath(final DataSchemaContextNode<?> entry, final Relative tag) {
+        final List<PathArgument> args = new ArrayList<>();
+        DataSchemaContextNode<?> current = entry;
+        for (QName qname : tag.getPathFromRoot()) {
+            final DataSchemaNode currentSchema = current.getDataSchemaNode();
+            if (currentSchema instanceof ChoiceSchemaNode
+                    && ((ChoiceSchemaNode) currentSchema).findCase(qname).isPresent()) {
+                // Case statements do not have a data representation
+                continue;
+            }
+
+            DataSchemaContextNode<?> child = current.getChild(qname);
+            checkArgument(child != null, "Failed to find %s of unique %s", qname, tag);
+            while (child.isMixin() && !isNamedBy(child, qname)) {
+                // Augmentations and implied choices are interposed in data
+                args.add(child.getIdentifier());
+                child = child.getChild(qname);
+                checkArgument(child != null, "Failed to find %s of unique %s", qname, tag);
+            }
+
+            args.add(child.getIdentifier());
+            current = child;
+        }
+
+        checkArgument(current.isLeaf(), "Unique %s does not identify a leaf", tag);
+        return YangInstanceIdentifier.create(args);
+    }
+
+    private static boolean isNamedBy(final DataSchemaContextNode<?> node, final QName qname) {
+        final PathArgument id = node.getIdentifier();
+        return !(id instanceof AugmentationIdentifier) && qname.equals(id.getNodeType());
+    }
+}
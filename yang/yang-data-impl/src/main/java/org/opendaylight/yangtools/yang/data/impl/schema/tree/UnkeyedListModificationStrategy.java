@@ -7,6 +7,9 @@
  */
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
@@ -14,6 +17,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListEntryNode;
 import org.opendaylight.yangtools.yang.data.api.schema.UnkeyedListNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.IncorrectDataStructureException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.MutableTreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
@@ -22,6 +26,7 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.NormalizedNodeContainerBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListEntryNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableUnkeyedListNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
 
 final class UnkeyedListModificationStrategy extends SchemaAwareApplyOperation<ListSchemaNode> {
@@ -31,10 +36,14 @@ final class UnkeyedListModificationStrategy extends SchemaAwareApplyOperation<Li
 
     private final DataNodeContainerModificationStrategy<ListSchemaNode> entryStrategy;
     private final UnkeyedListNode emptyNode;
+    private final boolean checkTypeConstraints;
+    private final boolean normalizeStoredValues;
 
     UnkeyedListModificationStrategy(final ListSchemaNode schema, final DataTreeConfiguration treeConfig) {
         entryStrategy = new DataNodeContainerModificationStrategy<>(ITEM_SUPPORT, schema, treeConfig);
         emptyNode = ImmutableNodes.listNode(schema.getQName());
+        checkTypeConstraints = treeConfig.isTypeConstraintValidationEnabled();
+        normalizeStoredValues = entryStrategy.normalizesStoredValues();
     }
 
     @Override
@@ -68,7 +77,7 @@ final class UnkeyedListModificationStrategy extends SchemaAwareApplyOperation<Li
     @Override
     protected TreeNode applyWrite(final ModifiedNode modification, final NormalizedNode<?, ?> newValue,
             final Optional<TreeNode> currentMeta, final Version version) {
-        final TreeNode newValueMeta = TreeNodeFactory.createTreeNode(newValue, version);
+        final TreeNode newValueMeta = TreeNodeFactory.createTreeNode(toStoredValue(newValue), version);
         if (modification.getChildren().isEmpty()) {
             return newValueMeta;
         }
@@ -127,6 +136,41 @@ final class UnkeyedListModificationStrategy extends SchemaAwareApplyOperation<Li
         return meta.seal();
     }
 
+    @Override
+    void checkWrittenValue(final ModificationPath path, final NormalizedNode<?, ?> value)
+            throws DataValidationFailedException {
+        if (!checkTypeConstraints) {
+            return;
+        }
+        for (final UnkeyedListEntryNode entry : ((UnkeyedListNode) value).getValue()) {
+            final PathArgument entryId = entry.getIdentifier();
+            path.push(entryId);
+            try {
+                entryStrategy.checkWrittenValue(path, entry);
+            } finally {
+                path.pop();
+            }
+        }
+    }
+
+    @Override
+    NormalizedNode<?, ?> toStoredValue(final NormalizedNode<?, ?> value) {
+        if (!normalizeStoredValues || !(value instanceof UnkeyedListNode)) {
+            return value;
+        }
+
+        final Collection<UnkeyedListEntryNode> entries = ((UnkeyedListNode) value).getValue();
+        final List<UnkeyedListEntryNode> stored = new ArrayList<>(entries.size());
+        boolean changed = false;
+        for (final UnkeyedListEntryNode entry : entries) {
+            final NormalizedNode<?, ?> storedEntry = entryStrategy.toStoredValue(entry);
+            changed |= storedEntry != entry;
+            stored.add((UnkeyedListEntryNode) storedEntry);
+        }
+        return changed ? ImmutableUnkeyedListNodeBuilder.create(stored.size())
+            .withNodeIdentifier(((UnkeyedListNode) value).getIdentifier()).withValue(stored).build() : value;
+    }
+
     @Override
     public Optional<ModificationApplyOperation> getChild(final PathArgument child) {
         return child instanceof NodeIdentifier ? Optional.of(entryStrategy) : Optional.empty();
@@ -137,6 +181,13 @@ final class UnkeyedListModificationStrategy extends SchemaAwareApplyOperation<Li
         // NOOP
     }
 
+    @Override
+    void recursivelyVerifyMandatoryNodes(final NormalizedNode<?, ?> value) {
+        for (final UnkeyedListEntryNode entry : ((UnkeyedListNode) value).getValue()) {
+            entryStrategy.recursivelyVerifyMandatoryNodes(entry);
+        }
+    }
+
     @Override
     void recursivelyVerifyStructure(final NormalizedNode<?, ?> value) {
         // NOOP
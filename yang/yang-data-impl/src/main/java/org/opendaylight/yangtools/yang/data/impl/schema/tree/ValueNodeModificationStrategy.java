@@ -12,23 +12,31 @@ import static java.util.Objects.requireNonNull;
 
 import java.util.Optional;
 import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.PathArgument;
 import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
 import org.opendaylight.yangtools.yang.data.api.schema.ValueNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.IncorrectDataStructureException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
 import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
 
 final class ValueNodeModificationStrategy<T extends DataSchemaNode> extends SchemaAwareApplyOperation<T> {
     private final Class<? extends ValueNode> nodeClass;
     private final @NonNull T schema;
+    private final @Nullable TypeConstraintChecker checker;
 
-    ValueNodeModificationStrategy(final Class<? extends ValueNode> nodeClass, final T schema) {
+    ValueNodeModificationStrategy(final Class<? extends ValueNode> nodeClass, final T schema,
+            final DataTreeConfiguration treeConfig) {
         this.nodeClass = requireNonNull(nodeClass);
         this.schema = requireNonNull(schema);
+        this.checker = treeConfig.isTypeConstraintValidationEnabled() && schema instanceof TypedDataSchemaNode
+                ? TypeConstraintChecker.of(((TypedDataSchemaNode) schema).getType()) : null;
     }
 
     @Override
@@ -76,6 +84,17 @@ final class ValueNodeModificationStrategy<T extends DataSchemaNode> extends Sche
         throw new IncorrectDataStructureException(path.toInstanceIdentifier(), "Subtree modification is not allowed.");
     }
 
+    @Override
+    void checkWrittenValue(final ModificationPath path, final NormalizedNode<?, ?> value)
+            throws DataValidationFailedException {
+        if (checker != null) {
+            final String error = checker.check(value.getValue());
+            if (error != null) {
+                throw new DataValidationFailedException(path.toInstanceIdentifier(), error);
+            }
+        }
+    }
+
     @Override
     void mergeIntoModifiedNode(final ModifiedNode node, final NormalizedNode<?, ?> value, final Version version) {
         switch (node.getOperation()) {
@@ -9,9 +9,11 @@
 package org.opendaylight.yangtools.yang.data.impl.codecs;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.data.api.codec.Int8Codec;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataStringCodec;
 import org.opendaylight.yangtools.yang.model.util.type.BaseTypes;
 
 /**
@@ -53,4 +55,25 @@ public class Int8CodecStringTest {
         TypeDefinitionAwareCodecTestHelper.deserializeWithExpectedIllegalArgEx(codec, "");
         TypeDefinitionAwareCodecTestHelper.deserializeWithExpectedIllegalArgEx(codec, null);
     }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    public void testTryDeserialize() {
+        final DataStringCodec<Byte> codec = TypeDefinitionAwareCodecTestHelper.getCodec(BaseTypes.int8Type(),
+            DataStringCodec.class);
+
+        assertEquals(Byte.valueOf((byte) 64), codec.tryDeserialize("0x40"));
+        assertEquals(Byte.valueOf((byte) -64), codec.tryDeserialize("-0100"));
+        assertEquals(Byte.valueOf((byte) 0), codec.tryDeserialize("0"));
+        assertEquals(Byte.valueOf((byte) -128), codec.tryDeserialize("-128"));
+
+        assertNull(codec.tryDeserialize("128"));
+        assertNull(codec.tryDeserialize("-0"));
+        assertNull(codec.tryDeserialize("0x"));
+        assertNull(codec.tryDeserialize("08"));
+        assertNull(codec.tryDeserialize("123456789012345678901234567890"));
+        assertNull(codec.tryDeserialize("1o"));
+        assertNull(codec.tryDeserialize(""));
+        assertNull(codec.tryDeserialize(null));
+    }
 }
@@ -9,18 +9,22 @@ package org.opendaylight.yangtools.yang.data.impl.codecs;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 import static org.opendaylight.yangtools.yang.data.impl.codecs.TypeDefinitionAwareCodecTestHelper.getCodec;
 
+import com.google.common.collect.ImmutableList;
 import java.net.URI;
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.QName;
 import org.opendaylight.yangtools.yang.common.QNameModule;
 import org.opendaylight.yangtools.yang.data.api.codec.StringCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.CompiledPatternContext;
 import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
 import org.opendaylight.yangtools.yang.model.api.Module;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.model.api.type.StringTypeDefinition;
 import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -58,5 +62,11 @@ public class StringPatternCheckingCodecTest {
             LOG.debug("IllegalArgumentException was thrown as expected", ex);
             assertEquals("Value 'abcd' does not match regular expression '[A-Z]+'", ex.getMessage());
         }
+
+        // Compiled patterns are shared
+        final StringTypeDefinition type = (StringTypeDefinition) testLeaf.getType();
+        final ImmutableList<CompiledPatternContext> patterns = CompiledPatternContext.forType(type);
+        assertEquals(1, patterns.size());
+        assertSame(patterns.get(0), CompiledPatternContext.forType(type).get(0));
     }
 }
@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.yang.data.impl.codecs;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 import static org.mockito.Mockito.mock;
 import static org.opendaylight.yangtools.yang.data.impl.codecs.TypeDefinitionAwareCodecTestHelper.deserializeWithExpectedIllegalArgEx;
 import static org.opendaylight.yangtools.yang.data.impl.codecs.TypeDefinitionAwareCodecTestHelper.getCodec;
@@ -16,6 +17,7 @@ import static org.opendaylight.yangtools.yang.data.impl.codecs.TypeDefinitionAwa
 import org.junit.Test;
 import org.opendaylight.yangtools.yang.common.Empty;
 import org.opendaylight.yangtools.yang.data.api.codec.UnionCodec;
+import org.opendaylight.yangtools.yang.data.impl.codec.DataStringCodec;
 import org.opendaylight.yangtools.yang.model.api.SchemaPath;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.type.UnionTypeDefinition;
@@ -69,4 +71,25 @@ public class UnionCodecStringTest {
         deserializeWithExpectedIllegalArgEx(codec, "123o");
         deserializeWithExpectedIllegalArgEx(codec, "true");
     }
+
+    @Test
+    public void testTryDeserialize() {
+        final DataStringCodec<?> codec = getCodec(toUnionTypeDefinition(BaseTypes.uint8Type(),
+            toEnumTypeDefinition("enum1", "enum2"), BaseTypes.int64Type(), BaseTypes.booleanType()),
+            DataStringCodec.class);
+
+        assertEquals((short) 200, codec.tryDeserialize("200"));
+        assertEquals((short) 16, codec.tryDeserialize("0x10"));
+        assertEquals("enum2", codec.tryDeserialize("enum2"));
+        assertEquals(-300L, codec.tryDeserialize("-300"));
+        assertEquals(300L, codec.tryDeserialize("300"));
+        assertEquals(Boolean.TRUE, codec.tryDeserialize("TRUE"));
+
+        assertNull(codec.tryDeserialize("enum3"));
+        assertNull(codec.tryDeserialize("123o"));
+        assertNull(codec.tryDeserialize("10.0.0.1"));
+        assertNull(codec.tryDeserialize("99999999999999999999"));
+        assertNull(codec.tryDeserialize(""));
+        assertNull(codec.tryDeserialize(null));
+    }
 }
@@ -135,6 +135,32 @@ public class BuilderTest {
         assertEquals(orderedMapNodeSchemaAware.getChild(0), orderedMapNodeSchemaAwareMapNodeConst.getChild(0));
     }
 
+    @Test
+    public void immutableOrderedMapBuilderModificationTest() {
+        final CollectionNodeBuilder<MapEntryNode, OrderedMapNode> builder = ImmutableOrderedMapNodeBuilder.create()
+                .withNodeIdentifier(NODE_IDENTIFIER_LIST)
+                .withChild(LIST_MAIN_CHILD_1)
+                .withChild(LIST_MAIN_CHILD_2);
+        final OrderedMapNode first = builder.build();
+
+        // Building again must not affect previously-built nodes
+        final OrderedMapNode second = builder.withChild(LIST_MAIN_CHILD_3).build();
+        final OrderedMapNode third = ImmutableOrderedMapNodeBuilder.create(second)
+                .withoutChild(LIST_MAIN_CHILD_1.getIdentifier())
+                .withChild(LIST_MAIN_CHILD_1)
+                .build();
+
+        assertEquals(2, first.getSize());
+        assertEquals(LIST_MAIN_CHILD_2, first.getChild(1));
+        assertEquals(SIZE, second.getSize());
+        assertEquals(LIST_MAIN_CHILD_1, second.getChild(0));
+        assertEquals(LIST_MAIN_CHILD_3, second.getChild(2));
+        assertEquals(LIST_MAIN_CHILD_2, third.getChild(0));
+        assertEquals(LIST_MAIN_CHILD_3, third.getChild(1));
+        assertEquals(LIST_MAIN_CHILD_1, third.getChild(2));
+        assertEquals(second, third);
+    }
+
     @Test
     public void immutableOrderedLeafSetNodeBuilderTest() {
         final NormalizedNode<?, ?> orderedLeafSet = ImmutableOrderedLeafSetNodeBuilder.<String>create()
@@ -0,0 +1,208 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.builder.impl;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import com.google.common.collect.ImmutableMap;
+import java.util.Optional;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint32;
+import org.opendaylight.yangtools.yang.common.Uint64;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.DataContainerChild;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.LeafSetEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.nodes.AbstractImmutableDataContainerNode;
+
+public class LeafPackedChildrenTest {
+    private static final QName ROOT = QName.create("urn:test", "2019-09-01", "root");
+    private static final QName FOO = QName.create(ROOT, "foo");
+    private static final QName BAR = QName.create(ROOT, "bar");
+    private static final QName BAZ = QName.create(ROOT, "baz");
+    private static final QName INNER = QName.create(ROOT, "inner");
+
+    @Test
+    public void testCompactLeafValues() {
+        assertCompactLeaf(5L);
+        assertCompactLeaf(Long.MAX_VALUE);
+        assertCompactLeaf(12345);
+        assertCompactLeaf((short) 1234);
+        assertCompactLeaf(Uint32.valueOf(4000000000L));
+        assertCompactLeaf(Uint64.valueOf(Long.MAX_VALUE));
+    }
+
+    @Test
+    public void testAttributesNotCompact() {
+        final LeafNode<Object> leaf = ImmutableLeafNodeBuilder.create().withNodeIdentifier(new NodeIdentifier(FOO))
+                .withValue(5L).withAttributes(ImmutableMap.of(BAR, "attr")).build();
+        assertEquals(5L, leaf.getValue());
+        assertEquals("attr", leaf.getAttributeValue(BAR));
+    }
+
+    @Test
+    public void testCompactLeafSetEntry() {
+        final LeafSetEntryNode<Object> entry = ImmutableLeafSetEntryNodeBuilder.create()
+                .withNodeIdentifier(new NodeWithValue<>(FOO, "abc")).withValue("abc").build();
+        assertEquals("abc", entry.getValue());
+        assertTrue(entry.getAttributes().isEmpty());
+
+        final LeafSetEntryNode<Object> other = ImmutableLeafSetEntryNodeBuilder.create()
+                .withNodeIdentifier(new NodeWithValue<>(FOO, "abc")).withValue("abc").build();
+        assertEquals(entry, other);
+        assertEquals(entry.hashCode(), other.hashCode());
+    }
+
+    @Test
+    public void testPackedContainer() {
+        final ContainerNode inner = ImmutableNodes.containerNode(INNER);
+        final ContainerNode container = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.leafNode(FOO, "foo"))
+                .withChild(ImmutableNodes.leafNode(BAR, 42L))
+                .withChild(ImmutableNodes.leafNode(BAZ, new byte[] { 1, 2 }))
+                .withChild(inner)
+                .build();
+
+        assertTrue(((AbstractImmutableDataContainerNode<?>) container).getChildren() instanceof LeafPackedChildren);
+        assertEquals(4, container.getValue().size());
+        assertEquals(Optional.of(ImmutableNodes.leafNode(FOO, "foo")), container.getChild(new NodeIdentifier(FOO)));
+        assertEquals(Optional.of(ImmutableNodes.leafNode(BAR, 42L)), container.getChild(new NodeIdentifier(BAR)));
+        assertArrayEquals(new byte[] { 1, 2 },
+            (byte[]) container.getChild(new NodeIdentifier(BAZ)).get().getValue());
+        assertSame(inner, container.getChild(new NodeIdentifier(INNER)).get());
+
+        // Equal to a container whose children are not packed
+        final ContainerNode unpacked = new ImmutableContainerNodeBuilder.ImmutableContainerNode(
+            new NodeIdentifier(ROOT), ImmutableMap.copyOf(
+                ((AbstractImmutableDataContainerNode<?>) container).getChildren()), ImmutableMap.of());
+        assertEquals(unpacked, container);
+        assertEquals(container, unpacked);
+        assertEquals(unpacked.hashCode(), container.hashCode());
+    }
+
+    @Test
+    public void testUnpackedOnce() {
+        final ContainerNode container = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.leafNode(FOO, "foo"))
+                .build();
+
+        final DataContainerChild<?, ?> leaf = container.getChild(new NodeIdentifier(FOO)).get();
+        assertSame(leaf, container.getChild(new NodeIdentifier(FOO)).get());
+        assertSame(leaf, container.getValue().iterator().next());
+    }
+
+    @Test
+    public void testBulkOperationsDoNotRetain() {
+        final ContainerNode container = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.leafNode(FOO, "foo"))
+                .build();
+        final ContainerNode other = ImmutableContainerNodeBuilder.create(container).build();
+
+        // Iteration, equality, hashing and copying leave both nodes packed
+        final DataContainerChild<?, ?> iterated = container.getValue().iterator().next();
+        assertEquals(container, other);
+        assertEquals(container.hashCode(), other.hashCode());
+        assertNotSame(iterated, container.getValue().iterator().next());
+        assertNotSame(other.getValue().iterator().next(), other.getValue().iterator().next());
+        assertEquals(iterated, container.getChild(new NodeIdentifier(FOO)).get());
+    }
+
+    @Test
+    public void testPackedMapEntry() {
+        final NodeIdentifierWithPredicates id = new NodeIdentifierWithPredicates(ROOT, FOO, "foo");
+        final MapEntryNode entry = ImmutableMapEntryNodeBuilder.create()
+                .withNodeIdentifier(id)
+                .withChild(ImmutableNodes.leafNode(FOO, "foo"))
+                .withChild(ImmutableNodes.leafNode(BAR, 42L))
+                .build();
+
+        assertTrue(((AbstractImmutableDataContainerNode<?>) entry).getChildren() instanceof LeafPackedChildren);
+        assertEquals(Optional.of(ImmutableNodes.leafNode(FOO, "foo")), entry.getChild(new NodeIdentifier(FOO)));
+        assertEquals(Optional.of(ImmutableNodes.leafNode(BAR, 42L)), entry.getChild(new NodeIdentifier(BAR)));
+
+        // Children with the same keys share offsets, but not values
+        final MapEntryNode other = ImmutableMapEntryNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifierWithPredicates(ROOT, FOO, "other"))
+                .withChild(ImmutableNodes.leafNode(FOO, "other"))
+                .withChild(ImmutableNodes.leafNode(BAR, 43L))
+                .build();
+        assertEquals(Optional.of(ImmutableNodes.leafNode(BAR, 43L)), other.getChild(new NodeIdentifier(BAR)));
+
+        final MapEntryNode copy = ImmutableMapEntryNodeBuilder.create(entry).build();
+        assertEquals(entry, copy);
+        assertEquals(entry.hashCode(), copy.hashCode());
+    }
+
+    @Test
+    public void testPackedContainerCopy() {
+        final ContainerNode container = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.leafNode(FOO, "foo"))
+                .withChild(ImmutableNodes.leafNode(BAR, 42L))
+                .build();
+
+        final ContainerNode copy = ImmutableContainerNodeBuilder.create(container)
+                .withChild(ImmutableNodes.leafNode(BAZ, "baz"))
+                .build();
+        assertNotSame(container, copy);
+        assertEquals(3, copy.getValue().size());
+        assertEquals(Optional.of(ImmutableNodes.leafNode(BAR, 42L)), copy.getChild(new NodeIdentifier(BAR)));
+        assertEquals(2, container.getValue().size());
+    }
+
+    @Test
+    public void testNoLeaves() {
+        final ContainerNode container = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.containerNode(INNER))
+                .build();
+        assertTrue(!(((AbstractImmutableDataContainerNode<?>) container).getChildren()
+                instanceof LeafPackedChildren));
+    }
+
+    @Test
+    public void testTreeNode() {
+        final ContainerNode container = ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(ROOT))
+                .withChild(ImmutableNodes.leafNode(FOO, "foo"))
+                .build();
+
+        final TreeNode tree = TreeNodeFactory.createTreeNode(container, Version.initial());
+        final DataContainerChild<?, ?> leaf = (DataContainerChild<?, ?>) tree.getChild(new NodeIdentifier(FOO)).get()
+                .getData();
+        assertEquals(ImmutableNodes.leafNode(FOO, "foo"), leaf);
+    }
+
+    private static void assertCompactLeaf(final Object value) {
+        final LeafNode<Object> leaf = ImmutableNodes.leafNode(FOO, value);
+        final LeafNode<Object> other = ImmutableNodes.leafNode(FOO, value);
+        assertEquals(value, leaf.getValue());
+        assertEquals(value.getClass(), leaf.getValue().getClass());
+        assertTrue(leaf.getAttributes().isEmpty());
+        assertEquals(leaf, other);
+        assertEquals(leaf.hashCode(), other.hashCode());
+        assertEquals(ImmutableLeafNodeBuilder.unpackNode(new NodeIdentifier(FOO),
+            ImmutableLeafNodeBuilder.packValue(leaf)), leaf);
+    }
+}
@@ -223,4 +223,37 @@ public class Bug5968Test {
         final DataTreeCandidate prepare = inMemoryDataTree.prepare(modificationTree);
         inMemoryDataTree.commit(prepare);
     }
+
+    @Test
+    public void touchMapEntryTest() throws DataValidationFailedException {
+        final DataTree inMemoryDataTree = initDataTree(SCHEMA_CONTEXT, true);
+        DataTreeModification modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        writeMapEntry(modificationTree, "1", "mandatory-value", "common-value");
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+        inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+
+        final YangInstanceIdentifier entryPath = YangInstanceIdentifier.of(ROOT).node(MY_LIST)
+                .node(new NodeIdentifierWithPredicates(MY_LIST, ImmutableMap.of(LIST_ID, "1")));
+
+        // Modifying an unrelated leaf does not need the mandatory leaf to be written again
+        modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.write(entryPath.node(COMMON_LEAF), ImmutableNodes.leafNode(COMMON_LEAF, "updated"));
+        modificationTree.ready();
+        inMemoryDataTree.validate(modificationTree);
+        inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+
+        modificationTree = inMemoryDataTree.takeSnapshot().newModification();
+        modificationTree.delete(entryPath.node(MANDATORY_LEAF));
+        try {
+            modificationTree.ready();
+            inMemoryDataTree.validate(modificationTree);
+            inMemoryDataTree.commit(inMemoryDataTree.prepare(modificationTree));
+            fail("Should fail due to missing mandatory leaf.");
+        } catch (final IllegalArgumentException e) {
+            assertEquals(
+                    "Node (foo?revision=2016-07-28)my-list[{(foo?revision=2016-07-28)list-id=1}] is missing mandatory "
+                            + "descendant /(foo?revision=2016-07-28)mandatory-leaf", e.getMessage());
+        }
+    }
 }
@@ -8,8 +8,11 @@
 package org.opendaylight.yangtools.yang.data.impl.schema.tree;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.fail;
 
+import com.google.common.collect.ImmutableList;
 import java.util.Collection;
 import org.junit.Before;
 import org.junit.Test;
@@ -17,6 +20,9 @@ import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
 import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
 import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
 import org.opendaylight.yangtools.yang.data.api.schema.LeafNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.OrderedMapNode;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
@@ -24,10 +30,13 @@ import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModificationCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
 import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
 import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableContainerNodeBuilder;
 import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableLeafNodeBuilder;
 import org.opendaylight.yangtools.yang.model.api.SchemaContext;
@@ -178,6 +187,180 @@ public class DataTreeCandidatesTest extends AbstractTestModelTest {
         assertUnmodified(2, node.getChildNodes());
     }
 
+    @Test
+    public void testAggregateSingle() throws DataValidationFailedException {
+        final DataTreeCandidate candidate = commit(TestModel.NAME_PATH,
+            ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo"));
+        assertSame(candidate, DataTreeCandidates.aggregate(ImmutableList.of(candidate)));
+    }
+
+    @Test
+    public void testAggregateWriteThenDelete() throws DataValidationFailedException {
+        final DataTreeCandidate first = commit(TestModel.NAME_PATH,
+            ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo"));
+        final DataTreeCandidate second = commit(TestModel.NON_PRESENCE_PATH, null);
+
+        // 'non-presence' was created and removed, hence the net effect is nil
+        final DataTreeCandidate aggregated = DataTreeCandidates.aggregate(ImmutableList.of(first, second));
+        assertEquals(YangInstanceIdentifier.EMPTY, aggregated.getRootPath());
+        final DataTreeCandidateNode node = aggregated.getRootNode();
+        assertEquals(ModificationType.UNMODIFIED, node.getModificationType());
+        assertEquals(second.getRootNode().getDataAfter(), node.getDataAfter());
+    }
+
+    @Test
+    public void testAggregateMergesChildren() throws DataValidationFailedException {
+        final DataTreeSnapshot initial = dataTree.takeSnapshot();
+        final DataTreeCandidate first = commit(TestModel.NAME_PATH,
+            ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo"));
+        final DataTreeCandidate second = commit(TestModel.INNER_CONTAINER_PATH,
+            ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.INNER_CONTAINER_QNAME))
+                .withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "bar"))
+                .build());
+        final DataTreeCandidate third = commit(TestModel.NAME_PATH,
+            ImmutableNodes.leafNode(TestModel.NAME_QNAME, "baz"));
+
+        final DataTreeCandidate aggregated = DataTreeCandidates.aggregate(ImmutableList.of(first, second, third));
+        final DataTreeCandidateNode root = aggregated.getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertEquals(initial.readNode(YangInstanceIdentifier.EMPTY), root.getDataBefore());
+        assertEquals(third.getRootNode().getDataAfter(), root.getDataAfter());
+
+        // 'non-presence' and 'test'
+        assertEquals(2, root.getChildNodes().size());
+        final DataTreeCandidateNode test = root.getModifiedChild(TestModel.TEST_PATH.getLastPathArgument()).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, test.getModificationType());
+        assertEquals(1, test.getChildNodes().size());
+        final DataTreeCandidateNode name = root.getModifiedChild(TestModel.NON_PRESENCE_PATH.getLastPathArgument())
+                .get().getModifiedChild(TestModel.NAME_PATH.getLastPathArgument()).get();
+        assertFalse(name.getDataBefore().isPresent());
+        assertEquals(ImmutableNodes.leafNode(TestModel.NAME_QNAME, "baz"), name.getDataAfter().get());
+
+        // Replaying the aggregate needs to result in the same data
+        final DataTreeModification modification = initial.newModification();
+        DataTreeCandidates.applyToModification(modification, aggregated);
+        assertEquals(dataTree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY),
+            modification.readNode(YangInstanceIdentifier.EMPTY));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAggregateDifferentRoots() {
+        DataTreeCandidates.aggregate(ImmutableList.of(
+            DataTreeCandidates.fromNormalizedNode(TestModel.NAME_PATH,
+                ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo")),
+            DataTreeCandidates.fromNormalizedNode(TestModel.VALUE_PATH,
+                ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "foo"))));
+    }
+
+    @Test
+    public void testDiffTreeNodes() throws DataValidationFailedException {
+        final InMemoryDataTreeSnapshot initial = (InMemoryDataTreeSnapshot) dataTree.takeSnapshot();
+        commit(TestModel.NAME_PATH, ImmutableNodes.leafNode(TestModel.NAME_QNAME, "foo"));
+        commit(TestModel.INNER_CONTAINER_PATH, ImmutableContainerNodeBuilder.create()
+            .withNodeIdentifier(new NodeIdentifier(TestModel.INNER_CONTAINER_QNAME))
+            .withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "bar"))
+            .build());
+        final InMemoryDataTreeSnapshot last = (InMemoryDataTreeSnapshot) dataTree.takeSnapshot();
+
+        final DataTreeCandidate diff = DataTreeCandidates.diff(YangInstanceIdentifier.EMPTY, initial.getRootNode(),
+            last.getRootNode());
+        final DataTreeCandidateNode root = diff.getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, root.getModificationType());
+        assertEquals(2, root.getChildNodes().size());
+        assertEquals(ModificationType.WRITE, root.getModifiedChild(TestModel.NON_PRESENCE_PATH.getLastPathArgument())
+            .get().getModificationType());
+
+        // Only 'inner-container' has changed in 'test'
+        final DataTreeCandidateNode test = root.getModifiedChild(TestModel.TEST_PATH.getLastPathArgument()).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, test.getModificationType());
+        assertEquals(1, test.getChildNodes().size());
+        assertEquals(ModificationType.WRITE, test.getModifiedChild(
+            TestModel.INNER_CONTAINER_PATH.getLastPathArgument()).get().getModificationType());
+
+        // Replaying the difference needs to result in the same data
+        final DataTreeModification modification = initial.newModification();
+        DataTreeCandidates.applyToModification(modification, diff);
+        assertEquals(last.readNode(YangInstanceIdentifier.EMPTY), modification.readNode(YangInstanceIdentifier.EMPTY));
+
+        // Diffing the same tree is a no-op
+        assertEquals(ModificationType.UNMODIFIED, DataTreeCandidates.diff(YangInstanceIdentifier.EMPTY,
+            last.getRootNode(), last.getRootNode()).getRootNode().getModificationType());
+    }
+
+    @Test
+    public void testDiffNormalizedNodes() {
+        final ContainerNode before = createTestContainer("foo", 1, 2);
+        assertEquals(ModificationType.UNMODIFIED, DataTreeCandidates.diff(TestModel.TEST_PATH, before,
+            createTestContainer("foo", 1, 2)).getRootNode().getModificationType());
+
+        final DataTreeCandidateNode node = DataTreeCandidates.diff(TestModel.TEST_PATH, before,
+            createTestContainer("bar", 1, 2)).getRootNode();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, node.getModificationType());
+        assertEquals(1, node.getChildNodes().size());
+        final DataTreeCandidateNode inner = node.getModifiedChild(
+            TestModel.INNER_CONTAINER_PATH.getLastPathArgument()).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, inner.getModificationType());
+        final DataTreeCandidateNode value = inner.getModifiedChild(new NodeIdentifier(TestModel.VALUE_QNAME)).get();
+        assertEquals(ModificationType.WRITE, value.getModificationType());
+        assertEquals(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "foo"), value.getDataBefore().get());
+        assertEquals(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "bar"), value.getDataAfter().get());
+
+        assertEquals(ModificationType.DELETE, DataTreeCandidates.diff(TestModel.TEST_PATH, before, null).getRootNode()
+            .getModificationType());
+        assertEquals(ModificationType.WRITE, DataTreeCandidates.diff(TestModel.TEST_PATH, null, before).getRootNode()
+            .getModificationType());
+    }
+
+    @Test
+    public void testDiffOrderedMap() {
+        final ContainerNode before = createTestContainer("foo", 1, 2);
+        final DataTreeCandidateNode outerList = DataTreeCandidates.diff(TestModel.TEST_PATH, before,
+            createTestContainer("foo", 2, 1)).getRootNode().getModifiedChild(
+                TestModel.OUTER_LIST_PATH.getLastPathArgument()).get();
+        assertEquals(ModificationType.WRITE, outerList.getModificationType());
+
+        // Removing an entry retains relative order
+        final DataTreeCandidateNode removed = DataTreeCandidates.diff(TestModel.TEST_PATH, before,
+            createTestContainer("foo", 2)).getRootNode().getModifiedChild(
+                TestModel.OUTER_LIST_PATH.getLastPathArgument()).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, removed.getModificationType());
+        assertEquals(1, removed.getChildNodes().size());
+        assertEquals(ModificationType.DELETE, removed.getChildNodes().iterator().next().getModificationType());
+    }
+
+    private static ContainerNode createTestContainer(final String value, final int... ids) {
+        final CollectionNodeBuilder<MapEntryNode, OrderedMapNode> outerList = Builders.orderedMapBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+        for (int id : ids) {
+            outerList.withChild(ImmutableNodes.mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        }
+
+        return ImmutableContainerNodeBuilder.create()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(outerList.build())
+                .withChild(ImmutableContainerNodeBuilder.create()
+                    .withNodeIdentifier(new NodeIdentifier(TestModel.INNER_CONTAINER_QNAME))
+                    .withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, value))
+                    .build())
+                .build();
+    }
+
+    private DataTreeCandidate commit(final YangInstanceIdentifier path, final NormalizedNode<?, ?> data)
+            throws DataValidationFailedException {
+        final DataTreeModification modification = dataTree.takeSnapshot().newModification();
+        if (data != null) {
+            modification.write(path, data);
+        } else {
+            modification.delete(path);
+        }
+        modification.ready();
+        dataTree.validate(modification);
+        final DataTreeCandidate candidate = dataTree.prepare(modification);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+
     private static void assertUnmodified(final int expSize, final Collection<DataTreeCandidateNode> nodes) {
         assertEquals(expSize, nodes.size());
         nodes.forEach(node -> assertEquals(ModificationType.UNMODIFIED, node.getModificationType()));
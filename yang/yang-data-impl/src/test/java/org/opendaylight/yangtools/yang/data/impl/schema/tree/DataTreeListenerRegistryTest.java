@@ -0,0 +1,135 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.concepts.ListenerRegistration;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeChangeListener;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class DataTreeListenerRegistryTest extends AbstractTestModelTest {
+    private static final class RecordingListener implements DataTreeChangeListener {
+        final List<DataTreeCandidate> changes = new ArrayList<>();
+
+        @Override
+        public void onDataTreeChanged(final Collection<DataTreeCandidate> candidates) {
+            changes.addAll(candidates);
+        }
+    }
+
+    // All entries of the outer list
+    private static final YangInstanceIdentifier ALL_ENTRIES_PATH = TestModel.OUTER_LIST_PATH.node(
+        new NodeIdentifier(TestModel.OUTER_LIST_QNAME));
+
+    private DataTree tree;
+    private DataTreeListenerRegistry registry;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+        registry = DataTreeListenerRegistry.of(tree);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .build());
+        commit(mod);
+    }
+
+    @Test
+    public void testDispatch() throws DataValidationFailedException {
+        final RecordingListener wildcard = new RecordingListener();
+        final RecordingListener exact = new RecordingListener();
+        final RecordingListener unrelated = new RecordingListener();
+        registry.registerListener(ALL_ENTRIES_PATH, wildcard);
+        registry.registerListener(outerEntry(2), exact);
+        registry.registerListener(TestModel.NON_PRESENCE_PATH, unrelated);
+
+        DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(outerEntry(3), mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        commit(mod);
+
+        assertEquals(1, wildcard.changes.size());
+        assertEquals(outerEntry(3), wildcard.changes.get(0).getRootPath());
+        assertEquals(ModificationType.WRITE, wildcard.changes.get(0).getRootNode().getModificationType());
+        assertTrue(exact.changes.isEmpty());
+
+        mod = tree.takeSnapshot().newModification();
+        mod.delete(outerEntry(2));
+        mod.delete(outerEntry(3));
+        commit(mod);
+
+        assertEquals(3, wildcard.changes.size());
+        assertEquals(1, exact.changes.size());
+        assertEquals(outerEntry(2), exact.changes.get(0).getRootPath());
+        assertEquals(ModificationType.DELETE, exact.changes.get(0).getRootNode().getModificationType());
+        assertTrue(unrelated.changes.isEmpty());
+    }
+
+    @Test
+    public void testClose() throws DataValidationFailedException {
+        final RecordingListener listener = new RecordingListener();
+        final ListenerRegistration<RecordingListener> reg = registry.registerListener(TestModel.TEST_PATH, listener);
+
+        DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(outerEntry(1));
+        commit(mod);
+        assertEquals(1, listener.changes.size());
+        assertEquals(TestModel.TEST_PATH, listener.changes.get(0).getRootPath());
+
+        reg.close();
+        mod = tree.takeSnapshot().newModification();
+        mod.delete(outerEntry(2));
+        commit(mod);
+        assertEquals(1, listener.changes.size());
+    }
+
+    @Test
+    public void testPipeline() throws InterruptedException, ExecutionException {
+        final RecordingListener listener = new RecordingListener();
+        registry.registerListener(ALL_ENTRIES_PATH, listener);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.merge(outerEntry(3), mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3));
+        mod.ready();
+        InMemoryDataTreeCommitPipeline.create(tree).submit(mod).get();
+        assertEquals(1, listener.changes.size());
+        assertEquals(outerEntry(3), listener.changes.get(0).getRootPath());
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static YangInstanceIdentifier outerEntry(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+}
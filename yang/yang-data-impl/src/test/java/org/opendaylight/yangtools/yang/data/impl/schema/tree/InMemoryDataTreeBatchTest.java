@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import com.google.common.collect.ImmutableList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BatchingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeBatch;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDataTreeBatchTest extends AbstractTestModelTest {
+    private BatchingDataTree tree;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        tree = (BatchingDataTree) new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            SCHEMA_CONTEXT);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    @Test
+    public void testDisjoint() {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final List<DataTreeModification> mods = new ArrayList<>();
+        for (int i = 0; i < 10; ++i) {
+            mods.add(writeEntry(snapshot, i));
+        }
+
+        final DataTreeBatch batch = tree.prepareBatch(mods);
+        assertEquals(mods, batch.getAcceptedModifications());
+        assertTrue(batch.getFailures().isEmpty());
+
+        final DataTreeCandidateNode list = batch.getCandidate().getRootNode()
+                .getModifiedChild(TestModel.TEST_PATH.getLastPathArgument()).get()
+                .getModifiedChild(TestModel.OUTER_LIST_PATH.getLastPathArgument()).get();
+        // The list is empty in the tree, hence it is not present
+        assertEquals(ModificationType.APPEARED, list.getModificationType());
+        assertEquals(10, list.getChildNodes().size());
+
+        tree.commit(batch.getCandidate());
+        assertEquals(10, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testConflictWithTree() throws DataValidationFailedException {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final DataTreeModification first = writeEntry(snapshot, 1);
+        final DataTreeModification second = writeEntry(snapshot, 2);
+
+        final DataTreeModification direct = writeEntry(tree.takeSnapshot(), 1);
+        tree.validate(direct);
+        tree.commit(tree.prepare(direct));
+
+        final DataTreeBatch batch = tree.prepareBatch(ImmutableList.of(first, second));
+        assertEquals(ImmutableList.of(second), batch.getAcceptedModifications());
+        assertEquals(1, batch.getFailures().size());
+        assertTrue(batch.getFailures().get(first) instanceof ConflictingModificationAppliedException);
+
+        tree.commit(batch.getCandidate());
+        assertEquals(2, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testConflictWithinBatch() {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final DataTreeModification first = writeEntry(snapshot, 1);
+        final DataTreeModification second = writeEntry(snapshot, 1);
+        final DataTreeModification third = writeEntry(snapshot, 3);
+
+        final DataTreeBatch batch = tree.prepareBatch(ImmutableList.of(first, second, third));
+        assertEquals(ImmutableList.of(first, third), batch.getAcceptedModifications());
+        assertEquals(1, batch.getFailures().size());
+        assertTrue(batch.getFailures().get(second) instanceof ConflictingModificationAppliedException);
+
+        tree.commit(batch.getCandidate());
+        assertEquals(2, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testDeleteAfterWrite() {
+        final DataTreeModification write = writeEntry(tree.takeSnapshot(), 1);
+        final DataTreeModification delete = tree.takeSnapshot().newModification();
+        delete.delete(TestModel.TEST_PATH);
+        delete.ready();
+
+        // Overlapping, but deletes are always applicable
+        final DataTreeBatch batch = tree.prepareBatch(ImmutableList.of(write, delete));
+        assertEquals(ImmutableList.of(write, delete), batch.getAcceptedModifications());
+        assertTrue(batch.getFailures().isEmpty());
+        assertEquals(ModificationType.DELETE, batch.getCandidate().getRootNode()
+            .getModifiedChild(TestModel.TEST_PATH.getLastPathArgument()).get().getModificationType());
+
+        tree.commit(batch.getCandidate());
+        assertFalse(tree.takeSnapshot().readNode(TestModel.TEST_PATH).isPresent());
+    }
+
+    @Test
+    public void testEmpty() {
+        final DataTreeBatch batch = tree.prepareBatch(ImmutableList.of());
+        assertEquals(ModificationType.UNMODIFIED, batch.getCandidate().getRootNode().getModificationType());
+        tree.commit(batch.getCandidate());
+    }
+
+    @Test
+    public void testDeleteRoot() {
+        final DataTreeModification delete = tree.takeSnapshot().newModification();
+        delete.delete(TestModel.TEST_PATH);
+        delete.ready();
+
+        final DataTreeBatch batch = tree.prepareBatch(ImmutableList.of(delete));
+        assertEquals(ImmutableList.of(delete), batch.getAcceptedModifications());
+        tree.commit(batch.getCandidate());
+
+        final Optional<NormalizedNode<?, ?>> test = tree.takeSnapshot().readNode(TestModel.TEST_PATH);
+        assertFalse(test.isPresent());
+    }
+
+    private MapNode readOuterList() {
+        return (MapNode) tree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+    }
+
+    private static DataTreeModification writeEntry(final DataTreeSnapshot snapshot, final int id) {
+        final DataTreeModification mod = snapshot.newModification();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+        mod.write(path, mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        mod.ready();
+        return mod;
+    }
+}
@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import com.google.common.util.concurrent.ListenableFuture;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ConflictingModificationAppliedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class InMemoryDataTreeCommitPipelineTest extends AbstractTestModelTest {
+    private DataTree tree;
+    private InMemoryDataTreeCommitPipeline pipeline;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL, SCHEMA_CONTEXT);
+        pipeline = InMemoryDataTreeCommitPipeline.create(tree);
+
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    @Test
+    public void testRebaseNonOverlapping() throws InterruptedException, ExecutionException {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final DataTreeModification first = writeEntry(snapshot, 1);
+        final DataTreeModification second = writeEntry(snapshot, 2);
+
+        final DataTreeCandidate firstCandidate = pipeline.submit(first).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, firstCandidate.getRootNode().getModificationType());
+
+        // Based on the same snapshot, hence it needs to be rebased on top of the first modification
+        final DataTreeCandidate secondCandidate = pipeline.submit(second).get();
+        assertEquals(ModificationType.SUBTREE_MODIFIED, secondCandidate.getRootNode().getModificationType());
+
+        assertEquals(2, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testConflict() throws InterruptedException {
+        final DataTreeSnapshot snapshot = tree.takeSnapshot();
+        final DataTreeModification first = writeEntry(snapshot, 1);
+        final DataTreeModification second = writeEntry(snapshot, 1);
+
+        pipeline.submit(first);
+        final ListenableFuture<DataTreeCandidate> future = pipeline.submit(second);
+        try {
+            future.get();
+            fail("Conflicting modification should have failed");
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof ConflictingModificationAppliedException);
+        }
+
+        assertEquals(1, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testCommitRace() throws InterruptedException, ExecutionException, DataValidationFailedException {
+        final DataTreeModification pipelined = writeEntry(tree.takeSnapshot(), 1);
+
+        // Commit directly, so the pipeline has to rebase
+        final DataTreeModification direct = writeEntry(tree.takeSnapshot(), 2);
+        tree.validate(direct);
+        tree.commit(tree.prepare(direct));
+
+        pipeline.submit(pipelined).get();
+        assertEquals(2, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testConcurrentSubmit() throws InterruptedException, ExecutionException {
+        final int threads = 8;
+        final int perThread = 100;
+        final ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            final List<Future<List<ListenableFuture<DataTreeCandidate>>>> submitters = new ArrayList<>();
+            for (int i = 0; i < threads; ++i) {
+                final int base = i * perThread;
+                submitters.add(executor.submit(() -> {
+                    final List<ListenableFuture<DataTreeCandidate>> futures = new ArrayList<>();
+                    for (int j = 0; j < perThread; ++j) {
+                        futures.add(pipeline.submit(writeEntry(tree.takeSnapshot(), base + j)));
+                    }
+                    return futures;
+                }));
+            }
+
+            for (Future<List<ListenableFuture<DataTreeCandidate>>> submitter : submitters) {
+                for (ListenableFuture<DataTreeCandidate> future : submitter.get()) {
+                    future.get(10, TimeUnit.SECONDS);
+                }
+            }
+        } catch (TimeoutException e) {
+            throw new AssertionError("Commit did not complete", e);
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(threads * perThread, readOuterList().getValue().size());
+    }
+
+    @Test
+    public void testNoop() throws InterruptedException, ExecutionException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.ready();
+        final DataTreeCandidate candidate = pipeline.submit(mod).get();
+        assertEquals(ModificationType.UNMODIFIED, candidate.getRootNode().getModificationType());
+        assertSame(YangInstanceIdentifier.EMPTY, candidate.getRootPath());
+    }
+
+    private MapNode readOuterList() {
+        return (MapNode) tree.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get();
+    }
+
+    private static DataTreeModification writeEntry(final DataTreeSnapshot snapshot, final int id) {
+        final DataTreeModification mod = snapshot.newModification();
+        final YangInstanceIdentifier path = YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+        mod.write(path, mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id));
+        mod.ready();
+        return mod;
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+/**
+ * Mandatory nodes introduced by a schema change are enforced on merge and touch of existing nodes, even if they are
+ * reachable only through children which are not modified.
+ */
+public class MandatoryLeafSchemaChangeTest {
+    private static final String NS = "foo";
+    private static final String REV = "2019-05-06";
+    private static final QName ROOT = QName.create(NS, REV, "root");
+    private static final QName MY_LIST = QName.create(NS, REV, "my-list");
+    private static final QName LIST_ID = QName.create(NS, REV, "list-id");
+    private static final QName COMMON_LEAF = QName.create(NS, REV, "common-leaf");
+    private static final QName INNER = QName.create(NS, REV, "inner");
+    private static final QName REQUIRED = QName.create(NS, REV, "required");
+    private static final NodeIdentifierWithPredicates ENTRY_ID = new NodeIdentifierWithPredicates(MY_LIST, LIST_ID,
+        "1");
+    private static final YangInstanceIdentifier ENTRY_PATH = YangInstanceIdentifier.of(ROOT).node(MY_LIST)
+            .node(ENTRY_ID);
+
+    private static SchemaContext V1;
+    private static SchemaContext V2;
+
+    private DataTree dataTree;
+
+    @BeforeClass
+    public static void beforeClass() {
+        V1 = TestModel.createTestContext("/mandatory-schema-change/v1/foo.yang");
+        V2 = TestModel.createTestContext("/mandatory-schema-change/v2/foo.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        V1 = null;
+        V2 = null;
+    }
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        // Conforms to V1, but is missing inner/required mandated by V2
+        createTree(false);
+    }
+
+    @Test
+    public void testMergeMissingMandatory() throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.merge(ENTRY_PATH, entry("merged-value", false));
+        assertMissingRequired(mod);
+    }
+
+    @Test
+    public void testTouchMissingMandatory() throws DataValidationFailedException {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ENTRY_PATH.node(COMMON_LEAF), ImmutableNodes.leafNode(COMMON_LEAF, "touched-value"));
+        assertMissingRequired(mod);
+    }
+
+    @Test
+    public void testMergeProvidingMandatory() throws DataValidationFailedException {
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.merge(ENTRY_PATH, entry("merged-value", true));
+        commit(mod);
+
+        mod = dataTree.takeSnapshot().newModification();
+        mod.write(ENTRY_PATH.node(COMMON_LEAF), ImmutableNodes.leafNode(COMMON_LEAF, "touched-value"));
+        commit(mod);
+    }
+
+    @Test
+    public void testConformingData() throws DataValidationFailedException {
+        createTree(true);
+
+        // Existing data has been validated against V2, modifications of unrelated children are fine
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(ENTRY_PATH.node(COMMON_LEAF), ImmutableNodes.leafNode(COMMON_LEAF, "touched-value"));
+        commit(mod);
+
+        // ... while removing the mandatory leaf is caught
+        mod = dataTree.takeSnapshot().newModification();
+        mod.delete(ENTRY_PATH.node(INNER).node(REQUIRED));
+        assertMissingRequired(mod);
+    }
+
+    private void createTree(final boolean withRequired) throws DataValidationFailedException {
+        dataTree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_CONFIGURATION, V1);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(YangInstanceIdentifier.of(ROOT), Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(ROOT))
+            .withChild(Builders.mapBuilder().withNodeIdentifier(new NodeIdentifier(MY_LIST))
+                .withChild(entry("common-value", withRequired))
+                .build())
+            .build());
+        commit(mod);
+
+        dataTree.setSchemaContext(V2);
+    }
+
+    private void assertMissingRequired(final DataTreeModification mod) throws DataValidationFailedException {
+        try {
+            commit(mod);
+            fail("Should fail due to missing mandatory leaf.");
+        } catch (final IllegalArgumentException e) {
+            assertEquals("Node (foo?revision=2019-05-06)my-list[{(foo?revision=2019-05-06)list-id=1}] is missing "
+                    + "mandatory descendant /(foo?revision=2019-05-06)inner/required", e.getMessage());
+        }
+    }
+
+    private void commit(final DataTreeModification mod) throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    private static MapEntryNode entry(final String commonValue, final boolean withRequired) {
+        final MapEntryNode entry = Builders.mapEntryBuilder().withNodeIdentifier(ENTRY_ID)
+                .withChild(ImmutableNodes.leafNode(LIST_ID, "1"))
+                .withChild(ImmutableNodes.leafNode(COMMON_LEAF, commonValue))
+                .build();
+        if (!withRequired) {
+            return entry;
+        }
+        return Builders.mapEntryBuilder(entry)
+                .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(INNER))
+                    .withChild(ImmutableNodes.leafNode(REQUIRED, "required-value"))
+                    .build())
+                .build();
+    }
+}
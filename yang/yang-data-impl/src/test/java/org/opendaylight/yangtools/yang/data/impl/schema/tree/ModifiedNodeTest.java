@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Collection;
+import java.util.Iterator;
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.TreeNodeFactory;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.spi.Version;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+/**
+ * Transitions of {@link ModifiedNode}'s children between no child, the only child and a map of children.
+ */
+public class ModifiedNodeTest extends AbstractTestModelTest {
+    private static final NodeIdentifierWithPredicates ONE = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1);
+    private static final NodeIdentifierWithPredicates TWO = new NodeIdentifierWithPredicates(
+        TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2);
+
+    private final Version version = Version.initial();
+    private ModificationApplyOperation listOper;
+    private ModificationApplyOperation entryOper;
+    private ModifiedNode node;
+
+    @Before
+    public void before() {
+        listOper = SchemaAwareApplyOperation.from(SCHEMA_CONTEXT, DataTreeConfiguration.DEFAULT_OPERATIONAL)
+                .getChild(new NodeIdentifier(TestModel.TEST_QNAME)).get()
+                .getChild(new NodeIdentifier(TestModel.OUTER_LIST_QNAME)).get();
+        entryOper = listOper.getChild(ONE).get();
+        node = ModifiedNode.createUnmodified(TreeNodeFactory.createTreeNode(
+            ImmutableNodes.mapNodeBuilder(TestModel.OUTER_LIST_QNAME).build(), version), listOper.getChildPolicy());
+    }
+
+    @Test
+    public void testOnlyChild() {
+        assertTrue(node.getChildren().isEmpty());
+
+        final ModifiedNode one = node.modifyChild(ONE, entryOper, version);
+        assertSame(one, node.modifyChild(ONE, entryOper, version));
+        assertSame(one, node.getChild(ONE).get());
+        assertFalse(node.getChild(TWO).isPresent());
+
+        final Collection<ModifiedNode> children = node.getChildren();
+        assertSame(children, node.getChildren());
+        assertEquals(1, children.size());
+        assertSame(one, children.iterator().next());
+
+        final Iterator<ModifiedNode> it = children.iterator();
+        it.next();
+        it.remove();
+        assertTrue(node.getChildren().isEmpty());
+        assertEquals(0, children.size());
+        assertFalse(node.getChild(ONE).isPresent());
+    }
+
+    @Test
+    public void testSecondChild() {
+        final ModifiedNode one = node.modifyChild(ONE, entryOper, version);
+        final Collection<ModifiedNode> onlyChild = node.getChildren();
+
+        final ModifiedNode two = node.modifyChild(TWO, entryOper, version);
+        assertEquals(0, onlyChild.size());
+        assertEquals(2, node.getChildren().size());
+        assertSame(one, node.getChild(ONE).get());
+        assertSame(two, node.getChild(TWO).get());
+
+        // Removing back to one child keeps the map-based representation intact
+        final Iterator<ModifiedNode> it = node.getChildren().iterator();
+        while (it.hasNext()) {
+            if (it.next() == two) {
+                it.remove();
+            }
+        }
+        assertEquals(1, node.getChildren().size());
+        assertSame(one, node.getChildren().iterator().next());
+        assertSame(one, node.getChild(ONE).get());
+        assertFalse(node.getChild(TWO).isPresent());
+
+        final ModifiedNode newTwo = node.modifyChild(TWO, entryOper, version);
+        assertSame(newTwo, node.getChild(TWO).get());
+        assertEquals(2, node.getChildren().size());
+    }
+
+    @Test
+    public void testSealOnlyChild() {
+        node.modifyChild(ONE, entryOper, version);
+        node.seal(listOper, version);
+        assertEquals(LogicalOperation.TOUCH, node.getOperation());
+        assertEquals(1, node.getChildren().size());
+    }
+
+    @Test
+    public void testSealRemovedOnlyChild() {
+        node.modifyChild(ONE, entryOper, version);
+        final Iterator<ModifiedNode> it = node.getChildren().iterator();
+        it.next();
+        it.remove();
+
+        node.seal(listOper, version);
+        assertEquals(LogicalOperation.NONE, node.getOperation());
+        assertTrue(node.getChildren().isEmpty());
+    }
+
+    @Test
+    public void testSealRemovedToOneChild() {
+        node.modifyChild(ONE, entryOper, version);
+        node.modifyChild(TWO, entryOper, version);
+        final Iterator<ModifiedNode> it = node.getChildren().iterator();
+        it.next();
+        it.remove();
+
+        node.seal(listOper, version);
+        assertEquals(LogicalOperation.TOUCH, node.getOperation());
+        assertEquals(1, node.getChildren().size());
+    }
+}
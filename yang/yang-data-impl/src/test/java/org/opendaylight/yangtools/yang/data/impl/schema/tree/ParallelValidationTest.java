@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.CollectionNodeBuilder;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.api.DataContainerNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class ParallelValidationTest {
+    private static final int OUTER_COUNT = 100;
+    private static final int INNER_COUNT = 10;
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = TestModel.createTestContext();
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+    }
+
+    private static DataTree createDataTree(final TreeType treeType, final int threshold) {
+        return new InMemoryDataTreeFactory().create(new DataTreeConfiguration.Builder(treeType)
+            .setParallelValidationThreshold(threshold).build(), schemaContext);
+    }
+
+    private static MapEntryNode outerEntry(final int id) {
+        final CollectionNodeBuilder<MapEntryNode, MapNode> inner = ImmutableNodes.mapNodeBuilder(
+            TestModel.INNER_LIST_QNAME);
+        for (int i = 0; i < INNER_COUNT; ++i) {
+            inner.withChild(ImmutableNodes.mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "inner" + i));
+        }
+        return ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id)
+                .withChild(inner.build()).build();
+    }
+
+    private static YangInstanceIdentifier outerPath(final int id) {
+        return TestModel.OUTER_LIST_PATH.node(outerEntry(id).getIdentifier());
+    }
+
+    private static DataTreeCandidate commit(final DataTree dataTree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        final DataTreeCandidate candidate = dataTree.prepare(mod);
+        dataTree.commit(candidate);
+        return candidate;
+    }
+
+    private static NormalizedNode<?, ?> runScenario(final DataTree dataTree) throws DataValidationFailedException {
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outer = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < OUTER_COUNT; ++i) {
+            outer.withChild(outerEntry(i));
+        }
+        mod.write(TestModel.OUTER_LIST_PATH, outer.build());
+        commit(dataTree, mod);
+
+        mod = dataTree.takeSnapshot().newModification();
+        for (int i = 0; i < OUTER_COUNT; i += 2) {
+            final YangInstanceIdentifier innerPath = outerPath(i).node(TestModel.INNER_LIST_QNAME);
+            mod.merge(innerPath.node(ImmutableNodes.mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME,
+                "extra").getIdentifier()), ImmutableNodes.mapEntryBuilder(TestModel.INNER_LIST_QNAME,
+                    TestModel.NAME_QNAME, "extra").withChild(ImmutableNodes.leafNode(TestModel.VALUE_QNAME, "value"))
+                .build());
+        }
+        for (int i = 1; i < OUTER_COUNT; i += 4) {
+            mod.delete(outerPath(i));
+        }
+        final DataTreeCandidate candidate = commit(dataTree, mod);
+        assertTrue(candidate.getRootNode().getDataAfter().isPresent());
+        return dataTree.takeSnapshot().readNode(TestModel.TEST_PATH).get();
+    }
+
+    @Test
+    public void testParallelMatchesSequential() throws DataValidationFailedException {
+        // inner-list is config false, hence we need an operational tree
+        assertEquals(runScenario(createDataTree(TreeType.OPERATIONAL, 0)),
+            runScenario(createDataTree(TreeType.OPERATIONAL, 4)));
+    }
+
+    @Test
+    public void testFirstFailureReported() {
+        // Entries are visited in the map's iteration order, hence the sequential run tells us which failure comes first
+        final String expected = writeInvalidEntries(createDataTree(TreeType.CONFIGURATION, 0));
+        assertTrue(expected, expected.contains("id=30") != expected.contains("id=70"));
+        for (int i = 0; i < 10; ++i) {
+            assertEquals(expected, writeInvalidEntries(createDataTree(TreeType.CONFIGURATION, 4)));
+        }
+    }
+
+    private static String writeInvalidEntries(final DataTree dataTree) {
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+
+        final QName bogus = QName.create(TestModel.TEST_QNAME, "bogus");
+        final CollectionNodeBuilder<MapEntryNode, MapNode> outer = ImmutableNodes.mapNodeBuilder(
+            TestModel.OUTER_LIST_QNAME);
+        for (int i = 0; i < OUTER_COUNT; ++i) {
+            final DataContainerNodeBuilder<NodeIdentifierWithPredicates, MapEntryNode> entry =
+                    ImmutableNodes.mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, i);
+            if (i == 30 || i == 70) {
+                entry.withChild(ImmutableNodes.leafNode(bogus, "bogus"));
+            }
+            outer.withChild(entry.build());
+        }
+        mod.write(TestModel.OUTER_LIST_PATH, outer.build());
+
+        try {
+            mod.ready();
+            fail("Invalid structure should have been detected");
+            return null;
+        } catch (SchemaValidationFailedException e) {
+            return e.getMessage();
+        }
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+
+public class SnapshotReadCacheTest extends AbstractTestModelTest {
+    private DataTree plain;
+    private DataTree cached;
+
+    @Before
+    public void before() throws DataValidationFailedException {
+        plain = createTree(0);
+        cached = createTree(2);
+    }
+
+    @Test
+    public void testReadsMatch() {
+        final DataTreeSnapshot expected = plain.takeSnapshot();
+        final DataTreeSnapshot actual = cached.takeSnapshot();
+
+        // Read each path twice, so both cache misses and hits are exercised
+        for (int i = 0; i < 2; ++i) {
+            assertEquals(expected.readNode(YangInstanceIdentifier.EMPTY),
+                actual.readNode(YangInstanceIdentifier.EMPTY));
+            assertEquals(expected.readNode(TestModel.TEST_PATH), actual.readNode(TestModel.TEST_PATH));
+            assertEquals(expected.readNode(TestModel.OUTER_LIST_PATH), actual.readNode(TestModel.OUTER_LIST_PATH));
+            for (int id = 0; id <= 4; ++id) {
+                final YangInstanceIdentifier entry = outerEntry(id);
+                assertEquals(expected.readNode(entry), actual.readNode(entry));
+                final YangInstanceIdentifier leaf = entry.node(TestModel.ID_QNAME);
+                assertEquals(expected.readNode(leaf), actual.readNode(leaf));
+            }
+        }
+    }
+
+    @Test
+    public void testAncestorsCached() throws DataValidationFailedException {
+        final InMemoryDataTreeSnapshot snapshot = (InMemoryDataTreeSnapshot) createTree(16).takeSnapshot();
+
+        // Reading a leaf caches its parent entry along with all of the entry's ancestors
+        final YangInstanceIdentifier first = outerEntry(1);
+        assertEquals(plain.takeSnapshot().readNode(first.node(TestModel.ID_QNAME)),
+            snapshot.readNode(first.node(TestModel.ID_QNAME)));
+        assertTrue(snapshot.readCache().asMap().containsKey(first));
+        assertTrue(snapshot.readCache().asMap().containsKey(TestModel.OUTER_LIST_PATH));
+        assertTrue(snapshot.readCache().asMap().containsKey(TestModel.TEST_PATH));
+
+        // A cousin resolves from the cached list
+        final YangInstanceIdentifier second = outerEntry(2);
+        assertEquals(plain.takeSnapshot().readNode(second.node(TestModel.ID_QNAME)),
+            snapshot.readNode(second.node(TestModel.ID_QNAME)));
+        assertTrue(snapshot.readCache().asMap().containsKey(second));
+        assertEquals(4, snapshot.readCache().size());
+
+        // Missing ancestors are not cached
+        final YangInstanceIdentifier missing = outerEntry(4);
+        assertFalse(snapshot.readNode(missing.node(TestModel.ID_QNAME)).isPresent());
+        assertFalse(snapshot.readCache().asMap().containsKey(missing));
+    }
+
+    @Test
+    public void testSnapshotIsolation() throws DataValidationFailedException {
+        final DataTreeSnapshot before = cached.takeSnapshot();
+        final YangInstanceIdentifier entry = outerEntry(4);
+        assertFalse(before.readNode(entry).isPresent());
+
+        final DataTreeModification mod = cached.takeSnapshot().newModification();
+        mod.write(entry, mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4));
+        mod.ready();
+        cached.validate(mod);
+        cached.commit(cached.prepare(mod));
+
+        assertFalse(before.readNode(entry).isPresent());
+        assertEquals(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4),
+            cached.takeSnapshot().readNode(entry).get());
+    }
+
+    private static DataTree createTree(final int readCacheSize) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL
+            .copyBuilder().setReadCacheSize(readCacheSize).build(), SCHEMA_CONTEXT);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 3))
+            .build());
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+        return tree;
+    }
+
+    private static YangInstanceIdentifier outerEntry(final int id) {
+        return YangInstanceIdentifier.builder(TestModel.OUTER_LIST_PATH)
+                .nodeWithKey(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id).build();
+    }
+}
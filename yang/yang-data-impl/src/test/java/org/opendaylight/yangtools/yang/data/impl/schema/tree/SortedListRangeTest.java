@@ -0,0 +1,250 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntry;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapEntryBuilder;
+import static org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes.mapNodeBuilder;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.collect.ImmutableSet;
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.QNameModule;
+import org.opendaylight.yangtools.yang.common.Revision;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.CursorAwareDataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshotCursor;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.MapEntryKeyComparator;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.builder.impl.ImmutableMapNodeBuilder;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class SortedListRangeTest extends AbstractTestModelTest {
+    private static final NodeIdentifier OUTER_LIST = new NodeIdentifier(TestModel.OUTER_LIST_QNAME);
+    private static final QNameModule KEYS_MODULE = QNameModule.create(
+        URI.create("urn:opendaylight:params:xml:ns:yang:sorted-list-keys"), Revision.of("2019-05-06"));
+    private static final QName KEYS_ROOT = QName.create(KEYS_MODULE, "root");
+    private static final QName UNION_LIST = QName.create(KEYS_MODULE, "union-list");
+    private static final QName IID_LIST = QName.create(KEYS_MODULE, "iid-list");
+    private static final QName KEY_ID = QName.create(KEYS_MODULE, "id");
+
+    @Test
+    public void testSortedRange() throws DataValidationFailedException {
+        final DataTree sorted = createTree(DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+            .setSortedLists(ImmutableSet.of(TestModel.OUTER_LIST_QNAME)).build());
+        final DataTree unsorted = createTree(DataTreeConfiguration.DEFAULT_OPERATIONAL);
+
+        final CursorAwareDataTreeSnapshot snapshot = (CursorAwareDataTreeSnapshot) sorted.takeSnapshot();
+        final MapNode list = (MapNode) snapshot.readNode(TestModel.OUTER_LIST_PATH).get();
+        assertTrue(ImmutableMapNodeBuilder.isSorted(list));
+        assertEquals(unsorted.takeSnapshot().readNode(TestModel.OUTER_LIST_PATH).get(), list);
+
+        // Subsequent modifications are not visible through the snapshot
+        final DataTreeModification mod = sorted.takeSnapshot().newModification();
+        mod.delete(TestModel.OUTER_LIST_PATH.node(entryId(4)));
+        mod.merge(TestModel.OUTER_LIST_PATH.node(entryId(5)),
+            mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 5));
+        commit(sorted, mod);
+
+        try (DataTreeSnapshotCursor cursor = snapshot.openCursor(TestModel.TEST_PATH).get()) {
+            assertEquals(ImmutableList.of(1, 2, 4, 7, 9), ids(cursor.readRange(OUTER_LIST, null, null)));
+            assertEquals(ImmutableList.of(2, 4), ids(cursor.readRange(OUTER_LIST, entryId(2), entryId(7))));
+            assertEquals(ImmutableList.of(4, 7, 9), ids(cursor.readRange(OUTER_LIST, entryId(3), null)));
+            assertFalse(cursor.readRange(OUTER_LIST, entryId(10), null).hasNext());
+        }
+
+        final CursorAwareDataTreeSnapshot latest = (CursorAwareDataTreeSnapshot) sorted.takeSnapshot();
+        assertTrue(ImmutableMapNodeBuilder.isSorted((MapNode) latest.readNode(TestModel.OUTER_LIST_PATH).get()));
+        try (DataTreeSnapshotCursor cursor = latest.openCursor(TestModel.TEST_PATH).get()) {
+            assertEquals(ImmutableList.of(1, 2, 5, 7, 9), ids(cursor.readRange(OUTER_LIST, null, null)));
+        }
+    }
+
+    @Test
+    public void testParentWriteSorted() throws DataValidationFailedException {
+        final DataTreeConfiguration config = DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+                .setSortedLists(ImmutableSet.of(TestModel.OUTER_LIST_QNAME, TestModel.INNER_LIST_QNAME)).build();
+        final ContainerNode test = Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TestModel.TEST_QNAME))
+                .withChild(mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+                    .withChild(mapEntryBuilder(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 7)
+                        .withChild(mapNodeBuilder(TestModel.INNER_LIST_QNAME)
+                            .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "b"))
+                            .withChild(mapEntry(TestModel.INNER_LIST_QNAME, TestModel.NAME_QNAME, "a"))
+                            .build())
+                        .build())
+                    .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+                    .build())
+                .build();
+
+        // Lists written as part of their parent
+        final DataTree written = new InMemoryDataTreeFactory().create(config, SCHEMA_CONTEXT);
+        DataTreeModification mod = written.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, test);
+        commit(written, mod);
+        assertSortedLists(written);
+
+        // Lists merged as part of their non-existent parent
+        final DataTree merged = new InMemoryDataTreeFactory().create(config, SCHEMA_CONTEXT);
+        mod = merged.takeSnapshot().newModification();
+        mod.merge(TestModel.TEST_PATH, test);
+        commit(merged, mod);
+        assertSortedLists(merged);
+
+        // Lists in the initial root
+        assertSortedLists(new InMemoryDataTreeFactory().create(config, SCHEMA_CONTEXT, Builders.containerBuilder()
+            .withNodeIdentifier(new NodeIdentifier(SchemaContext.NAME)).withChild(test).build()));
+    }
+
+    @Test
+    public void testUnsortedRange() throws DataValidationFailedException {
+        final CursorAwareDataTreeSnapshot snapshot = (CursorAwareDataTreeSnapshot) createTree(
+            DataTreeConfiguration.DEFAULT_OPERATIONAL).takeSnapshot();
+        assertFalse(ImmutableMapNodeBuilder.isSorted(
+            (MapNode) snapshot.readNode(TestModel.OUTER_LIST_PATH).get()));
+
+        try (DataTreeSnapshotCursor cursor = snapshot.openCursor(TestModel.TEST_PATH).get()) {
+            assertEquals(ImmutableList.of(1, 2, 4, 7, 9), ids(cursor.readRange(OUTER_LIST, null, null)));
+            assertEquals(ImmutableList.of(2, 4), ids(cursor.readRange(OUTER_LIST, entryId(2), entryId(7))));
+        }
+    }
+
+    @Test
+    public void testComparatorKeyTypes() {
+        final ContainerSchemaNode root = (ContainerSchemaNode) TestModel.createTestContext("/sorted-list-keys.yang")
+                .findDataChildByName(KEYS_ROOT).get();
+
+        final MapEntryKeyComparator comparator = MapEntryKeyComparator.of(
+            (ListSchemaNode) root.findDataChildByName(UNION_LIST).get());
+        assertTrue(comparator.compare(keyId(UNION_LIST, 2), keyId(UNION_LIST, 10)) < 0);
+        assertEquals(0, comparator.compare(keyId(UNION_LIST, "a"), keyId(UNION_LIST, "a")));
+        // Union members of different types are ordered by their class
+        assertTrue(comparator.compare(keyId(UNION_LIST, 10), keyId(UNION_LIST, "1")) < 0);
+
+        try {
+            MapEntryKeyComparator.of((ListSchemaNode) root.findDataChildByName(IID_LIST).get());
+            fail("Instance identifiers should not be orderable");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("cannot be ordered"));
+        }
+
+        // Comparators not derived from schema reject unorderable values only when they encounter them
+        final NodeIdentifierWithPredicates first = keyId(IID_LIST, YangInstanceIdentifier.of(KEYS_ROOT));
+        final NodeIdentifierWithPredicates second = keyId(IID_LIST, YangInstanceIdentifier.of(IID_LIST));
+        try {
+            MapEntryKeyComparator.of(first).compare(first, second);
+            fail("Instance identifiers should not be orderable");
+        } catch (IllegalArgumentException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("cannot be ordered"));
+        }
+    }
+
+    @Test
+    public void testUnorderedKeyRejected() {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL
+            .copyBuilder().setSortedLists(ImmutableSet.of(IID_LIST)).build(),
+            TestModel.createTestContext("/sorted-list-keys.yang"));
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        try {
+            mod.write(YangInstanceIdentifier.of(KEYS_ROOT).node(IID_LIST), mapNodeBuilder(IID_LIST).build());
+            fail("List keyed by instance identifiers should not be sorted");
+        } catch (IllegalStateException e) {
+            assertTrue(e.getCause() instanceof IllegalArgumentException);
+        }
+    }
+
+    @Test
+    public void testNormalizationLimitedToSortedSubtrees() {
+        final ContainerSchemaNode test = (ContainerSchemaNode) SCHEMA_CONTEXT.findDataChildByName(
+            TestModel.TEST_QNAME).get();
+        final ListSchemaNode outer = (ListSchemaNode) test.findDataChildByName(TestModel.OUTER_LIST_QNAME).get();
+        final ListSchemaNode inner = (ListSchemaNode) outer.findDataChildByName(TestModel.INNER_LIST_QNAME).get();
+
+        assertTrue(AbstractNodeContainerModificationStrategy.hasSortedListBelow(test,
+            ImmutableSet.of(TestModel.INNER_LIST_QNAME)));
+        assertTrue(AbstractNodeContainerModificationStrategy.hasSortedListBelow(outer,
+            ImmutableSet.of(TestModel.INNER_LIST_QNAME)));
+        assertFalse(AbstractNodeContainerModificationStrategy.hasSortedListBelow(inner,
+            ImmutableSet.of(TestModel.INNER_LIST_QNAME)));
+
+        // The list itself is sorted by its own strategy, its entries do not need to normalize anything
+        assertTrue(AbstractNodeContainerModificationStrategy.hasSortedListBelow(test,
+            ImmutableSet.of(TestModel.OUTER_LIST_QNAME)));
+        assertFalse(AbstractNodeContainerModificationStrategy.hasSortedListBelow(outer,
+            ImmutableSet.of(TestModel.OUTER_LIST_QNAME)));
+        assertFalse(AbstractNodeContainerModificationStrategy.hasSortedListBelow(test, ImmutableSet.of()));
+    }
+
+    private static void assertSortedLists(final DataTree tree) {
+        final CursorAwareDataTreeSnapshot snapshot = (CursorAwareDataTreeSnapshot) tree.takeSnapshot();
+        assertTrue(ImmutableMapNodeBuilder.isSorted((MapNode) snapshot.readNode(TestModel.OUTER_LIST_PATH).get()));
+        assertTrue(ImmutableMapNodeBuilder.isSorted((MapNode) snapshot.readNode(TestModel.OUTER_LIST_PATH
+            .node(entryId(7)).node(TestModel.INNER_LIST_QNAME)).get()));
+
+        try (DataTreeSnapshotCursor cursor = snapshot.openCursor(TestModel.TEST_PATH).get()) {
+            assertEquals(ImmutableList.of(2, 7), ids(cursor.readRange(OUTER_LIST, null, null)));
+        }
+    }
+
+    private static DataTree createTree(final DataTreeConfiguration config) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(config, SCHEMA_CONTEXT);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TestModel.TEST_PATH, ImmutableNodes.containerNode(TestModel.TEST_QNAME));
+        mod.write(TestModel.OUTER_LIST_PATH, mapNodeBuilder(TestModel.OUTER_LIST_QNAME)
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 7))
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 2))
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 9))
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 1))
+            .withChild(mapEntry(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, 4))
+            .build());
+        commit(tree, mod);
+        return tree;
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static NodeIdentifierWithPredicates entryId(final int id) {
+        return new NodeIdentifierWithPredicates(TestModel.OUTER_LIST_QNAME, TestModel.ID_QNAME, id);
+    }
+
+    private static NodeIdentifierWithPredicates keyId(final QName list, final Object value) {
+        return new NodeIdentifierWithPredicates(list, KEY_ID, value);
+    }
+
+    private static List<Object> ids(final Iterator<MapEntryNode> it) {
+        final List<Object> ret = new ArrayList<>();
+        it.forEachRemaining(entry -> ret.add(entry.getIdentifier().getKeyValues().get(TestModel.ID_QNAME)));
+        return ret;
+    }
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+import java.math.BigDecimal;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeWithValue;
+import org.opendaylight.yangtools.yang.data.api.schema.ContainerNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+
+public class TypeConstraintValidationTest {
+    private static final QName ROOT = QName.create("foo", "root");
+    private static final QName SMALL = QName.create(ROOT, "small");
+    private static final QName NAME = QName.create(ROOT, "name");
+    private static final QName PRICE = QName.create(ROOT, "price");
+    private static final QName COLOR = QName.create(ROOT, "color");
+    private static final QName TAGS = QName.create(ROOT, "tags");
+    private static final QName NESTED = QName.create(ROOT, "nested");
+    private static final QName COUNT = QName.create(ROOT, "count");
+    private static final YangInstanceIdentifier ROOT_PATH = YangInstanceIdentifier.of(ROOT);
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = TestModel.createTestContext("/type-constraints/foo.yang");
+    }
+
+    @Test
+    public void testValidLeaves() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+            .withChild(ImmutableNodes.leafNode(SMALL, (short) 20))
+            .withChild(ImmutableNodes.leafNode(NAME, "abc"))
+            .withChild(ImmutableNodes.leafNode(PRICE, new BigDecimal("1.50")))
+            .withChild(ImmutableNodes.leafNode(COLOR, "red"))
+            .withChild(Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(TAGS))
+                .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(TAGS, "ab"))
+                    .withValue("ab").build())
+                .build())
+            .withChild(nested(100))
+            .build());
+        commit(tree, mod);
+    }
+
+    @Test
+    public void testWrittenLeaves() throws DataValidationFailedException {
+        assertLeafRejected(SMALL, (short) 11, "Value '11' is not in required ranges [[1..10], [20..20]]");
+        assertLeafRejected(NAME, "abcdef", "Value 'abcdef' does not match required length [[1..5]]");
+        assertLeafRejected(NAME, "ABC", "Value 'ABC' does not match regular expression '[a-z]+'");
+        assertLeafRejected(PRICE, new BigDecimal("1.234"), "Value '1.234' has more than 2 fraction digits");
+        assertLeafRejected(COLOR, "blue", "Value 'blue' is not one of enumerated values [red, green]");
+    }
+
+    @Test
+    public void testWrittenContainer() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT))
+            .withChild(nested(101)).build());
+        assertRejected(tree, mod, ROOT_PATH.node(NESTED).node(COUNT), "count out of range");
+    }
+
+    @Test
+    public void testMergedContainer() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.merge(ROOT_PATH.node(NESTED), nested(-1));
+        mod.merge(ROOT_PATH.node(NESTED).node(COUNT), ImmutableNodes.leafNode(COUNT, 1));
+        mod.merge(ROOT_PATH.node(NESTED), nested(200));
+        assertRejected(tree, mod, ROOT_PATH.node(NESTED).node(COUNT), "count out of range");
+    }
+
+    @Test
+    public void testMergedContainerOverride() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        // The invalid value is overridden by a subsequent merge, hence it is never stored
+        mod.merge(ROOT_PATH.node(NESTED), nested(-1));
+        mod.merge(ROOT_PATH.node(NESTED), nested(50));
+        commit(tree, mod);
+        assertEquals(nested(50), tree.takeSnapshot().readNode(ROOT_PATH.node(NESTED)).get());
+    }
+
+    @Test
+    public void testLeafSetEntry() throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH.node(TAGS), Builders.leafSetBuilder().withNodeIdentifier(new NodeIdentifier(TAGS))
+            .withChild(Builders.leafSetEntryBuilder().withNodeIdentifier(new NodeWithValue<>(TAGS, "abc"))
+                .withValue("abc").build())
+            .build());
+        assertRejected(tree, mod, ROOT_PATH.node(TAGS).node(new NodeWithValue<>(TAGS, "abc")),
+            "Value 'abc' does not match required length [[2..2]]");
+    }
+
+    @Test
+    public void testDisabled() throws DataValidationFailedException {
+        final DataTree tree = createTree(false);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(ROOT_PATH.node(SMALL), ImmutableNodes.leafNode(SMALL, (short) 11));
+        commit(tree, mod);
+    }
+
+    private static void assertLeafRejected(final QName leaf, final Object value, final String message)
+            throws DataValidationFailedException {
+        final DataTree tree = createTree(true);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        final YangInstanceIdentifier path = ROOT_PATH.node(leaf);
+        mod.write(path, ImmutableNodes.leafNode(leaf, value));
+        assertRejected(tree, mod, path, message);
+    }
+
+    private static void assertRejected(final DataTree tree, final DataTreeModification mod,
+            final YangInstanceIdentifier path, final String message) {
+        mod.ready();
+        try {
+            tree.validate(mod);
+            fail("Validation should have failed");
+        } catch (DataValidationFailedException e) {
+            assertEquals(path, e.getPath());
+            assertEquals(message, e.getMessage());
+        }
+    }
+
+    private static ContainerNode nested(final int count) {
+        return Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(NESTED))
+                .withChild(ImmutableNodes.leafNode(COUNT, count)).build();
+    }
+
+    private static DataTree createTree(final boolean enabled) throws DataValidationFailedException {
+        final DataTree tree = new InMemoryDataTreeFactory().create(DataTreeConfiguration.builder(TreeType.OPERATIONAL)
+            .setTypeConstraintValidation(enabled).build(), schemaContext);
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        final ContainerNode root = Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(ROOT)).build();
+        mod.write(ROOT_PATH, root);
+        commit(tree, mod);
+        return tree;
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+}
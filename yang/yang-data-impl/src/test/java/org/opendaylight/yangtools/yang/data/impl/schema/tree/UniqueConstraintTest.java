@@ -0,0 +1,224 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.impl.schema.tree;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.common.Uint16;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.TreeType;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.UniqueConstraintException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class UniqueConstraintTest {
+    private static final QName TEST = QName.create("urn:opendaylight:params:xml:ns:yang:unique-constraint-test",
+        "2019-04-01", "test");
+    private static final QName SERVER = QName.create(TEST, "server");
+    private static final QName NAME = QName.create(TEST, "name");
+    private static final QName IP = QName.create(TEST, "ip");
+    private static final QName PORT = QName.create(TEST, "port");
+    private static final QName DEVICE = QName.create(TEST, "device");
+    private static final QName ID = QName.create(TEST, "id");
+    private static final QName INFO = QName.create(TEST, "info");
+    private static final QName SERIAL = QName.create(TEST, "serial");
+
+    private static final YangInstanceIdentifier TEST_PATH = YangInstanceIdentifier.of(TEST);
+    private static final YangInstanceIdentifier SERVER_PATH = TEST_PATH.node(SERVER);
+    private static final YangInstanceIdentifier DEVICE_PATH = TEST_PATH.node(DEVICE);
+
+    private static SchemaContext schemaContext;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/unique-constraint-test.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+    }
+
+    private static DataTree initDataTree(final boolean enableUniqueIndexes) throws DataValidationFailedException {
+        final DataTree dataTree = new InMemoryDataTreeFactory().create(
+            new DataTreeConfiguration.Builder(TreeType.CONFIGURATION).setUniqueIndexes(enableUniqueIndexes).build(),
+            schemaContext);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(TEST_PATH, ImmutableNodes.containerNode(TEST));
+        mod.write(SERVER_PATH, ImmutableNodes.mapNodeBuilder(SERVER).build());
+        mod.write(DEVICE_PATH, ImmutableNodes.mapNodeBuilder(DEVICE).build());
+        commit(dataTree, mod);
+        return dataTree;
+    }
+
+    private static MapEntryNode server(final String name, final String ip, final int port) {
+        return ImmutableNodes.mapEntryBuilder(SERVER, NAME, name)
+                .withChild(ImmutableNodes.leafNode(IP, ip))
+                .withChild(ImmutableNodes.leafNode(PORT, Uint16.valueOf(port)))
+                .build();
+    }
+
+    private static MapEntryNode device(final String id, final String serial) {
+        return ImmutableNodes.mapEntryBuilder(DEVICE, ID, id)
+                .withChild(Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(INFO))
+                    .withChild(ImmutableNodes.leafNode(SERIAL, serial)).build())
+                .build();
+    }
+
+    private static YangInstanceIdentifier serverPath(final String name) {
+        return SERVER_PATH.node(server(name, "", 0).getIdentifier());
+    }
+
+    private static void commit(final DataTree dataTree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        dataTree.validate(mod);
+        dataTree.commit(dataTree.prepare(mod));
+    }
+
+    @Test
+    public void testDistinctValues() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("a"), server("a", "10.0.0.1", 80));
+        mod.write(serverPath("b"), server("b", "10.0.0.1", 443));
+        mod.write(serverPath("c"), server("c", "10.0.0.2", 80));
+        commit(dataTree, mod);
+
+        // Swapping values between entries in a single transaction is fine
+        mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("a"), server("a", "10.0.0.1", 443));
+        mod.write(serverPath("b"), server("b", "10.0.0.1", 80));
+        commit(dataTree, mod);
+
+        // Reusing values of a deleted entry is fine
+        mod = dataTree.takeSnapshot().newModification();
+        mod.delete(serverPath("c"));
+        mod.write(serverPath("d"), server("d", "10.0.0.2", 80));
+        commit(dataTree, mod);
+    }
+
+    @Test
+    public void testDuplicateInSingleTransaction() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("a"), server("a", "10.0.0.1", 80));
+        mod.write(serverPath("b"), server("b", "10.0.0.1", 80));
+        mod.ready();
+        try {
+            dataTree.validate(mod);
+            fail("Unique constraint violation should have been detected");
+        } catch (UniqueConstraintException e) {
+            assertEquals(SERVER_PATH, e.getPath());
+            assertEquals(2, e.getValues().size());
+            assertEquals("10.0.0.1", e.getValues().get(YangInstanceIdentifier.of(IP)));
+        }
+    }
+
+    @Test
+    public void testDuplicateAcrossTransactions() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("a"), server("a", "10.0.0.1", 80));
+        commit(dataTree, mod);
+
+        mod = dataTree.takeSnapshot().newModification();
+        mod.merge(serverPath("b"), server("b", "10.0.0.1", 80));
+        mod.ready();
+        try {
+            dataTree.validate(mod);
+            fail("Unique constraint violation should have been detected");
+        } catch (UniqueConstraintException e) {
+            assertTrue(e.getMessage().contains("10.0.0.1"));
+        }
+    }
+
+    @Test
+    public void testLeafModification() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("a"), server("a", "10.0.0.1", 80));
+        mod.write(serverPath("b"), server("b", "10.0.0.2", 80));
+        commit(dataTree, mod);
+
+        mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("b").node(IP), ImmutableNodes.leafNode(IP, "10.0.0.1"));
+        mod.ready();
+        try {
+            dataTree.validate(mod);
+            fail("Unique constraint violation should have been detected");
+        } catch (UniqueConstraintException e) {
+            assertEquals(SERVER_PATH, e.getPath());
+        }
+    }
+
+    @Test
+    public void testIncompleteValues() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+
+        // Entries which do not have all leaves are not subject to the constraint
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("a"), ImmutableNodes.mapEntryBuilder(SERVER, NAME, "a")
+            .withChild(ImmutableNodes.leafNode(IP, "10.0.0.1")).build());
+        mod.write(serverPath("b"), ImmutableNodes.mapEntryBuilder(SERVER, NAME, "b")
+            .withChild(ImmutableNodes.leafNode(IP, "10.0.0.1")).build());
+        commit(dataTree, mod);
+    }
+
+    @Test
+    public void testNestedLeaf() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(true);
+
+        DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(DEVICE_PATH, ImmutableNodes.mapNodeBuilder(DEVICE)
+            .withChild(device("a", "1234"))
+            .withChild(device("b", "5678"))
+            .build());
+        commit(dataTree, mod);
+
+        mod = dataTree.takeSnapshot().newModification();
+        mod.merge(DEVICE_PATH, ImmutableNodes.mapNodeBuilder(DEVICE).withChild(device("c", "1234")).build());
+        mod.ready();
+        try {
+            dataTree.validate(mod);
+            fail("Unique constraint violation should have been detected");
+        } catch (UniqueConstraintException e) {
+            assertEquals("1234", e.getValues().get(YangInstanceIdentifier.create(new NodeIdentifier(INFO),
+                new NodeIdentifier(SERIAL))));
+        }
+    }
+
+    @Test
+    public void testDisabled() throws DataValidationFailedException {
+        final DataTree dataTree = initDataTree(false);
+
+        final DataTreeModification mod = dataTree.takeSnapshot().newModification();
+        mod.write(serverPath("a"), server("a", "10.0.0.1", 80));
+        mod.write(serverPath("b"), server("b", "10.0.0.1", 80));
+        commit(dataTree, mod);
+    }
+}
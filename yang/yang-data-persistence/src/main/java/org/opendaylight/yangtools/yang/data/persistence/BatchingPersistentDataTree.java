@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.persistence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BatchingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeBatch;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+
+/**
+ * A {@link PersistentDataTree} backed by a {@link BatchingDataTree}. Batches are prepared by the backing tree and their
+ * combined candidate is journalled as a single entry when it is committed.
+ */
+final class BatchingPersistentDataTree extends PersistentDataTree implements BatchingDataTree {
+    private final BatchingDataTree delegate;
+
+    BatchingPersistentDataTree(final BatchingDataTree delegate, final PersistenceConfiguration config,
+            final SnapshotStore snapshots, final Journal journal, final int sinceSnapshot) {
+        super(delegate, config, snapshots, journal, sinceSnapshot);
+        this.delegate = requireNonNull(delegate);
+    }
+
+    @Override
+    public DataTreeBatch prepareBatch(final List<DataTreeModification> modifications) {
+        return delegate.prepareBatch(modifications);
+    }
+}
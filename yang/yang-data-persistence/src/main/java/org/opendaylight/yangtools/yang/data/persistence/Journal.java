@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.persistence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import org.opendaylight.yangtools.yang.data.persistence.JournalSegment.EntryConsumer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A write-ahead journal, composed of a sequence of {@link JournalSegment}s. Each segment is stored in a separate file,
+ * named after the sequence number of its first entry. Only the last segment is kept mapped, older segments are only
+ * tracked so they can be deleted once they are covered by a snapshot. This class is not thread-safe.
+ */
+final class Journal implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(Journal.class);
+    private static final String SUFFIX = ".journal";
+
+    private final NavigableMap<Long, Path> segments;
+    private final Path directory;
+    private final int segmentSize;
+
+    private JournalSegment current;
+    private long nextSequence;
+
+    private Journal(final Path directory, final int segmentSize, final NavigableMap<Long, Path> segments,
+            final JournalSegment current, final long nextSequence) {
+        this.directory = requireNonNull(directory);
+        this.segmentSize = segmentSize;
+        this.segments = requireNonNull(segments);
+        this.current = current;
+        this.nextSequence = nextSequence;
+    }
+
+    /**
+     * Open the journal in specified directory, replaying all entries following specified sequence number.
+     *
+     * @param directory Journal directory
+     * @param segmentSize Size of newly-allocated segments
+     * @param lastSequence Sequence number of the last entry which should not be replayed
+     * @param consumer Consumer of replayed entries
+     * @return An open journal
+     * @throws IOException if the journal cannot be read or the consumer fails
+     */
+    static Journal open(final Path directory, final int segmentSize, final long lastSequence,
+            final EntryConsumer consumer) throws IOException {
+        final NavigableMap<Long, Path> segments = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                final Path fileName = path.getFileName();
+                if (fileName == null) {
+                    continue;
+                }
+                final String name = fileName.toString();
+                final long first;
+                try {
+                    first = Long.parseUnsignedLong(name.substring(0, name.length() - SUFFIX.length()), 16);
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring unrecognized file {}", path, e);
+                    continue;
+                }
+                segments.put(first, path);
+            }
+        }
+
+        JournalSegment current = null;
+        long expected = -1;
+        final Iterator<Entry<Long, Path>> it = segments.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<Long, Path> entry = it.next();
+            final long first = entry.getKey();
+            if (expected != -1 && first != expected) {
+                throw new IOException("Journal segment " + entry.getValue() + " does not follow sequence " + expected);
+            }
+
+            final Long next = segments.higherKey(first);
+            if (next != null && next <= lastSequence + 1) {
+                // Entirely covered by the snapshot, no need to look at it
+                LOG.debug("Skipping journal segment {}", entry.getValue());
+                expected = next;
+                continue;
+            }
+
+            if (current != null) {
+                current.close();
+            }
+            current = JournalSegment.open(entry.getValue(), first);
+            current.replay((sequence, buffer) -> {
+                if (sequence > lastSequence) {
+                    consumer.accept(sequence, buffer);
+                }
+            });
+            LOG.debug("Replayed journal segment {}", current);
+            expected = current.nextSequence();
+        }
+
+        return new Journal(directory, segmentSize, segments, current,
+            current != null ? Math.max(current.nextSequence(), lastSequence + 1) : lastSequence + 1);
+    }
+
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Append an entry to the journal.
+     *
+     * @param entry Entry payload
+     * @return Sequence number assigned to the entry
+     * @throws IOException if a new segment cannot be allocated
+     */
+    long append(final byte[] entry) throws IOException {
+        if (current == null || current.nextSequence() != nextSequence || !current.append(entry)) {
+            final JournalSegment next = JournalSegment.create(directory.resolve(segmentName(nextSequence)),
+                nextSequence, Math.max(segmentSize, entry.length + JournalSegment.HEADER_SIZE));
+            segments.put(nextSequence, next.path());
+            if (current != null) {
+                current.close();
+            }
+            current = next;
+            LOG.debug("Allocated journal segment {}", next);
+
+            final boolean appended = next.append(entry);
+            if (!appended) {
+                throw new IllegalStateException("Failed to append entry to empty segment " + next);
+            }
+        }
+        return nextSequence++;
+    }
+
+    /**
+     * Discard the entry returned by the last invocation of {@link #append(byte[])}. This is used to undo journaling of
+     * an entry which failed to be applied.
+     *
+     * @param sequence Sequence number of the entry
+     * @throws IllegalStateException if the entry is not the last appended entry
+     */
+    void discard(final long sequence) {
+        if (current == null || sequence != nextSequence - 1 || current.nextSequence() != nextSequence) {
+            throw new IllegalStateException("Entry " + sequence + " is not the last entry of " + current);
+        }
+        current.discardLast();
+        nextSequence--;
+    }
+
+    void force() {
+        if (current != null) {
+            current.force();
+        }
+    }
+
+    /**
+     * Delete all segments which contain only entries with sequence numbers lower than or equal to specified sequence.
+     * The active segment is never deleted. Segments which cannot be deleted, for example because their buffer has not
+     * been garbage-collected yet, are retried on the next invocation.
+     *
+     * @param lastSequence Last sequence number which does not need to be retained
+     */
+    void deleteUpTo(final long lastSequence) {
+        final Iterator<Entry<Long, Path>> it = segments.entrySet().iterator();
+        while (it.hasNext()) {
+            final Entry<Long, Path> entry = it.next();
+            final Long next = segments.higherKey(entry.getKey());
+            if (next == null || next > lastSequence + 1) {
+                break;
+            }
+
+            try {
+                Files.delete(entry.getValue());
+                LOG.debug("Deleted journal segment {}", entry.getValue());
+            } catch (IOException e) {
+                LOG.warn("Failed to delete journal segment {}", entry.getValue(), e);
+                break;
+            }
+            it.remove();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (current != null) {
+            current.close();
+            current = null;
+        }
+    }
+
+    private static String segmentName(final long firstSequence) {
+        return String.format("%016x%s", firstSequence, SUFFIX);
+    }
+}
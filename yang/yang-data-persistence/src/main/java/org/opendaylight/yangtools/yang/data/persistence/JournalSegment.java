@@ -0,0 +1,188 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.persistence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+/**
+ * A single memory-mapped journal segment. A segment is a sequence of entries, each of which is formed of a 4-byte
+ * length, a 4-byte CRC32 checksum and the payload. The end of valid data is indicated by a zero length, or a checksum
+ * mismatch in case of a torn write. Entries are numbered sequentially, starting at {@link #firstSequence()}.
+ *
+ * <p>
+ * Closing a segment forces its buffer to disk and closes its file. The buffer is released once it is garbage-collected,
+ * which some platforms require before the file can be deleted. A closed segment must not be accessed anymore.
+ */
+final class JournalSegment implements AutoCloseable {
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long sequence, ByteBuffer entry) throws IOException;
+    }
+
+    static final int HEADER_SIZE = 8;
+
+    private final MappedByteBuffer buffer;
+    private final FileChannel channel;
+    private final long firstSequence;
+    private final Path path;
+
+    private int entries;
+    private int lastStart = -1;
+    private boolean closed;
+
+    private JournalSegment(final Path path, final long firstSequence, final FileChannel channel,
+            final MappedByteBuffer buffer) {
+        this.path = requireNonNull(path);
+        this.firstSequence = firstSequence;
+        this.channel = requireNonNull(channel);
+        this.buffer = requireNonNull(buffer);
+    }
+
+    static JournalSegment create(final Path path, final long firstSequence, final int size) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+            StandardOpenOption.WRITE);
+        return new JournalSegment(path, firstSequence, channel, channel.map(MapMode.READ_WRITE, 0, size));
+    }
+
+    static JournalSegment open(final Path path, final long firstSequence) throws IOException {
+        final FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new JournalSegment(path, firstSequence, channel, channel.map(MapMode.READ_WRITE, 0, channel.size()));
+    }
+
+    Path path() {
+        return path;
+    }
+
+    long firstSequence() {
+        return firstSequence;
+    }
+
+    long nextSequence() {
+        return firstSequence + entries;
+    }
+
+    /**
+     * Read all valid entries in this segment, feeding them to specified consumer, and position this segment for
+     * appending after the last valid entry. Any data past that point is discarded.
+     *
+     * @param consumer Entry consumer
+     * @throws IOException if the consumer fails
+     */
+    void replay(final EntryConsumer consumer) throws IOException {
+        buffer.position(0);
+        entries = 0;
+        while (buffer.remaining() >= HEADER_SIZE) {
+            final int start = buffer.position();
+            final int length = buffer.getInt();
+            final int checksum = buffer.getInt();
+            if (length <= 0 || length > buffer.remaining()) {
+                buffer.position(start);
+                break;
+            }
+
+            final ByteBuffer entry = buffer.slice();
+            entry.limit(length);
+            if (checksum != checksum(entry)) {
+                buffer.position(start);
+                break;
+            }
+
+            consumer.accept(firstSequence + entries, entry.asReadOnlyBuffer());
+            buffer.position(start + HEADER_SIZE + length);
+            entries++;
+        }
+
+        // Discard any torn writes, so they are not mistaken for valid entries once we overwrite part of them
+        final int end = buffer.position();
+        while (buffer.hasRemaining()) {
+            buffer.put((byte) 0);
+        }
+        buffer.position(end);
+    }
+
+    /**
+     * Append an entry to this segment.
+     *
+     * @param entry Entry payload
+     * @return True if the entry was appended, false if it does not fit into this segment
+     */
+    boolean append(final byte[] entry) {
+        if (buffer.remaining() < HEADER_SIZE + entry.length) {
+            return false;
+        }
+
+        final int start = buffer.position();
+        buffer.position(start + 4);
+        buffer.putInt(checksum(ByteBuffer.wrap(entry)));
+        buffer.put(entry);
+        // Write the length last, so a partially-written entry is not considered valid
+        buffer.putInt(start, entry.length);
+        lastStart = start;
+        entries++;
+        return true;
+    }
+
+    /**
+     * Discard the entry appended by the last invocation of {@link #append(byte[])}. Only a single entry can be
+     * discarded.
+     *
+     * @throws IllegalStateException if there is no entry to discard
+     */
+    void discardLast() {
+        if (lastStart == -1) {
+            throw new IllegalStateException("No entry to discard in " + this);
+        }
+
+        // Clear the length first, so the entry becomes invalid before we wipe the rest of it
+        buffer.putInt(lastStart, 0);
+        for (int i = lastStart + 4; i < buffer.position(); ++i) {
+            buffer.put(i, (byte) 0);
+        }
+        buffer.position(lastStart);
+        lastStart = -1;
+        entries--;
+    }
+
+    void force() {
+        buffer.force();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+
+        try {
+            buffer.force();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return path + " [" + firstSequence + ".." + nextSequence() + ")";
+    }
+
+    private static int checksum(final ByteBuffer data) {
+        final CRC32 crc = new CRC32();
+        crc.update(data.duplicate());
+        return (int) crc.getValue();
+    }
+}
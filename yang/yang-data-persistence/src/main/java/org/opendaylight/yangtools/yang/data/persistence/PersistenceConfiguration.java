@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.persistence;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.concepts.Immutable;
+
+/**
+ * {@link PersistentDataTree} configuration class. It supports the following options:
+ * <ul>
+ * <li>directory holding the snapshot and journal files</li>
+ * <li>size of individual journal segments</li>
+ * <li>number of journaled commits after which a snapshot is taken</li>
+ * <li>whether the journal is forced to storage on each commit</li>
+ * <li>executor used to write snapshots</li>
+ * </ul>
+ */
+@Beta
+public final class PersistenceConfiguration implements Immutable {
+    public static final int DEFAULT_SEGMENT_SIZE = 16 * 1024 * 1024;
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10000;
+
+    private final @NonNull Path directory;
+    private final @Nullable Executor snapshotExecutor;
+    private final int segmentSize;
+    private final int snapshotInterval;
+    private final boolean syncOnCommit;
+
+    PersistenceConfiguration(final Path directory, final int segmentSize, final int snapshotInterval,
+            final boolean syncOnCommit, final @Nullable Executor snapshotExecutor) {
+        this.directory = requireNonNull(directory);
+        this.segmentSize = segmentSize;
+        this.snapshotInterval = snapshotInterval;
+        this.syncOnCommit = syncOnCommit;
+        this.snapshotExecutor = snapshotExecutor;
+    }
+
+    public @NonNull Path getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Return the size of a journal segment, in bytes. Segments are memory-mapped in their entirety, candidates which
+     * do not fit into a single segment are placed in a dedicated larger segment.
+     *
+     * @return Journal segment size
+     */
+    public int getSegmentSize() {
+        return segmentSize;
+    }
+
+    /**
+     * Return the number of journaled commits after which a new snapshot is taken.
+     *
+     * @return Snapshot interval
+     */
+    public int getSnapshotInterval() {
+        return snapshotInterval;
+    }
+
+    /**
+     * Return true if each commit forces the journal to storage before returning. If this option is disabled, data
+     * is written out by the operating system at its discretion and recent commits may be lost on system failure.
+     *
+     * @return True if the journal is synchronized on each commit
+     */
+    public boolean isSyncOnCommit() {
+        return syncOnCommit;
+    }
+
+    /**
+     * Return the executor used to write snapshots. If not present, {@link PersistentDataTree} uses a dedicated thread.
+     *
+     * @return Snapshot executor, if configured
+     */
+    public @NonNull Optional<Executor> getSnapshotExecutor() {
+        return Optional.ofNullable(snapshotExecutor);
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("directory", directory).add("segmentSize", segmentSize)
+                .add("snapshotInterval", snapshotInterval).add("sync", syncOnCommit).toString();
+    }
+
+    public static Builder builder(final Path directory) {
+        return new Builder(directory);
+    }
+
+    public static class Builder implements org.opendaylight.yangtools.concepts.Builder<PersistenceConfiguration> {
+        private final Path directory;
+        private Executor snapshotExecutor;
+        private int segmentSize = DEFAULT_SEGMENT_SIZE;
+        private int snapshotInterval = DEFAULT_SNAPSHOT_INTERVAL;
+        private boolean syncOnCommit;
+
+        public Builder(final Path directory) {
+            this.directory = requireNonNull(directory);
+        }
+
+        public Builder setSegmentSize(final int segmentSize) {
+            checkArgument(segmentSize >= 1024, "Segment size %s is too small", segmentSize);
+            this.segmentSize = segmentSize;
+            return this;
+        }
+
+        public Builder setSnapshotInterval(final int snapshotInterval) {
+            checkArgument(snapshotInterval > 0, "Invalid snapshot interval %s", snapshotInterval);
+            this.snapshotInterval = snapshotInterval;
+            return this;
+        }
+
+        public Builder setSyncOnCommit(final boolean syncOnCommit) {
+            this.syncOnCommit = syncOnCommit;
+            return this;
+        }
+
+        public Builder setSnapshotExecutor(final Executor snapshotExecutor) {
+            this.snapshotExecutor = requireNonNull(snapshotExecutor);
+            return this;
+        }
+
+        @Override
+        public PersistenceConfiguration build() {
+            return new PersistenceConfiguration(directory, segmentSize, snapshotInterval, syncOnCommit,
+                snapshotExecutor);
+        }
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.persistence;
+
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+
+import com.google.common.annotations.Beta;
+import com.google.common.base.MoreObjects;
+import com.google.common.io.ByteArrayDataOutput;
+import com.google.common.io.ByteStreams;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Map.Entry;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BatchingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidateTip;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidates;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeSnapshot;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.ModificationType;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.DataTreeCandidateInputOutput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link DataTree} which persists its state into a directory. Each committed {@link DataTreeCandidate} is appended
+ * to a segmented, memory-mapped journal before {@link #commit(DataTreeCandidate)} returns. After a configured number
+ * of commits, a full snapshot of the tree is written in the background. Since the data tree is immutable, capturing
+ * the snapshot does not require any copying and commits proceed while the snapshot is being written. Once a snapshot
+ * has been written, journal segments covered by it are deleted.
+ *
+ * <p>
+ * When opened, the latest snapshot is restored into the backing tree and the journal entries which follow it are
+ * replayed on top of it.
+ *
+ * <p>
+ * This class delegates all operations to a backing {@link DataTree}, which is expected to be empty when this tree is
+ * opened and must not be modified other than through this tree. If the backing tree is a {@link BatchingDataTree},
+ * {@link #open(DataTree, PersistenceConfiguration)} returns a tree which is a {@link BatchingDataTree} as well.
+ */
+@Beta
+public class PersistentDataTree implements DataTree, AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(PersistentDataTree.class);
+    // Paths within a DataTree are relative to its root path, hence this is where the tree's root node is, whatever
+    // getRootPath() returns
+    private static final YangInstanceIdentifier TREE_ROOT = YangInstanceIdentifier.EMPTY;
+
+    private final PersistenceConfiguration config;
+    private final SnapshotStore snapshots;
+    private final @Nullable ExecutorService ownExecutor;
+    private final Executor snapshotExecutor;
+    private final DataTree delegate;
+    private final Journal journal;
+
+    private int sinceSnapshot;
+    private boolean snapshotRunning;
+    private boolean closed;
+
+    PersistentDataTree(final DataTree delegate, final PersistenceConfiguration config,
+            final SnapshotStore snapshots, final Journal journal, final int sinceSnapshot) {
+        this.delegate = requireNonNull(delegate);
+        this.config = requireNonNull(config);
+        this.snapshots = requireNonNull(snapshots);
+        this.journal = requireNonNull(journal);
+        this.sinceSnapshot = sinceSnapshot;
+
+        final Optional<Executor> executor = config.getSnapshotExecutor();
+        if (executor.isPresent()) {
+            ownExecutor = null;
+            snapshotExecutor = executor.get();
+        } else {
+            ownExecutor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setDaemon(true)
+                .setNameFormat("persistent-datatree-snapshot-%d").build());
+            snapshotExecutor = ownExecutor;
+        }
+    }
+
+    /**
+     * Open a persistent data tree, restoring any state persisted in the configured directory into the backing tree.
+     *
+     * @param delegate Backing data tree, which needs to be empty
+     * @param config Persistence configuration
+     * @return A new PersistentDataTree, which also implements {@link BatchingDataTree} if the backing tree does
+     * @throws IOException if persisted state cannot be read
+     * @throws DataValidationFailedException if persisted state cannot be applied to the backing tree
+     */
+    public static @NonNull PersistentDataTree open(final DataTree delegate, final PersistenceConfiguration config)
+            throws IOException, DataValidationFailedException {
+        Files.createDirectories(config.getDirectory());
+
+        final DataTreeModification mod = delegate.takeSnapshot().newModification();
+        final SnapshotStore snapshots = new SnapshotStore(config.getDirectory());
+        final Optional<Entry<Long, NormalizedNode<?, ?>>> snapshot = snapshots.readLatest();
+        final long lastSequence;
+        if (snapshot.isPresent()) {
+            lastSequence = snapshot.get().getKey();
+            mod.write(TREE_ROOT, snapshot.get().getValue());
+            LOG.info("Restored snapshot at sequence {}", lastSequence);
+        } else {
+            lastSequence = 0;
+        }
+
+        final Journal journal = Journal.open(config.getDirectory(), config.getSegmentSize(), lastSequence,
+            (sequence, entry) -> replay(mod, DataTreeCandidateInputOutput.readDataTreeCandidate(
+                NormalizedNodeDataInput.newDataInput(entry))));
+        final long replayed = journal.nextSequence() - lastSequence - 1;
+        LOG.info("Replayed {} journal entries", replayed);
+
+        boolean success = false;
+        try {
+            mod.ready();
+            delegate.validate(mod);
+            delegate.commit(delegate.prepare(mod));
+            success = true;
+        } finally {
+            if (!success) {
+                journal.close();
+            }
+        }
+
+        // Clean up after a snapshot which was written just before we were previously shut down
+        journal.deleteUpTo(lastSequence);
+
+        final int sinceSnapshot = (int) Math.min(replayed, Integer.MAX_VALUE);
+        return delegate instanceof BatchingDataTree
+            ? new BatchingPersistentDataTree((BatchingDataTree) delegate, config, snapshots, journal, sinceSnapshot)
+                : new PersistentDataTree(delegate, config, snapshots, journal, sinceSnapshot);
+    }
+
+    @Override
+    public DataTreeSnapshot takeSnapshot() {
+        return delegate.takeSnapshot();
+    }
+
+    @Override
+    public void setSchemaContext(final SchemaContext newSchemaContext) {
+        delegate.setSchemaContext(newSchemaContext);
+    }
+
+    @Override
+    public void validate(final DataTreeModification modification) throws DataValidationFailedException {
+        delegate.validate(modification);
+    }
+
+    @Override
+    public DataTreeCandidateTip prepare(final DataTreeModification modification) {
+        return delegate.prepare(modification);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The candidate is appended to the journal, and forced to disk if {@link PersistenceConfiguration#isSyncOnCommit()}
+     * is set, before it is committed to the backing tree. If the journal cannot be written, this method throws an
+     * {@link IllegalStateException} and the backing tree is not modified. If the backing tree rejects the candidate,
+     * its journal entry is discarded.
+     */
+    @Override
+    @SuppressWarnings("checkstyle:IllegalCatch")
+    public synchronized void commit(final DataTreeCandidate candidate) {
+        checkState(!closed, "Tree %s has been closed", this);
+        if (candidate.getRootNode().getModificationType() == ModificationType.UNMODIFIED) {
+            // Nothing to persist
+            delegate.commit(candidate);
+            return;
+        }
+
+        final long sequence;
+        try {
+            final ByteArrayDataOutput bytes = ByteStreams.newDataOutput();
+            try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(bytes)) {
+                DataTreeCandidateInputOutput.writeDataTreeCandidate(out, candidate);
+            }
+            sequence = journal.append(bytes.toByteArray());
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to journal candidate " + candidate, e);
+        }
+        if (config.isSyncOnCommit()) {
+            journal.force();
+        }
+
+        try {
+            delegate.commit(candidate);
+        } catch (RuntimeException e) {
+            journal.discard(sequence);
+            if (config.isSyncOnCommit()) {
+                journal.force();
+            }
+            throw e;
+        }
+
+        if (++sinceSnapshot >= config.getSnapshotInterval() && !snapshotRunning) {
+            startSnapshot(sequence);
+        }
+    }
+
+    @Override
+    public YangInstanceIdentifier getRootPath() {
+        return delegate.getRootPath();
+    }
+
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+        }
+
+        if (ownExecutor != null) {
+            ownExecutor.shutdown();
+            try {
+                if (!ownExecutor.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.warn("Timed out waiting for snapshot of {} to complete", this);
+                }
+            } catch (InterruptedException e) {
+                LOG.warn("Interrupted while waiting for snapshot of {} to complete", this, e);
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        synchronized (this) {
+            journal.close();
+        }
+    }
+
+    @Override
+    public String toString() {
+        return MoreObjects.toStringHelper(this).add("delegate", delegate).add("config", config).toString();
+    }
+
+    private static void replay(final DataTreeModification mod, final DataTreeCandidate candidate) {
+        final DataTreeCandidateNode root = candidate.getRootNode();
+        if (root.getModificationType() == ModificationType.WRITE) {
+            // Root writes replace the entire tree, which is not what applying its children would achieve
+            mod.write(candidate.getRootPath(), root.getDataAfter().get());
+        } else {
+            DataTreeCandidates.applyToModification(mod, candidate);
+        }
+    }
+
+    private void startSnapshot(final long sequence) {
+        // The data tree is immutable, hence reading its root is enough to capture its state
+        final NormalizedNode<?, ?> root = delegate.takeSnapshot().readNode(TREE_ROOT).get();
+        snapshotRunning = true;
+        sinceSnapshot = 0;
+        LOG.debug("Starting snapshot at sequence {}", sequence);
+        snapshotExecutor.execute(() -> writeSnapshot(sequence, root));
+    }
+
+    private void writeSnapshot(final long sequence, final NormalizedNode<?, ?> root) {
+        boolean success = false;
+        try {
+            snapshots.write(sequence, root);
+            success = true;
+        } catch (IOException e) {
+            LOG.warn("Failed to write snapshot at sequence {}, will retry", sequence, e);
+        }
+
+        synchronized (this) {
+            snapshotRunning = false;
+            if (success) {
+                journal.deleteUpTo(sequence);
+            }
+        }
+    }
+}
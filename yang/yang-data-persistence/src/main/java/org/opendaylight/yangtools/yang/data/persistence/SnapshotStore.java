@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.persistence;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataInput;
+import org.opendaylight.yangtools.yang.data.codec.binfmt.NormalizedNodeDataOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Storage of full data tree snapshots. Each snapshot is stored in a separate file, named after the sequence number of
+ * the last journal entry it covers. Snapshots are written into a temporary file, which is atomically renamed once it
+ * has been completely written, hence a snapshot file is either complete or not present at all.
+ */
+final class SnapshotStore {
+    private static final Logger LOG = LoggerFactory.getLogger(SnapshotStore.class);
+    private static final String SUFFIX = ".snapshot";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private final Path directory;
+
+    SnapshotStore(final Path directory) {
+        this.directory = requireNonNull(directory);
+    }
+
+    /**
+     * Read the latest snapshot.
+     *
+     * @return Sequence number and data of the latest snapshot, or empty if there is no snapshot
+     * @throws IOException if the snapshot cannot be read
+     */
+    Optional<Entry<Long, NormalizedNode<?, ?>>> readLatest() throws IOException {
+        final Entry<Long, Path> latest = listSnapshots().lastEntry();
+        if (latest == null) {
+            return Optional.empty();
+        }
+
+        final NormalizedNode<?, ?> data;
+        try (FileChannel channel = FileChannel.open(latest.getValue(), StandardOpenOption.READ)) {
+            final MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+            data = NormalizedNodeDataInput.newDataInput(buffer).readNormalizedNode();
+        }
+        LOG.debug("Read snapshot {}", latest.getValue());
+        return Optional.of(new SimpleImmutableEntry<>(latest.getKey(), data));
+    }
+
+    /**
+     * Write a snapshot and delete any older snapshots.
+     *
+     * @param lastSequence Sequence number of the last journal entry included in the snapshot
+     * @param data Snapshot data
+     * @throws IOException if the snapshot cannot be written
+     */
+    void write(final long lastSequence, final NormalizedNode<?, ?> data) throws IOException {
+        final String name = String.format("%016x%s", lastSequence, SUFFIX);
+        final Path tmp = directory.resolve(name + TMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            final OutputStream os = new BufferedOutputStream(Channels.newOutputStream(channel));
+            try (NormalizedNodeDataOutput out = NormalizedNodeDataOutput.newDataOutput(new DataOutputStream(os))) {
+                out.writeNormalizedNode(data);
+            }
+            os.flush();
+            channel.force(true);
+        }
+
+        final Path target = directory.resolve(name);
+        Files.move(tmp, target, StandardCopyOption.ATOMIC_MOVE);
+        LOG.debug("Wrote snapshot {}", target);
+
+        for (Path older : listSnapshots().headMap(lastSequence, false).values()) {
+            try {
+                Files.delete(older);
+            } catch (IOException e) {
+                LOG.warn("Failed to delete snapshot {}", older, e);
+            }
+        }
+    }
+
+    private NavigableMap<Long, Path> listSnapshots() throws IOException {
+        final NavigableMap<Long, Path> ret = new TreeMap<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path path : stream) {
+                final Path fileName = path.getFileName();
+                if (fileName == null) {
+                    continue;
+                }
+                final String name = fileName.toString();
+                try {
+                    ret.put(Long.parseUnsignedLong(name.substring(0, name.length() - SUFFIX.length()), 16), path);
+                } catch (NumberFormatException e) {
+                    LOG.warn("Ignoring unrecognized file {}", path, e);
+                }
+            }
+        }
+        return ret;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.persistence;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.AdditionalAnswers.delegatesTo;
+import static org.mockito.Mockito.mock;
+
+import com.google.common.collect.ImmutableList;
+import com.google.common.util.concurrent.MoreExecutors;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.MapEntryNode;
+import org.opendaylight.yangtools.yang.data.api.schema.MapNode;
+import org.opendaylight.yangtools.yang.data.api.schema.NormalizedNode;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.BatchingDataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTree;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeBatch;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeCandidate;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeConfiguration;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataTreeModification;
+import org.opendaylight.yangtools.yang.data.api.schema.tree.DataValidationFailedException;
+import org.opendaylight.yangtools.yang.data.impl.schema.Builders;
+import org.opendaylight.yangtools.yang.data.impl.schema.ImmutableNodes;
+import org.opendaylight.yangtools.yang.data.impl.schema.tree.InMemoryDataTreeFactory;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
+import org.opendaylight.yangtools.yang.test.util.YangParserTestUtils;
+
+public class PersistentDataTreeTest {
+    private static final QName TOP = QName.create("urn:opendaylight:persistence-test", "2019-06-01", "top").intern();
+    private static final QName NAME = QName.create(TOP, "name").intern();
+    private static final QName ITEM = QName.create(TOP, "item").intern();
+    private static final QName ID = QName.create(TOP, "id").intern();
+    private static final QName VALUE = QName.create(TOP, "value").intern();
+    private static final YangInstanceIdentifier TOP_PATH = YangInstanceIdentifier.of(TOP);
+    private static final YangInstanceIdentifier ITEM_PATH = TOP_PATH.node(ITEM);
+
+    private static SchemaContext schemaContext;
+
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    private Path directory;
+
+    @BeforeClass
+    public static void beforeClass() {
+        schemaContext = YangParserTestUtils.parseYangResource("/persistence-test.yang");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        schemaContext = null;
+    }
+
+    @Before
+    public void before() {
+        directory = folder.getRoot().toPath();
+    }
+
+    @Test
+    public void testRestoreFromJournal() throws IOException, DataValidationFailedException {
+        final PersistenceConfiguration config = PersistenceConfiguration.builder(directory).build();
+        final Optional<NormalizedNode<?, ?>> expected;
+        try (PersistentDataTree tree = open(config)) {
+            populate(tree, 10);
+            expected = tree.takeSnapshot().readNode(TOP_PATH);
+        }
+        assertEquals(0, countFiles(".snapshot"));
+
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(expected, tree.takeSnapshot().readNode(TOP_PATH));
+
+            // Continue where we left off
+            delete(tree, 1);
+            assertEquals(8, countItems(tree));
+        }
+    }
+
+    @Test
+    public void testRestoreFromSnapshot() throws IOException, DataValidationFailedException {
+        final PersistenceConfiguration config = PersistenceConfiguration.builder(directory).setSegmentSize(1024)
+                .setSnapshotInterval(20).setSnapshotExecutor(MoreExecutors.directExecutor()).build();
+        final Optional<NormalizedNode<?, ?>> expected;
+        try (PersistentDataTree tree = open(config)) {
+            populate(tree, 50);
+            delete(tree, 7);
+            expected = tree.takeSnapshot().readNode(TOP_PATH);
+        }
+
+        // A single snapshot at sequence 40 is retained, along with journal segments covering the tail
+        assertEquals(1, countFiles(".snapshot"));
+        assertTrue(Files.exists(directory.resolve(String.format("%016x.snapshot", 40))));
+        assertTrue(countFiles(".journal") < 10);
+
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(expected, tree.takeSnapshot().readNode(TOP_PATH));
+            assertEquals(48, countItems(tree));
+        }
+    }
+
+    @Test
+    public void testTornWrite() throws IOException, DataValidationFailedException {
+        final PersistenceConfiguration config = PersistenceConfiguration.builder(directory).build();
+        final Optional<NormalizedNode<?, ?>> expected;
+        try (PersistentDataTree tree = open(config)) {
+            populate(tree, 3);
+            expected = tree.takeSnapshot().readNode(TOP_PATH);
+            delete(tree, 2);
+        }
+
+        // Corrupt the last entry's payload
+        final List<Path> journals = listFiles(".journal");
+        assertEquals(1, journals.size());
+        try (RandomAccessFile file = new RandomAccessFile(journals.get(0).toFile(), "rw")) {
+            long pos = 0;
+            long last = 0;
+            while (true) {
+                file.seek(pos);
+                final int length = file.readInt();
+                if (length == 0) {
+                    break;
+                }
+                last = pos;
+                pos += JournalSegment.HEADER_SIZE + length;
+            }
+            file.seek(last + JournalSegment.HEADER_SIZE + 1);
+            final int value = file.read();
+            file.seek(last + JournalSegment.HEADER_SIZE + 1);
+            file.write(value ^ 0xff);
+        }
+
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(expected, tree.takeSnapshot().readNode(TOP_PATH));
+            delete(tree, 1);
+        }
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(1, countItems(tree));
+        }
+    }
+
+    @Test
+    public void testRejectedCandidate() throws IOException, DataValidationFailedException {
+        final PersistenceConfiguration config = PersistenceConfiguration.builder(directory).setSyncOnCommit(true)
+                .build();
+        final Optional<NormalizedNode<?, ?>> expected;
+        try (PersistentDataTree tree = open(config)) {
+            populate(tree, 3);
+
+            final DataTreeModification first = tree.takeSnapshot().newModification();
+            first.write(ITEM_PATH.node(itemId(5)), item(5));
+            first.ready();
+            final DataTreeModification second = tree.takeSnapshot().newModification();
+            second.write(ITEM_PATH.node(itemId(6)), item(6));
+            second.ready();
+
+            final DataTreeCandidate stale = tree.prepare(second);
+            tree.commit(tree.prepare(first));
+            try {
+                tree.commit(stale);
+                fail("Stale candidate should have been rejected");
+            } catch (IllegalStateException e) {
+                // Expected
+            }
+
+            expected = tree.takeSnapshot().readNode(TOP_PATH);
+            assertEquals(3, countItems(tree));
+        }
+
+        // The rejected candidate must not be replayed
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(expected, tree.takeSnapshot().readNode(TOP_PATH));
+            delete(tree, 1);
+        }
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(2, countItems(tree));
+        }
+    }
+
+    @Test
+    public void testBatching() throws IOException, DataValidationFailedException {
+        final PersistenceConfiguration config = PersistenceConfiguration.builder(directory).build();
+        try (PersistentDataTree tree = open(config)) {
+            assertTrue(tree instanceof BatchingDataTree);
+            populate(tree, 3);
+
+            final DataTreeModification first = tree.takeSnapshot().newModification();
+            first.write(ITEM_PATH.node(itemId(5)), item(5));
+            first.ready();
+            final DataTreeModification second = tree.takeSnapshot().newModification();
+            second.delete(ITEM_PATH.node(itemId(1)));
+            second.ready();
+
+            final DataTreeBatch batch = ((BatchingDataTree) tree).prepareBatch(ImmutableList.of(first, second));
+            assertEquals(ImmutableList.of(first, second), batch.getAcceptedModifications());
+            tree.commit(batch.getCandidate());
+        }
+
+        // The combined candidate is replayed as a single journal entry
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(2, countItems(tree));
+            assertTrue(tree.takeSnapshot().readNode(ITEM_PATH.node(itemId(5))).isPresent());
+            assertFalse(tree.takeSnapshot().readNode(ITEM_PATH.node(itemId(1))).isPresent());
+        }
+    }
+
+    @Test
+    public void testNonBatchingDelegate() throws IOException, DataValidationFailedException {
+        final DataTree delegate = mock(DataTree.class, delegatesTo(new InMemoryDataTreeFactory().create(
+            DataTreeConfiguration.DEFAULT_OPERATIONAL, schemaContext)));
+        final PersistenceConfiguration config = PersistenceConfiguration.builder(directory).build();
+        try (PersistentDataTree tree = PersistentDataTree.open(delegate, config)) {
+            assertFalse(tree instanceof BatchingDataTree);
+            populate(tree, 3);
+        }
+        try (PersistentDataTree tree = open(config)) {
+            assertEquals(2, countItems(tree));
+        }
+    }
+
+    @Test
+    public void testRootedTree() throws IOException, DataValidationFailedException {
+        final DataTreeConfiguration treeConfig = DataTreeConfiguration.DEFAULT_OPERATIONAL.copyBuilder()
+                .setRootPath(TOP_PATH).build();
+        final PersistenceConfiguration config = PersistenceConfiguration.builder(directory).setSnapshotInterval(2)
+                .setSnapshotExecutor(MoreExecutors.directExecutor()).build();
+        final YangInstanceIdentifier itemPath = YangInstanceIdentifier.of(ITEM);
+
+        // Paths are relative to the root of the tree
+        final Optional<NormalizedNode<?, ?>> expected;
+        try (PersistentDataTree tree = PersistentDataTree.open(new InMemoryDataTreeFactory().create(treeConfig,
+                schemaContext), config)) {
+            DataTreeModification mod = tree.takeSnapshot().newModification();
+            mod.write(YangInstanceIdentifier.EMPTY, Builders.containerBuilder()
+                .withNodeIdentifier(new NodeIdentifier(TOP))
+                .withChild(ImmutableNodes.leafNode(NAME, "name"))
+                .withChild(ImmutableNodes.mapNodeBuilder(ITEM).build())
+                .build());
+            commit(tree, mod);
+            for (int i = 1; i < 4; ++i) {
+                mod = tree.takeSnapshot().newModification();
+                mod.write(itemPath.node(itemId(i)), item(i));
+                commit(tree, mod);
+            }
+            expected = tree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY);
+        }
+        assertEquals(1, countFiles(".snapshot"));
+
+        try (PersistentDataTree tree = PersistentDataTree.open(new InMemoryDataTreeFactory().create(treeConfig,
+                schemaContext), config)) {
+            assertEquals(expected, tree.takeSnapshot().readNode(YangInstanceIdentifier.EMPTY));
+        }
+    }
+
+    private static PersistentDataTree open(final PersistenceConfiguration config) throws IOException,
+            DataValidationFailedException {
+        return PersistentDataTree.open(new InMemoryDataTreeFactory().create(DataTreeConfiguration.DEFAULT_OPERATIONAL,
+            schemaContext), config);
+    }
+
+    private static void populate(final DataTree tree, final int count) throws DataValidationFailedException {
+        DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.write(TOP_PATH, Builders.containerBuilder().withNodeIdentifier(new NodeIdentifier(TOP))
+            .withChild(ImmutableNodes.leafNode(NAME, "name"))
+            .withChild(ImmutableNodes.mapNodeBuilder(ITEM).build())
+            .build());
+        commit(tree, mod);
+
+        for (int i = 1; i < count; ++i) {
+            mod = tree.takeSnapshot().newModification();
+            mod.write(ITEM_PATH.node(itemId(i)), item(i));
+            commit(tree, mod);
+        }
+    }
+
+    private static void delete(final DataTree tree, final int id) throws DataValidationFailedException {
+        final DataTreeModification mod = tree.takeSnapshot().newModification();
+        mod.delete(ITEM_PATH.node(itemId(id)));
+        commit(tree, mod);
+    }
+
+    private static void commit(final DataTree tree, final DataTreeModification mod)
+            throws DataValidationFailedException {
+        mod.ready();
+        tree.validate(mod);
+        tree.commit(tree.prepare(mod));
+    }
+
+    private static int countItems(final DataTree tree) {
+        return ((MapNode) tree.takeSnapshot().readNode(ITEM_PATH).get()).getValue().size();
+    }
+
+    private int countFiles(final String suffix) throws IOException {
+        return listFiles(suffix).size();
+    }
+
+    private List<Path> listFiles(final String suffix) throws IOException {
+        final List<Path> ret = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + suffix)) {
+            stream.forEach(ret::add);
+        }
+        return ret;
+    }
+
+    private static NodeIdentifierWithPredicates itemId(final int id) {
+        return new NodeIdentifierWithPredicates(ITEM, ID, id);
+    }
+
+    private static MapEntryNode item(final int id) {
+        return Builders.mapEntryBuilder().withNodeIdentifier(itemId(id))
+                .withChild(ImmutableNodes.leafNode(ID, id))
+                .withChild(ImmutableNodes.leafNode(VALUE, "value " + id))
+                .build();
+    }
+}
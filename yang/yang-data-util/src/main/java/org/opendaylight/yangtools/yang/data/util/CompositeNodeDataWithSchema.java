@@ -219,7 +219,7 @@ public class CompositeNodeDataWithSchema<T extends DataSchemaNode> extends Abstr
      * @param child child node
      * @return augmentation schema
      */
-    private static AugmentationSchemaNode findCorrespondingAugment(final DataSchemaNode parent,
+    static AugmentationSchemaNode findCorrespondingAugment(final DataSchemaNode parent,
             final DataSchemaNode child) {
         if (parent instanceof AugmentationTarget && !(parent instanceof ChoiceSchemaNode)) {
             for (AugmentationSchemaNode augmentation : ((AugmentationTarget) parent).getAvailableAugmentations()) {
@@ -0,0 +1,600 @@
+/*
+ * Copyright (c) 2019 Pantheon Technologies, s.r.o. and others.  All rights reserved.
+ *
+ * This program and the accompanying materials are made available under the
+ * terms of the Eclipse Public License v1.0 which accompanies this distribution,
+ * and is available at http://www.eclipse.org/legal/epl-v10.html
+ */
+package org.opendaylight.yangtools.yang.data.util;
+
+import static com.google.common.base.Preconditions.checkArgument;
+import static com.google.common.base.Preconditions.checkState;
+import static java.util.Objects.requireNonNull;
+import static org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter.UNKNOWN_SIZE;
+
+import com.google.common.annotations.Beta;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import org.eclipse.jdt.annotation.NonNull;
+import org.eclipse.jdt.annotation.Nullable;
+import org.opendaylight.yangtools.odlext.model.api.YangModeledAnyXmlSchemaNode;
+import org.opendaylight.yangtools.util.ImmutableMapTemplate;
+import org.opendaylight.yangtools.yang.common.QName;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifier;
+import org.opendaylight.yangtools.yang.data.api.YangInstanceIdentifier.NodeIdentifierWithPredicates;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamAttributeWriter;
+import org.opendaylight.yangtools.yang.data.api.schema.stream.NormalizedNodeStreamWriter;
+import org.opendaylight.yangtools.yang.model.api.AnyXmlSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.AugmentationSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ContainerSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafListSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.LeafSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ListSchemaNode;
+
+/**
+ * Single-pass counterpart to {@link CompositeNodeDataWithSchema}. Rather than materializing the whole document before
+ * writing it out, parsers drive this class as they encounter nodes and it emits events into a
+ * {@link NormalizedNodeStreamWriter} as soon as possible. Containers, lists and leaf-lists are streamed, while leaves,
+ * anyxmls and yang-modeled anyxmls are handed over as fully-parsed {@link AbstractNodeDataWithSchema} instances.
+ *
+ * <p>
+ * Buffering is limited to the following cases:
+ * <ul>
+ *   <li>children of a keyed list entry which precede the last key leaf are retained until the entry identifier can be
+ *       constructed. Parsers are notified of this by {@link #startChild(Deque)} returning false and are expected to
+ *       parse such children into an {@link AbstractNodeDataWithSchema} and pass them to {@link #addChild(Deque,
+ *       AbstractNodeDataWithSchema)}</li>
+ *   <li>leaves and anyxmls which do not belong to exactly the choices and augmentations currently open in their parent
+ *       are retained until those choices and augmentations are closed, or until the parent ends, so that each choice
+ *       and augmentation is emitted exactly once.</li>
+ * </ul>
+ * Containers, lists and leaf-lists are always streamed. Choices and augmentations are opened only when such a child
+ * belonging to them is encountered and are closed as soon as a container, list or leaf-list outside of them is
+ * encountered.
+ *
+ * <p>
+ * Since a choice or augmentation cannot be reopened once it has been closed, input which places a member of a choice or
+ * augmentation after a container, list or leaf-list which is not part of it, when a container, list or leaf-list of
+ * that choice or augmentation has already been encountered, is rejected with an {@link IllegalStateException}. Such
+ * input needs to be processed by {@link CompositeNodeDataWithSchema}.
+ */
+@Beta
+public final class StreamingNodeDataEmitter {
+    /**
+     * A choice or augmentation which is open in a data frame.
+     */
+    private static final class GroupStep {
+        private final AugmentationSchemaNode augmentation;
+        private final ChoiceSchemaNode choice;
+        private final CaseSchemaNode caseSchema;
+
+        GroupStep(final AugmentationSchemaNode augmentation) {
+            this.augmentation = requireNonNull(augmentation);
+            this.choice = null;
+            this.caseSchema = null;
+        }
+
+        GroupStep(final ChoiceSchemaNode choice, final CaseSchemaNode caseSchema) {
+            this.augmentation = null;
+            this.choice = requireNonNull(choice);
+            this.caseSchema = requireNonNull(caseSchema);
+        }
+
+        Object key() {
+            return augmentation != null ? augmentation : choice;
+        }
+
+        boolean sameCase(final GroupStep other) {
+            return augmentation != null ? augmentation.equals(other.augmentation)
+                    : choice.equals(other.choice) && caseSchema.equals(other.caseSchema);
+        }
+
+        void checkSameCase(final GroupStep other) {
+            checkArgument(choice == null || !choice.equals(other.choice) || caseSchema.equals(other.caseSchema),
+                "Data from case %s are specified but other data from case %s were specified earlier."
+                    + " Data aren't from the same case.", other.caseSchema == null ? null : other.caseSchema.getQName(),
+                    caseSchema == null ? null : caseSchema.getQName());
+        }
+
+        void start(final NormalizedNodeStreamWriter writer) throws IOException {
+            if (augmentation != null) {
+                writer.startAugmentationNode(DataSchemaContextNode.augmentationIdentifierFrom(augmentation));
+            } else {
+                writer.nextDataSchemaNode(choice);
+                writer.startChoiceNode(NodeIdentifier.create(choice.getQName()), UNKNOWN_SIZE);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return augmentation != null ? augmentation.toString() : choice.getQName().toString();
+        }
+    }
+
+    /**
+     * A child which cannot be emitted yet, along with the choices and augmentations it belongs to.
+     */
+    private static final class PendingChild {
+        final List<GroupStep> groups;
+        final AbstractNodeDataWithSchema<?> node;
+
+        PendingChild(final List<GroupStep> groups, final AbstractNodeDataWithSchema<?> node) {
+            this.groups = requireNonNull(groups);
+            this.node = requireNonNull(node);
+        }
+    }
+
+    private abstract static class Frame {
+        final DataSchemaNode schema;
+
+        Frame(final DataSchemaNode schema) {
+            this.schema = requireNonNull(schema);
+        }
+
+        abstract void end(NormalizedNodeStreamWriter writer) throws IOException;
+    }
+
+    /**
+     * A list or a leaf-list.
+     */
+    private static final class CollectionFrame extends Frame {
+        CollectionFrame(final DataSchemaNode schema) {
+            super(schema);
+        }
+
+        @Override
+        void end(final NormalizedNodeStreamWriter writer) throws IOException {
+            writer.endNode();
+        }
+    }
+
+    /**
+     * A node holding data nodes: the root, a container or a list entry.
+     */
+    private static class DataFrame extends Frame {
+        private final List<GroupStep> open = new ArrayList<>();
+        private final List<PendingChild> pending = new ArrayList<>();
+        private final Map<Object, GroupStep> closed = new HashMap<>();
+        private final boolean emitEnd;
+
+        DataFrame(final DataSchemaNode schema, final boolean emitEnd) {
+            super(schema);
+            this.emitEnd = emitEnd;
+        }
+
+        boolean isBuffering() {
+            return false;
+        }
+
+        void addChild(final NormalizedNodeStreamWriter writer, final List<GroupStep> groups,
+                final AbstractNodeDataWithSchema<?> node) throws IOException {
+            if (isStreamable(node.getSchema())) {
+                // A child which was materialized while the entry was buffering
+                switchGroups(writer, groups);
+                node.write(writer);
+            } else if (checkCases(groups) == groups.size() && groups.size() == open.size()) {
+                node.write(writer);
+            } else {
+                // Do not open or close any groups for leaves, as there may be more streamable children coming
+                pending.add(new PendingChild(groups, node));
+            }
+        }
+
+        /**
+         * Switch the open groups so that a streamable child belonging to specified groups can be emitted. Groups which
+         * the child does not belong to are closed, emitting all retained children belonging to them first.
+         */
+        final void switchGroups(final NormalizedNodeStreamWriter writer, final List<GroupStep> groups)
+                throws IOException {
+            closeGroups(writer, checkCases(groups));
+            openGroups(writer, groups);
+        }
+
+        @Override
+        void end(final NormalizedNodeStreamWriter writer) throws IOException {
+            closeGroups(writer, 0);
+            while (!pending.isEmpty()) {
+                // Everything fits at the top level, hence this just picks the first child
+                final PendingChild next = removeFitting();
+                openGroups(writer, next.groups);
+                next.node.write(writer);
+                closeGroups(writer, 0);
+            }
+            if (emitEnd) {
+                writer.endNode();
+            }
+        }
+
+        private int checkCases(final List<GroupStep> groups) {
+            final int max = Math.min(open.size(), groups.size());
+            int common = 0;
+            while (common < max && open.get(common).sameCase(groups.get(common))) {
+                common++;
+            }
+            if (common < max) {
+                open.get(common).checkSameCase(groups.get(common));
+            }
+            return common;
+        }
+
+        private void openGroups(final NormalizedNodeStreamWriter writer, final List<GroupStep> groups)
+                throws IOException {
+            for (int i = open.size(); i < groups.size(); ++i) {
+                final GroupStep step = groups.get(i);
+                final GroupStep previous = closed.get(step.key());
+                if (previous != null) {
+                    previous.checkSameCase(step);
+                    throw new IllegalStateException(String.format(
+                        "Children of %s in %s are not contiguous, they were interleaved with a container, list or"
+                            + " leaf-list outside of it", step, schema.getQName()));
+                }
+                step.start(writer);
+                open.add(step);
+            }
+        }
+
+        /**
+         * Close groups down to specified depth. A group is closed only once there are no more retained children
+         * belonging to it, so that it does not need to be reopened for them.
+         */
+        private void closeGroups(final NormalizedNodeStreamWriter writer, final int depth) throws IOException {
+            while (open.size() > depth) {
+                final PendingChild next = removeFitting();
+                if (next != null) {
+                    // Fitting children only ever open new groups
+                    openGroups(writer, next.groups);
+                    next.node.write(writer);
+                } else {
+                    final GroupStep step = open.remove(open.size() - 1);
+                    closed.put(step.key(), step);
+                    writer.endNode();
+                }
+            }
+        }
+
+        private @Nullable PendingChild removeFitting() {
+            final Iterator<PendingChild> it = pending.iterator();
+            while (it.hasNext()) {
+                final PendingChild child = it.next();
+                if (child.groups.size() >= open.size() && checkCases(child.groups) == open.size()) {
+                    it.remove();
+                    return child;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * A keyed list entry. Its children are buffered until all key values are known.
+     */
+    private static final class KeyedEntryFrame extends DataFrame {
+        private final Map<QName, SimpleNodeDataWithSchema<?>> keyValues = new HashMap<>();
+        private final ImmutableMapTemplate<QName> predicateTemplate;
+        private final Map<QName, String> attributes;
+        private List<PendingChild> buffered = new ArrayList<>();
+
+        KeyedEntryFrame(final ListSchemaNode schema, final @Nullable Map<QName, String> attributes) {
+            super(schema, true);
+            predicateTemplate = ImmutableMapTemplate.ordered(schema.getKeyDefinition());
+            this.attributes = attributes;
+        }
+
+        @Override
+        boolean isBuffering() {
+            return buffered != null;
+        }
+
+        @Override
+        void addChild(final NormalizedNodeStreamWriter writer, final List<GroupStep> groups,
+                final AbstractNodeDataWithSchema<?> node) throws IOException {
+            if (buffered == null) {
+                super.addChild(writer, groups, node);
+                return;
+            }
+
+            final QName childName = node.getSchema().getQName();
+            if (groups.isEmpty() && node instanceof LeafNodeDataWithSchema
+                    && predicateTemplate.keySet().contains(childName)) {
+                keyValues.put(childName, (LeafNodeDataWithSchema) node);
+            }
+            buffered.add(new PendingChild(groups, node));
+            if (keyValues.size() == predicateTemplate.keySet().size()) {
+                startEntry(writer);
+            }
+        }
+
+        @Override
+        void end(final NormalizedNodeStreamWriter writer) throws IOException {
+            if (buffered != null) {
+                // This will fail on missing keys, just as ListEntryNodeDataWithSchema would
+                startEntry(writer);
+            }
+            super.end(writer);
+        }
+
+        private void startEntry(final NormalizedNodeStreamWriter writer) throws IOException {
+            writer.nextDataSchemaNode(schema);
+            writer.startMapEntryNode(new NodeIdentifierWithPredicates(schema.getQName(),
+                predicateTemplate.instantiateTransformed(keyValues, (key, node) -> node.getValue())), UNKNOWN_SIZE);
+            emitAttributes(writer, attributes);
+
+            final List<PendingChild> children = buffered;
+            buffered = null;
+            for (PendingChild child : children) {
+                super.addChild(writer, child.groups, child.node);
+            }
+        }
+    }
+
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private final NormalizedNodeStreamWriter writer;
+
+    private StreamingNodeDataEmitter(final NormalizedNodeStreamWriter writer, final DataSchemaNode root) {
+        this.writer = requireNonNull(writer);
+        frames.push(new DataFrame(root, false));
+    }
+
+    /**
+     * Create a new emitter, logically rooted at specified schema node. The root node itself is not emitted, only its
+     * children are.
+     *
+     * @param writer Target writer
+     * @param root Root schema node
+     * @return A new emitter
+     * @throws NullPointerException if any argument is null
+     */
+    public static @NonNull StreamingNodeDataEmitter create(final @NonNull NormalizedNodeStreamWriter writer,
+            final @NonNull DataSchemaNode root) {
+        return new StreamingNodeDataEmitter(writer, root);
+    }
+
+    /**
+     * Instantiate an empty {@link AbstractNodeDataWithSchema} suitable for holding data for specified schema node,
+     * for use with {@link #addChild(Deque, AbstractNodeDataWithSchema)}.
+     *
+     * @param schema Schema node
+     * @return A new node
+     * @throws IllegalArgumentException if the schema node does not correspond to a data node
+     */
+    public static @NonNull AbstractNodeDataWithSchema<?> newNodeData(final DataSchemaNode schema) {
+        if (schema instanceof LeafSchemaNode) {
+            return new LeafNodeDataWithSchema((LeafSchemaNode) schema);
+        } else if (schema instanceof YangModeledAnyXmlSchemaNode) {
+            return new YangModeledAnyXmlNodeDataWithSchema((YangModeledAnyXmlSchemaNode) schema);
+        } else if (schema instanceof AnyXmlSchemaNode) {
+            return new AnyXmlNodeDataWithSchema((AnyXmlSchemaNode) schema);
+        } else if (schema instanceof ContainerSchemaNode) {
+            return new ContainerNodeDataWithSchema((ContainerSchemaNode) schema);
+        } else if (schema instanceof ListSchemaNode) {
+            return new ListNodeDataWithSchema((ListSchemaNode) schema);
+        } else if (schema instanceof LeafListSchemaNode) {
+            return new LeafListNodeDataWithSchema((LeafListSchemaNode) schema);
+        } else {
+            throw new IllegalArgumentException("Unsupported schema node " + schema);
+        }
+    }
+
+    /**
+     * Determine whether a child with specified schema can be streamed via {@link #startChild(Deque)}, as opposed to
+     * being parsed into an {@link AbstractNodeDataWithSchema}.
+     *
+     * @param schema Schema node
+     * @return True if the child can be streamed
+     */
+    public static boolean isStreamable(final DataSchemaNode schema) {
+        return schema instanceof ContainerSchemaNode || schema instanceof ListSchemaNode
+                || schema instanceof LeafListSchemaNode;
+    }
+
+    /**
+     * Start a container, a list or a leaf-list child of the current node. The child is identified by the path through
+     * schema nodes as returned by
+     * {@link ParserStreamUtils#findSchemaNodeByNameAndNamespace(DataSchemaNode, String, java.net.URI)}. If this method
+     * returns true, the child needs to be finished with {@link #endChild()}. If it returns false, the child needs to be
+     * retained by the current node, hence it needs to be parsed into an {@link AbstractNodeDataWithSchema} and passed
+     * to {@link #addChild(Deque, AbstractNodeDataWithSchema)} instead.
+     *
+     * @param schemas Schema path to the child
+     * @return True if the child has been started.
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalArgumentException if the child cannot be streamed or its schema path is not valid
+     * @throws IllegalStateException if the child cannot be added to the current node
+     */
+    public boolean startChild(final Deque<DataSchemaNode> schemas) throws IOException {
+        return startChild(schemas, null);
+    }
+
+    /**
+     * Start a container, a list or a leaf-list child of the current node, as per {@link #startChild(Deque)}. If the
+     * child is a container and the writer is a {@link NormalizedNodeStreamAttributeWriter}, specified attributes are
+     * emitted.
+     *
+     * @param schemas Schema path to the child
+     * @param attributes Attributes of the child, may be null
+     * @return True if the child has been started.
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalArgumentException if the child cannot be streamed or its schema path is not valid
+     * @throws IllegalStateException if the child cannot be added to the current node
+     */
+    public boolean startChild(final Deque<DataSchemaNode> schemas, final @Nullable Map<QName, String> attributes)
+            throws IOException {
+        final DataFrame frame = currentDataFrame();
+        if (frame.isBuffering()) {
+            return false;
+        }
+
+        final List<GroupStep> groups = new ArrayList<>();
+        final DataSchemaNode schema = resolveGroups(frame, schemas, groups);
+        checkArgument(isStreamable(schema), "Node %s cannot be streamed", schema.getQName());
+        frame.switchGroups(writer, groups);
+
+        final NodeIdentifier identifier = NodeIdentifier.create(schema.getQName());
+        writer.nextDataSchemaNode(schema);
+        if (schema instanceof ContainerSchemaNode) {
+            writer.startContainerNode(identifier, UNKNOWN_SIZE);
+            emitAttributes(writer, attributes);
+            frames.push(new DataFrame(schema, true));
+            return true;
+        }
+
+        if (schema instanceof ListSchemaNode) {
+            final ListSchemaNode list = (ListSchemaNode) schema;
+            if (list.getKeyDefinition().isEmpty()) {
+                writer.startUnkeyedList(identifier, UNKNOWN_SIZE);
+            } else if (list.isUserOrdered()) {
+                writer.startOrderedMapNode(identifier, UNKNOWN_SIZE);
+            } else {
+                writer.startMapNode(identifier, UNKNOWN_SIZE);
+            }
+        } else if (((LeafListSchemaNode) schema).isUserOrdered()) {
+            writer.startOrderedLeafSet(identifier, UNKNOWN_SIZE);
+        } else {
+            writer.startLeafSet(identifier, UNKNOWN_SIZE);
+        }
+        frames.push(new CollectionFrame(schema));
+        return true;
+    }
+
+    /**
+     * Add a fully-parsed child to the current node. The child is identified by the path through schema nodes as
+     * returned by {@link ParserStreamUtils#findSchemaNodeByNameAndNamespace(DataSchemaNode, String, java.net.URI)}.
+     *
+     * @param schemas Schema path to the child
+     * @param child Child data
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalArgumentException if the schema path is not valid
+     * @throws IllegalStateException if the child cannot be added to the current node
+     */
+    public void addChild(final Deque<DataSchemaNode> schemas, final AbstractNodeDataWithSchema<?> child)
+            throws IOException {
+        final DataFrame frame = currentDataFrame();
+        final List<GroupStep> groups = new ArrayList<>();
+        final DataSchemaNode schema = resolveGroups(frame, schemas, groups);
+        checkArgument(schema.equals(child.getSchema()), "Child %s does not match schema %s", child, schema);
+        frame.addChild(writer, groups, child);
+    }
+
+    /**
+     * Start an entry of the current list. The entry needs to be finished with {@link #endChild()}.
+     *
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalStateException if the current node is not a list
+     */
+    public void startListEntry() throws IOException {
+        startListEntry(null);
+    }
+
+    /**
+     * Start an entry of the current list, as per {@link #startListEntry()}. If the list is keyed and the writer is
+     * a {@link NormalizedNodeStreamAttributeWriter}, specified attributes are emitted.
+     *
+     * @param attributes Attributes of the entry, may be null
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalStateException if the current node is not a list
+     */
+    public void startListEntry(final @Nullable Map<QName, String> attributes) throws IOException {
+        final Frame frame = frames.peek();
+        checkState(frame instanceof CollectionFrame && frame.schema instanceof ListSchemaNode,
+            "Found an unexpected array nested under %s", frame.schema.getQName());
+
+        final ListSchemaNode list = (ListSchemaNode) frame.schema;
+        if (list.getKeyDefinition().isEmpty()) {
+            writer.nextDataSchemaNode(list);
+            writer.startUnkeyedListItem(NodeIdentifier.create(list.getQName()), UNKNOWN_SIZE);
+            frames.push(new DataFrame(list, true));
+        } else {
+            frames.push(new KeyedEntryFrame(list, attributes));
+        }
+    }
+
+    /**
+     * Add an entry to the current leaf-list.
+     *
+     * @param entry Leaf-list entry
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalStateException if the current node is not a leaf-list
+     */
+    public void addLeafSetEntry(final LeafListEntryNodeDataWithSchema entry) throws IOException {
+        final Frame frame = frames.peek();
+        checkState(frame instanceof CollectionFrame && frame.schema instanceof LeafListSchemaNode,
+            "Found an unexpected leaf-list entry nested under %s", frame.schema.getQName());
+        entry.write(writer);
+    }
+
+    /**
+     * Finish the node started by {@link #startChild(Deque)} or {@link #startListEntry()}.
+     *
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalStateException if there is no such node
+     */
+    public void endChild() throws IOException {
+        checkState(frames.size() > 1, "No child node is open");
+        frames.pop().end(writer);
+    }
+
+    /**
+     * Finish emitting children of the root node.
+     *
+     * @throws IOException if the underlying writer reports it
+     * @throws IllegalStateException if there are child nodes which were not finished
+     */
+    public void finish() throws IOException {
+        checkState(frames.size() == 1, "Unfinished child %s", frames.peek().schema);
+        frames.pop().end(writer);
+    }
+
+    private DataFrame currentDataFrame() {
+        final Frame frame = frames.peek();
+        checkState(frame instanceof DataFrame, "Expected an entry of %s", frame.schema.getQName());
+        return (DataFrame) frame;
+    }
+
+    private static void emitAttributes(final NormalizedNodeStreamWriter writer,
+            final @Nullable Map<QName, String> attributes) throws IOException {
+        if (attributes != null && writer instanceof NormalizedNodeStreamAttributeWriter) {
+            ((NormalizedNodeStreamAttributeWriter) writer).attributes(attributes);
+        }
+    }
+
+    /**
+     * Split the schema path to a child into the choices and augmentations it traverses and the child's own schema.
+     */
+    private static DataSchemaNode resolveGroups(final DataFrame frame, final Deque<DataSchemaNode> schemas,
+            final List<GroupStep> groups) {
+        checkArgument(!schemas.isEmpty(), "Expecting at least one schema");
+        final Iterator<DataSchemaNode> it = schemas.iterator();
+        DataSchemaNode parent = frame.schema;
+        DataSchemaNode schema = it.next();
+        while (true) {
+            final AugmentationSchemaNode augSchema = CompositeNodeDataWithSchema.findCorrespondingAugment(parent,
+                schema);
+            if (augSchema != null) {
+                groups.add(new GroupStep(augSchema));
+            }
+            if (!it.hasNext()) {
+                return schema;
+            }
+
+            checkArgument(schema instanceof ChoiceSchemaNode, "Expected node of type ChoiceNode but was %s",
+                schema.getClass().getSimpleName());
+            final DataSchemaNode caseCandidate = it.next();
+            checkArgument(caseCandidate instanceof CaseSchemaNode, "Expected node of type ChoiceCaseNode but was %s",
+                caseCandidate.getClass().getSimpleName());
+            groups.add(new GroupStep((ChoiceSchemaNode) schema, (CaseSchemaNode) caseCandidate));
+
+            checkArgument(it.hasNext(), "Missing child of case %s", caseCandidate.getQName());
+            parent = caseCandidate;
+            schema = it.next();
+        }
+    }
+}
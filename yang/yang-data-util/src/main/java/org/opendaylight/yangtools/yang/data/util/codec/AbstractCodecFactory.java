@@ -67,6 +67,16 @@ public abstract class AbstractCodecFactory<T extends TypeAwareCodec<?, ?, ?>> im
         return schemaContext;
     }
 
+    /**
+     * Indicate whether this factory can be used concurrently from multiple threads, which is the case when its
+     * {@link CodecCache} is thread-safe.
+     *
+     * @return True if this factory is thread-safe.
+     */
+    public final boolean isThreadSafe() {
+        return cache.isThreadSafe();
+    }
+
     public final @NonNull T codecFor(final TypedDataSchemaNode schema) {
         /*
          * There are many trade-offs to be made here. We need the common case being as fast as possible while reusing
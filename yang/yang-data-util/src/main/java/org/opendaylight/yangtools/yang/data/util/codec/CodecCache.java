@@ -55,4 +55,14 @@ public abstract class CodecCache<T> {
      * @return Codec instance, either already-cached, or the codec presented as argument.
      */
     abstract @NonNull T getSimple(TypeDefinition<?> type, T codec);
+
+    /**
+     * Indicate whether this cache can be accessed concurrently from multiple threads. The default implementation
+     * returns true.
+     *
+     * @return True if this cache is thread-safe.
+     */
+    boolean isThreadSafe() {
+        return true;
+    }
 }
@@ -44,6 +44,16 @@ public final class LazyCodecCache<T> extends CodecCache<T> {
         return simpleCodecs.computeIfAbsent(type, any -> codec);
     }
 
+    @Override
+    boolean isThreadSafe() {
+        return false;
+    }
+
+    void mergeInto(final Map<TypeDefinition<?>, T> simple, final Map<TypedDataSchemaNode, T> complex) {
+        simpleCodecs.forEach(simple::putIfAbsent);
+        complexCodecs.forEach(complex::putIfAbsent);
+    }
+
     public PrecomputedCodecCache<T> toPrecomputed() {
         return new PrecomputedCodecCache<>(simpleCodecs, complexCodecs);
     }
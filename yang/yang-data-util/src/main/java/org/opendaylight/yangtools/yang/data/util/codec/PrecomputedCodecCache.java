@@ -7,26 +7,50 @@
  */
 package org.opendaylight.yangtools.yang.data.util.codec;
 
-import static com.google.common.base.Preconditions.checkArgument;
 import static java.util.Objects.requireNonNull;
 
 import com.google.common.annotations.Beta;
+import com.google.common.base.Stopwatch;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.eclipse.jdt.annotation.NonNull;
+import org.opendaylight.yangtools.yang.model.api.ActionDefinition;
+import org.opendaylight.yangtools.yang.model.api.ActionNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.CaseSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.ChoiceSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.DataNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.DataSchemaNode;
+import org.opendaylight.yangtools.yang.model.api.Module;
+import org.opendaylight.yangtools.yang.model.api.NotificationDefinition;
+import org.opendaylight.yangtools.yang.model.api.NotificationNodeContainer;
+import org.opendaylight.yangtools.yang.model.api.OperationDefinition;
+import org.opendaylight.yangtools.yang.model.api.SchemaContext;
 import org.opendaylight.yangtools.yang.model.api.TypeDefinition;
 import org.opendaylight.yangtools.yang.model.api.TypedDataSchemaNode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Pre-computed thread-safe CodecCache. All possible codecs are created upfront at instantiation time, after which they
  * are available for the cost of a constant lookup.
  *
  * <p>
- * Instantiation needs to occur through {@link LazyCodecCache#toPrecomputed()} after the lazy cache has been fully
- * populated.
+ * Instantiation needs to occur either through {@link #precompute(SchemaContext, Function)}, which walks the entire
+ * SchemaContext, or through {@link LazyCodecCache#toPrecomputed()} after the lazy cache has been fully populated.
+ * Requesting a codec which should have been cached, but was not visited while populating the cache, results in an
+ * {@link IllegalStateException}. Codecs which are never cached, such as those for empty and instance-identifier
+ * types, are created on each request.
  *
  * @author Robert Varga
  */
 @Beta
 public final class PrecomputedCodecCache<T> extends CodecCache<T> {
+    private static final Logger LOG = LoggerFactory.getLogger(PrecomputedCodecCache.class);
+
     private final Map<TypeDefinition<?>, T> simpleCodecs;
     private final Map<TypedDataSchemaNode, T> complexCodecs;
 
@@ -36,11 +60,44 @@ public final class PrecomputedCodecCache<T> extends CodecCache<T> {
         this.complexCodecs = requireNonNull(complexCodecs);
     }
 
+    /**
+     * Create a cache holding codecs for all leaves and leaf-lists in a SchemaContext, including those defined in
+     * choices, RPC and action inputs and outputs, and notifications. Modules are walked in parallel, each with its own
+     * codec factory, and the results are then merged.
+     *
+     * @param <T> Codec type
+     * @param context SchemaContext to walk
+     * @param factoryFunction Function creating a codec factory which populates the specified cache
+     * @return A precomputed cache
+     * @throws NullPointerException if any argument is null
+     */
+    public static <T extends TypeAwareCodec<?, ?, ?>> @NonNull PrecomputedCodecCache<T> precompute(
+            final SchemaContext context, final Function<CodecCache<T>, AbstractCodecFactory<T>> factoryFunction) {
+        requireNonNull(factoryFunction);
+        final Stopwatch sw = Stopwatch.createStarted();
+        final List<LazyCodecCache<T>> caches = context.getModules().parallelStream().map(module -> {
+            final LazyCodecCache<T> cache = new LazyCodecCache<>();
+            requestCodecs(factoryFunction.apply(cache), module);
+            return cache;
+        }).collect(Collectors.toList());
+
+        final Map<TypeDefinition<?>, T> simple = new IdentityHashMap<>();
+        final Map<TypedDataSchemaNode, T> complex = new IdentityHashMap<>();
+        for (LazyCodecCache<T> cache : caches) {
+            cache.mergeInto(simple, complex);
+        }
+
+        final PrecomputedCodecCache<T> ret = new PrecomputedCodecCache<>(simple, complex);
+        LOG.debug("{} modules resulted in {} simple and {} complex codecs in {}", caches.size(), ret.simpleSize(),
+            ret.complexSize(), sw);
+        return ret;
+    }
+
     @Override
     T lookupComplex(final TypedDataSchemaNode schema) {
-        final T ret = complexCodecs.get(schema);
-        checkArgument(ret != null, "No codec available for schema %s", schema);
-        return ret;
+        // A miss is expected for types which are never cached, codecs which should have been cached are caught by
+        // getComplex() and getSimple()
+        return complexCodecs.get(schema);
     }
 
     @Override
@@ -65,4 +122,51 @@ public final class PrecomputedCodecCache<T> extends CodecCache<T> {
     public int simpleSize() {
         return simpleCodecs.size();
     }
+
+    private static void requestCodecs(final AbstractCodecFactory<?> factory, final Module module) {
+        requestCodecs(factory, (DataNodeContainer) module);
+        for (OperationDefinition rpc : module.getRpcs()) {
+            requestCodecs(factory, rpc);
+        }
+    }
+
+    private static void requestCodecs(final AbstractCodecFactory<?> factory, final DataNodeContainer container) {
+        for (DataSchemaNode child : container.getChildNodes()) {
+            requestCodecs(factory, child);
+        }
+        if (container instanceof ActionNodeContainer) {
+            for (ActionDefinition action : ((ActionNodeContainer) container).getActions()) {
+                requestCodecs(factory, action);
+            }
+        }
+        if (container instanceof NotificationNodeContainer) {
+            for (NotificationDefinition notification : ((NotificationNodeContainer) container).getNotifications()) {
+                requestCodecs(factory, notification);
+            }
+        }
+    }
+
+    private static void requestCodecs(final AbstractCodecFactory<?> factory, final DataSchemaNode node) {
+        if (node instanceof TypedDataSchemaNode) {
+            factory.codecFor((TypedDataSchemaNode) node);
+        } else if (node instanceof DataNodeContainer) {
+            requestCodecs(factory, (DataNodeContainer) node);
+        } else if (node instanceof ChoiceSchemaNode) {
+            final Collection<CaseSchemaNode> cases = ((ChoiceSchemaNode) node).getCases().values();
+            for (DataNodeContainer caseNode : cases) {
+                requestCodecs(factory, caseNode);
+            }
+        }
+    }
+
+    private static void requestCodecs(final AbstractCodecFactory<?> factory, final OperationDefinition operation) {
+        final DataNodeContainer input = operation.getInput();
+        if (input != null) {
+            requestCodecs(factory, input);
+        }
+        final DataNodeContainer output = operation.getOutput();
+        if (output != null) {
+            requestCodecs(factory, output);
+        }
+    }
 }
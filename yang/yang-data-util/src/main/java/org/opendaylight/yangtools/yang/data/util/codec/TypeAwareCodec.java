@@ -8,6 +8,7 @@
 package org.opendaylight.yangtools.yang.data.util.codec;
 
 import com.google.common.annotations.Beta;
+import org.eclipse.jdt.annotation.Nullable;
 
 /**
   * A codec, which knows what the native representation for a particular data type is. It knows how to convert a native
@@ -38,6 +39,24 @@ public interface TypeAwareCodec<T, I, O> {
      */
     T parseValue(I ctx, String str);
 
+    /**
+     * Parse a String representation into its native format, returning null if it is not a valid representation. This
+     * method is used to select the member type of a union, where invalid input is common, hence implementations are
+     * expected not to throw exceptions. The default implementation defers to {@link #parseValue(Object, String)}.
+     *
+     * @param ctx Parse context
+     * @param str String representation
+     * @return Value in native format, or null if the value does not parse or pass type validation
+     */
+    @SuppressWarnings("checkstyle:illegalCatch")
+    default @Nullable T tryParseValue(final I ctx, final String str) {
+        try {
+            return parseValue(ctx, str);
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+
     /**
      * Serialize specified value with specified JsonWriter.
      *